@@ -1,8 +1,20 @@
 package boundedtravlist;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.ListIterator;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p>Abstract TravList.</p>
@@ -16,6 +28,16 @@ public abstract class AbstractTravList<E> implements TravList<E> {
      */
     private int capacity;
 
+    /**
+     * Rolling hashes of the two sides of the cursor; the left side is a stack
+     * whose top is the previous element, the right side a stack whose top is
+     * the next element. They are only kept up to date once hashCode has been
+     * called, and are rebuilt after a change that does not report its elements.
+     */
+    private final StackHash leftHash = new StackHash();
+    private final StackHash rightHash = new StackHash();
+    private boolean hashValid;
+
     public AbstractTravList(int max) {
         this.capacity = max;
     }
@@ -39,25 +61,258 @@ public abstract class AbstractTravList<E> implements TravList<E> {
         return elem;
     }
 
+    @Override
+    public void moveTo(int index) throws IllegalArgumentException {
+        int size = this.leftLength() + this.rightLength();
+        if (index < 0 || index > size) throw new IllegalArgumentException();
+
+        // start from the beginning, the end or the cursor, whichever is closest
+        int current = this.leftLength();
+        if (index < Math.abs(current - index)) {
+            this.reset();
+            current = 0;
+        } else if (size - index < Math.abs(current - index)) {
+            this.advanceToEnd();
+            current = size;
+        }
+        for (; current < index; current++) this.advance();
+        for (; current > index; current--) this.retreat();
+    }
+
+    @Override
+    public int cursorIndex() {
+        return this.leftLength();
+    }
+
+    @Override
+    public Cursor mark() {
+        return new Cursor(this, this.cursorIndex());
+    }
+
+    @Override
+    public void restore(Cursor cursor) throws IllegalArgumentException {
+        if (cursor.owner != this) throw new IllegalArgumentException();
+        this.moveTo(cursor.index);
+    }
+
+    /*
+     * The default traversals walk the real cursor and put it back;
+     * every implementation in this package reads its storage instead.
+     */
+    @Override
+    public void forEachLeft(Consumer<? super E> action) {
+        Cursor mark = this.mark();
+        int length = this.leftLength();
+        try {
+            this.reset();
+            for (int i = 0; i < length; i++) {
+                action.accept(this.getNext());
+                this.advance();
+            }
+        } finally {
+            this.restore(mark);
+        }
+    }
+
+    @Override
+    public void forEachRight(Consumer<? super E> action) {
+        Cursor mark = this.mark();
+        try {
+            while (this.rightLength() > 0) {
+                action.accept(this.getNext());
+                this.advance();
+            }
+        } finally {
+            this.restore(mark);
+        }
+    }
+
+    /**
+     * Performs the action on every element to the right of the cursor,
+     * from the end of the list back to the cursor, without moving it.
+     * This default copies the right part into an array first; the
+     * implementations in this package read their storage directly.
+     *
+     * @param action the action to perform on each element.
+     */
+    protected void forEachRightReversed(Consumer<? super E> action) {
+        Object[] right = new Object[this.rightLength()];
+        int[] size = {0};
+        this.forEachRight(e -> right[size[0]++] = e);
+        for (int i = right.length - 1; i >= 0; i--) {
+            @SuppressWarnings("unchecked")
+            E elem = (E) right[i];
+            action.accept(elem);
+        }
+    }
+
+    @Override
+    public Stream<E> stream() {
+        return StreamSupport.stream(this.spliterator(0, this.leftLength() + this.rightLength()), false);
+    }
+
+    @Override
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(this.spliterator(0, this.leftLength() + this.rightLength()), true);
+    }
+
+    @Override
+    public Stream<E> leftStream() {
+        return StreamSupport.stream(this.spliterator(0, this.leftLength()), false);
+    }
+
+    @Override
+    public Stream<E> rightStream() {
+        int left = this.leftLength();
+        return StreamSupport.stream(this.spliterator(left, left + this.rightLength()), false);
+    }
+
+    /**
+     * A spliterator over the right part of the list, the same elements
+     * as {@link #iterator()}, but the cursor does not move.
+     *
+     * @return a spliterator over the right part of the list.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        int left = this.leftLength();
+        return this.spliterator(left, left + this.rightLength());
+    }
+
+    /**
+     * Creates a spliterator over the elements at positions {@code [from, to)},
+     * position 0 being the beginning of the list. It must not move the cursor.
+     * This default copies the elements into an array first; the implementations
+     * in this package read their storage directly.
+     *
+     * @param from first position, inclusive.
+     * @param to   last position, exclusive.
+     * @return a spliterator over the range.
+     */
+    protected Spliterator<E> spliterator(int from, int to) {
+        Object[] elements = new Object[this.leftLength() + this.rightLength()];
+        int[] size = {0};
+        this.forEachLeft(e -> elements[size[0]++] = e);
+        this.forEachRight(e -> elements[size[0]++] = e);
+        return Spliterators.spliterator(elements, from, to, IndexedSpliterator.CHARACTERISTICS);
+    }
+
     @Override
     public void reverse() {
         if(this.rightLength() == 0) return;
 
-        this.reset();
-        E element = this.delete();
-        this.reverse();
-        this.advanceToEnd();
-        this.insert(element);
+        this.reverseRange(0, this.leftLength() + this.rightLength());
         this.advanceToEnd();
     }
 
+    @Override
+    public void reverseRange(int from, int to) throws IllegalArgumentException {
+        if (from < 0 || to > this.leftLength() + this.rightLength() || from > to) {
+            throw new IllegalArgumentException();
+        }
+
+        // each insert goes in front of the previous one, so temp holds the range reversed
+        int index = this.cursorIndex();
+        TravList<E> temp = this.newScratch();
+        this.moveTo(from);
+        for (int i = from; i < to; i++) temp.insert(this.delete());
+        this.splice(temp);
+        this.moveTo(index);
+    }
+
+    @Override
+    public void insertAll(Collection<? extends E> elements) throws IllegalArgumentException {
+        Object[] block = elements.toArray();
+        this.checkBlock(block);
+        this.insertBlock(block);
+    }
+
+    @Override
+    public void insertAll(E[] elements) throws IllegalArgumentException {
+        this.checkBlock(elements);
+        this.insertBlock(elements);
+    }
+
+    /*
+     * Checks the whole batch before anything changes.
+     */
+    private void checkBlock(Object[] block) {
+        if (block.length > this.capacity() - this.leftLength() - this.rightLength()) {
+            throw new IllegalArgumentException();
+        }
+        for (Object elem : block) {
+            if (elem == null) throw new IllegalArgumentException();
+        }
+    }
+
+    @Override
+    public void deleteRight(int n, Consumer<? super E> action) throws IllegalArgumentException {
+        if (n < 0 || n > this.rightLength()) throw new IllegalArgumentException();
+        this.deleteBlock(n, action);
+    }
+
+    @Override
+    public List<E> deleteRight(int n) throws IllegalArgumentException {
+        if (n < 0 || n > this.rightLength()) throw new IllegalArgumentException();
+        List<E> deleted = new ArrayList<>(n);
+        this.deleteBlock(n, deleted::add);
+        return deleted;
+    }
+
+    /*
+     * Both block moves go through moveTo, which every implementation
+     * in this package runs as a block move of its storage.
+     */
+    @Override
+    public void advanceBy(int n) throws IllegalArgumentException {
+        if (n < 0 || n > this.rightLength()) throw new IllegalArgumentException();
+        this.moveTo(this.leftLength() + n);
+    }
+
+    @Override
+    public void retreatBy(int n) throws IllegalArgumentException {
+        if (n < 0 || n > this.leftLength()) throw new IllegalArgumentException();
+        this.moveTo(this.leftLength() - n);
+    }
+
+    /**
+     * Inserts the elements of {@code block} to the right of the cursor, the
+     * first one next to the cursor. The caller has checked the elements and
+     * the capacity. This default inserts them one by one from the last;
+     * the implementations in this package write the block straight into
+     * their storage.
+     *
+     * @param block the elements to insert, in order.
+     */
+    protected void insertBlock(Object[] block) {
+        for (int i = block.length - 1; i >= 0; i--) {
+            @SuppressWarnings("unchecked")
+            E elem = (E) block[i];
+            this.insert(elem);
+        }
+    }
+
+    /**
+     * Deletes the {@code n} elements to the right of the cursor and gives
+     * them to {@code action} in order. The caller has checked {@code n}.
+     * This default deletes them one by one; the implementations in this
+     * package cut the block out of their storage.
+     *
+     * @param n      the number of elements to delete.
+     * @param action the action performed on each deleted element.
+     */
+    protected void deleteBlock(int n, Consumer<? super E> action) {
+        for (int i = 0; i < n; i++) action.accept(this.delete());
+    }
+
     @Override
     public void splice(TravList<E> that) {
-        if (that.leftLength() != 0) {
+        if (that.leftLength() != 0
+                || this.leftLength() + this.rightLength() + that.rightLength() > this.capacity()) {
             throw new IllegalArgumentException();
         }
 
-        TravList<E> temp = this.newInstance();
+        TravList<E> temp = this.newScratch();
 
         this.swapRights(temp);
         this.swapRights(that);
@@ -67,8 +322,15 @@ public abstract class AbstractTravList<E> implements TravList<E> {
 
     @Override
     public void swapRights(TravList<E> that) {
-        TravList<E> revThis = this.newInstance();
-        TravList<E> revThat = that.newInstance();
+        // check both capacities first so a failure leaves both lists unchanged
+        if (this.leftLength() + that.rightLength() > this.capacity()
+                || that.leftLength() + this.rightLength() > that.capacity()) {
+            throw new IllegalArgumentException();
+        }
+
+        TravList<E> revThis = this.newScratch();
+        TravList<E> revThat = that instanceof AbstractTravList
+                ? ((AbstractTravList<E>) that).newScratch() : that.newInstance();
 
         while (this.rightLength() > 0) {
             revThis.insert(this.delete());
@@ -84,57 +346,228 @@ public abstract class AbstractTravList<E> implements TravList<E> {
         }
     }
 
+    /**
+     * Creates the empty list used to hold elements for a moment while
+     * {@code swapRights} and {@code splice} run.
+     * It has the same capacity as {@code this} list; lists that are costly
+     * to create can return a cheaper in-memory list.
+     *
+     * @return an empty traversable list with the same capacity.
+     */
+    protected TravList<E> newScratch() {
+        return this.newInstance();
+    }
+
+    /**
+     * Gives the elements of a block cut out by {@code deleteBlock} to the
+     * action, in order, and reports them to the hash. The block is out of
+     * the list before the action sees its first element.
+     *
+     * @param block  the deleted elements, the one next to the cursor first.
+     * @param action the action performed on each of them.
+     */
+    protected final void handOut(Object[] block, Consumer<? super E> action) {
+        for (Object elem : block) this.hashDelete(elem);
+        for (Object elem : block) {
+            @SuppressWarnings("unchecked")
+            E e = (E) elem;
+            action.accept(e);
+        }
+    }
+
+    // ----------------------------------------------------------
+    // Equals and hashCode methods
+    // ----------------------------------------------------------
+
+    /**
+     * Two traversable lists are equal when they hold equal elements in the
+     * same order and their cursors have the same index; the capacity and
+     * the implementation do not matter.
+     * Lists with different hash codes are told apart without reading any element.
+     *
+     * @param o the object to be compared.
+     * @return equal or not.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        if (!(o instanceof TravList)) return false;
+
+        TravList<?> that = (TravList<?>) o;
+        if (this.leftLength() != that.leftLength() || this.rightLength() != that.rightLength()) return false;
+        if (that instanceof AbstractTravList && this.hashCode() != that.hashCode()) return false;
+
+        Iterator<E> mine = this.stream().iterator();
+        Iterator<?> theirs = that.stream().iterator();
+        while (mine.hasNext()) {
+            if (!mine.next().equals(theirs.next())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * The hash code combines a polynomial hash of each side of the cursor
+     * with both lengths. After the first call it is maintained in constant
+     * time by insert, delete, advance, retreat and replace, so later calls do not
+     * read the elements; moves and exchanges of whole blocks make the next call
+     * rebuild it once. Elements must not change their own hash code while in the list.
+     *
+     * @return the hash code of the traversable list.
+     */
+    @Override
+    public int hashCode() {
+        if (!this.hashValid) {
+            this.leftHash.clear();
+            this.rightHash.clear();
+            this.forEachLeft(e -> this.leftHash.push(e.hashCode()));
+            this.forEachRight(e -> this.rightHash.pushUnder(e.hashCode()));
+            this.hashValid = true;
+        }
+
+        int hash = this.leftHash.hash();
+        hash = 31 * hash + this.rightHash.hash();
+        hash = 31 * hash + this.leftLength();
+        return 31 * hash + this.rightLength();
+    }
+
+    /*
+     * Hooks through which the implementations report their changes to the hash.
+     * Each primary operation reports the element it inserts, deletes or moves
+     * across the cursor, and insertBlock its whole block; any other change of the elements or of the cursor
+     * must call hashInvalidate. When getting hold of the element costs something
+     * (decoding, boxing), the hooks can be skipped while hashTracked is false.
+     */
+
+    protected final boolean hashTracked() {
+        return this.hashValid;
+    }
+
+    protected final void hashInsert(Object elem) {
+        if (this.hashValid) this.rightHash.push(elem.hashCode());
+    }
+
+    protected final void hashDelete(Object elem) {
+        if (this.hashValid) this.rightHash.pop(elem.hashCode());
+    }
+
+    protected final void hashAdvance(Object elem) {
+        if (!this.hashValid) return;
+        int elementHash = elem.hashCode();
+        this.rightHash.pop(elementHash);
+        this.leftHash.push(elementHash);
+    }
+
+    protected final void hashRetreat(Object elem) {
+        if (!this.hashValid) return;
+        int elementHash = elem.hashCode();
+        this.leftHash.pop(elementHash);
+        this.rightHash.push(elementHash);
+    }
+
+    protected final void hashReplace(Object oldElem, Object newElem) {
+        if (!this.hashValid) return;
+        this.rightHash.pop(oldElem.hashCode());
+        this.rightHash.push(newElem.hashCode());
+    }
+
+    protected final void hashInsertBlock(Object[] block) {
+        if (!this.hashValid) return;
+        for (int i = block.length - 1; i >= 0; i--) this.rightHash.push(block[i].hashCode());
+    }
+
+    protected final void hashInvalidate() {
+        this.hashValid = false;
+    }
+
     // ----------------------------------------------------------
     // ToString method
     // ----------------------------------------------------------
 
     @Override
-    public String toString() {
+    public <A extends Appendable> A appendTo(A out) throws IOException {
+        try {
+            out.append('[');
+            this.forEachLeft(new Joiner(out));
+            out.append("][");
+            this.forEachRightReversed(new Joiner(out));
+            out.append("]:").append(Integer.toString(this.capacity()));
+        } catch (UncheckedIOException e) {
+            // thrown by the joiner, the traversals cannot pass a checked exception
+            throw e.getCause();
+        }
+        return out;
+    }
 
-        StringBuilder sb = new StringBuilder();
-        TravList<E> leftElement = this.newInstance();
-        TravList<E> rightElement = this.newInstance();
-        ListIterator<E> iterator = this.listIterator();
+    @Override
+    public void writeTo(WritableByteChannel out, RecordCodec<? super E> codec) throws IOException {
+        TravListFormat.write(this, out, codec);
+    }
 
-        /*
-         * Step 1: Deconstruct this TravList ( [left-elems][right-elems] )
-         * into the following 2 travlists: [][left-elems] and [][right-elems]
-         */
-        while (iterator.hasNext()) rightElement.insert(iterator.next());
-        while (iterator.hasPrevious()) leftElement.insert(iterator.previous());
+    @Override
+    public void writeTo(WritableByteChannel out, VariableCodec<? super E> codec) throws IOException {
+        TravListFormat.write(this, out, codec);
+    }
 
-        /*
-         * Step 2: Use rightToString to add both left and right portions of the TravList
-         * to the string builder.
-         */
-        sb.append(this.rightToString(leftElement));
-        sb.append(this.rightToString(rightElement));
-        String showCapacity = ":" + this.capacity();
-        sb.append(showCapacity);
+    @Override
+    public void readFrom(ReadableByteChannel in, RecordCodec<? extends E> codec) throws IOException {
+        TravListFormat.readInto(this, in, codec);
+    }
 
-        /*
-         * Step 3: Restore this TravList to its original state.
-         */
+    @Override
+    public void readFrom(ReadableByteChannel in, VariableCodec<? extends E> codec) throws IOException {
+        TravListFormat.readInto(this, in, codec);
+    }
 
-        return sb.toString();
+    /**
+     * Fills this empty list with {@code leftCount + rightCount} elements, given
+     * from the beginning to the end of the list, and leaves the cursor after
+     * the first {@code leftCount} of them. The caller has checked the capacity.
+     * This default inserts the elements one by one; the implementations in this
+     * package write them straight into their storage.
+     *
+     * @param leftCount  number of elements to the left of the cursor.
+     * @param rightCount number of elements to the right of the cursor.
+     * @param elements   the elements, in order.
+     */
+    protected void load(int leftCount, int rightCount, Iterator<? extends E> elements) {
+        for (int i = 0; i < leftCount + rightCount; i++) {
+            this.insert(elements.next());
+            this.advance();
+        }
+        this.moveTo(leftCount);
+    }
+
+    @Override
+    public String toString() {
+        try {
+            return this.appendTo(new StringBuilder()).toString();
+        } catch (IOException e) {
+            // a StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
     }
 
     /*
-     *  Returns a string representation of the right portion of the TravList.
-     *  The elements are separated by commas and enclosed in brackets.
-     */
-    private String rightToString(TravList<E> TravList) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("[");
-        RightIterator<E> iter = new RightIterator<>(TravList);
-        while (iter.hasNext()) {
-            sb.append(iter.next().toString());
-            if (iter.hasNext()) {
-                sb.append(", ");
+     * Appends the elements it is given, separated by commas.
+     */
+    private static final class Joiner implements Consumer<Object> {
+        private final Appendable out;
+        private boolean first = true;
+
+        Joiner(Appendable out) {
+            this.out = out;
+        }
+
+        @Override
+        public void accept(Object elem) {
+            try {
+                if (!this.first) this.out.append(", ");
+                this.first = false;
+                this.out.append(elem.toString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
         }
-        sb.append("]");
-        return sb.toString();
     }
 
     public Iterator<E> iterator() {
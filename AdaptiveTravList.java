@@ -0,0 +1,924 @@
+package boundedtravlist;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Locale;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * <p>Traversable list that moves its elements to the representation
+ * that suits the operations it is used for.</p>
+ *
+ * <p>The elements live in one of the lists of {@link Representation} and
+ * every method is forwarded to it; the lengths and the capacity are kept
+ * by the adaptive list itself, so that reading them does not reach the held
+ * list. Every call is counted in a sliding window of the last
+ * {@link #getWindow()} calls, kept as {@value #BUCKETS} buckets: for each
+ * kind of operation (edits at the cursor, single steps, jumps of the cursor,
+ * traversals, and exchanges with another list) a bucket counts the calls,
+ * the elements they touch and the elements an array would shift for them;
+ * {@code insertAll} and {@code deleteRight} copy their block in one go, so
+ * they count as traversals of the block. Counting a call is a few additions
+ * to plain counters; the rest of the work waits for the end of a bucket.
+ * Each time a bucket is full, a cost model prices the window
+ * for every representation, from the costs of its operations measured with
+ * lists of 100,000 elements, and the list moves to the cheapest one when</p>
+ * <ul>
+ *     <li>it saves at least {@value #HYSTERESIS} of the cost of the current one,</li>
+ *     <li>the saving over one window pays for copying the elements, and</li>
+ *     <li>a whole window has gone by since the last switch, if any,</li>
+ * </ul>
+ * <p>so that a mix of operations near the break-even point does not make the
+ * list go back and forth. Every evaluation that finds a cheaper
+ * representation is kept in {@link #decisions()}, switched or held.</p>
+ *
+ * <p>To migrate, the elements are copied into an array on the caller's
+ * thread and the new list is loaded from it on a background thread, while
+ * this list carries on with the old one and journals its changes; the
+ * end of the first bucket after the load replays the journal on the new
+ * list and swaps it in. {@code swapRights}, {@code splice}, {@code readFrom} and a
+ * journal that grows as long as the list wait for the load to finish. When
+ * two adaptive lists exchange elements, the smaller one first moves to the
+ * representation of the other, so that they use its fast swap.
+ * Without background migration the list switches within the call that
+ * decides it. Like the lists it uses, an adaptive list is not thread-safe:
+ * only the load runs on another thread, on its own copy of the elements.</p>
+ *
+ * @author Joyce
+ * @param <E> the type of elements in this list.
+ */
+public class AdaptiveTravList<E> implements TravList<E> {
+
+    /**
+     * Calls in the window of a list made without a window.
+     */
+    public static final int DEFAULT_WINDOW = 4_096;
+
+    /**
+     * Number of buckets in the window; the window slides by one bucket at a time.
+     */
+    public static final int BUCKETS = 8;
+
+    /**
+     * Share of the cost of the current representation that a cheaper one must save.
+     */
+    public static final double HYSTERESIS = 0.25;
+
+    /**
+     * Number of decisions kept in the log.
+     */
+    public static final int MAX_DECISIONS = 256;
+
+    // kinds of operations, in the order of the costs of a representation
+    private static final int EDIT = 0;
+    private static final int STEP = 1;
+    private static final int JUMP = 2;
+    private static final int SCAN = 3;
+    private static final int SPLICE = 4;
+    private static final int KINDS = 5;
+
+    // counters of a kind in a bucket
+    private static final int CALLS = 0;
+    private static final int ELEMENTS = 1;
+    private static final int SHIFTS = 2;
+    private static final int COUNTERS = 3 * KINDS;
+
+    /**
+     * <p>The lists that an adaptive list can keep its elements in.</p>
+     *
+     * <p>Each representation prices the kinds of operations in nanoseconds
+     * per call, per element touched and per element shifted, in the order
+     * edit, step, jump, scan and splice. An edit shifts the elements to the
+     * right of the cursor, a jump the elements it crosses, and an exchange
+     * of {@code k} elements with another list {@code k * k / 2} of them,
+     * which is what an array list pays for taking them out one at a time.
+     * The exchanges assume that the other list has the same representation,
+     * as the lists made by {@link #newInstance()} do.</p>
+     */
+    public enum Representation {
+        SIMPLE(SimpleTravList::new, 6.3,
+                new double[]{0, 9, 20, 0, 0},
+                new double[]{12, 0, 0, 1.6, 0},
+                new double[]{0.1, 0, 0, 0, 0.25}),
+        LINKED(LinkedTravList::new, 9.3,
+                new double[]{0, 10, 20, 0, 90},
+                new double[]{11, 0, 0, 5.8, 0},
+                new double[]{0, 0, 1.1, 0, 0}),
+        STACK(StackTravList::new, 36.6,
+                new double[]{0, 120, 50, 0, 100},
+                new double[]{170, 0, 0, 36, 0},
+                new double[]{0, 0, 19, 0, 0}),
+        GAP_BUFFER(GapBufferTravList::new, 3.1,
+                new double[]{0, 6, 20, 0, 0},
+                new double[]{2.5, 0, 0, 0.8, 1.4},
+                new double[]{0, 0, 0.62, 0, 0}) {
+            /*
+             * A gap buffer allocates its whole capacity at once.
+             */
+            @Override
+            boolean fits(int capacity, int size) {
+                return capacity <= Math.max(4L * size, 1 << 16);
+            }
+        };
+
+        private final IntFunction<AbstractTravList<?>> factory;
+        private final double perLoad;
+        private final double[] perCall;
+        private final double[] perElement;
+        private final double[] perShift;
+
+        Representation(IntFunction<AbstractTravList<?>> factory, double perLoad,
+                       double[] perCall, double[] perElement, double[] perShift) {
+            this.factory = factory;
+            this.perLoad = perLoad;
+            this.perCall = perCall;
+            this.perElement = perElement;
+            this.perShift = perShift;
+        }
+
+        @SuppressWarnings("unchecked")
+        <E> AbstractTravList<E> create(int max) {
+            return (AbstractTravList<E>) this.factory.apply(max);
+        }
+
+        /*
+         * Prices the calls, elements and shifts of each kind, three counters per kind.
+         */
+        double cost(long[] counts) {
+            double cost = 0;
+            for (int kind = 0; kind < KINDS; kind++) {
+                cost += this.perCall[kind] * counts[3 * kind + CALLS]
+                        + this.perElement[kind] * counts[3 * kind + ELEMENTS]
+                        + this.perShift[kind] * counts[3 * kind + SHIFTS];
+            }
+            return cost;
+        }
+
+        /*
+         * Copying the elements out of a list reads them like a traversal.
+         */
+        double migrationCost(Representation from, int size) {
+            return size * (from.perElement[SCAN] + this.perLoad);
+        }
+
+        boolean fits(int capacity, int size) {
+            return true;
+        }
+    }
+
+    /**
+     * An evaluation of the window that found a representation
+     * cheaper than the current one.
+     */
+    public static final class Decision {
+        private final long operation;
+        private final Representation from;
+        private final Representation to;
+        private final double fromCost;
+        private final double toCost;
+        private final boolean switched;
+
+        Decision(long operation, Representation from, Representation to,
+                 double fromCost, double toCost, boolean switched) {
+            this.operation = operation;
+            this.from = from;
+            this.to = to;
+            this.fromCost = fromCost;
+            this.toCost = toCost;
+            this.switched = switched;
+        }
+
+        /**
+         * @return the number of calls made before the decision.
+         */
+        public long operation() {
+            return this.operation;
+        }
+
+        public Representation from() {
+            return this.from;
+        }
+
+        public Representation to() {
+            return this.to;
+        }
+
+        /**
+         * @return the predicted cost of the window with the current representation, in nanoseconds.
+         */
+        public double fromCost() {
+            return this.fromCost;
+        }
+
+        /**
+         * @return the predicted cost of the window with the cheaper representation, in nanoseconds.
+         */
+        public double toCost() {
+            return this.toCost;
+        }
+
+        /**
+         * @return true if the list migrated, false if the hysteresis held it back.
+         */
+        public boolean switched() {
+            return this.switched;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d: %s %.0f ns -> %s %.0f ns, %s", this.operation,
+                    this.from, this.fromCost, this.to, this.toCost, this.switched ? "switched" : "held");
+        }
+    }
+
+    /**
+     * A new representation being loaded, with the changes made since the copy.
+     */
+    private final class Migration implements Runnable {
+        final Representation to;
+        final Object[] elements;
+        final int leftLength;
+        final List<Consumer<TravList<E>>> changes = new ArrayList<>();
+        Thread thread;
+        volatile AbstractTravList<E> loaded;
+
+        Migration(Representation to, Object[] elements, int leftLength) {
+            this.to = to;
+            this.elements = elements;
+            this.leftLength = leftLength;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            AbstractTravList<E> list = this.to.create(AdaptiveTravList.this.capacity());
+            list.load(this.leftLength, this.elements.length - this.leftLength,
+                    (Iterator<E>) Arrays.asList(this.elements).iterator());
+            this.loaded = list;
+        }
+    }
+
+    // representation
+
+    private AbstractTravList<E> list;
+    private Representation representation;
+
+    /**
+     * Copies of the lengths and the capacity of the held list.
+     */
+    private int leftLength;
+    private int rightLength;
+    private final int capacity;
+
+    private final int window;
+    private final int bucketSize;
+    private final boolean background;
+
+    /**
+     * Calls, elements and shifts of each kind of operation, bucket after bucket;
+     * the current bucket starts at {@code offset} and is full in {@code untilFull} calls.
+     */
+    private final long[] buckets = new long[BUCKETS * COUNTERS];
+    private int offset;
+    private int untilFull;
+
+    private long operations;
+    private long lastSwitch;
+    private int switchCount;
+    private Migration migration;
+    private final Deque<Decision> decisions = new ArrayDeque<>();
+
+    /**
+     * Creates a list that starts as a gap buffer, the cheapest representation
+     * for most operations, or as a simple list when the capacity is too large
+     * to allocate at once.
+     *
+     * @param max capacity of the list.
+     */
+    public AdaptiveTravList(int max) {
+        this(max, Representation.GAP_BUFFER.fits(max, 0) ? Representation.GAP_BUFFER : Representation.SIMPLE,
+                DEFAULT_WINDOW, true);
+    }
+
+    /**
+     * @param max        capacity of the list.
+     * @param initial    the representation the list starts with.
+     * @param window     number of calls the cost model looks at.
+     * @param background true to load a new representation on a background thread.
+     * @throws IllegalArgumentException if the capacity is negative, the representation
+     *                                  is null or the window is smaller than {@value #BUCKETS}
+     */
+    public AdaptiveTravList(int max, Representation initial, int window, boolean background)
+            throws IllegalArgumentException {
+        if (max < 0 || initial == null || window < BUCKETS) throw new IllegalArgumentException();
+        this.list = initial.create(max);
+        this.representation = initial;
+        this.capacity = max;
+        this.window = window;
+        this.bucketSize = window / BUCKETS;
+        this.untilFull = this.bucketSize;
+        this.background = background;
+        // the first switch does not wait
+        this.lastSwitch = -window;
+    }
+
+    public int getWindow() {
+        return this.window;
+    }
+
+    // ==========================================================
+    // Adaptation
+    // ==========================================================
+
+    /**
+     * @return the representation that holds the elements now.
+     */
+    public Representation representation() {
+        return this.representation;
+    }
+
+    /**
+     * @return the number of migrations completed.
+     */
+    public int switchCount() {
+        return this.switchCount;
+    }
+
+    /**
+     * @return the last {@value #MAX_DECISIONS} decisions, oldest first.
+     */
+    public List<Decision> decisions() {
+        return new ArrayList<>(this.decisions);
+    }
+
+    /**
+     * @return true while a new representation is being loaded.
+     */
+    public boolean migrating() {
+        return this.migration != null;
+    }
+
+    /**
+     * Predicts the cost of the calls in the window with a representation.
+     *
+     * @param representation the representation to price.
+     * @return the predicted cost in nanoseconds.
+     */
+    public double predictedCost(Representation representation) {
+        return representation.cost(this.windowCounts());
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Waits until the representation being loaded, if any, is loaded,
+     * and swaps it in.
+     */
+    public void awaitMigration() {
+        Migration migration = this.migration;
+        if (migration == null) return;
+        boolean interrupted = false;
+        while (migration.thread.isAlive()) {
+            try {
+                migration.thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+        if (migration.loaded != null) {
+            this.swapIn(migration);
+        } else {
+            // the load failed, the list stays as it is
+            this.migration = null;
+        }
+    }
+
+    /*
+     * Counts a call before it runs, so that a migration started at the end
+     * of the bucket journals it.
+     */
+    private void count(int kind, long elements, long shifts) {
+        int i = this.offset + 3 * kind;
+        this.buckets[i + CALLS]++;
+        this.buckets[i + ELEMENTS] += elements;
+        this.buckets[i + SHIFTS] += shifts;
+        if (--this.untilFull == 0) this.bucketFull();
+    }
+
+    /*
+     * Swaps in a loaded representation, evaluates the window,
+     * and slides the window by one bucket.
+     */
+    private void bucketFull() {
+        Migration migration = this.migration;
+        if (migration != null && migration.loaded != null) this.swapIn(migration);
+
+        this.operations += this.bucketSize;
+        this.evaluate();
+        this.offset = (this.offset + COUNTERS) % this.buckets.length;
+        Arrays.fill(this.buckets, this.offset, this.offset + COUNTERS, 0);
+        this.untilFull = this.bucketSize;
+    }
+
+    private long[] windowCounts() {
+        long[] counts = new long[COUNTERS];
+        for (int i = 0; i < this.buckets.length; i++) counts[i % counts.length] += this.buckets[i];
+        return counts;
+    }
+
+    private void evaluate() {
+        if (this.migration != null) return;
+
+        long[] counts = this.windowCounts();
+        int size = this.size();
+        Representation best = this.representation;
+        double current = best.cost(counts);
+        double bestCost = current;
+        for (Representation representation : Representation.values()) {
+            double cost = representation.cost(counts);
+            if (cost < bestCost && representation.fits(this.capacity(), size)) {
+                best = representation;
+                bestCost = cost;
+            }
+        }
+        if (best == this.representation) return;
+
+        boolean worth = bestCost <= (1 - HYSTERESIS) * current
+                && current - bestCost > best.migrationCost(this.representation, size)
+                && this.operations - this.lastSwitch >= this.window;
+        this.log(best, current, bestCost, worth);
+        if (worth) this.migrate(best, this.background);
+    }
+
+    private void log(Representation to, double fromCost, double toCost, boolean switched) {
+        if (this.decisions.size() == MAX_DECISIONS) this.decisions.removeFirst();
+        this.decisions.addLast(new Decision(this.operations, this.representation, to, fromCost, toCost, switched));
+    }
+
+    /*
+     * Moves to the representation of a list this one exchanges elements with,
+     * at once, so that the exchange runs with the fast swap of that representation.
+     */
+    private void follow(Representation to) {
+        this.awaitMigration();
+        if (to == this.representation) return;
+        this.log(to, this.predictedCost(this.representation), this.predictedCost(to), true);
+        this.migrate(to, false);
+    }
+
+    private void migrate(Representation to, boolean background) {
+        Object[] elements = new Object[this.size()];
+        int[] i = {0};
+        this.list.forEachLeft(e -> elements[i[0]++] = e);
+        this.list.forEachRight(e -> elements[i[0]++] = e);
+        Migration migration = new Migration(to, elements, this.leftLength);
+        this.lastSwitch = this.operations;
+
+        if (!background) {
+            migration.run();
+            this.swapIn(migration);
+            return;
+        }
+        migration.thread = new Thread(migration, "travlist-migration");
+        migration.thread.setDaemon(true);
+        this.migration = migration;
+        migration.thread.start();
+    }
+
+    private void swapIn(Migration migration) {
+        for (Consumer<TravList<E>> change : migration.changes) change.accept(migration.loaded);
+        this.list = migration.loaded;
+        this.representation = migration.to;
+        this.switchCount++;
+        this.migration = null;
+    }
+
+    /*
+     * Keeps a change made to the old list for the new one;
+     * a journal as long as the list is not worth keeping any longer.
+     */
+    private void journal(Consumer<TravList<E>> change) {
+        this.migration.changes.add(change);
+        if (this.migration.changes.size() > Math.max(this.bucketSize, this.migration.elements.length)) {
+            this.awaitMigration();
+        }
+    }
+
+    private int size() {
+        return this.leftLength + this.rightLength;
+    }
+
+    /*
+     * Reads the lengths again after a change whose effect on them the
+     * adaptive list does not follow.
+     */
+    private void lengthsChanged() {
+        this.leftLength = this.list.leftLength();
+        this.rightLength = this.list.rightLength();
+    }
+
+    // ==========================================================
+    // Changes
+    // ==========================================================
+
+    @Override
+    public void insert(E elem) throws IllegalArgumentException {
+        this.count(EDIT, 1, this.rightLength);
+        this.list.insert(elem);
+        this.rightLength++;
+        if (this.migration != null) this.journal(l -> l.insert(elem));
+    }
+
+    @Override
+    public E delete() {
+        this.count(EDIT, 1, this.rightLength);
+        E elem = this.list.delete();
+        this.rightLength--;
+        if (this.migration != null) this.journal(TravList::delete);
+        return elem;
+    }
+
+    @Override
+    public void advance() {
+        this.count(STEP, 1, 0);
+        this.list.advance();
+        this.leftLength++;
+        this.rightLength--;
+        if (this.migration != null) this.journal(TravList::advance);
+    }
+
+    @Override
+    public void retreat() {
+        this.count(STEP, 1, 0);
+        this.list.retreat();
+        this.leftLength--;
+        this.rightLength++;
+        if (this.migration != null) this.journal(TravList::retreat);
+    }
+
+    @Override
+    public void reset() {
+        this.moveTo(0);
+    }
+
+    @Override
+    public void advanceToEnd() {
+        this.moveTo(this.size());
+    }
+
+    @Override
+    public void moveTo(int index) throws IllegalArgumentException {
+        this.count(JUMP, 0, Math.abs(index - this.leftLength));
+        this.list.moveTo(index);
+        this.rightLength += this.leftLength - index;
+        this.leftLength = index;
+        if (this.migration != null) this.journal(l -> l.moveTo(index));
+    }
+
+    @Override
+    public void advanceBy(int n) throws IllegalArgumentException {
+        this.count(JUMP, 0, Math.abs(n));
+        this.list.advanceBy(n);
+        this.leftLength += n;
+        this.rightLength -= n;
+        if (this.migration != null) this.journal(l -> l.advanceBy(n));
+    }
+
+    @Override
+    public void retreatBy(int n) throws IllegalArgumentException {
+        this.count(JUMP, 0, Math.abs(n));
+        this.list.retreatBy(n);
+        this.leftLength -= n;
+        this.rightLength += n;
+        if (this.migration != null) this.journal(l -> l.retreatBy(n));
+    }
+
+    @Override
+    public E replace(E element) {
+        E elem = this.list.replace(element);
+        if (this.migration != null) this.journal(l -> l.replace(element));
+        return elem;
+    }
+
+    @Override
+    public void insertAll(Collection<? extends E> elements) throws IllegalArgumentException {
+        this.count(SCAN, elements.size(), 0);
+        this.list.insertAll(elements);
+        this.lengthsChanged();
+        if (this.migration != null) {
+            List<E> block = new ArrayList<>(elements);
+            this.journal(l -> l.insertAll(block));
+        }
+    }
+
+    @Override
+    public void insertAll(E[] elements) throws IllegalArgumentException {
+        this.count(SCAN, elements.length, 0);
+        this.list.insertAll(elements);
+        this.rightLength += elements.length;
+        if (this.migration != null) {
+            E[] block = elements.clone();
+            this.journal(l -> l.insertAll(block));
+        }
+    }
+
+    @Override
+    public void deleteRight(int n, Consumer<? super E> action) throws IllegalArgumentException {
+        this.count(SCAN, n, 0);
+        this.list.deleteRight(n, action);
+        this.rightLength -= n;
+        if (this.migration != null) this.journal(l -> l.deleteRight(n, e -> { }));
+    }
+
+    @Override
+    public List<E> deleteRight(int n) throws IllegalArgumentException {
+        this.count(SCAN, n, 0);
+        List<E> deleted = this.list.deleteRight(n);
+        this.rightLength -= n;
+        if (this.migration != null) this.journal(l -> l.deleteRight(n, e -> { }));
+        return deleted;
+    }
+
+    @Override
+    public void reverse() {
+        this.count(SCAN, this.size(), 0);
+        this.list.reverse();
+        this.lengthsChanged();
+        if (this.migration != null) this.journal(TravList::reverse);
+    }
+
+    @Override
+    public void reverseRange(int from, int to) throws IllegalArgumentException {
+        this.count(SCAN, Math.max(0, to - from), 0);
+        this.list.reverseRange(from, to);
+        if (this.migration != null) this.journal(l -> l.reverseRange(from, to));
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Swaps the right parts of the held list and of {@code that} list.
+     * An adaptive {@code that} is unwrapped first and the smaller of the two
+     * lists moves to the representation of the other, so that they exchange
+     * their right parts with the fast swap of that representation.
+     * A migration of either list finishes before the swap.
+     *
+     * @param that right part of the list passed in parameter.
+     */
+    @Override
+    public void swapRights(TravList<E> that) {
+        int thatRight = that.rightLength();
+        TravList<E> other = this.beforeExchange(that, this.rightLength + (long) thatRight);
+        this.list.swapRights(other);
+        if (that == this) return;
+
+        if (that instanceof AdaptiveTravList) ((AdaptiveTravList<E>) that).rightLength = this.rightLength;
+        this.rightLength = thatRight;
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Adds all the elements from {@code that} traversable list to the left
+     * of the cursor, unwrapping an adaptive {@code that} like {@code swapRights}.
+     *
+     * @param that list passed in parameter.
+     */
+    @Override
+    public void splice(TravList<E> that) {
+        int thatRight = that.rightLength();
+        TravList<E> other = this.beforeExchange(that, thatRight);
+        this.list.splice(other);
+        if (that == this) {
+            this.lengthsChanged();
+            return;
+        }
+
+        if (that instanceof AdaptiveTravList) ((AdaptiveTravList<E>) that).rightLength = 0;
+        this.leftLength += thatRight;
+    }
+
+    /*
+     * Counts an exchange on both lists, waits for their migrations, and
+     * gives the list to exchange elements with: the held list of an adaptive
+     * one, after the smaller of the two has moved to the representation of
+     * the other.
+     */
+    private TravList<E> beforeExchange(TravList<E> that, long moved) {
+        this.count(SPLICE, moved, moved * moved / 2);
+        if (this.migration != null) this.awaitMigration();
+        if (that == this) return this.list;
+        if (!(that instanceof AdaptiveTravList)) return that;
+
+        AdaptiveTravList<E> other = (AdaptiveTravList<E>) that;
+        other.count(SPLICE, moved, moved * moved / 2);
+        if (other.migration != null) other.awaitMigration();
+        if (other.representation != this.representation) {
+            // the smaller list follows the other one, it is cheaper to copy
+            if (other.size() <= this.size()) {
+                other.follow(this.representation);
+            } else {
+                this.follow(other.representation);
+            }
+        }
+        return other.list;
+    }
+
+    @Override
+    public void readFrom(ReadableByteChannel in, RecordCodec<? extends E> codec) throws IOException {
+        this.awaitMigration();
+        try {
+            this.list.readFrom(in, codec);
+        } finally {
+            this.lengthsChanged();
+        }
+    }
+
+    @Override
+    public void readFrom(ReadableByteChannel in, VariableCodec<? extends E> codec) throws IOException {
+        this.awaitMigration();
+        try {
+            this.list.readFrom(in, codec);
+        } finally {
+            this.lengthsChanged();
+        }
+    }
+
+    // ==========================================================
+    // Traversals
+    // ==========================================================
+
+    @Override
+    public void forEachLeft(Consumer<? super E> action) {
+        this.count(SCAN, this.leftLength, 0);
+        this.list.forEachLeft(action);
+    }
+
+    @Override
+    public void forEachRight(Consumer<? super E> action) {
+        this.count(SCAN, this.rightLength, 0);
+        this.list.forEachRight(action);
+    }
+
+    @Override
+    public Stream<E> stream() {
+        this.count(SCAN, this.size(), 0);
+        return this.list.stream();
+    }
+
+    @Override
+    public Stream<E> parallelStream() {
+        this.count(SCAN, this.size(), 0);
+        return this.list.parallelStream();
+    }
+
+    @Override
+    public Stream<E> leftStream() {
+        this.count(SCAN, this.leftLength, 0);
+        return this.list.leftStream();
+    }
+
+    @Override
+    public Stream<E> rightStream() {
+        this.count(SCAN, this.rightLength, 0);
+        return this.list.rightStream();
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        this.count(SCAN, this.rightLength, 0);
+        return this.list.spliterator();
+    }
+
+    /**
+     * An iterator over the right part of the list that reads the held list
+     * without moving the cursor, so that it is counted as one traversal.
+     *
+     * @return an iterator over the right part of the list.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return Spliterators.iterator(this.spliterator());
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return new TravListIterator<>(this);
+    }
+
+    @Override
+    public <A extends Appendable> A appendTo(A out) throws IOException {
+        this.count(SCAN, this.size(), 0);
+        return this.list.appendTo(out);
+    }
+
+    @Override
+    public void writeTo(WritableByteChannel out, RecordCodec<? super E> codec) throws IOException {
+        this.count(SCAN, this.size(), 0);
+        this.list.writeTo(out, codec);
+    }
+
+    @Override
+    public void writeTo(WritableByteChannel out, VariableCodec<? super E> codec) throws IOException {
+        this.count(SCAN, this.size(), 0);
+        this.list.writeTo(out, codec);
+    }
+
+    // ==========================================================
+    // Forwarded methods
+    // ==========================================================
+
+    @Override
+    public int leftLength() {
+        return this.leftLength;
+    }
+
+    @Override
+    public int rightLength() {
+        return this.rightLength;
+    }
+
+    @Override
+    public int cursorIndex() {
+        return this.leftLength;
+    }
+
+    /**
+     * A mark of an adaptive list holds the index of the cursor,
+     * so that it can be restored after a migration.
+     *
+     * @return the position of the cursor.
+     */
+    @Override
+    public Cursor mark() {
+        return new Cursor(this, this.leftLength);
+    }
+
+    @Override
+    public void restore(Cursor cursor) throws IllegalArgumentException {
+        if (cursor.owner != this) throw new IllegalArgumentException();
+        this.moveTo(cursor.index);
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Creates an empty adaptive list with the same capacity, window and
+     * migration mode, starting with the current representation.
+     *
+     * @return a new adaptive empty list.
+     */
+    @Override
+    public TravList<E> newInstance() {
+        return new AdaptiveTravList<>(this.capacity(), this.representation, this.window, this.background);
+    }
+
+    @Override
+    public int capacity() {
+        return this.capacity;
+    }
+
+    @Override
+    public E getNext() {
+        return this.list.getNext();
+    }
+
+    @Override
+    public E getPrevious() {
+        return this.list.getPrevious();
+    }
+
+    /**
+     * An adaptive list is equal to the traversable lists
+     * that its held list is equal to.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        return this.list.equals(o instanceof AdaptiveTravList ? ((AdaptiveTravList<?>) o).list : o);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.list.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.list.toString();
+    }
+}
@@ -0,0 +1,140 @@
+package boundedtravlist;
+
+import boundedtravlist.AdaptiveTravList.Representation;
+
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * <p>Workloads that favour each representation, for {@link AdaptiveTravList}.</p>
+ *
+ * <p>Run with {@code java boundedtravlist.AdaptiveTravListBenchmark [operations]}.
+ * Each workload runs on a list of {@value #SIZE} elements, once with each
+ * fixed representation and once with an adaptive list made with its
+ * defaults, which starts as a gap buffer:</p>
+ * <ul>
+ *     <li>jumps: the cursor jumps anywhere and reads the next element;</li>
+ *     <li>edits: elements are inserted and deleted at a cursor that wanders step by step;</li>
+ *     <li>swaps: the tail of the list, {@value #TAIL} elements, is swapped with another list;</li>
+ *     <li>phases: the three workloads in turn, twice.</li>
+ * </ul>
+ * <p>Each row is preceded by warm-up runs of the same code and reports the
+ * fastest of {@value #ROUNDS} runs, in milliseconds; the last column is the
+ * time of the adaptive list over the time of the best fixed representation
+ * for the workload. The adaptive list pays for the calls it takes to notice
+ * a workload and for the copy of its elements, so the workloads are long
+ * next to its window of {@value AdaptiveTravList#DEFAULT_WINDOW} calls.</p>
+ *
+ * @author Joyce
+ */
+public class AdaptiveTravListBenchmark {
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int ROUNDS = 3;
+    private static final int SIZE = 20_000;
+    private static final int TAIL = 100;
+
+    private static long sink;
+
+    private interface Workload {
+        void run(TravList<Integer> list, TravList<Integer> other, Random random, int operations);
+    }
+
+    public static void main(String[] args) {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        System.out.println(operations + " operations on " + SIZE + " elements (ms)");
+        System.out.printf("%-10s", "");
+        for (Representation representation : Representation.values()) System.out.printf("%12s", representation);
+        System.out.printf("%12s%12s%10s%n", "ADAPTIVE", "switches", "ratio");
+
+        // a jump crosses thousands of elements on the lists that move them
+        row("jumps", operations / 10, AdaptiveTravListBenchmark::jumps);
+        row("edits", operations, AdaptiveTravListBenchmark::edits);
+        row("swaps", operations, AdaptiveTravListBenchmark::swaps);
+        row("phases", operations, AdaptiveTravListBenchmark::phases);
+    }
+
+    private static void row(String name, int operations, Workload workload) {
+        System.out.printf("%-10s", name);
+        double best = Double.MAX_VALUE;
+        for (Representation representation : Representation.values()) {
+            double millis = time(max -> representation.create(max), workload, operations);
+            best = Math.min(best, millis);
+            System.out.printf("%12.1f", millis);
+        }
+        int[] switches = {0};
+        double adaptive = time(AdaptiveTravList::new, (list, other, random, n) -> {
+            workload.run(list, other, random, n);
+            switches[0] = ((AdaptiveTravList<Integer>) list).switchCount();
+        }, operations);
+        System.out.printf("%12.1f%12d%10.2f%n", adaptive, switches[0], adaptive / best);
+    }
+
+    private static double time(IntFunction<TravList<Integer>> factory, Workload workload, int operations) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) run(factory, workload, operations);
+        double fastest = Double.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) fastest = Math.min(fastest, run(factory, workload, operations));
+        return fastest;
+    }
+
+    private static double run(IntFunction<TravList<Integer>> factory, Workload workload, int operations) {
+        TravList<Integer> list = factory.apply(2 * SIZE);
+        Integer[] elements = new Integer[SIZE];
+        for (int i = 0; i < SIZE; i++) elements[i] = i;
+        list.insertAll(elements);
+        TravList<Integer> other = list.newInstance();
+        for (int i = 0; i < TAIL; i++) other.insert(-i);
+        Random random = new Random(42);
+
+        long start = System.nanoTime();
+        workload.run(list, other, random, operations);
+        long elapsed = System.nanoTime() - start;
+        return elapsed / 1e6;
+    }
+
+    private static void jumps(TravList<Integer> list, TravList<Integer> other, Random random, int operations) {
+        for (int i = 0; i < operations; i++) {
+            int size = list.leftLength() + list.rightLength();
+            list.moveTo(random.nextInt(size));
+            sink += list.getNext();
+        }
+    }
+
+    private static void edits(TravList<Integer> list, TravList<Integer> other, Random random, int operations) {
+        list.moveTo((list.leftLength() + list.rightLength()) / 2);
+        Integer elem = -1;
+        for (int i = 0; i < operations; i++) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    if (list.leftLength() + list.rightLength() < list.capacity()) list.insert(elem);
+                    break;
+                case 1:
+                    if (list.rightLength() > 1) list.delete();
+                    break;
+                case 2:
+                    if (list.rightLength() > 1) list.advance();
+                    break;
+                default:
+                    if (list.leftLength() > 0) list.retreat();
+                    break;
+            }
+        }
+    }
+
+    private static void swaps(TravList<Integer> list, TravList<Integer> other, Random random, int operations) {
+        int size = list.leftLength() + list.rightLength();
+        list.moveTo(size - TAIL);
+        for (int i = 0; i < operations; i++) {
+            list.swapRights(other);
+            sink += list.getNext();
+        }
+    }
+
+    private static void phases(TravList<Integer> list, TravList<Integer> other, Random random, int operations) {
+        for (int round = 0; round < 2; round++) {
+            jumps(list, other, random, operations / 20);
+            edits(list, other, random, operations / 2);
+            swaps(list, other, random, operations / 20);
+        }
+    }
+}
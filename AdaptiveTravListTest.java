@@ -0,0 +1,262 @@
+package boundedtravlist;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import boundedtravlist.AdaptiveTravList.Decision;
+import boundedtravlist.AdaptiveTravList.Representation;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class AdaptiveTravListTest {
+
+    AdaptiveTravList<Integer> list123_45;
+
+    @Before
+    public void setUp() {
+        list123_45 = new AdaptiveTravList<>(5);
+        list123_45.insert(5);
+        list123_45.insert(4);
+        list123_45.insert(3);
+        list123_45.insert(2);
+        list123_45.insert(1);
+        list123_45.advance();
+        list123_45.advance();
+        list123_45.advance();
+    }
+
+    private static AdaptiveTravList<Integer> filled(Representation initial, int size, int window) {
+        AdaptiveTravList<Integer> list = new AdaptiveTravList<>(2 * size, initial, window, false);
+        Integer[] elements = new Integer[size];
+        for (int i = 0; i < size; i++) elements[i] = i;
+        list.insertAll(elements);
+        return list;
+    }
+
+    // ==========================================================
+    // Forwarded methods
+    // ==========================================================
+
+    @Test
+    public void behavesLikeTheListItHolds() {
+        assertEquals("[1, 2, 3][5, 4]:5", list123_45.toString());
+        assertEquals(Integer.valueOf(4), list123_45.delete());
+        list123_45.retreat();
+        assertEquals(Integer.valueOf(3), list123_45.replace(9));
+        assertEquals(Arrays.asList(9, 5), list123_45.deleteRight(2));
+        list123_45.insertAll(Arrays.asList(7, 8));
+        assertEquals("[1, 2][8, 7]:5", list123_45.toString());
+        assertEquals(Representation.GAP_BUFFER, list123_45.representation());
+    }
+
+    @Test
+    public void iteratorDoesNotMoveTheCursor() {
+        Iterator<Integer> iterator = list123_45.iterator();
+        assertEquals(Integer.valueOf(4), iterator.next());
+        assertEquals(Integer.valueOf(5), iterator.next());
+        assertFalse(iterator.hasNext());
+        assertEquals(3, list123_45.cursorIndex());
+    }
+
+    @Test
+    public void equalsTheListItHolds() {
+        GapBufferTravList<Integer> other = new GapBufferTravList<>(5);
+        other.insertAll(new Integer[]{1, 2, 3, 4, 5});
+        other.advanceBy(3);
+        assertEquals(list123_45, other);
+        assertEquals(other, list123_45);
+        assertEquals(other.hashCode(), list123_45.hashCode());
+    }
+
+    @Test
+    public void swapRightsUnwrapsTheOtherList() {
+        AdaptiveTravList<Integer> other = new AdaptiveTravList<>(5);
+        other.insert(20);
+        other.insert(10);
+        list123_45.swapRights(other);
+        assertEquals("[1, 2, 3][20, 10]:5", list123_45.toString());
+        assertEquals("[][5, 4]:5", other.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void windowSmallerThanTheBuckets() {
+        new AdaptiveTravList<>(5, Representation.SIMPLE, AdaptiveTravList.BUCKETS - 1, false);
+        fail();
+    }
+
+    // ==========================================================
+    // Adaptation
+    // ==========================================================
+
+    @Test
+    public void editsAtTheFrontLeaveTheSimpleList() {
+        AdaptiveTravList<Integer> list = filled(Representation.SIMPLE, 20_000, 256);
+        list.reset();
+        for (int i = 0; i < 1_000; i++) {
+            list.insert(i);
+            list.delete();
+        }
+        assertEquals(Representation.GAP_BUFFER, list.representation());
+        assertEquals(1, list.switchCount());
+        Decision last = list.decisions().get(list.decisions().size() - 1);
+        assertTrue(last.switched());
+        assertEquals(Representation.SIMPLE, last.from());
+        assertEquals(Representation.GAP_BUFFER, last.to());
+        assertTrue(last.toCost() < last.fromCost());
+        assertEquals(20_000, list.rightLength());
+    }
+
+    @Test
+    public void randomJumpsMoveToTheSimpleList() {
+        AdaptiveTravList<Integer> list = filled(Representation.GAP_BUFFER, 20_000, 256);
+        Random random = new Random(3);
+        long sum = 0;
+        for (int i = 0; i < 1_000; i++) {
+            list.moveTo(random.nextInt(20_000));
+            sum += list.getNext();
+        }
+        assertTrue(sum > 0);
+        assertEquals(Representation.SIMPLE, list.representation());
+    }
+
+    @Test
+    public void swapsMoveToAListThatSwapsInConstantTime() {
+        AdaptiveTravList<Integer> list = filled(Representation.GAP_BUFFER, 20_000, 256);
+        TravList<Integer> other = list.newInstance();
+        other.insertAll(new Integer[]{-1, -2, -3});
+        list.moveTo(10_000);
+        for (int i = 0; i < 1_000; i++) list.swapRights(other);
+        assertEquals(Representation.LINKED, list.representation());
+        assertEquals(10_000, list.leftLength());
+        assertEquals(10_000, list.rightLength());
+        assertEquals(3, other.rightLength());
+    }
+
+    @Test
+    public void aSteadyMixSwitchesOnce() {
+        AdaptiveTravList<Integer> list = filled(Representation.SIMPLE, 20_000, 256);
+        list.moveTo(100);
+        for (int i = 0; i < 20_000; i++) {
+            list.insert(i);
+            list.advance();
+            list.retreat();
+            list.delete();
+        }
+        assertEquals(1, list.switchCount());
+        assertEquals(Representation.GAP_BUFFER, list.representation());
+    }
+
+    @Test
+    public void aSavingThatDoesNotPayForTheCopyIsHeld() {
+        // edits at the end of a simple list shift nothing
+        AdaptiveTravList<Integer> list = filled(Representation.SIMPLE, 50_000, 64);
+        list.advanceToEnd();
+        for (int i = 0; i < 1_000; i++) {
+            list.insert(i);
+            list.delete();
+        }
+        assertEquals(Representation.SIMPLE, list.representation());
+        assertEquals(0, list.switchCount());
+        List<Decision> decisions = list.decisions();
+        assertFalse(decisions.isEmpty());
+        for (Decision decision : decisions) assertFalse(decision.switched());
+        assertTrue(list.predictedCost(Representation.GAP_BUFFER) < list.predictedCost(Representation.SIMPLE));
+    }
+
+    @Test
+    public void decisionLogIsBounded() {
+        AdaptiveTravList<Integer> list = filled(Representation.SIMPLE, 50_000, 8);
+        list.advanceToEnd();
+        for (int i = 0; i < 2 * AdaptiveTravList.MAX_DECISIONS * 8; i++) {
+            list.insert(i);
+            list.delete();
+        }
+        assertEquals(AdaptiveTravList.MAX_DECISIONS, list.decisions().size());
+    }
+
+    @Test
+    public void markSurvivesAMigration() {
+        AdaptiveTravList<Integer> list = filled(Representation.SIMPLE, 20_000, 256);
+        list.moveTo(7);
+        Cursor mark = list.mark();
+        list.reset();
+        for (int i = 0; i < 1_000; i++) {
+            list.insert(i);
+            list.delete();
+        }
+        assertEquals(1, list.switchCount());
+        list.restore(mark);
+        assertEquals(7, list.cursorIndex());
+        assertEquals(Integer.valueOf(7), list.getNext());
+    }
+
+    @Test
+    public void backgroundMigrationReplaysTheChangesMadeMeanwhile() {
+        AdaptiveTravList<Integer> list = new AdaptiveTravList<>(40_000, Representation.SIMPLE, 256, true);
+        GapBufferTravList<Integer> expected = new GapBufferTravList<>(40_000);
+        for (int i = 0; i < 20_000; i++) {
+            list.insert(i);
+            expected.insert(i);
+        }
+        Random random = new Random(5);
+        for (int i = 0; i < 5_000; i++) {
+            randomOperation(random, list, expected, i);
+        }
+        list.awaitMigration();
+        assertFalse(list.migrating());
+        assertTrue(list.switchCount() > 0);
+        assertEquals(expected.toString(), list.toString());
+    }
+
+    @Test
+    public void randomOperationsMatchAGapBuffer() {
+        for (boolean background : new boolean[]{false, true}) {
+            Random random = new Random(7);
+            AdaptiveTravList<Integer> list = new AdaptiveTravList<>(2_000, Representation.STACK, 16, background);
+            GapBufferTravList<Integer> expected = new GapBufferTravList<>(2_000);
+            for (int i = 0; i < 30_000; i++) {
+                randomOperation(random, list, expected, i);
+                if (i % 1_000 == 0) assertEquals(expected.toString(), list.toString());
+            }
+            list.awaitMigration();
+            assertEquals(expected.toString(), list.toString());
+            assertTrue(list.switchCount() > 0);
+        }
+    }
+
+    /*
+     * Runs the same operation on both lists, in phases that favour
+     * each representation in turn.
+     */
+    private static void randomOperation(Random random, TravList<Integer> list, TravList<Integer> expected, int i) {
+        int size = expected.leftLength() + expected.rightLength();
+        int phase = i / 1_500 % 3;
+        int op = random.nextInt(6);
+        if (phase == 0 && op < 4) {
+            int index = random.nextInt(size + 1);
+            list.moveTo(index);
+            expected.moveTo(index);
+        } else if (phase == 1 && op < 2 && size < expected.capacity()) {
+            list.insert(i);
+            expected.insert(i);
+        } else if (phase == 1 && op < 4 && expected.rightLength() > 0) {
+            assertEquals(expected.delete(), list.delete());
+        } else if (op == 4 && expected.rightLength() > 0) {
+            list.advance();
+            expected.advance();
+        } else if (op == 5 && expected.leftLength() > 0) {
+            list.retreat();
+            expected.retreat();
+        } else if (expected.rightLength() > 1) {
+            int n = 1 + random.nextInt(Math.min(4, expected.rightLength()));
+            assertEquals(expected.deleteRight(n), list.deleteRight(n));
+        } else if (size + 2 <= expected.capacity()) {
+            list.insertAll(Arrays.asList(-i, i));
+            expected.insertAll(Arrays.asList(-i, i));
+        }
+    }
+}
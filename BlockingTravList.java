@@ -0,0 +1,761 @@
+package boundedtravlist;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Traversable list that makes threads wait for room or for elements.</p>
+ *
+ * <p>Every method of {@link TravList} is forwarded to a wrapped list under a
+ * {@link ReentrantLock}. On top of them, {@code put} and {@code take} work at
+ * the cursor like {@code insert} and {@code delete}, but wait on the
+ * conditions {@code notFull} and {@code notEmpty} instead of throwing when
+ * the list is full or has no element to the right of the cursor; {@code offer}
+ * and {@code poll} give up after a timeout. Elements put and taken at the same
+ * cursor come out last in, first out. A consumer moves a batch of elements
+ * with one acquisition of the lock through {@link #drainTo(Collection, int)}.</p>
+ *
+ * <p>Every other method that changes the lengths wakes the threads waiting
+ * for what it made possible. Streams, spliterators and {@code iterator()} go
+ * over a copy of the elements taken under the lock; actions given to
+ * {@code forEachLeft} and {@code forEachRight} run under the lock.
+ * The wrapped list must not be used directly once it is wrapped.</p>
+ *
+ * @author Joyce
+ * @param <E> the type of elements in this list.
+ */
+public class BlockingTravList<E> implements DecoratorLocks.Locked<E> {
+
+    // representation
+
+    private final TravList<E> list;
+
+    private final ReentrantLock lock;
+
+    /**
+     * Waited on by {@code put} and {@code offer} while the list is full.
+     */
+    private final Condition notFull;
+
+    /**
+     * Waited on by {@code take} and {@code poll} while the right part is empty.
+     */
+    private final Condition notEmpty;
+
+    private final DecoratorLocks.Handle<E> handle;
+
+    /**
+     * Wraps a new gap buffer.
+     *
+     * @param max capacity of the list.
+     */
+    public BlockingTravList(int max) {
+        this(new GapBufferTravList<>(max), false);
+    }
+
+    /**
+     * @param list the list to wrap.
+     * @param fair true to hand the lock to the threads in the order they waited.
+     */
+    public BlockingTravList(TravList<E> list, boolean fair) {
+        if (list == null) throw new IllegalArgumentException();
+        this.list = list;
+        this.lock = new ReentrantLock(fair);
+        this.notFull = this.lock.newCondition();
+        this.notEmpty = this.lock.newCondition();
+        this.handle = new DecoratorLocks.Handle<>(list, this::lockForBlock);
+    }
+
+    // ==========================================================
+    // Blocking operations
+    // ==========================================================
+
+    /**
+     * Inserts an element to the right of the cursor,
+     * waiting for room if the list is full.
+     *
+     * @param elem the element to insert.
+     * @throws IllegalArgumentException if the element is null
+     * @throws InterruptedException     if interrupted while waiting
+     */
+    public void put(E elem) throws IllegalArgumentException, InterruptedException {
+        if (elem == null) throw new IllegalArgumentException();
+        this.lock.lockInterruptibly();
+        try {
+            while (this.isFull()) this.notFull.await();
+            this.list.insert(elem);
+            this.notEmpty.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Inserts an element to the right of the cursor if the list is not full.
+     *
+     * @param elem the element to insert.
+     * @return true if the element was inserted.
+     * @throws IllegalArgumentException if the element is null
+     */
+    public boolean offer(E elem) throws IllegalArgumentException {
+        if (elem == null) throw new IllegalArgumentException();
+        this.lock.lock();
+        try {
+            if (this.isFull()) return false;
+            this.list.insert(elem);
+            this.notEmpty.signal();
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Inserts an element to the right of the cursor,
+     * waiting up to the timeout for room if the list is full.
+     *
+     * @param elem    the element to insert.
+     * @param timeout how long to wait, in units of {@code unit}.
+     * @param unit    unit of the timeout.
+     * @return true if the element was inserted, false if the time ran out.
+     * @throws IllegalArgumentException if the element is null
+     * @throws InterruptedException     if interrupted while waiting
+     */
+    public boolean offer(E elem, long timeout, TimeUnit unit) throws IllegalArgumentException, InterruptedException {
+        if (elem == null) throw new IllegalArgumentException();
+        long nanos = unit.toNanos(timeout);
+        this.lock.lockInterruptibly();
+        try {
+            while (this.isFull()) {
+                if (nanos <= 0L) return false;
+                nanos = this.notFull.awaitNanos(nanos);
+            }
+            this.list.insert(elem);
+            this.notEmpty.signal();
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the element to the right of the cursor,
+     * waiting for one if the right part is empty.
+     *
+     * @return the element deleted.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public E take() throws InterruptedException {
+        this.lock.lockInterruptibly();
+        try {
+            while (this.list.rightLength() == 0) this.notEmpty.await();
+            E elem = this.list.delete();
+            this.notFull.signal();
+            return elem;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the element to the right of the cursor, if there is one.
+     *
+     * @return the element deleted, or null if the right part is empty.
+     */
+    public E poll() {
+        this.lock.lock();
+        try {
+            if (this.list.rightLength() == 0) return null;
+            E elem = this.list.delete();
+            this.notFull.signal();
+            return elem;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the element to the right of the cursor,
+     * waiting up to the timeout for one if the right part is empty.
+     *
+     * @param timeout how long to wait, in units of {@code unit}.
+     * @param unit    unit of the timeout.
+     * @return the element deleted, or null if the time ran out.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        this.lock.lockInterruptibly();
+        try {
+            while (this.list.rightLength() == 0) {
+                if (nanos <= 0L) return null;
+                nanos = this.notEmpty.awaitNanos(nanos);
+            }
+            E elem = this.list.delete();
+            this.notFull.signal();
+            return elem;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes up to {@code max} elements to the right of the cursor, in order,
+     * and adds them to a collection, all under one acquisition of the lock.
+     * It does not wait for elements.
+     *
+     * @param to  the collection to add the elements to.
+     * @param max the largest number of elements to move.
+     * @return the number of elements moved.
+     * @throws IllegalArgumentException if the collection is null or {@code max} is negative
+     */
+    public int drainTo(Collection<? super E> to, int max) throws IllegalArgumentException {
+        if (to == null || max < 0) throw new IllegalArgumentException();
+        this.lock.lock();
+        try {
+            int count = Math.min(max, this.list.rightLength());
+            this.list.deleteRight(count, to::add);
+            if (count > 0) this.notFull.signalAll();
+            return count;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of elements that can be inserted before the list is full.
+     */
+    public int remainingCapacity() {
+        this.lock.lock();
+        try {
+            return this.list.capacity() - this.list.leftLength() - this.list.rightLength();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private boolean isFull() {
+        return this.list.leftLength() + this.list.rightLength() >= this.list.capacity();
+    }
+
+    /*
+     * Wakes the threads that a change of the lengths may let through;
+     * called under the lock by the methods other than put and take.
+     */
+    private void lengthsChanged() {
+        if (this.list.rightLength() > 0) this.notEmpty.signalAll();
+        if (!this.isFull()) this.notFull.signalAll();
+    }
+
+    // ==========================================================
+    // Forwarded methods
+    // ==========================================================
+
+    @Override
+    public void insert(E elem) throws IllegalArgumentException {
+        this.lock.lock();
+        try {
+            this.list.insert(elem);
+            this.notEmpty.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public E delete() {
+        this.lock.lock();
+        try {
+            E elem = this.list.delete();
+            this.notFull.signal();
+            return elem;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void advance() {
+        this.lock.lock();
+        try {
+            this.list.advance();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void retreat() {
+        this.lock.lock();
+        try {
+            this.list.retreat();
+            this.notEmpty.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void reset() {
+        this.lock.lock();
+        try {
+            this.list.reset();
+            this.lengthsChanged();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void advanceToEnd() {
+        this.lock.lock();
+        try {
+            this.list.advanceToEnd();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public int leftLength() {
+        this.lock.lock();
+        try {
+            return this.list.leftLength();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public int rightLength() {
+        this.lock.lock();
+        try {
+            return this.list.rightLength();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void moveTo(int index) throws IllegalArgumentException {
+        this.lock.lock();
+        try {
+            this.list.moveTo(index);
+            this.lengthsChanged();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public int cursorIndex() {
+        this.lock.lock();
+        try {
+            return this.list.cursorIndex();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public Cursor mark() {
+        this.lock.lock();
+        try {
+            return this.list.mark();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void restore(Cursor cursor) throws IllegalArgumentException {
+        this.lock.lock();
+        try {
+            this.list.restore(cursor);
+            this.lengthsChanged();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public int capacity() {
+        return this.list.capacity();
+    }
+
+    @Override
+    public E getNext() {
+        this.lock.lock();
+        try {
+            return this.list.getNext();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public E getPrevious() {
+        this.lock.lock();
+        try {
+            return this.list.getPrevious();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public E replace(E element) {
+        this.lock.lock();
+        try {
+            return this.list.replace(element);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void reverse() {
+        this.lock.lock();
+        try {
+            this.list.reverse();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void reverseRange(int from, int to) throws IllegalArgumentException {
+        this.lock.lock();
+        try {
+            this.list.reverseRange(from, to);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+
+    @Override
+    public void insertAll(Collection<? extends E> elements) throws IllegalArgumentException {
+        this.lock.lock();
+        try {
+            this.list.insertAll(elements);
+            if (!elements.isEmpty()) this.notEmpty.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void insertAll(E[] elements) throws IllegalArgumentException {
+        this.lock.lock();
+        try {
+            this.list.insertAll(elements);
+            if (elements.length > 0) this.notEmpty.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void deleteRight(int n, Consumer<? super E> action) throws IllegalArgumentException {
+        this.lock.lock();
+        try {
+            this.list.deleteRight(n, action);
+            if (n > 0) this.notFull.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public List<E> deleteRight(int n) throws IllegalArgumentException {
+        this.lock.lock();
+        try {
+            List<E> deleted = this.list.deleteRight(n);
+            if (n > 0) this.notFull.signalAll();
+            return deleted;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void advanceBy(int n) throws IllegalArgumentException {
+        this.lock.lock();
+        try {
+            this.list.advanceBy(n);
+            this.lengthsChanged();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void retreatBy(int n) throws IllegalArgumentException {
+        this.lock.lock();
+        try {
+            this.list.retreatBy(n);
+            this.lengthsChanged();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+    /**
+     * "Primary Method"
+     * <p>
+     * Swaps the right parts of {@code this} list and {@code that} list.
+     * When {@code that} is a blocking or concurrent list, both are locked, in the
+     * order of their identity hash codes, and the waiting threads of both
+     * are woken.
+     *
+     * @param that right part of the list passed in parameter.
+     */
+    @Override
+    public void swapRights(TravList<E> that) {
+        this.withOther(that, this.list::swapRights);
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Adds all the elements from {@code that} traversable list to the left
+     * of the cursor, locking both lists when {@code that} is blocking or concurrent.
+     *
+     * @param that list passed in parameter.
+     */
+    @Override
+    public void splice(TravList<E> that) {
+        this.withOther(that, this.list::splice);
+    }
+
+    /*
+     * Runs a block operation between the wrapped list and another list
+     * under the locks of both decorators.
+     */
+    private void withOther(TravList<E> that, Consumer<TravList<E>> operation) {
+        if (!(that instanceof DecoratorLocks.Locked) || that == this) {
+            this.lock.lock();
+            try {
+                operation.accept(that == this ? this.list : that);
+                this.lengthsChanged();
+            } finally {
+                this.lock.unlock();
+            }
+            return;
+        }
+
+        DecoratorLocks.Handle<E> other = ((DecoratorLocks.Locked<E>) that).handle();
+        DecoratorLocks.lockBoth(this.handle, other, () -> operation.accept(other.list));
+    }
+
+    @Override
+    public DecoratorLocks.Handle<E> handle() {
+        return this.handle;
+    }
+
+    /*
+     * Takes the lock; the returned action wakes the waiting threads and releases it.
+     */
+    private Runnable lockForBlock() {
+        this.lock.lock();
+        return () -> {
+            try {
+                this.lengthsChanged();
+            } finally {
+                this.lock.unlock();
+            }
+        };
+    }
+
+    @Override
+    public void forEachLeft(Consumer<? super E> action) {
+        this.lock.lock();
+        try {
+            this.list.forEachLeft(action);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void forEachRight(Consumer<? super E> action) {
+        this.lock.lock();
+        try {
+            this.list.forEachRight(action);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public Stream<E> stream() {
+        return StreamSupport.stream(this.snapshot(true, true), false);
+    }
+
+    @Override
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(this.snapshot(true, true), true);
+    }
+
+    @Override
+    public Stream<E> leftStream() {
+        return StreamSupport.stream(this.snapshot(true, false), false);
+    }
+
+    @Override
+    public Stream<E> rightStream() {
+        return StreamSupport.stream(this.snapshot(false, true), false);
+    }
+
+    /**
+     * A spliterator over a copy of the right part of the list.
+     *
+     * @return a spliterator over the right part of the list.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return this.snapshot(false, true);
+    }
+
+    /**
+     * An iterator over a copy of the right part of the list;
+     * unlike the other lists, the cursor does not move.
+     *
+     * @return an iterator over the right part of the list.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return Spliterators.iterator(this.snapshot(false, true));
+    }
+
+    private Spliterator<E> snapshot(boolean left, boolean right) {
+        Object[] elements;
+        this.lock.lock();
+        try {
+            elements = DecoratorLocks.elements(this.list, left, right);
+        } finally {
+            this.lock.unlock();
+        }
+        return Spliterators.spliterator(elements, IndexedSpliterator.CHARACTERISTICS);
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return new TravListIterator<>(this);
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Wraps a new empty list of the same implementation and capacity,
+     * with the same fairness.
+     *
+     * @return a new blocking empty list.
+     */
+    @Override
+    public TravList<E> newInstance() {
+        return new BlockingTravList<>(this.list.newInstance(), this.lock.isFair());
+    }
+
+    @Override
+    public <A extends Appendable> A appendTo(A out) throws IOException {
+        this.lock.lock();
+        try {
+            return this.list.appendTo(out);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void writeTo(WritableByteChannel out, RecordCodec<? super E> codec) throws IOException {
+        this.lock.lock();
+        try {
+            this.list.writeTo(out, codec);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void writeTo(WritableByteChannel out, VariableCodec<? super E> codec) throws IOException {
+        this.lock.lock();
+        try {
+            this.list.writeTo(out, codec);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void readFrom(ReadableByteChannel in, RecordCodec<? extends E> codec) throws IOException {
+        this.lock.lock();
+        try {
+            this.list.readFrom(in, codec);
+        } finally {
+            this.lengthsChanged();
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void readFrom(ReadableByteChannel in, VariableCodec<? extends E> codec) throws IOException {
+        this.lock.lock();
+        try {
+            this.list.readFrom(in, codec);
+        } finally {
+            this.lengthsChanged();
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Compares the wrapped list under the lock, after copying another
+     * blocking or concurrent list under its own lock, as
+     * {@link ConcurrentTravList#equals} does.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        Object other = o instanceof DecoratorLocks.Locked ? DecoratorLocks.copy(((DecoratorLocks.Locked<?>) o).handle()) : o;
+        this.lock.lock();
+        try {
+            return this.list.equals(other);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        this.lock.lock();
+        try {
+            return this.list.hashCode();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        this.lock.lock();
+        try {
+            return this.list.toString();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package boundedtravlist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * <p>Producer/consumer harness for {@link BlockingTravList}.</p>
+ *
+ * <p>Run with {@code java boundedtravlist.BlockingTravListBenchmark [elements]}.
+ * Producers hand the elements over to as many consumers through a buffer
+ * of {@value #CAPACITY} elements, an {@link ArrayBlockingQueue} or a
+ * blocking gap buffer, one element per call or in batches of
+ * {@value #BATCH} taken with {@code drainTo}. Each row is preceded by
+ * warm-up runs of the same code, and the throughput is reported in millions
+ * of elements per second.</p>
+ *
+ * @author Joyce
+ */
+public class BlockingTravListBenchmark {
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int CAPACITY = 1_024;
+    private static final int BATCH = 64;
+
+    /**
+     * The calls made by the threads, so that both buffers run the same loops.
+     */
+    private interface Buffer {
+        void put(Integer elem) throws InterruptedException;
+
+        Integer take() throws InterruptedException;
+
+        int drainTo(List<Integer> to, int max);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        System.out.println(elements + " elements through a buffer of " + CAPACITY + " (M elements/s)");
+        System.out.printf("%-24s%12s%12s%n", "", "take", "drainTo");
+        for (int pairs = 1; pairs <= 2; pairs++) {
+            row("ArrayBlockingQueue", pairs, elements, () -> queue(new ArrayBlockingQueue<>(CAPACITY)));
+            row("BlockingTravList", pairs, elements, () -> travList(new BlockingTravList<>(CAPACITY)));
+        }
+    }
+
+    private static Buffer queue(BlockingQueue<Integer> queue) {
+        return new Buffer() {
+            @Override
+            public void put(Integer elem) throws InterruptedException {
+                queue.put(elem);
+            }
+
+            @Override
+            public Integer take() throws InterruptedException {
+                return queue.take();
+            }
+
+            @Override
+            public int drainTo(List<Integer> to, int max) {
+                return queue.drainTo(to, max);
+            }
+        };
+    }
+
+    private static Buffer travList(BlockingTravList<Integer> list) {
+        return new Buffer() {
+            @Override
+            public void put(Integer elem) throws InterruptedException {
+                list.put(elem);
+            }
+
+            @Override
+            public Integer take() throws InterruptedException {
+                return list.take();
+            }
+
+            @Override
+            public int drainTo(List<Integer> to, int max) {
+                return list.drainTo(to, max);
+            }
+        };
+    }
+
+    private static void row(String name, int pairs, int elements, Supplier<Buffer> factory) throws InterruptedException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(factory.get(), pairs, elements, false);
+            run(factory.get(), pairs, elements, true);
+        }
+        double take = run(factory.get(), pairs, elements, false);
+        double drain = run(factory.get(), pairs, elements, true);
+        System.out.printf("%-24s%12.2f%12.2f%n", name + " " + pairs + "x" + pairs, take, drain);
+    }
+
+    /*
+     * Moves the elements from the producers to the consumers
+     * and returns the elements per microsecond.
+     */
+    private static double run(Buffer buffer, int pairs, int elements, boolean batched) throws InterruptedException {
+        int share = elements / pairs;
+        Integer[] values = new Integer[share];
+        for (int i = 0; i < share; i++) values[i] = i;
+        long[] sums = new long[pairs];
+        Thread[] threads = new Thread[2 * pairs];
+        for (int p = 0; p < pairs; p++) {
+            threads[p] = new Thread(() -> {
+                try {
+                    for (Integer value : values) buffer.put(value);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            int consumer = p;
+            threads[pairs + p] = new Thread(() -> {
+                try {
+                    long sum = 0;
+                    int taken = 0;
+                    List<Integer> batch = new ArrayList<>(BATCH);
+                    while (taken < share) {
+                        if (batched) {
+                            int count = buffer.drainTo(batch, Math.min(BATCH, share - taken));
+                            if (count == 0) {
+                                // nothing ready: wait for one element like an unbatched consumer
+                                sum += buffer.take();
+                                taken++;
+                                continue;
+                            }
+                            for (Integer value : batch) sum += value;
+                            batch.clear();
+                            taken += count;
+                        } else {
+                            sum += buffer.take();
+                            taken++;
+                        }
+                    }
+                    sums[consumer] = sum;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+        double micros = (System.nanoTime() - begin) / 1e3;
+        long total = 0;
+        for (long sum : sums) total += sum;
+        if (total != (long) pairs * share * (share - 1) / 2) throw new IllegalStateException("lost elements");
+        return pairs * share / micros;
+    }
+}
@@ -0,0 +1,243 @@
+package boundedtravlist;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class BlockingTravListTest {
+
+    BlockingTravList<Integer> list123_45;
+
+    @Before
+    public void setUp() {
+        list123_45 = new BlockingTravList<>(5);
+        list123_45.insert(5);
+        list123_45.insert(4);
+        list123_45.insert(3);
+        list123_45.insert(2);
+        list123_45.insert(1);
+        list123_45.advance();
+        list123_45.advance();
+        list123_45.advance();
+    }
+
+    // ==========================================================
+    // Forwarding
+    // ==========================================================
+
+    @Test
+    public void behavesLikeTheWrappedList() {
+        assertEquals("[1, 2, 3][5, 4]:5", list123_45.toString());
+        assertEquals(Integer.valueOf(4), list123_45.delete());
+        list123_45.reverseRange(0, 4);
+        assertEquals("[5, 3, 2][1]:5", list123_45.toString());
+        list123_45.restore(list123_45.mark());
+        assertEquals(3, list123_45.cursorIndex());
+        assertEquals(1, list123_45.remainingCapacity());
+    }
+
+    @Test
+    public void equalsTheWrappedList() {
+        TravList<Integer> plain = new SimpleTravList<>(5);
+        plain.insert(5);
+        plain.insert(4);
+        plain.insert(3);
+        plain.insert(2);
+        plain.insert(1);
+        plain.moveTo(3);
+        assertEquals(list123_45, plain);
+        assertEquals(plain, list123_45);
+        assertEquals(plain.hashCode(), list123_45.hashCode());
+        assertEquals(list123_45, new BlockingTravList<>(plain, false));
+    }
+
+    // ==========================================================
+    // Non-blocking operations
+    // ==========================================================
+
+    @Test
+    public void offerAndPollAtTheCursor() {
+        assertFalse(list123_45.offer(6));
+        assertEquals(Integer.valueOf(4), list123_45.poll());
+        assertEquals(Integer.valueOf(5), list123_45.poll());
+        assertNull(list123_45.poll());
+        assertTrue(list123_45.offer(6));
+        assertTrue(list123_45.offer(7));
+        assertEquals("[1, 2, 3][6, 7]:5", list123_45.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void putNull() throws InterruptedException {
+        list123_45.put(null);
+        fail();
+    }
+
+    @Test
+    public void drainToMovesABatchInOrder() {
+        List<Integer> batch = new ArrayList<>();
+        assertEquals(1, list123_45.drainTo(batch, 1));
+        assertEquals(1, list123_45.drainTo(batch, 10));
+        assertEquals(0, list123_45.drainTo(batch, 10));
+        assertEquals("[4, 5]", batch.toString());
+        assertEquals("[1, 2, 3][]:5", list123_45.toString());
+    }
+
+    @Test
+    public void timeoutsRunOut() throws InterruptedException {
+        assertFalse(list123_45.offer(6, 10, TimeUnit.MILLISECONDS));
+        list123_45.advanceToEnd();
+        assertNull(list123_45.poll(10, TimeUnit.MILLISECONDS));
+        assertEquals(5, list123_45.leftLength());
+    }
+
+    // ==========================================================
+    // Waiting
+    // ==========================================================
+
+    @Test
+    public void takeWaitsForAPut() throws InterruptedException {
+        BlockingTravList<Integer> list = new BlockingTravList<>(2);
+        AtomicReference<Integer> taken = new AtomicReference<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                taken.set(list.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        list.put(7);
+        consumer.join();
+        assertEquals(Integer.valueOf(7), taken.get());
+        assertEquals(0, list.rightLength());
+    }
+
+    @Test
+    public void putWaitsForRoom() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            try {
+                started.countDown();
+                list123_45.put(6);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        started.await();
+        assertEquals(Integer.valueOf(4), list123_45.poll(1, TimeUnit.SECONDS));
+        producer.join();
+        assertEquals("[1, 2, 3][5, 6]:5", list123_45.toString());
+    }
+
+    @Test
+    public void retreatWakesATakingThread() throws InterruptedException {
+        list123_45.advanceToEnd();
+        AtomicReference<Integer> taken = new AtomicReference<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                taken.set(list123_45.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        list123_45.retreat();
+        consumer.join();
+        assertEquals(Integer.valueOf(5), taken.get());
+    }
+
+    @Test
+    public void takeIsInterruptible() throws InterruptedException {
+        list123_45.advanceToEnd();
+        AtomicReference<Boolean> interrupted = new AtomicReference<>(false);
+        Thread consumer = new Thread(() -> {
+            try {
+                list123_45.take();
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        });
+        consumer.start();
+        consumer.interrupt();
+        consumer.join();
+        assertTrue(interrupted.get());
+        assertEquals(0, list123_45.rightLength());
+    }
+
+    @Test
+    public void producersAndConsumersLoseNothing() throws InterruptedException {
+        BlockingTravList<Integer> list = new BlockingTravList<>(16);
+        int perProducer = 20_000;
+        long[] sums = new long[2];
+        Thread[] threads = new Thread[4];
+        for (int p = 0; p < 2; p++) {
+            threads[p] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) list.put(i);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            int consumer = p;
+            threads[2 + p] = new Thread(() -> {
+                try {
+                    long sum = 0;
+                    List<Integer> batch = new ArrayList<>();
+                    int taken = 0;
+                    while (taken < perProducer) {
+                        if (consumer == 0) {
+                            sum += list.take();
+                            taken++;
+                        } else {
+                            int count = list.drainTo(batch, Math.min(8, perProducer - taken));
+                            if (count == 0) {
+                                sum += list.take();
+                                taken++;
+                            }
+                            for (Integer value : batch) sum += value;
+                            batch.clear();
+                            taken += count;
+                        }
+                    }
+                    sums[consumer] = sum;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+        assertEquals(2L * perProducer * (perProducer - 1) / 2, sums[0] + sums[1]);
+        assertEquals(0, list.rightLength());
+    }
+
+    @Test(timeout = 60_000)
+    public void swapRightsAndEqualsWithAConcurrentListBothWaysDoNotDeadlock() throws InterruptedException {
+        BlockingTravList<Integer> blocking = new BlockingTravList<>(10);
+        ConcurrentTravList<Integer> concurrent = new ConcurrentTravList<>(10);
+        blocking.insert(1);
+        concurrent.insert(2);
+        Thread other = new Thread(() -> {
+            for (int i = 0; i < 50_000; i++) {
+                concurrent.swapRights(blocking);
+                concurrent.equals(blocking);
+            }
+        });
+        other.start();
+        for (int i = 0; i < 50_000; i++) {
+            blocking.swapRights(concurrent);
+            blocking.equals(concurrent);
+        }
+        other.join();
+        assertEquals(1, blocking.rightLength());
+        assertEquals(1, concurrent.rightLength());
+        assertEquals(3, blocking.getNext() + concurrent.getNext());
+    }
+}
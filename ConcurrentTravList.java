@@ -0,0 +1,700 @@
+package boundedtravlist;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Traversable list that can be shared between threads.</p>
+ *
+ * <p>Every method of {@link TravList} is forwarded to a wrapped list under a
+ * {@link StampedLock}. Methods that change the list take the write lock and
+ * then publish the lengths and the elements on both sides of the cursor to
+ * fields of the decorator. {@code getNext}, {@code getPrevious},
+ * {@code leftLength}, {@code rightLength} and {@code cursorIndex} read those
+ * fields under an optimistic stamp, so readers do not write to the lock and
+ * do not block each other; they only take the read lock when a write
+ * overlapped their read. Each of these reads is consistent on its own, but two
+ * of them may see different versions of the list: a reader that needs several
+ * values at once should use one of the atomic compound operations, or take its
+ * own lock.</p>
+ *
+ * <p>The elements are read under the read lock, and streams, spliterators
+ * and {@code iterator()} go over a copy of the elements taken under it, so they
+ * never see a write halfway. {@code listIterator()} moves the cursor of
+ * the shared list one locked call at a time, like any other writer.
+ * Actions given to {@code forEachLeft} and {@code forEachRight} run under
+ * the read lock and must not change this list.</p>
+ *
+ * <p>The wrapped list must not be used directly once it is wrapped.
+ * {@code swapRights} and {@code splice} with another concurrent or blocking list lock
+ * both lists in a fixed order and unwrap the other one, so the block fast
+ * paths of the wrapped lists apply.</p>
+ *
+ * @author Joyce
+ * @param <E> the type of elements in this list.
+ */
+public class ConcurrentTravList<E> implements DecoratorLocks.Locked<E> {
+
+    // representation
+
+    private final TravList<E> list;
+
+    private final StampedLock lock = new StampedLock();
+
+    private final DecoratorLocks.Handle<E> handle;
+
+    /**
+     * Copies of the state of the wrapped list, written under the write lock
+     * and read under an optimistic stamp.
+     */
+    private int leftLength;
+    private int rightLength;
+    private E next;
+    private E previous;
+
+    /**
+     * Wraps a new gap buffer.
+     *
+     * @param max capacity of the list.
+     */
+    public ConcurrentTravList(int max) {
+        this(new GapBufferTravList<>(max));
+    }
+
+    public ConcurrentTravList(TravList<E> list) {
+        if (list == null) throw new IllegalArgumentException();
+        this.list = list;
+        this.handle = new DecoratorLocks.Handle<>(list, this::lockForBlock);
+        this.publish();
+    }
+
+    /*
+     * Copies the state that the optimistic reads see; called under the write lock.
+     */
+    private void publish() {
+        this.leftLength = this.list.leftLength();
+        this.rightLength = this.list.rightLength();
+        this.next = this.rightLength == 0 ? null : this.list.getNext();
+        this.previous = this.leftLength == 0 ? null : this.list.getPrevious();
+    }
+
+    // ==========================================================
+    // Optimistic reads
+    // ==========================================================
+
+    @Override
+    public E getNext() {
+        long stamp = this.lock.tryOptimisticRead();
+        E next = this.next;
+        if (this.lock.validate(stamp)) return next;
+
+        stamp = this.lock.readLock();
+        try {
+            return this.next;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public E getPrevious() {
+        long stamp = this.lock.tryOptimisticRead();
+        E previous = this.previous;
+        if (this.lock.validate(stamp)) return previous;
+
+        stamp = this.lock.readLock();
+        try {
+            return this.previous;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int leftLength() {
+        long stamp = this.lock.tryOptimisticRead();
+        int leftLength = this.leftLength;
+        if (this.lock.validate(stamp)) return leftLength;
+
+        stamp = this.lock.readLock();
+        try {
+            return this.leftLength;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int rightLength() {
+        long stamp = this.lock.tryOptimisticRead();
+        int rightLength = this.rightLength;
+        if (this.lock.validate(stamp)) return rightLength;
+
+        stamp = this.lock.readLock();
+        try {
+            return this.rightLength;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int cursorIndex() {
+        return this.leftLength();
+    }
+
+    @Override
+    public int capacity() {
+        return this.list.capacity();
+    }
+
+    // ==========================================================
+    // Writes
+    // ==========================================================
+
+    @Override
+    public void insert(E elem) throws IllegalArgumentException {
+        long stamp = this.lock.writeLock();
+        try {
+            this.list.insert(elem);
+            this.publish();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public E delete() {
+        long stamp = this.lock.writeLock();
+        try {
+            E elem = this.list.delete();
+            this.publish();
+            return elem;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void advance() {
+        long stamp = this.lock.writeLock();
+        try {
+            this.list.advance();
+            this.publish();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void retreat() {
+        long stamp = this.lock.writeLock();
+        try {
+            this.list.retreat();
+            this.publish();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void reset() {
+        long stamp = this.lock.writeLock();
+        try {
+            this.list.reset();
+            this.publish();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void advanceToEnd() {
+        long stamp = this.lock.writeLock();
+        try {
+            this.list.advanceToEnd();
+            this.publish();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void moveTo(int index) throws IllegalArgumentException {
+        long stamp = this.lock.writeLock();
+        try {
+            this.list.moveTo(index);
+            this.publish();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Cursor mark() {
+        long stamp = this.lock.readLock();
+        try {
+            return this.list.mark();
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void restore(Cursor cursor) throws IllegalArgumentException {
+        long stamp = this.lock.writeLock();
+        try {
+            this.list.restore(cursor);
+            this.publish();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public E replace(E element) {
+        long stamp = this.lock.writeLock();
+        try {
+            E original = this.list.replace(element);
+            this.publish();
+            return original;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void reverse() {
+        long stamp = this.lock.writeLock();
+        try {
+            this.list.reverse();
+            this.publish();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void reverseRange(int from, int to) throws IllegalArgumentException {
+        long stamp = this.lock.writeLock();
+        try {
+            this.list.reverseRange(from, to);
+            this.publish();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+
+    @Override
+    public void insertAll(Collection<? extends E> elements) throws IllegalArgumentException {
+        long stamp = this.lock.writeLock();
+        try {
+            this.list.insertAll(elements);
+            this.publish();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void insertAll(E[] elements) throws IllegalArgumentException {
+        long stamp = this.lock.writeLock();
+        try {
+            this.list.insertAll(elements);
+            this.publish();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Deletes the {@code n} elements to the right of the cursor as one block
+     * under the write lock; like {@link #drainRight(Consumer)}, the action
+     * runs on them after the lock is released.
+     *
+     * @param n      the number of elements to delete.
+     * @param action the action performed on each deleted element.
+     * @throws IllegalArgumentException if {@code n} is negative or
+     *                                  greater than the number of elements to the right of the cursor
+     */
+    @Override
+    public void deleteRight(int n, Consumer<? super E> action) throws IllegalArgumentException {
+        this.deleteRight(n).forEach(action);
+    }
+
+    @Override
+    public List<E> deleteRight(int n) throws IllegalArgumentException {
+        long stamp = this.lock.writeLock();
+        try {
+            List<E> deleted = this.list.deleteRight(n);
+            this.publish();
+            return deleted;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void advanceBy(int n) throws IllegalArgumentException {
+        long stamp = this.lock.writeLock();
+        try {
+            this.list.advanceBy(n);
+            this.publish();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void retreatBy(int n) throws IllegalArgumentException {
+        long stamp = this.lock.writeLock();
+        try {
+            this.list.retreatBy(n);
+            this.publish();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+    /**
+     * "Primary Method"
+     * <p>
+     * Swaps the right parts of {@code this} list and {@code that} list.
+     * When {@code that} is a concurrent or blocking list, both are locked,
+     * in the order of their identity hash codes so that two threads
+     * swapping the same lists both ways cannot deadlock.
+     *
+     * @param that right part of the list passed in parameter.
+     */
+    @Override
+    public void swapRights(TravList<E> that) {
+        this.withOther(that, this.list::swapRights);
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Adds all the elements from {@code that} traversable list to the left
+     * of the cursor, locking both lists when {@code that} is concurrent or blocking.
+     *
+     * @param that list passed in parameter.
+     */
+    @Override
+    public void splice(TravList<E> that) {
+        this.withOther(that, this.list::splice);
+    }
+
+    /*
+     * Runs a block operation between the wrapped list and another list
+     * under the write locks of both decorators.
+     */
+    private void withOther(TravList<E> that, Consumer<TravList<E>> operation) {
+        if (!(that instanceof DecoratorLocks.Locked) || that == this) {
+            long stamp = this.lock.writeLock();
+            try {
+                operation.accept(that == this ? this.list : that);
+                this.publish();
+            } finally {
+                this.lock.unlockWrite(stamp);
+            }
+            return;
+        }
+
+        DecoratorLocks.Handle<E> other = ((DecoratorLocks.Locked<E>) that).handle();
+        DecoratorLocks.lockBoth(this.handle, other, () -> operation.accept(other.list));
+    }
+
+    @Override
+    public DecoratorLocks.Handle<E> handle() {
+        return this.handle;
+    }
+
+    /*
+     * Takes the write lock; the returned action publishes the new state and releases it.
+     */
+    private Runnable lockForBlock() {
+        long stamp = this.lock.writeLock();
+        return () -> {
+            this.publish();
+            this.lock.unlockWrite(stamp);
+        };
+    }
+
+    @Override
+    public void readFrom(ReadableByteChannel in, RecordCodec<? extends E> codec) throws IOException {
+        long stamp = this.lock.writeLock();
+        try {
+            this.list.readFrom(in, codec);
+        } finally {
+            this.publish();
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void readFrom(ReadableByteChannel in, VariableCodec<? extends E> codec) throws IOException {
+        long stamp = this.lock.writeLock();
+        try {
+            this.list.readFrom(in, codec);
+        } finally {
+            this.publish();
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    // ==========================================================
+    // Atomic compound operations
+    // ==========================================================
+
+    /**
+     * Inserts an element to the left of the cursor: readers see the list
+     * either before the insert or after the advance, never in between.
+     *
+     * @param elem the element to insert.
+     * @throws IllegalArgumentException if the element is null or the list is full
+     */
+    public void insertAndAdvance(E elem) throws IllegalArgumentException {
+        long stamp = this.lock.writeLock();
+        try {
+            this.list.insert(elem);
+            this.list.advance();
+            this.publish();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Deletes the element to the right of the cursor if it equals
+     * {@code expected}. The test runs under the read lock, which is only
+     * converted to the write lock when the element matches.
+     *
+     * @param expected the element expected to the right of the cursor.
+     * @return true if the element was deleted.
+     */
+    public boolean deleteIfMatches(E expected) {
+        long stamp = this.lock.readLock();
+        try {
+            while (true) {
+                if (this.rightLength == 0 || !Objects.equals(this.next, expected)) return false;
+
+                long writeStamp = this.lock.tryConvertToWriteLock(stamp);
+                if (writeStamp != 0L) {
+                    stamp = writeStamp;
+                    this.list.delete();
+                    this.publish();
+                    return true;
+                }
+                // other readers hold the lock: wait for the write lock and test again
+                this.lock.unlockRead(stamp);
+                stamp = this.lock.writeLock();
+            }
+        } finally {
+            this.lock.unlock(stamp);
+        }
+    }
+
+    /**
+     * Removes all the elements to the right of the cursor at once and
+     * then gives them to {@code action}, in order, after the lock is released,
+     * so the action may use this list.
+     *
+     * @param action the action to be performed for each element removed.
+     * @return the number of elements removed.
+     */
+    public int drainRight(Consumer<? super E> action) {
+        if (action == null) throw new IllegalArgumentException();
+
+        TravList<E> drained;
+        long stamp = this.lock.writeLock();
+        try {
+            if (this.rightLength == 0) return 0;
+            drained = this.list.newInstance();
+            this.list.swapRights(drained);
+            this.publish();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+        drained.forEachRight(action);
+        return drained.rightLength();
+    }
+
+    // ==========================================================
+    // Reads of the elements
+    // ==========================================================
+
+    @Override
+    public void forEachLeft(Consumer<? super E> action) {
+        long stamp = this.lock.readLock();
+        try {
+            this.list.forEachLeft(action);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void forEachRight(Consumer<? super E> action) {
+        long stamp = this.lock.readLock();
+        try {
+            this.list.forEachRight(action);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public Stream<E> stream() {
+        return StreamSupport.stream(this.snapshot(true, true), false);
+    }
+
+    @Override
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(this.snapshot(true, true), true);
+    }
+
+    @Override
+    public Stream<E> leftStream() {
+        return StreamSupport.stream(this.snapshot(true, false), false);
+    }
+
+    @Override
+    public Stream<E> rightStream() {
+        return StreamSupport.stream(this.snapshot(false, true), false);
+    }
+
+    /**
+     * A spliterator over a copy of the right part of the list.
+     *
+     * @return a spliterator over the right part of the list.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return this.snapshot(false, true);
+    }
+
+    /**
+     * An iterator over a copy of the right part of the list;
+     * unlike the other lists, the cursor does not move.
+     *
+     * @return an iterator over the right part of the list.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return Spliterators.iterator(this.snapshot(false, true));
+    }
+
+    /*
+     * Copies one or both parts of the list under the read lock.
+     */
+    private Spliterator<E> snapshot(boolean left, boolean right) {
+        Object[] elements;
+        long stamp = this.lock.readLock();
+        try {
+            elements = DecoratorLocks.elements(this.list, left, right);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+        return Spliterators.spliterator(elements, IndexedSpliterator.CHARACTERISTICS);
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return new TravListIterator<>(this);
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Wraps a new empty list of the same implementation and capacity.
+     *
+     * @return a new concurrent empty list.
+     */
+    @Override
+    public TravList<E> newInstance() {
+        return new ConcurrentTravList<>(this.list.newInstance());
+    }
+
+    @Override
+    public <A extends Appendable> A appendTo(A out) throws IOException {
+        long stamp = this.lock.readLock();
+        try {
+            return this.list.appendTo(out);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void writeTo(WritableByteChannel out, RecordCodec<? super E> codec) throws IOException {
+        long stamp = this.lock.readLock();
+        try {
+            this.list.writeTo(out, codec);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void writeTo(WritableByteChannel out, VariableCodec<? super E> codec) throws IOException {
+        long stamp = this.lock.readLock();
+        try {
+            this.list.writeTo(out, codec);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * A concurrent list is equal to the traversable lists that its wrapped
+     * list is equal to. Another concurrent or blocking list is copied under
+     * its own lock first, with no lock held on this one, so that two lists
+     * compared both ways from two threads cannot deadlock.
+     * The wrapped lists cache their hash codes, so this takes the write lock.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        Object other = o instanceof DecoratorLocks.Locked ? DecoratorLocks.copy(((DecoratorLocks.Locked<?>) o).handle()) : o;
+        long stamp = this.lock.writeLock();
+        try {
+            return this.list.equals(other);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        long stamp = this.lock.writeLock();
+        try {
+            return this.list.hashCode();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public String toString() {
+        long stamp = this.lock.readLock();
+        try {
+            return this.list.toString();
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+}
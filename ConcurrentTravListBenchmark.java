@@ -0,0 +1,154 @@
+package boundedtravlist;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Contention harness for {@link ConcurrentTravList}.</p>
+ *
+ * <p>Run with {@code java boundedtravlist.ConcurrentTravListBenchmark [maxReaders]}.
+ * One writer thread inserts and deletes next to the cursor while N reader
+ * threads read the elements on both sides of the cursor, first on a gap
+ * buffer where every call is wrapped in {@code synchronized}, then on a
+ * concurrent list. Each row is preceded by a warm-up run of the same code,
+ * and the throughput of the readers, all together, and of the writer is
+ * reported in millions of operations per second.</p>
+ *
+ * @author Joyce
+ */
+public class ConcurrentTravListBenchmark {
+    private static final int WARMUP_ROUNDS = 2;
+    private static final long RUN_MILLIS = 1_000;
+    private static final int CAPACITY = 1_024;
+
+    private static volatile long sink;
+    private static volatile boolean running;
+
+    /**
+     * The calls made by the threads, so that both lists run the same loops.
+     */
+    private interface Shared {
+        void write(int i);
+
+        long read();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxReaders = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.println("1 writer and N readers around the cursor of a list of " + CAPACITY / 2
+                + " elements (Mops/s)");
+        System.out.printf("%-16s%6s%14s%14s%n", "", "N", "readers", "writer");
+        for (int readers = 1; readers <= maxReaders; readers *= 2) {
+            row("synchronized", readers, synchronizedList());
+            row("ConcurrentList", readers, concurrentList());
+        }
+    }
+
+    private static Shared synchronizedList() {
+        TravList<Integer> list = filled(new GapBufferTravList<>(CAPACITY));
+        return new Shared() {
+            @Override
+            public void write(int i) {
+                synchronized (list) {
+                    list.insert(i);
+                    list.advance();
+                }
+                synchronized (list) {
+                    list.retreat();
+                    list.delete();
+                }
+            }
+
+            @Override
+            public long read() {
+                synchronized (list) {
+                    return list.getNext() + list.getPrevious();
+                }
+            }
+        };
+    }
+
+    private static Shared concurrentList() {
+        ConcurrentTravList<Integer> list = new ConcurrentTravList<>(filled(new GapBufferTravList<>(CAPACITY)));
+        return new Shared() {
+            @Override
+            public void write(int i) {
+                list.insertAndAdvance(i);
+                list.retreat();
+                list.delete();
+            }
+
+            @Override
+            public long read() {
+                return list.getNext() + list.getPrevious();
+            }
+        };
+    }
+
+    private static TravList<Integer> filled(TravList<Integer> list) {
+        for (int i = 0; i < CAPACITY / 2; i++) {
+            list.insert(i);
+            list.advance();
+        }
+        list.moveTo(CAPACITY / 4);
+        return list;
+    }
+
+    private static void row(String name, int readers, Shared shared) throws InterruptedException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) run(readers, shared);
+        double[] throughputs = run(readers, shared);
+        System.out.printf("%-16s%6d%14.2f%14.2f%n", name, readers, throughputs[0], throughputs[1]);
+    }
+
+    /*
+     * Runs the threads for RUN_MILLIS and returns the reads and the writes per microsecond.
+     */
+    private static double[] run(int readers, Shared shared) throws InterruptedException {
+        LongAdder reads = new LongAdder();
+        long[] writes = {0};
+        running = true;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[readers + 1];
+
+        threads[0] = new Thread(() -> {
+            await(start);
+            long count = 0;
+            while (running) {
+                for (int i = 0; i < 256; i++) shared.write(i);
+                count += 256;
+            }
+            writes[0] = count;
+        });
+        for (int r = 1; r <= readers; r++) {
+            threads[r] = new Thread(() -> {
+                await(start);
+                long count = 0;
+                long sum = 0;
+                while (running) {
+                    for (int i = 0; i < 256; i++) sum += shared.read();
+                    count += 256;
+                }
+                reads.add(count);
+                sink += sum;
+            });
+        }
+
+        for (Thread thread : threads) thread.start();
+        long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep(RUN_MILLIS);
+        running = false;
+        for (Thread thread : threads) thread.join();
+        double micros = (System.nanoTime() - begin) / 1e3;
+        return new double[] {reads.sum() / micros, writes[0] / micros};
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
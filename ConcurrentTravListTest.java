@@ -0,0 +1,199 @@
+package boundedtravlist;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+public class ConcurrentTravListTest {
+
+    ConcurrentTravList<Integer> list123_45;
+
+    @Before
+    public void setUp() {
+        list123_45 = new ConcurrentTravList<>(5);
+        list123_45.insert(5);
+        list123_45.insert(4);
+        list123_45.insert(3);
+        list123_45.insert(2);
+        list123_45.insert(1);
+        list123_45.advance();
+        list123_45.advance();
+        list123_45.advance();
+    }
+
+    // ==========================================================
+    // Forwarding
+    // ==========================================================
+
+    @Test
+    public void behavesLikeTheWrappedList() {
+        assertEquals("[1, 2, 3][5, 4]:5", list123_45.toString());
+        assertEquals(Integer.valueOf(4), list123_45.getNext());
+        assertEquals(Integer.valueOf(3), list123_45.getPrevious());
+        assertEquals(Integer.valueOf(4), list123_45.delete());
+        assertEquals(Integer.valueOf(5), list123_45.getNext());
+        list123_45.reverseRange(0, 4);
+        assertEquals("[5, 3, 2][1]:5", list123_45.toString());
+        list123_45.restore(list123_45.mark());
+        assertEquals(3, list123_45.cursorIndex());
+        assertEquals(1, list123_45.rightLength());
+    }
+
+    @Test
+    public void readsAnEmptyList() {
+        ConcurrentTravList<Integer> empty = new ConcurrentTravList<>(5);
+        assertNull(empty.getNext());
+        assertNull(empty.getPrevious());
+        assertEquals(0, empty.leftLength());
+        assertEquals(0, empty.rightLength());
+    }
+
+    @Test
+    public void equalsTheWrappedList() {
+        TravList<Integer> plain = new SimpleTravList<>(5);
+        plain.insert(5);
+        plain.insert(4);
+        plain.insert(3);
+        plain.insert(2);
+        plain.insert(1);
+        plain.moveTo(3);
+        assertEquals(list123_45, plain);
+        assertEquals(plain, list123_45);
+        assertEquals(plain.hashCode(), list123_45.hashCode());
+        assertEquals(list123_45, new ConcurrentTravList<>(plain));
+        assertEquals(new ConcurrentTravList<>(plain), list123_45);
+    }
+
+    @Test
+    public void swapRightsAndSpliceBetweenConcurrentLists() {
+        ConcurrentTravList<Integer> other = new ConcurrentTravList<>(5);
+        other.insert(20);
+        other.insert(10);
+        list123_45.swapRights(other);
+        assertEquals("[1, 2, 3][20, 10]:5", list123_45.toString());
+        assertEquals("[][5, 4]:5", other.toString());
+        assertEquals(Integer.valueOf(4), other.getNext());
+        assertEquals(2, other.rightLength());
+
+        list123_45.delete();
+        list123_45.delete();
+        list123_45.splice(other);
+        assertEquals("[1, 2, 3, 4, 5][]:5", list123_45.toString());
+        assertEquals(0, other.rightLength());
+        assertNull(other.getNext());
+    }
+
+    @Test
+    public void streamsAndIteratorsCopyTheElements() {
+        assertEquals("1,2,3,4,5", list123_45.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        assertEquals("1,2,3", list123_45.leftStream().map(String::valueOf).collect(Collectors.joining(",")));
+        Iterator<Integer> iterator = list123_45.iterator();
+        list123_45.reset();
+        assertEquals(Integer.valueOf(4), iterator.next());
+        assertEquals(Integer.valueOf(5), iterator.next());
+        assertFalse(iterator.hasNext());
+        assertEquals(0, list123_45.cursorIndex());
+    }
+
+    // ==========================================================
+    // Compound operations
+    // ==========================================================
+
+    @Test
+    public void insertAndAdvance() {
+        list123_45.delete();
+        list123_45.insertAndAdvance(9);
+        assertEquals("[1, 2, 3, 9][5]:5", list123_45.toString());
+        assertEquals(Integer.valueOf(9), list123_45.getPrevious());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void insertAndAdvanceIntoAFullList() {
+        list123_45.insertAndAdvance(6);
+        fail();
+    }
+
+    @Test
+    public void deleteIfMatches() {
+        assertFalse(list123_45.deleteIfMatches(5));
+        assertTrue(list123_45.deleteIfMatches(4));
+        assertEquals("[1, 2, 3][5]:5", list123_45.toString());
+        assertTrue(list123_45.deleteIfMatches(5));
+        assertFalse(list123_45.deleteIfMatches(5));
+        assertFalse(list123_45.deleteIfMatches(null));
+    }
+
+    @Test
+    public void drainRight() {
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(2, list123_45.drainRight(drained::add));
+        assertEquals("[4, 5]", drained.toString());
+        assertEquals("[1, 2, 3][]:5", list123_45.toString());
+        assertNull(list123_45.getNext());
+        assertEquals(0, list123_45.drainRight(drained::add));
+    }
+
+    @Test
+    public void drainRightActionMayUseTheList() {
+        list123_45.drainRight(list123_45::insertAndAdvance);
+        assertEquals("[1, 2, 3, 4, 5][]:5", list123_45.toString());
+    }
+
+    // ==========================================================
+    // Threads
+    // ==========================================================
+
+    @Test
+    public void readersSeeWhatTheWriterPublished() throws InterruptedException {
+        int count = 100_000;
+        ConcurrentTravList<Integer> list = new ConcurrentTravList<>(count);
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread[] readers = new Thread[3];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                int lastIndex = 0;
+                int lastPrevious = -1;
+                while (lastIndex < count) {
+                    int index = list.leftLength();
+                    Integer previous = list.getPrevious();
+                    // the writer only adds to the left, so both only grow
+                    if (index < lastIndex || (previous != null && previous < lastPrevious)
+                            || list.rightLength() != 0) {
+                        failure.compareAndSet(null, "went back at " + index);
+                        return;
+                    }
+                    lastIndex = index;
+                    if (previous != null) lastPrevious = previous;
+                }
+            });
+            readers[r].start();
+        }
+        for (int i = 0; i < count; i++) list.insertAndAdvance(i);
+        for (Thread reader : readers) reader.join();
+        assertNull(failure.get());
+        assertEquals(Integer.valueOf(count - 1), list.getPrevious());
+    }
+
+    @Test
+    public void swapRightsBothWaysDoesNotDeadlock() throws InterruptedException {
+        ConcurrentTravList<Integer> a = new ConcurrentTravList<>(10);
+        ConcurrentTravList<Integer> b = new ConcurrentTravList<>(10);
+        a.insert(1);
+        b.insert(2);
+        Thread other = new Thread(() -> {
+            for (int i = 0; i < 50_000; i++) b.swapRights(a);
+        });
+        other.start();
+        for (int i = 0; i < 50_000; i++) a.swapRights(b);
+        other.join();
+        assertEquals(1, a.rightLength());
+        assertEquals(1, b.rightLength());
+        assertEquals(3, a.getNext() + b.getNext());
+    }
+}
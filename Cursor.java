@@ -0,0 +1,46 @@
+package boundedtravlist;
+
+/**
+ * <p>Bookmark of a cursor position in a traversable list.</p>
+ *
+ * <p>A bookmark is created by {@link TravList#mark()} and handed back to
+ * {@link TravList#restore(Cursor)} of the same list. Its content is
+ * private to the implementation that created it: every implementation
+ * remembers the index of the cursor, and some also keep a direct
+ * handle on their storage to come back without walking.</p>
+ *
+ * @author Joyce
+ */
+public final class Cursor {
+    /**
+     * List that created this bookmark.
+     */
+    final TravList<?> owner;
+
+    /**
+     * Number of elements to the left of the cursor when it was marked.
+     */
+    final int index;
+
+    /**
+     * Implementation handle on the position, or null.
+     */
+    final Object position;
+
+    /**
+     * Structural version of the list when it was marked,
+     * the handle is only trusted while the version is unchanged.
+     */
+    final int version;
+
+    Cursor(TravList<?> owner, int index) {
+        this(owner, index, null, 0);
+    }
+
+    Cursor(TravList<?> owner, int index, Object position, int version) {
+        this.owner = owner;
+        this.index = index;
+        this.position = position;
+        this.version = version;
+    }
+}
@@ -0,0 +1,142 @@
+package boundedtravlist;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+/**
+ * <p>Lock ordering and copies shared by the thread-safe decorators,
+ * {@link ConcurrentTravList} and {@link BlockingTravList}, which differ
+ * only in the lock they take and in what they do before releasing it.</p>
+ *
+ * @author Joyce
+ */
+final class DecoratorLocks {
+
+    /**
+     * Taken by the rare pairs of decorators with equal identity hash codes,
+     * so that they are still locked in a single order.
+     */
+    private static final Object TIE_LOCK = new Object();
+
+    private DecoratorLocks() {
+    }
+
+    /**
+     * A decorator of this package that guards its wrapped list with a lock,
+     * so that another decorator can lock it too before reaching the list.
+     *
+     * @param <E> the type of elements in the list.
+     */
+    interface Locked<E> extends TravList<E> {
+        /**
+         * Used by the other decorators of this package only.
+         *
+         * @return the handle on the lock and the wrapped list of this decorator.
+         */
+        Handle<E> handle();
+    }
+
+    /**
+     * The wrapped list of a decorator and the way to lock it.
+     *
+     * @param <E> the type of elements in the list.
+     */
+    static final class Handle<E> {
+        final TravList<E> list;
+        private final Supplier<Runnable> lock;
+
+        /**
+         * @param list the wrapped list.
+         * @param lock locks the decorator and returns what unlocks it.
+         */
+        Handle(TravList<E> list, Supplier<Runnable> lock) {
+            this.list = list;
+            this.lock = lock;
+        }
+
+        Runnable lock() {
+            return this.lock.get();
+        }
+    }
+
+    /**
+     * Runs an operation with two decorators locked, in the order of their
+     * identity hash codes whatever their types, so that two threads running
+     * operations on the same pair both ways cannot deadlock.
+     *
+     * @param a         one decorator.
+     * @param b         the other decorator, not {@code a}.
+     * @param operation runs with both decorators locked.
+     */
+    static void lockBoth(Handle<?> a, Handle<?> b, Runnable operation) {
+        int mine = System.identityHashCode(a);
+        int theirs = System.identityHashCode(b);
+        if (mine == theirs) {
+            synchronized (TIE_LOCK) {
+                lockInOrder(a, b, operation);
+            }
+        } else if (mine < theirs) {
+            lockInOrder(a, b, operation);
+        } else {
+            lockInOrder(b, a, operation);
+        }
+    }
+
+    private static void lockInOrder(Handle<?> first, Handle<?> second, Runnable operation) {
+        Runnable unlockFirst = first.lock();
+        try {
+            Runnable unlockSecond = second.lock();
+            try {
+                operation.run();
+            } finally {
+                unlockSecond.run();
+            }
+        } finally {
+            unlockFirst.run();
+        }
+    }
+
+    /**
+     * Copies one or both parts of a list, from the beginning to the end.
+     * The caller holds the lock of the list.
+     *
+     * @param list  the wrapped list.
+     * @param left  whether to copy the left part.
+     * @param right whether to copy the right part.
+     * @return the elements.
+     */
+    static Object[] elements(TravList<?> list, boolean left, boolean right) {
+        Object[] elements = new Object[(left ? list.leftLength() : 0) + (right ? list.rightLength() : 0)];
+        int[] size = {0};
+        if (left) list.forEachLeft(e -> elements[size[0]++] = e);
+        if (right) list.forEachRight(e -> elements[size[0]++] = e);
+        return elements;
+    }
+
+    /**
+     * Copies the wrapped list of a decorator under the lock of that decorator
+     * only, so that the copy can be compared while the caller holds its own
+     * lock and no thread ever holds the locks of two decorators this way.
+     *
+     * @param decorator the handle of the decorator.
+     * @param <E>       the type of elements in the list.
+     * @return a plain list with the same elements and cursor index.
+     */
+    static <E> TravList<E> copy(Handle<E> decorator) {
+        Runnable unlock = decorator.lock();
+        try {
+            return copy(decorator.list);
+        } finally {
+            unlock.run();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> TravList<E> copy(TravList<E> list) {
+        GapBufferTravList<E> copy = new GapBufferTravList<>(list.capacity());
+        copy.load(list.leftLength(), list.rightLength(),
+                (Iterator<E>) Arrays.asList(elements(list, true, true)).iterator());
+        return copy;
+    }
+}
@@ -0,0 +1,80 @@
+package boundedtravlist;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.PrimitiveIterator;
+
+public class DoubleTravListTest {
+
+    DoubleTravList empty;
+    DoubleTravList list12_3;
+
+    @Before
+    public void setUp() throws Exception {
+
+        empty = new DoubleTravList(5);
+        list12_3 = new DoubleTravList(5);
+        list12_3.insertDouble(3.0);
+        list12_3.insertDouble(2.0);
+        list12_3.insertDouble(1.0);
+        list12_3.advance();
+        list12_3.advance();
+    }
+
+    @Test
+    public void initDefaultSetup() {
+        assertEquals(2, list12_3.leftLength());
+        assertEquals(1, list12_3.rightLength());
+        assertEquals(Double.valueOf(2.0), list12_3.getPrevious());
+        assertEquals(Double.valueOf(3.0), list12_3.getNext());
+        assertNull(empty.getNext());
+    }
+
+    @Test
+    public void primitiveMethods() {
+        assertEquals(Double.valueOf(3.0), Double.valueOf(list12_3.deleteDouble()));
+        list12_3.insertDouble(7.0);
+        assertEquals(Double.valueOf(7.0), Double.valueOf(list12_3.replaceDouble(8.0)));
+        assertEquals(Double.valueOf(8.0), Double.valueOf(list12_3.getNextDouble()));
+        assertEquals(Double.valueOf(2.0), Double.valueOf(list12_3.getPreviousDouble()));
+    }
+
+    @Test
+    public void doubleIteratorDoesNotMoveTheCursor() {
+        list12_3.reset();
+        PrimitiveIterator.OfDouble iterator = list12_3.doubleIterator();
+        assertEquals(Double.valueOf(1.0), Double.valueOf(iterator.nextDouble()));
+        assertEquals(Double.valueOf(2.0), Double.valueOf(iterator.nextDouble()));
+        assertEquals(Double.valueOf(3.0), Double.valueOf(iterator.nextDouble()));
+        assertFalse(iterator.hasNext());
+        assertEquals(0, list12_3.leftLength());
+    }
+
+    @Test
+    public void swapRights() {
+        DoubleTravList other = new DoubleTravList(3);
+        other.insertDouble(20.0);
+        list12_3.swapRights(other);
+        assertEquals(Double.valueOf(20.0), list12_3.getNext());
+        assertEquals(Double.valueOf(3.0), other.getNext());
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("[1.0, 2.0][3.0]:5", list12_3.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void insertNull() {
+        list12_3.insert(null);
+        fail();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void deleteDoubleEmpty() {
+        empty.deleteDouble();
+        fail();
+    }
+}
@@ -0,0 +1,622 @@
+package boundedtravlist;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * <p>Traversable list persisted in a file.</p>
+ *
+ * <p>The list is made of a snapshot file and of journal files.
+ * The snapshot holds a header (capacity, record width, left length,
+ * right length and journal generation) followed by the fixed-width records
+ * laid out like an {@link OffHeapTravList}. It is mapped with
+ * {@code FileChannel.map} in copy-on-write mode, so opening a list does not
+ * read the records and the snapshot on disk is never modified in place.</p>
+ *
+ * <p>Every change is first appended to the current journal and then applied
+ * to the mapped records. Each journal record carries a checksum; a record cut
+ * short by a crash is dropped when the list is reopened.
+ * When a journal gets long it is closed and a background thread writes a new
+ * snapshot next to the old one, replays the closed journals on it, and
+ * atomically renames it over the old snapshot. At any moment the files on
+ * disk describe either the old or the new snapshot, never a mix of both.
+ * If the background thread fails, the journals stay on disk and the failure
+ * is reported by the next call to {@link #sync()}, {@link #compact()} or
+ * {@link #close()}.</p>
+ *
+ * <p>Journal writes reach the operating system on every change;
+ * {@link #sync()} also forces them to the disk.
+ * A file must be opened by one list at a time.</p>
+ *
+ * @author Joyce
+ * @param <E> the type of elements in this list.
+ */
+public class FileBackedTravList<E> extends AbstractTravList<E> implements AutoCloseable {
+    // snapshot header: magic, version, capacity, width, left length, right length, generation
+    private static final int MAGIC = 0x54524156; // "TRAV"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 1 << 16;
+    private static final int JOURNAL_CHUNK = 1 << 16;
+
+    // journal operations
+    private static final byte INSERT = 1;
+    private static final byte DELETE = 2;
+    private static final byte ADVANCE = 3;
+    private static final byte RETREAT = 4;
+    private static final byte RESET = 5;
+    private static final byte ADVANCE_TO_END = 6;
+    private static final byte REPLACE = 7;
+    private static final byte MOVE_TO = 8;
+    private static final byte REVERSE_RANGE = 9;
+    private static final byte DELETE_RIGHT = 10;
+
+    private final Path path;
+    private final RecordCodec<E> codec;
+    private final int width;
+    private final int compactionThreshold;
+
+    /**
+     * Records of the list, mapped from the snapshot in copy-on-write mode.
+     */
+    private final OffHeapTravList<E> image;
+
+    /**
+     * Journal that receives the changes, and its generation.
+     */
+    private FileChannel journal;
+    private long generation;
+    private int journalRecords;
+
+    /**
+     * Reusable buffer holding one journal record while it is written.
+     */
+    private final ByteBuffer record;
+    private final CRC32 checksum = new CRC32();
+
+    /**
+     * Generation of the snapshot on disk; older journals are already in it.
+     */
+    private volatile long snapshotGeneration;
+    private Thread compaction;
+
+    /**
+     * Last failure of a background compaction, until it is reported.
+     */
+    private volatile IOException compactionFailure;
+
+    /**
+     * Opens the list stored at {@code path}, or creates an empty one
+     * if the file does not exist yet.
+     *
+     * @param path  the snapshot file, journals are created next to it.
+     * @param max   capacity of the list.
+     * @param codec converts the elements to fixed-width records.
+     * @throws IOException              if the files cannot be read or written
+     * @throws IllegalArgumentException if the file holds a list with another capacity or record width
+     */
+    public FileBackedTravList(Path path, int max, RecordCodec<E> codec) throws IOException {
+        this(path, max, codec, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Opens the list stored at {@code path}, or creates an empty one
+     * if the file does not exist yet.
+     *
+     * @param path                the snapshot file, journals are created next to it.
+     * @param max                 capacity of the list.
+     * @param codec               converts the elements to fixed-width records.
+     * @param compactionThreshold number of journal records that starts a background compaction.
+     * @throws IOException              if the files cannot be read or written
+     * @throws IllegalArgumentException if the file holds a list with another capacity or record width
+     */
+    public FileBackedTravList(Path path, int max, RecordCodec<E> codec, int compactionThreshold) throws IOException {
+        super(max);
+        if (max <= 0 || codec == null || codec.width() <= 0 || compactionThreshold <= 0) {
+            throw new IllegalArgumentException();
+        }
+        if ((long) max * codec.width() > Integer.MAX_VALUE - HEADER_SIZE) throw new IllegalArgumentException();
+
+        this.path = path.toAbsolutePath();
+        this.codec = codec;
+        this.width = codec.width();
+        this.compactionThreshold = compactionThreshold;
+        this.record = ByteBuffer.allocateDirect(1 + Math.max(this.width, 2 * Integer.BYTES) + Integer.BYTES);
+
+        if (!Files.exists(this.path) || Files.size(this.path) == 0) this.createSnapshot();
+
+        // map the snapshot, changes stay in memory until a compaction writes a new snapshot
+        // (a copy-on-write mapping needs a writable channel even though the file is never written)
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            mapped = channel.map(FileChannel.MapMode.PRIVATE, 0, this.fileSize());
+        }
+        if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) throw new IOException("Not a TravList file: " + path);
+        if (mapped.getInt(8) != max || mapped.getInt(12) != this.width) throw new IllegalArgumentException();
+        this.image = new OffHeapTravList<>(max, codec, mapped.slice(HEADER_SIZE, max * this.width),
+                mapped.getInt(16), mapped.getInt(20));
+        this.snapshotGeneration = mapped.getLong(24);
+
+        // replay the journals written since the snapshot
+        this.deleteJournalsBefore(this.snapshotGeneration);
+        this.generation = this.snapshotGeneration;
+        while (Files.exists(this.journalPath(this.generation + 1))) {
+            this.replayAndTruncate(this.generation);
+            this.generation++;
+        }
+        this.journal = FileChannel.open(this.journalPath(this.generation), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.journalRecords = this.replayAndTruncate(this.journal, this.image);
+        this.journal.position(this.journal.size());
+    }
+
+    // ----------------------------------------------------------
+    // Primary methods
+    // ----------------------------------------------------------
+
+    @Override
+    public void insert(E elem) throws IllegalArgumentException {
+        if (elem == null || this.leftLength() + this.rightLength() >= this.capacity()) {
+            throw new IllegalArgumentException();
+        }
+
+        this.log(INSERT, elem);
+        this.image.insert(elem);
+    }
+
+    @Override
+    public E delete() {
+        if (this.rightLength() == 0) throw new IllegalStateException();
+
+        this.log(DELETE, null);
+        return this.image.delete();
+    }
+
+    @Override
+    public void advance() throws IllegalStateException {
+        if (this.rightLength() == 0) throw new IllegalStateException();
+
+        this.log(ADVANCE, null);
+        this.image.advance();
+    }
+
+    @Override
+    public void retreat() throws IllegalStateException {
+        if (this.leftLength() == 0) throw new IllegalStateException();
+
+        this.log(RETREAT, null);
+        this.image.retreat();
+    }
+
+    @Override
+    public void reset() {
+        if (this.leftLength() == 0) return;
+
+        this.log(RESET, null);
+        this.image.reset();
+    }
+
+    @Override
+    public void advanceToEnd() {
+        if (this.rightLength() == 0) return;
+
+        this.log(ADVANCE_TO_END, null);
+        this.image.advanceToEnd();
+    }
+
+    @Override
+    public void moveTo(int index) throws IllegalArgumentException {
+        if (index < 0 || index > this.leftLength() + this.rightLength()) throw new IllegalArgumentException();
+        if (index == this.leftLength()) return;
+
+        this.log(MOVE_TO, null, index);
+        this.image.moveTo(index);
+    }
+
+    @Override
+    public void reverse() {
+        if (this.rightLength() == 0) return;
+
+        this.reverseRange(0, this.leftLength() + this.rightLength());
+        this.advanceToEnd();
+    }
+
+    @Override
+    public void reverseRange(int from, int to) throws IllegalArgumentException {
+        if (from < 0 || to > this.leftLength() + this.rightLength() || from > to) throw new IllegalArgumentException();
+        if (to - from < 2) return;
+
+        this.log(REVERSE_RANGE, null, from, to);
+        this.image.reverseRange(from, to);
+    }
+
+    /*
+     * Every element of the block gets its own INSERT record, as the records
+     * have a fixed width; the image then takes the block in one go.
+     */
+    @Override
+    protected void insertBlock(Object[] block) {
+        for (int i = block.length - 1; i >= 0; i--) {
+            @SuppressWarnings("unchecked")
+            E elem = (E) block[i];
+            this.log(INSERT, elem);
+        }
+        this.image.insertBlock(block);
+    }
+
+    @Override
+    protected void deleteBlock(int n, Consumer<? super E> action) {
+        if (n == 0) return;
+
+        this.log(DELETE_RIGHT, null, n);
+        this.image.deleteBlock(n, action);
+    }
+
+    @Override
+    public E replace(E element) {
+        if (element == null) throw new IllegalArgumentException();
+        if (this.rightLength() == 0) throw new IllegalStateException();
+
+        this.log(REPLACE, element);
+        return this.image.replace(element);
+    }
+
+    @Override
+    public int leftLength() {
+        return this.image.leftLength();
+    }
+
+    @Override
+    public int rightLength() {
+        return this.image.rightLength();
+    }
+
+    /*
+     * The mapped image keeps its own hash up to date, this list only journals.
+     */
+    @Override
+    public int hashCode() {
+        return this.image.hashCode();
+    }
+
+    @Override
+    protected Spliterator<E> spliterator(int from, int to) {
+        return this.image.spliterator(from, to);
+    }
+
+    @Override
+    public void forEachLeft(Consumer<? super E> action) {
+        this.image.forEachLeft(action);
+    }
+
+    @Override
+    public void forEachRight(Consumer<? super E> action) {
+        this.image.forEachRight(action);
+    }
+
+    @Override
+    protected void forEachRightReversed(Consumer<? super E> action) {
+        this.image.forEachRightReversed(action);
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Creates an empty in-memory list with the same capacity. A file-backed
+     * list owns a snapshot, journals and an open channel that only its
+     * caller can place and close, so the lists made here, as scratch space
+     * or by wrappers, never touch the disk.
+     *
+     * @return the traversable list.
+     */
+    @Override
+    public TravList<E> newInstance() {
+        return new GapBufferTravList<>(this.capacity());
+    }
+
+    @Override
+    public E getNext() {
+        return this.image.getNext();
+    }
+
+    @Override
+    public E getPrevious() {
+        return this.image.getPrevious();
+    }
+
+    // ----------------------------------------------------------
+    // Persistence
+    // ----------------------------------------------------------
+
+    /**
+     * Forces the journal to the disk, so the changes made so far survive
+     * an operating system crash as well as a process crash.
+     *
+     * @throws IOException if the journal cannot be forced, or if a background
+     *                     compaction failed since the last report
+     */
+    public void sync() throws IOException {
+        this.journal.force(false);
+        this.reportCompactionFailure();
+    }
+
+    /**
+     * Writes a new snapshot that holds every change made so far and waits
+     * until it replaces the old one. Reopening the list afterwards does not
+     * replay any journal.
+     *
+     * @throws IOException if the new snapshot cannot be written, or if a
+     *                     background compaction failed since the last report
+     */
+    public void compact() throws IOException {
+        this.awaitCompaction();
+        if (this.journalRecords > 0 || this.generation > this.snapshotGeneration) {
+            this.rollJournal();
+            this.compactGenerations(this.snapshotGeneration, this.generation);
+        }
+    }
+
+    /**
+     * Compacts the journals into the snapshot and closes the files.
+     * The list cannot be used after it is closed. The files are closed
+     * even if the compaction fails, and the journals then stay on disk
+     * to be replayed when the list is reopened.
+     *
+     * @throws IOException if the files cannot be written, or if a background
+     *                     compaction failed since the last report
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.image.isClosed()) return;
+
+        try {
+            this.compact();
+        } finally {
+            this.journal.close();
+            this.image.close();
+        }
+    }
+
+    private void log(byte operation, E elem) {
+        this.log(operation, elem, 0, 0);
+    }
+
+    private void log(byte operation, E elem, int index) {
+        this.log(operation, elem, index, 0);
+    }
+
+    private void log(byte operation, E elem, int index, int end) {
+        try {
+            int payload = this.payloadSize(operation);
+            this.record.clear();
+            this.record.put(0, operation);
+            if (elem != null) this.codec.encode(elem, this.record, 1);
+            if (operation == MOVE_TO || operation == REVERSE_RANGE || operation == DELETE_RIGHT) this.record.putInt(1, index);
+            if (operation == REVERSE_RANGE) this.record.putInt(1 + Integer.BYTES, end);
+
+            this.record.limit(1 + payload);
+            this.checksum.reset();
+            this.checksum.update(this.record);
+            this.record.limit(1 + payload + Integer.BYTES);
+            this.record.putInt(1 + payload, (int) this.checksum.getValue());
+            this.record.position(0);
+            while (this.record.hasRemaining()) this.journal.write(this.record);
+
+            if (++this.journalRecords >= this.compactionThreshold
+                    && (this.compaction == null || !this.compaction.isAlive())) {
+                this.rollJournal();
+                this.startCompaction(this.snapshotGeneration, this.generation);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Closes the current journal and opens the journal of the next generation.
+     */
+    private void rollJournal() throws IOException {
+        this.journal.close();
+        this.generation++;
+        this.journal = FileChannel.open(this.journalPath(this.generation), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.journalRecords = 0;
+    }
+
+    private void startCompaction(long from, long to) {
+        Thread thread = new Thread(() -> {
+            try {
+                this.compactGenerations(from, to);
+            } catch (IOException e) {
+                // the journals stay on disk and the next compaction starts from the same snapshot
+                this.compactionFailure = e;
+            }
+        }, "travlist-compaction");
+        thread.setDaemon(true);
+        this.compaction = thread;
+        thread.start();
+    }
+
+    private void awaitCompaction() throws IOException {
+        if (this.compaction == null) return;
+        try {
+            this.compaction.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+        this.compaction = null;
+        this.reportCompactionFailure();
+    }
+
+    private void reportCompactionFailure() throws IOException {
+        IOException failure = this.compactionFailure;
+        if (failure == null) return;
+
+        this.compactionFailure = null;
+        throw new IOException("Background compaction failed", failure);
+    }
+
+    /*
+     * Builds a snapshot holding journals [from, to) on top of the current
+     * snapshot, then swaps it in with an atomic rename.
+     * Only reads closed journals and the snapshot file, never the live list.
+     */
+    private void compactGenerations(long from, long to) throws IOException {
+        Path temp = this.path.resolveSibling(this.path.getFileName() + ".compact");
+        Files.copy(this.path, temp, StandardCopyOption.REPLACE_EXISTING);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.fileSize());
+            OffHeapTravList<E> view = new OffHeapTravList<>(this.capacity(), this.codec,
+                    mapped.slice(HEADER_SIZE, this.capacity() * this.width), mapped.getInt(16), mapped.getInt(20));
+            for (long g = from; g < to; g++) {
+                try (FileChannel closed = FileChannel.open(this.journalPath(g), StandardOpenOption.READ)) {
+                    this.replayAndTruncate(closed, view);
+                }
+            }
+            mapped.putInt(16, view.leftLength());
+            mapped.putInt(20, view.rightLength());
+            mapped.putLong(24, to);
+            mapped.force();
+        }
+        Files.move(temp, this.path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        this.snapshotGeneration = to;
+        this.deleteJournalsBefore(to);
+    }
+
+    private void createSnapshot() throws IOException {
+        Path temp = this.path.resolveSibling(this.path.getFileName() + ".compact");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(this.capacity()).putInt(this.width)
+                    .putInt(0).putInt(0).putLong(0L).flip();
+            while (header.hasRemaining()) channel.write(header);
+            // grow the file to its full size, the records are never read before they are written
+            channel.write(ByteBuffer.allocate(1), this.fileSize() - 1);
+            channel.force(true);
+        }
+        Files.move(temp, this.path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private int replayAndTruncate(long generation) throws IOException {
+        try (FileChannel channel = FileChannel.open(this.journalPath(generation),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return this.replayAndTruncate(channel, this.image);
+        }
+    }
+
+    /*
+     * Applies every complete journal record to the target list and cuts off
+     * a torn or corrupted tail. Returns the number of records applied.
+     */
+    private int replayAndTruncate(FileChannel channel, OffHeapTravList<E> target) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocateDirect(Math.max(JOURNAL_CHUNK, this.record.capacity()));
+        CRC32 crc = new CRC32();
+        long valid = 0;
+        int applied = 0;
+        boolean corrupted = false;
+
+        while (!corrupted) {
+            chunk.clear();
+            if (channel.read(chunk, valid) <= 0) break;
+            chunk.flip();
+
+            int parsed = 0;
+            while (chunk.hasRemaining()) {
+                int start = chunk.position();
+                byte operation = chunk.get(start);
+                int payload = this.payloadSize(operation);
+                if (payload < 0) {
+                    corrupted = true;
+                    break;
+                }
+                if (chunk.remaining() < 1 + payload + Integer.BYTES) break;
+
+                crc.reset();
+                crc.update(chunk.duplicate().limit(start + 1 + payload));
+                if ((int) crc.getValue() != chunk.getInt(start + 1 + payload)) {
+                    corrupted = true;
+                    break;
+                }
+                this.apply(operation, chunk, start + 1, target);
+                chunk.position(start + 1 + payload + Integer.BYTES);
+                parsed += 1 + payload + Integer.BYTES;
+                applied++;
+            }
+            if (parsed == 0) break;
+            valid += parsed;
+        }
+
+        if (channel.size() > valid) channel.truncate(valid);
+        return applied;
+    }
+
+    private void apply(byte operation, ByteBuffer chunk, int offset, OffHeapTravList<E> target) {
+        switch (operation) {
+            case INSERT: target.insert(this.codec.decode(chunk, offset)); break;
+            case DELETE: target.delete(); break;
+            case ADVANCE: target.advance(); break;
+            case RETREAT: target.retreat(); break;
+            case RESET: target.reset(); break;
+            case ADVANCE_TO_END: target.advanceToEnd(); break;
+            case REPLACE: target.replace(this.codec.decode(chunk, offset)); break;
+            case MOVE_TO: target.moveTo(chunk.getInt(offset)); break;
+            case REVERSE_RANGE: target.reverseRange(chunk.getInt(offset), chunk.getInt(offset + Integer.BYTES)); break;
+            case DELETE_RIGHT: target.deleteRight(chunk.getInt(offset), e -> { }); break;
+            default: throw new IllegalStateException();
+        }
+    }
+
+    /*
+     * Number of bytes stored after the operation code, -1 for an unknown operation.
+     */
+    private int payloadSize(byte operation) {
+        if (operation == INSERT || operation == REPLACE) return this.width;
+        if (operation == MOVE_TO || operation == DELETE_RIGHT) return Integer.BYTES;
+        if (operation == REVERSE_RANGE) return 2 * Integer.BYTES;
+        return operation >= DELETE && operation <= ADVANCE_TO_END ? 0 : -1;
+    }
+
+    private void deleteJournalsBefore(long generation) throws IOException {
+        String prefix = this.path.getFileName() + ".journal.";
+        try (DirectoryStream<Path> journals = Files.newDirectoryStream(this.path.getParent(), prefix + "*")) {
+            for (Path journal : journals) {
+                long g = generationOf(journal.getFileName().toString().substring(prefix.length()));
+                if (g >= 0 && g < generation) Files.deleteIfExists(journal);
+            }
+        }
+    }
+
+    /*
+     * Reads the generation at the end of the name of a journal, or gives -1
+     * for another file matching the pattern, such as a backup copy.
+     */
+    private static long generationOf(String suffix) {
+        if (suffix.isEmpty() || suffix.length() > 18) return -1;
+        for (int i = 0; i < suffix.length(); i++) {
+            if (suffix.charAt(i) < '0' || suffix.charAt(i) > '9') return -1;
+        }
+        return Long.parseLong(suffix);
+    }
+
+    private Path journalPath(long generation) {
+        return this.path.resolveSibling(this.path.getFileName() + ".journal." + generation);
+    }
+
+    private long fileSize() {
+        return HEADER_SIZE + (long) this.capacity() * this.width;
+    }
+}
@@ -0,0 +1,270 @@
+package boundedtravlist;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+public class FileBackedTravListTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    Path file;
+    FileBackedTravList<Integer> list123_45;
+
+    @Before
+    public void setUp() throws Exception {
+        file = folder.getRoot().toPath().resolve("list.bin");
+        list123_45 = new FileBackedTravList<>(file, 5, RecordCodec.INT);
+        list123_45.insert(5);
+        list123_45.insert(4);
+        list123_45.insert(3);
+        list123_45.insert(2);
+        list123_45.insert(1);
+        list123_45.advance();
+        list123_45.advance();
+        list123_45.advance();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (list123_45 != null) list123_45.close();
+    }
+
+    // ==========================================================
+    // Primary Methods
+    // ==========================================================
+
+    @Test
+    public void initDefaultSetup() {
+        assertEquals(3, list123_45.leftLength());
+        assertEquals(2, list123_45.rightLength());
+        assertEquals(Integer.valueOf(3), list123_45.getPrevious());
+        assertEquals(Integer.valueOf(4), list123_45.getNext());
+    }
+
+    @Test
+    public void deleteReplaceAndMove() {
+        assertEquals(Integer.valueOf(4), list123_45.delete());
+        assertEquals(Integer.valueOf(5), list123_45.replace(9));
+        list123_45.reset();
+        assertEquals(Integer.valueOf(1), list123_45.getNext());
+        list123_45.advanceToEnd();
+        assertEquals(Integer.valueOf(9), list123_45.getPrevious());
+        assertEquals(4, list123_45.leftLength());
+    }
+
+    @Test
+    public void swapRightsWithAnotherKindOfList() {
+        TravList<Integer> other = new SimpleTravList<>(3);
+        other.insert(30);
+        other.insert(20);
+        list123_45.swapRights(other);
+        assertEquals(Integer.valueOf(20), list123_45.getNext());
+        assertEquals(Integer.valueOf(4), other.getNext());
+        assertEquals(2, other.rightLength());
+    }
+
+    @Test
+    public void newInstanceIsInMemory() throws IOException {
+        long files;
+        try (Stream<Path> listed = Files.list(folder.getRoot().toPath())) {
+            files = listed.count();
+        }
+        TravList<Integer> other = list123_45.newInstance();
+        other.insert(7);
+        assertEquals(5, other.capacity());
+        assertFalse(other instanceof AutoCloseable);
+        try (Stream<Path> listed = Files.list(folder.getRoot().toPath())) {
+            assertEquals(files, listed.count());
+        }
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("[1, 2, 3][5, 4]:5", list123_45.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void insertInFullList() {
+        list123_45.insert(6);
+        fail();
+    }
+
+    // ==========================================================
+    // Persistence
+    // ==========================================================
+
+    @Test
+    public void reopenReplaysTheJournal() throws IOException {
+        list123_45.delete();
+        list123_45.retreat();
+
+        // drop the list without closing it, as if the process had crashed
+        list123_45 = null;
+        try (FileBackedTravList<Integer> reopened = new FileBackedTravList<>(file, 5, RecordCodec.INT)) {
+            assertEquals(2, reopened.leftLength());
+            assertEquals(2, reopened.rightLength());
+            assertEquals(Integer.valueOf(2), reopened.getPrevious());
+            assertEquals(Integer.valueOf(3), reopened.getNext());
+        }
+    }
+
+    @Test
+    public void moveToIsJournaled() throws IOException {
+        list123_45.moveTo(1);
+        list123_45 = null;
+
+        try (FileBackedTravList<Integer> reopened = new FileBackedTravList<>(file, 5, RecordCodec.INT)) {
+            assertEquals(1, reopened.cursorIndex());
+            assertEquals(Integer.valueOf(2), reopened.getNext());
+        }
+    }
+
+    @Test
+    public void bulkMethodsAreJournaled() throws IOException {
+        list123_45.retreat();
+        list123_45.deleteRight(3);
+        list123_45.insertAll(new Integer[]{7, 8});
+        list123_45 = null;
+
+        try (FileBackedTravList<Integer> reopened = new FileBackedTravList<>(file, 5, RecordCodec.INT)) {
+            assertEquals("[1, 2][8, 7]:5", reopened.toString());
+        }
+    }
+
+    @Test
+    public void reverseIsJournaled() throws IOException {
+        list123_45.reverseRange(0, 4);
+        list123_45.reverse();
+        list123_45 = null;
+
+        try (FileBackedTravList<Integer> reopened = new FileBackedTravList<>(file, 5, RecordCodec.INT)) {
+            assertEquals(5, reopened.cursorIndex());
+            assertEquals(Integer.valueOf(4), reopened.getPrevious());
+            reopened.reset();
+            assertEquals(Integer.valueOf(5), reopened.getNext());
+        }
+    }
+
+    @Test
+    public void readFromIsJournaled() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        list123_45.writeTo(Channels.newChannel(bytes), RecordCodec.INT);
+
+        Path copyFile = file.resolveSibling("copy.bin");
+        try (FileBackedTravList<Integer> copy = new FileBackedTravList<>(copyFile, 5, RecordCodec.INT)) {
+            copy.readFrom(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), RecordCodec.INT);
+        }
+        try (FileBackedTravList<Integer> reopened = new FileBackedTravList<>(copyFile, 5, RecordCodec.INT)) {
+            assertEquals(list123_45, reopened);
+        }
+    }
+
+    @Test
+    public void reopenAfterCloseReadsTheSnapshot() throws IOException {
+        list123_45.close();
+        assertEquals(0, Files.size(file.resolveSibling("list.bin.journal.1")));
+
+        list123_45 = new FileBackedTravList<>(file, 5, RecordCodec.INT);
+        assertEquals(3, list123_45.leftLength());
+        assertEquals(2, list123_45.rightLength());
+        assertEquals(Integer.valueOf(4), list123_45.getNext());
+        list123_45.reset();
+        assertEquals(Integer.valueOf(1), list123_45.getNext());
+    }
+
+    @Test
+    public void tornJournalRecordIsDropped() throws IOException {
+        list123_45 = null;
+        Path journal = file.resolveSibling("list.bin.journal.0");
+        long complete = Files.size(journal);
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            // the start of an insert record whose end never reached the disk
+            channel.write(ByteBuffer.wrap(new byte[] {1, 0, 0}), complete);
+        }
+
+        try (FileBackedTravList<Integer> reopened = new FileBackedTravList<>(file, 5, RecordCodec.INT)) {
+            assertEquals(3, reopened.leftLength());
+            assertEquals(2, reopened.rightLength());
+            assertEquals(complete, Files.size(journal));
+        }
+    }
+
+    @Test
+    public void otherFilesNamedLikeJournalsAreLeftAlone() throws IOException {
+        list123_45.close();
+        Path backup = Files.write(file.resolveSibling("list.bin.journal.bak"), new byte[] {1});
+        Path older = Files.write(file.resolveSibling("list.bin.journal.0.bak"), new byte[] {1});
+
+        list123_45 = new FileBackedTravList<>(file, 5, RecordCodec.INT);
+        list123_45.close();
+        assertTrue(Files.exists(backup));
+        assertTrue(Files.exists(older));
+        list123_45 = new FileBackedTravList<>(file, 5, RecordCodec.INT);
+        assertEquals("[1, 2, 3][5, 4]:5", list123_45.toString());
+    }
+
+    @Test
+    public void backgroundCompaction() throws IOException {
+        Path other = folder.getRoot().toPath().resolve("other.bin");
+        try (FileBackedTravList<Integer> list = new FileBackedTravList<>(other, 100, RecordCodec.INT, 8)) {
+            for (int i = 0; i < 100; i++) {
+                list.insert(i);
+                list.advance();
+            }
+            list.retreat();
+        }
+        try (FileBackedTravList<Integer> reopened = new FileBackedTravList<>(other, 100, RecordCodec.INT, 8)) {
+            assertEquals(99, reopened.leftLength());
+            assertEquals(Integer.valueOf(99), reopened.getNext());
+            assertEquals(Integer.valueOf(98), reopened.getPrevious());
+            reopened.reset();
+            assertEquals(Integer.valueOf(0), reopened.getNext());
+        }
+    }
+
+    @Test
+    public void backgroundCompactionFailureIsReportedByClose() throws IOException {
+        Path other = folder.getRoot().toPath().resolve("other.bin");
+        FileBackedTravList<Integer> list = new FileBackedTravList<>(other, 100, RecordCodec.INT, 8);
+        // a directory in the way of the new snapshot makes the compaction fail
+        Path blocker = Files.createDirectory(other.resolveSibling("other.bin.compact"));
+        Files.write(blocker.resolve("file"), new byte[] {1});
+
+        for (int i = 0; i < 10; i++) list.insert(i);
+        try {
+            list.close();
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+
+        Files.delete(blocker.resolve("file"));
+        Files.delete(blocker);
+        try (FileBackedTravList<Integer> reopened = new FileBackedTravList<>(other, 100, RecordCodec.INT, 8)) {
+            assertEquals(10, reopened.rightLength());
+            assertEquals(Integer.valueOf(9), reopened.getNext());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void reopenWithAnotherCapacity() throws IOException {
+        new FileBackedTravList<>(file, 6, RecordCodec.INT);
+        fail();
+    }
+}
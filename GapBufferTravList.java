@@ -0,0 +1,333 @@
+package boundedtravlist;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * <p>Gap buffer traversable list.</p>
+ *
+ * <p>All the elements live in one array sized to the capacity.
+ * The left elements fill the front of the array, the right elements
+ * fill the back of the array, and the free slots (the "gap") sit
+ * in between, exactly at the cursor position.
+ * Inserting and deleting at the cursor only touch the edge of the gap,
+ * so they run in constant time.</p>
+ *
+ * @author Joyce
+ * @param <E> the type of elements in this list.
+ */
+public class GapBufferTravList<E> extends AbstractTravList<E> {
+    // representation
+
+    /**
+     * Elements of the list, the gap is {@code [gapStart, gapEnd)}.
+     */
+    private final Object[] buffer;
+
+    /**
+     * First free slot, also the number of elements to the left of the cursor.
+     */
+    private int gapStart;
+
+    /**
+     * First slot after the gap, the element to the right of the cursor.
+     */
+    private int gapEnd;
+
+    // buffer = [_, _, _], gapStart = 0, gapEnd = 3 ==> TravList = [][]:3
+    // buffer = [A, B, C, _, _, D, E], gapStart = 3, gapEnd = 5 ==> TravList = [A, B, C][D, E]:7
+
+    public GapBufferTravList(int max) {
+        super(max);
+        if (max <= 0) throw new IllegalArgumentException();
+        this.buffer = new Object[max];
+        this.gapStart = 0;
+        this.gapEnd = max;
+    }
+
+    @Override
+    public void insert(E elem) throws IllegalArgumentException {
+        // throw exception if the list is full
+        if (elem == null || this.gapStart == this.gapEnd) throw new IllegalArgumentException();
+
+        this.buffer[--this.gapEnd] = elem;
+        this.hashInsert(elem);
+    }
+
+    @Override
+    public E delete() {
+        if (this.rightLength() == 0) throw new IllegalStateException();
+
+        E elem = this.elementAt(this.gapEnd);
+        this.buffer[this.gapEnd++] = null;
+        this.hashDelete(elem);
+        return elem;
+    }
+
+    @Override
+    public void advance() throws IllegalStateException {
+        if (this.rightLength() == 0) throw new IllegalStateException();
+
+        // the first element after the gap moves to the front of the gap
+        // (clear before writing, both slots are the same when the list is full)
+        Object elem = this.buffer[this.gapEnd];
+        this.buffer[this.gapEnd++] = null;
+        this.buffer[this.gapStart++] = elem;
+        this.hashAdvance(elem);
+    }
+
+    @Override
+    public void retreat() throws IllegalStateException {
+        if (this.leftLength() == 0) throw new IllegalStateException();
+
+        // the last element before the gap moves to the back of the gap
+        // (clear before writing, both slots are the same when the list is full)
+        Object elem = this.buffer[--this.gapStart];
+        this.buffer[this.gapStart] = null;
+        this.buffer[--this.gapEnd] = elem;
+        this.hashRetreat(elem);
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Resets the cursor to the beginning of the list.
+     * The whole left block is moved behind the gap with one array copy.
+     */
+    @Override
+    public void reset() {
+        this.moveTo(0);
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Advances the cursor to the end of the list.
+     * The whole right block is moved in front of the gap with one array copy.
+     */
+    @Override
+    public void advanceToEnd() {
+        this.moveTo(this.gapStart + this.rightLength());
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Moves the cursor so that {@code index} elements are to its left.
+     * The elements between the old and the new cursor position
+     * cross the gap with one array copy.
+     *
+     * @param index the new number of elements to the left of the cursor.
+     * @throws IllegalArgumentException if {@code index} is negative
+     *                                  or greater than the number of elements
+     */
+    @Override
+    public void moveTo(int index) throws IllegalArgumentException {
+        if (index < 0 || index > this.gapStart + this.rightLength()) throw new IllegalArgumentException();
+        if (index != this.gapStart) this.hashInvalidate();
+
+        if (index < this.gapStart) {
+            int moved = this.gapStart - index;
+            int target = this.gapEnd - moved;
+            System.arraycopy(this.buffer, index, this.buffer, target, moved);
+            // clear the slots that became part of the gap
+            Arrays.fill(this.buffer, index, Math.min(this.gapStart, target), null);
+            this.gapStart = index;
+            this.gapEnd = target;
+        } else if (index > this.gapStart) {
+            int moved = index - this.gapStart;
+            System.arraycopy(this.buffer, this.gapEnd, this.buffer, this.gapStart, moved);
+            // clear the slots that became part of the gap
+            Arrays.fill(this.buffer, Math.max(this.gapEnd, index), this.gapEnd + moved, null);
+            this.gapStart = index;
+            this.gapEnd += moved;
+        }
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Swaps the right part of {@code this} list with
+     * the right part of {@code that} list.
+     * When both lists are gap buffers, each right part is moved
+     * as one block instead of one element at a time.
+     *
+     * @param that right part of the list passed in parameter.
+     * @throws IllegalArgumentException if one of the lists cannot hold the other right part
+     */
+    @Override
+    public void swapRights(TravList<E> that) {
+        if (!(that instanceof GapBufferTravList)) {
+            super.swapRights(that);
+            return;
+        }
+        if (that == this) return;
+
+        GapBufferTravList<E> other = (GapBufferTravList<E>) that;
+        int thisRight = this.rightLength();
+        int thatRight = other.rightLength();
+        if (this.gapStart + thatRight > this.capacity()
+                || other.gapStart + thisRight > other.capacity()) {
+            throw new IllegalArgumentException();
+        }
+
+        Object[] temp = Arrays.copyOfRange(this.buffer, this.gapEnd, this.buffer.length);
+        Arrays.fill(this.buffer, this.gapEnd, this.buffer.length, null);
+        this.gapEnd = this.buffer.length - thatRight;
+        System.arraycopy(other.buffer, other.gapEnd, this.buffer, this.gapEnd, thatRight);
+
+        Arrays.fill(other.buffer, other.gapEnd, other.buffer.length, null);
+        other.gapEnd = other.buffer.length - thisRight;
+        System.arraycopy(temp, 0, other.buffer, other.gapEnd, thisRight);
+        this.hashInvalidate();
+        other.hashInvalidate();
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Adds all the elements from {@code that} traversable list to the left of the cursor.
+     * When {@code that} is a gap buffer, its right part is copied
+     * into the gap of {@code this} list as one block.
+     *
+     * @param that list passed in parameter.
+     * @throws IllegalArgumentException if the cursor of {@code that} is not at the beginning
+     *                                  or if {@code this} list cannot hold the elements
+     */
+    @Override
+    public void splice(TravList<E> that) {
+        if (!(that instanceof GapBufferTravList) || that == this) {
+            super.splice(that);
+            return;
+        }
+
+        GapBufferTravList<E> other = (GapBufferTravList<E>) that;
+        int moved = other.rightLength();
+        if (other.leftLength() != 0 || this.gapEnd - this.gapStart < moved) {
+            throw new IllegalArgumentException();
+        }
+
+        System.arraycopy(other.buffer, other.gapEnd, this.buffer, this.gapStart, moved);
+        this.gapStart += moved;
+        Arrays.fill(other.buffer, other.gapEnd, other.buffer.length, null);
+        other.gapEnd = other.buffer.length;
+        this.hashInvalidate();
+        other.hashInvalidate();
+    }
+
+    @Override
+    public E replace(E element) {
+        if (element == null) throw new IllegalArgumentException();
+        if (this.rightLength() == 0) throw new IllegalStateException();
+
+        E elem = this.elementAt(this.gapEnd);
+        this.buffer[this.gapEnd] = element;
+        this.hashReplace(elem, element);
+        return elem;
+    }
+
+    @Override
+    public int leftLength() {
+        return this.gapStart;
+    }
+
+    @Override
+    public int rightLength() {
+        return this.buffer.length - this.gapEnd;
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Reverses the elements at positions {@code [from, to)} in place,
+     * swapping pairs of slots from both ends of the range.
+     * The gap does not move.
+     *
+     * @param from first position of the range, inclusive.
+     * @param to   last position of the range, exclusive.
+     * @throws IllegalArgumentException if the range is not inside the list
+     */
+    @Override
+    public void reverseRange(int from, int to) throws IllegalArgumentException {
+        if (from < 0 || to > this.gapStart + this.rightLength() || from > to) throw new IllegalArgumentException();
+
+        int gap = this.gapEnd - this.gapStart;
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            int a = i < this.gapStart ? i : i + gap;
+            int b = j < this.gapStart ? j : j + gap;
+            Object elem = this.buffer[a];
+            this.buffer[a] = this.buffer[b];
+            this.buffer[b] = elem;
+        }
+        this.hashInvalidate();
+    }
+
+    @Override
+    protected void insertBlock(Object[] block) {
+        // the block fills the end of the gap in one copy
+        this.gapEnd -= block.length;
+        System.arraycopy(block, 0, this.buffer, this.gapEnd, block.length);
+        this.hashInsertBlock(block);
+    }
+
+    @Override
+    protected void deleteBlock(int n, Consumer<? super E> action) {
+        // the block after the gap is copied out in one go and the gap widens over it
+        Object[] block = Arrays.copyOfRange(this.buffer, this.gapEnd, this.gapEnd + n);
+        Arrays.fill(this.buffer, this.gapEnd, this.gapEnd + n, null);
+        this.gapEnd += n;
+        this.handOut(block, action);
+    }
+
+    @Override
+    protected void load(int leftCount, int rightCount, Iterator<? extends E> elements) {
+        for (int i = 0; i < leftCount; i++) this.buffer[i] = elements.next();
+        this.gapStart = leftCount;
+        this.gapEnd = this.buffer.length - rightCount;
+        for (int i = this.gapEnd; i < this.buffer.length; i++) this.buffer[i] = elements.next();
+        this.hashInvalidate();
+    }
+
+    @Override
+    protected Spliterator<E> spliterator(int from, int to) {
+        // positions after the cursor skip over the gap
+        return new IndexedSpliterator<>(i -> this.elementAt(i < this.gapStart ? i : i + this.gapEnd - this.gapStart), from, to);
+    }
+
+    @Override
+    public void forEachLeft(Consumer<? super E> action) {
+        for (int i = 0; i < this.gapStart; i++) action.accept(this.elementAt(i));
+    }
+
+    @Override
+    public void forEachRight(Consumer<? super E> action) {
+        for (int i = this.gapEnd; i < this.buffer.length; i++) action.accept(this.elementAt(i));
+    }
+
+    @Override
+    protected void forEachRightReversed(Consumer<? super E> action) {
+        for (int i = this.buffer.length - 1; i >= this.gapEnd; i--) action.accept(this.elementAt(i));
+    }
+
+    @Override
+    public TravList<E> newInstance() {
+        return new GapBufferTravList<>(this.capacity());
+    }
+
+    @Override
+    public E getNext() {
+        return this.rightLength() == 0 ? null : this.elementAt(this.gapEnd);
+    }
+
+    @Override
+    public E getPrevious() {
+        return this.leftLength() == 0 ? null : this.elementAt(this.gapStart - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int index) {
+        return (E) this.buffer[index];
+    }
+}
@@ -0,0 +1,56 @@
+package boundedtravlist;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/*
+ * Spliterator over a range of positions of a traversable list whose storage
+ * can be read by index. It splits in halves, reads the storage through the
+ * accessor and never touches the cursor of the list.
+ * The list must not be changed while the spliterator is in use.
+ */
+final class IndexedSpliterator<E> implements Spliterator<E> {
+    static final int CHARACTERISTICS = SIZED | SUBSIZED | ORDERED | NONNULL;
+
+    private final IntFunction<E> accessor;
+    private int index;
+    private final int fence;
+
+    IndexedSpliterator(IntFunction<E> accessor, int from, int to) {
+        this.accessor = accessor;
+        this.index = from;
+        this.fence = to;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        if (index >= fence) return false;
+        action.accept(accessor.apply(index++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+        for (; index < fence; index++) action.accept(accessor.apply(index));
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        int mid = (index + fence) >>> 1;
+        if (mid <= index) return null;
+        Spliterator<E> prefix = new IndexedSpliterator<>(accessor, index, mid);
+        index = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+}
@@ -0,0 +1,158 @@
+package boundedtravlist;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * <p>Treap traversable list with an index from its elements to their nodes.</p>
+ *
+ * <p>The list is a {@link TreapTravList} that also maps each element, by
+ * {@code equals}, to the nodes holding it. The index stores nodes rather
+ * than positions: a node keeps its identity when elements are inserted or
+ * deleted around it and when the cursor moves, and its position is read
+ * from the tree in O(log n) when it is needed. So {@code contains} and
+ * {@code countOf} run in constant time and {@code seekTo} in O(log n),
+ * while moving the cursor costs what it costs on a treap.</p>
+ *
+ * <p>Every insert, delete and replace also updates the index, in constant
+ * time for an element held once and in O(log n log k) for an element held
+ * k times, whose nodes are kept in list order. {@code swapRights},
+ * {@code splice} and {@code splitRight} still move the nodes in O(log n),
+ * but the moved elements are reindexed one by one.</p>
+ *
+ * @author Joyce
+ * @param <E> the type of elements in this list.
+ */
+public class IndexedTravList<E> extends TreapTravList<E> {
+
+    private static final Comparator<Node<?>> IN_LIST_ORDER = Comparator.comparingInt(TreapTravList::positionOf);
+
+    /**
+     * Node of each element held once, or the nodes in list order of an element held more than once.
+     */
+    private final Map<E, Object> index = new HashMap<>();
+
+    public IndexedTravList(int max) {
+        super(max, true);
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Tells whether the list holds an element, in constant time.
+     *
+     * @param elem the element to look for.
+     * @return whether an element equal to {@code elem} is in the list.
+     */
+    public boolean contains(Object elem) {
+        return this.index.containsKey(elem);
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Counts the elements of the list equal to an element, in constant time.
+     *
+     * @param elem the element to count.
+     * @return the number of elements equal to {@code elem} in the list.
+     */
+    public int countOf(Object elem) {
+        Object nodes = this.index.get(elem);
+        if (nodes == null) return 0;
+        return nodes instanceof Node ? 1 : ((TreeSet<?>) nodes).size();
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Gives the position of the first element of the list equal to an element,
+     * position 0 being the beginning of the list, in O(log n).
+     * The cursor does not move.
+     *
+     * @param elem the element to look for.
+     * @return the position of the first occurrence of {@code elem}, or -1 if it is not in the list.
+     */
+    public int indexOf(Object elem) {
+        Node<E> first = this.first(elem);
+        return first == null ? -1 : positionOf(first);
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Moves the cursor just before the first element of the list equal to
+     * an element, so that {@code getNext} returns it, in O(log n).
+     * The cursor does not move if the element is not in the list.
+     *
+     * @param elem the element to look for.
+     * @return whether the element was found.
+     */
+    public boolean seekTo(Object elem) {
+        int position = this.indexOf(elem);
+        if (position < 0) return false;
+
+        this.moveTo(position);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<E> first(Object elem) {
+        Object nodes = this.index.get(elem);
+        if (nodes == null || nodes instanceof Node) return (Node<E>) nodes;
+        return ((TreeSet<Node<E>>) nodes).first();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void attached(Node<E> node) {
+        this.index.merge(node.value, node, (nodes, added) -> {
+            TreeSet<Node<E>> set;
+            if (nodes instanceof Node) {
+                set = new TreeSet<>(IN_LIST_ORDER);
+                set.add((Node<E>) nodes);
+            } else {
+                set = (TreeSet<Node<E>>) nodes;
+            }
+            set.add((Node<E>) added);
+            return set;
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void detached(Node<E> node) {
+        this.index.computeIfPresent(node.value, (elem, nodes) -> {
+            if (nodes instanceof Node) return null;
+            TreeSet<Node<E>> set = (TreeSet<Node<E>>) nodes;
+            set.remove(node);
+            return set.size() == 1 ? set.first() : set;
+        });
+    }
+
+    /**
+     * Moves the right part of this list into a new indexed list of the
+     * same capacity, with its cursor at the beginning. The tree is split
+     * in O(log n) and the moved elements are reindexed.
+     *
+     * @return a new list holding the elements that were to the right of the cursor.
+     */
+    @Override
+    public IndexedTravList<E> splitRight() {
+        return (IndexedTravList<E>) super.splitRight();
+    }
+
+    @Override
+    public TravList<E> newInstance() {
+        return new IndexedTravList<>(this.capacity());
+    }
+
+    /*
+     * Elements only pass through the scratch list, which needs no index.
+     */
+    @Override
+    protected TravList<E> newScratch() {
+        return new TreapTravList<>(this.capacity());
+    }
+}
@@ -0,0 +1,200 @@
+package boundedtravlist;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class IndexedTravListTest {
+
+    IndexedTravList<String> abc_de;
+
+    @Before
+    public void setUp() {
+        abc_de = new IndexedTravList<>(8);
+        abc_de.insert("E");
+        abc_de.insert("D");
+        abc_de.insert("C");
+        abc_de.insert("B");
+        abc_de.insert("A");
+        abc_de.advance();
+        abc_de.advance();
+        abc_de.advance();
+    }
+
+    @Test
+    public void containsAndCountOf() {
+        assertTrue(abc_de.contains("A"));
+        assertTrue(abc_de.contains("E"));
+        assertFalse(abc_de.contains("F"));
+        assertFalse(abc_de.contains(null));
+        abc_de.insert("A");
+        assertEquals(2, abc_de.countOf("A"));
+        assertEquals(1, abc_de.countOf("D"));
+        assertEquals(0, abc_de.countOf("F"));
+    }
+
+    @Test
+    public void seekToTheFirstOccurrence() {
+        abc_de.insert("A");
+        assertEquals("[A, B, C][E, D, A]:8", abc_de.toString());
+        assertTrue(abc_de.seekTo("A"));
+        assertEquals(0, abc_de.cursorIndex());
+        assertEquals("A", abc_de.getNext());
+        assertTrue(abc_de.seekTo("E"));
+        assertEquals(5, abc_de.cursorIndex());
+        assertEquals(2, abc_de.indexOf("C"));
+    }
+
+    @Test
+    public void seekToAMissingElementDoesNotMoveTheCursor() {
+        assertFalse(abc_de.seekTo("F"));
+        assertEquals(3, abc_de.cursorIndex());
+        assertEquals(-1, abc_de.indexOf("F"));
+    }
+
+    @Test
+    public void deleteAndReplaceUpdateTheIndex() {
+        assertEquals("D", abc_de.delete());
+        assertFalse(abc_de.contains("D"));
+        assertEquals("E", abc_de.replace("A"));
+        assertFalse(abc_de.contains("E"));
+        assertEquals(2, abc_de.countOf("A"));
+        abc_de.reset();
+        abc_de.delete();
+        assertEquals(1, abc_de.countOf("A"));
+        assertEquals(2, abc_de.indexOf("A"));
+    }
+
+    @Test
+    public void positionsFollowInsertsBeforeThem() {
+        abc_de.reset();
+        abc_de.insert("X");
+        abc_de.insert("Y");
+        assertEquals(6, abc_de.indexOf("E"));
+        assertTrue(abc_de.seekTo("C"));
+        assertEquals(4, abc_de.cursorIndex());
+    }
+
+    @Test
+    public void reverseKeepsTheFirstOccurrence() {
+        abc_de.insert("A");
+        abc_de.reverse();
+        assertEquals("[E, D, A, C, B, A][]:8", abc_de.toString());
+        assertEquals(2, abc_de.indexOf("A"));
+    }
+
+    @Test
+    public void bulkMethodsUpdateTheIndex() {
+        abc_de.insertAll(new String[]{"F", "A"});
+        assertEquals(2, abc_de.countOf("A"));
+        assertEquals(3, abc_de.indexOf("F"));
+        assertEquals(Arrays.asList("F", "A", "D"), abc_de.deleteRight(3));
+        assertFalse(abc_de.contains("F"));
+        assertFalse(abc_de.contains("D"));
+        assertEquals(1, abc_de.countOf("A"));
+    }
+
+    @Test
+    public void swapRightsMovesTheIndexedElements() {
+        IndexedTravList<String> other = new IndexedTravList<>(8);
+        other.insert("Y");
+        other.insert("X");
+        abc_de.swapRights(other);
+        assertEquals("[A, B, C][Y, X]:8", abc_de.toString());
+        assertTrue(abc_de.contains("X"));
+        assertFalse(abc_de.contains("D"));
+        assertTrue(other.contains("D"));
+        assertFalse(other.contains("X"));
+        assertEquals(1, other.indexOf("E"));
+    }
+
+    @Test
+    public void swapRightsWithAPlainTreap() {
+        TreapTravList<String> other = new TreapTravList<>(8);
+        other.insert("X");
+        abc_de.swapRights(other);
+        assertTrue(abc_de.contains("X"));
+        assertFalse(abc_de.contains("D"));
+        assertEquals(3, abc_de.indexOf("X"));
+    }
+
+    @Test
+    public void spliceIndexesTheSplicedElements() {
+        IndexedTravList<String> other = new IndexedTravList<>(8);
+        other.insert("X");
+        other.insert("A");
+        abc_de.splice(other);
+        assertEquals("[A, B, C, A, X][E, D]:8", abc_de.toString());
+        assertEquals(2, abc_de.countOf("A"));
+        assertEquals(4, abc_de.indexOf("X"));
+        assertFalse(other.contains("X"));
+        assertEquals(0, other.countOf("A"));
+    }
+
+    @Test
+    public void splitRightIsIndexed() {
+        IndexedTravList<String> right = abc_de.splitRight();
+        assertTrue(right.contains("D"));
+        assertEquals(1, right.indexOf("E"));
+        assertFalse(abc_de.contains("D"));
+        assertTrue(abc_de.contains("C"));
+    }
+
+    @Test
+    public void cursorMovesDoNotChangeTheIndex() {
+        IndexedTravList<Integer> list = new IndexedTravList<>(100_000);
+        Integer[] elements = new Integer[100_000];
+        for (int i = 0; i < elements.length; i++) elements[i] = i % 1_000;
+        list.insertAll(elements);
+        list.moveTo(50_000);
+        list.advanceBy(10_000);
+        list.retreatBy(30_000);
+        assertEquals(100, list.countOf(999));
+        assertTrue(list.seekTo(999));
+        assertEquals(999, list.cursorIndex());
+        assertEquals(Integer.valueOf(999), list.getNext());
+    }
+
+    @Test
+    public void randomOperationsMatchAScan() {
+        Random random = new Random(11);
+        IndexedTravList<Integer> list = new IndexedTravList<>(200);
+        IndexedTravList<Integer> other = new IndexedTravList<>(200);
+        for (int step = 0; step < 20_000; step++) {
+            int size = list.leftLength() + list.rightLength();
+            int op = random.nextInt(9);
+            if (op < 3 && size < 100) {
+                list.insert(random.nextInt(20));
+            } else if (op < 5 && list.rightLength() > 0) {
+                list.delete();
+            } else if (op == 5 && list.rightLength() > 0) {
+                list.replace(random.nextInt(20));
+            } else if (op == 6) {
+                int from = random.nextInt(size + 1);
+                list.reverseRange(from, from + random.nextInt(size - from + 1));
+            } else if (op == 7) {
+                list.swapRights(other);
+            } else {
+                list.moveTo(random.nextInt(size + 1));
+            }
+            int elem = random.nextInt(20);
+            int count = 0;
+            int first = -1;
+            int position = 0;
+            for (Integer e : list.stream().toArray(Integer[]::new)) {
+                if (e == elem) {
+                    if (first < 0) first = position;
+                    count++;
+                }
+                position++;
+            }
+            assertEquals(count, list.countOf(elem));
+            assertEquals(count > 0, list.contains(elem));
+            assertEquals(first, list.indexOf(elem));
+            assertEquals(other.stream().filter(e -> e == elem).count(), other.countOf(elem));
+        }
+    }
+}
@@ -0,0 +1,958 @@
+package boundedtravlist;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * <p>Traversable list that counts and times the calls made to another one.</p>
+ *
+ * <p>Every method of {@link TravList} is forwarded to the wrapped list. While
+ * the decorator is enabled, each call is counted and its latency recorded in
+ * a {@link LatencyHistogram} for that method, and the peak lengths of both
+ * sides of the cursor are tracked. Reading the clock is the expensive part,
+ * so only one call in {@link #getSampleInterval()} of each method is timed.
+ * While it is disabled, a call costs one field read on top of the wrapped call. The numbers can be read directly
+ * or published through JMX with {@link #register(String)}.</p>
+ *
+ * <p>{@code newInstance()} wraps the new list, and {@code swapRights},
+ * {@code splice} and {@code equals} unwrap an instrumented argument,
+ * so the block operations between two wrapped lists of the same kind
+ * keep their fast paths. Iterators go through the decorator and count
+ * the moves they make. Like the wrapped lists, the decorator is not
+ * thread-safe; a JMX client may see numbers that are slightly behind.</p>
+ *
+ * @author Joyce
+ * @param <E> the type of elements in this list.
+ */
+public class InstrumentedTravList<E> implements TravList<E>, InstrumentedTravListMXBean {
+
+    /**
+     * Instrumented methods, named as in {@link TravList}.
+     */
+    enum Operation {
+        INSERT("insert", true), DELETE("delete", true), ADVANCE("advance", true), RETREAT("retreat", true),
+        RESET("reset", true), ADVANCE_TO_END("advanceToEnd", true), SWAP_RIGHTS("swapRights", true),
+        LEFT_LENGTH("leftLength", false), RIGHT_LENGTH("rightLength", false), MOVE_TO("moveTo", true),
+        CURSOR_INDEX("cursorIndex", false), MARK("mark", false), RESTORE("restore", true),
+        FOR_EACH_LEFT("forEachLeft", false), FOR_EACH_RIGHT("forEachRight", false),
+        STREAM("stream", false), PARALLEL_STREAM("parallelStream", false),
+        LEFT_STREAM("leftStream", false), RIGHT_STREAM("rightStream", false),
+        NEW_INSTANCE("newInstance", false), CAPACITY("capacity", false), LIST_ITERATOR("listIterator", false),
+        GET_NEXT("getNext", false), GET_PREVIOUS("getPrevious", false), REPLACE("replace", false),
+        SPLICE("splice", true), REVERSE("reverse", true), REVERSE_RANGE("reverseRange", false),
+        INSERT_ALL("insertAll", true), DELETE_RIGHT("deleteRight", true),
+        ADVANCE_BY("advanceBy", true), RETREAT_BY("retreatBy", true),
+        APPEND_TO("appendTo", false), WRITE_TO("writeTo", false), READ_FROM("readFrom", true),
+        ITERATOR("iterator", false), SPLITERATOR("spliterator", false), EQUALS("equals", false), HASH_CODE("hashCode", false), TO_STRING("toString", false);
+
+        final String method;
+
+        /**
+         * True if the method can change the lengths of the sides of the cursor.
+         */
+        final boolean moves;
+
+        Operation(String method, boolean moves) {
+            this.method = method;
+            this.moves = moves;
+        }
+    }
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    /**
+     * Reading the clock costs about as much as a cursor move,
+     * so by default one call in 16 is timed; every call is counted.
+     */
+    public static final int DEFAULT_SAMPLE_INTERVAL = 16;
+
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+
+    // representation
+
+    /**
+     * The instrumented list.
+     */
+    private final TravList<E> list;
+
+    /**
+     * A plain field, so that the disabled path is one predictable load;
+     * a change made on another thread reaches the list's thread eventually.
+     */
+    private boolean enabled;
+
+    /**
+     * Calls of each operation, indexed by ordinal.
+     */
+    private final long[] calls = new long[OPERATIONS.length];
+
+    /**
+     * One call in sampleMask + 1 of each operation is timed.
+     */
+    private long sampleMask = DEFAULT_SAMPLE_INTERVAL - 1;
+
+    /**
+     * Latencies of each operation, indexed by ordinal, created on the first call.
+     */
+    private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];
+
+    private int peakLeft;
+    private int peakRight;
+    private int peakSize;
+
+    /**
+     * Name under which this list is registered, or null.
+     */
+    private ObjectName objectName;
+
+    public InstrumentedTravList(TravList<E> list) {
+        this(list, true);
+    }
+
+    public InstrumentedTravList(TravList<E> list, boolean enabled) {
+        if (list == null) throw new IllegalArgumentException();
+        this.list = list;
+        this.enabled = enabled;
+        this.updatePeaks();
+    }
+
+    /**
+     * @return the list that this decorator forwards to.
+     */
+    public TravList<E> unwrap() {
+        return this.list;
+    }
+
+    // ==========================================================
+    // Forwarded methods
+    // ==========================================================
+
+    @Override
+    public void insert(E elem) throws IllegalArgumentException {
+        if (!this.enabled) {
+            this.list.insert(elem);
+            return;
+        }
+        long start = this.start(Operation.INSERT);
+        try {
+            this.list.insert(elem);
+        } finally {
+            this.record(Operation.INSERT, start);
+        }
+    }
+
+    @Override
+    public E delete() {
+        if (!this.enabled) return this.list.delete();
+        long start = this.start(Operation.DELETE);
+        try {
+            return this.list.delete();
+        } finally {
+            this.record(Operation.DELETE, start);
+        }
+    }
+
+    @Override
+    public void advance() {
+        if (!this.enabled) {
+            this.list.advance();
+            return;
+        }
+        long start = this.start(Operation.ADVANCE);
+        try {
+            this.list.advance();
+        } finally {
+            this.record(Operation.ADVANCE, start);
+        }
+    }
+
+    @Override
+    public void retreat() {
+        if (!this.enabled) {
+            this.list.retreat();
+            return;
+        }
+        long start = this.start(Operation.RETREAT);
+        try {
+            this.list.retreat();
+        } finally {
+            this.record(Operation.RETREAT, start);
+        }
+    }
+
+    @Override
+    public void reset() {
+        if (!this.enabled) {
+            this.list.reset();
+            return;
+        }
+        long start = this.start(Operation.RESET);
+        try {
+            this.list.reset();
+        } finally {
+            this.record(Operation.RESET, start);
+        }
+    }
+
+    @Override
+    public void advanceToEnd() {
+        if (!this.enabled) {
+            this.list.advanceToEnd();
+            return;
+        }
+        long start = this.start(Operation.ADVANCE_TO_END);
+        try {
+            this.list.advanceToEnd();
+        } finally {
+            this.record(Operation.ADVANCE_TO_END, start);
+        }
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Swaps the right parts of the wrapped list and of {@code that} list.
+     * An instrumented {@code that} is unwrapped first, so two wrapped lists
+     * of the same implementation exchange their right parts as blocks.
+     *
+     * @param that right part of the list passed in parameter.
+     */
+    @Override
+    public void swapRights(TravList<E> that) {
+        TravList<E> other = unwrap(that);
+        if (!this.enabled) {
+            this.list.swapRights(other);
+        } else {
+            long start = this.start(Operation.SWAP_RIGHTS);
+            try {
+                this.list.swapRights(other);
+            } finally {
+                this.record(Operation.SWAP_RIGHTS, start);
+            }
+        }
+        if (that instanceof InstrumentedTravList) ((InstrumentedTravList<E>) that).lengthsChanged();
+    }
+
+    @Override
+    public int leftLength() {
+        if (!this.enabled) return this.list.leftLength();
+        long start = this.start(Operation.LEFT_LENGTH);
+        try {
+            return this.list.leftLength();
+        } finally {
+            this.record(Operation.LEFT_LENGTH, start);
+        }
+    }
+
+    @Override
+    public int rightLength() {
+        if (!this.enabled) return this.list.rightLength();
+        long start = this.start(Operation.RIGHT_LENGTH);
+        try {
+            return this.list.rightLength();
+        } finally {
+            this.record(Operation.RIGHT_LENGTH, start);
+        }
+    }
+
+    @Override
+    public void moveTo(int index) throws IllegalArgumentException {
+        if (!this.enabled) {
+            this.list.moveTo(index);
+            return;
+        }
+        long start = this.start(Operation.MOVE_TO);
+        try {
+            this.list.moveTo(index);
+        } finally {
+            this.record(Operation.MOVE_TO, start);
+        }
+    }
+
+    @Override
+    public int cursorIndex() {
+        if (!this.enabled) return this.list.cursorIndex();
+        long start = this.start(Operation.CURSOR_INDEX);
+        try {
+            return this.list.cursorIndex();
+        } finally {
+            this.record(Operation.CURSOR_INDEX, start);
+        }
+    }
+
+    @Override
+    public Cursor mark() {
+        if (!this.enabled) return this.list.mark();
+        long start = this.start(Operation.MARK);
+        try {
+            return this.list.mark();
+        } finally {
+            this.record(Operation.MARK, start);
+        }
+    }
+
+    @Override
+    public void restore(Cursor cursor) throws IllegalArgumentException {
+        if (!this.enabled) {
+            this.list.restore(cursor);
+            return;
+        }
+        long start = this.start(Operation.RESTORE);
+        try {
+            this.list.restore(cursor);
+        } finally {
+            this.record(Operation.RESTORE, start);
+        }
+    }
+
+    @Override
+    public void forEachLeft(Consumer<? super E> action) {
+        if (!this.enabled) {
+            this.list.forEachLeft(action);
+            return;
+        }
+        long start = this.start(Operation.FOR_EACH_LEFT);
+        try {
+            this.list.forEachLeft(action);
+        } finally {
+            this.record(Operation.FOR_EACH_LEFT, start);
+        }
+    }
+
+    @Override
+    public void forEachRight(Consumer<? super E> action) {
+        if (!this.enabled) {
+            this.list.forEachRight(action);
+            return;
+        }
+        long start = this.start(Operation.FOR_EACH_RIGHT);
+        try {
+            this.list.forEachRight(action);
+        } finally {
+            this.record(Operation.FOR_EACH_RIGHT, start);
+        }
+    }
+
+    @Override
+    public Stream<E> stream() {
+        if (!this.enabled) return this.list.stream();
+        long start = this.start(Operation.STREAM);
+        try {
+            return this.list.stream();
+        } finally {
+            this.record(Operation.STREAM, start);
+        }
+    }
+
+    @Override
+    public Stream<E> parallelStream() {
+        if (!this.enabled) return this.list.parallelStream();
+        long start = this.start(Operation.PARALLEL_STREAM);
+        try {
+            return this.list.parallelStream();
+        } finally {
+            this.record(Operation.PARALLEL_STREAM, start);
+        }
+    }
+
+    @Override
+    public Stream<E> leftStream() {
+        if (!this.enabled) return this.list.leftStream();
+        long start = this.start(Operation.LEFT_STREAM);
+        try {
+            return this.list.leftStream();
+        } finally {
+            this.record(Operation.LEFT_STREAM, start);
+        }
+    }
+
+    @Override
+    public Stream<E> rightStream() {
+        if (!this.enabled) return this.list.rightStream();
+        long start = this.start(Operation.RIGHT_STREAM);
+        try {
+            return this.list.rightStream();
+        } finally {
+            this.record(Operation.RIGHT_STREAM, start);
+        }
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Wraps a new empty list of the same implementation and capacity
+     * in a new decorator, enabled like {@code this} one.
+     *
+     * @return a new instrumented empty list.
+     */
+    @Override
+    public TravList<E> newInstance() {
+        if (!this.enabled) return new InstrumentedTravList<>(this.list.newInstance(), false);
+        long start = this.start(Operation.NEW_INSTANCE);
+        try {
+            return new InstrumentedTravList<>(this.list.newInstance(), true);
+        } finally {
+            this.record(Operation.NEW_INSTANCE, start);
+        }
+    }
+
+    @Override
+    public int capacity() {
+        if (!this.enabled) return this.list.capacity();
+        long start = this.start(Operation.CAPACITY);
+        try {
+            return this.list.capacity();
+        } finally {
+            this.record(Operation.CAPACITY, start);
+        }
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        if (!this.enabled) return new TravListIterator<>(this);
+        long start = this.start(Operation.LIST_ITERATOR);
+        try {
+            return new TravListIterator<>(this);
+        } finally {
+            this.record(Operation.LIST_ITERATOR, start);
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        if (!this.enabled) return new RightIterator<>(this);
+        long start = this.start(Operation.ITERATOR);
+        try {
+            return new RightIterator<>(this);
+        } finally {
+            this.record(Operation.ITERATOR, start);
+        }
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        if (!this.enabled) return this.list.spliterator();
+        long start = this.start(Operation.SPLITERATOR);
+        try {
+            return this.list.spliterator();
+        } finally {
+            this.record(Operation.SPLITERATOR, start);
+        }
+    }
+
+    @Override
+    public E getNext() {
+        if (!this.enabled) return this.list.getNext();
+        long start = this.start(Operation.GET_NEXT);
+        try {
+            return this.list.getNext();
+        } finally {
+            this.record(Operation.GET_NEXT, start);
+        }
+    }
+
+    @Override
+    public E getPrevious() {
+        if (!this.enabled) return this.list.getPrevious();
+        long start = this.start(Operation.GET_PREVIOUS);
+        try {
+            return this.list.getPrevious();
+        } finally {
+            this.record(Operation.GET_PREVIOUS, start);
+        }
+    }
+
+    @Override
+    public E replace(E element) {
+        if (!this.enabled) return this.list.replace(element);
+        long start = this.start(Operation.REPLACE);
+        try {
+            return this.list.replace(element);
+        } finally {
+            this.record(Operation.REPLACE, start);
+        }
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Adds all the elements from {@code that} traversable list to the left
+     * of the cursor of the wrapped list. An instrumented {@code that} is
+     * unwrapped first, so the block fast paths of the wrapped list apply.
+     *
+     * @param that list passed in parameter.
+     */
+    @Override
+    public void splice(TravList<E> that) {
+        TravList<E> other = unwrap(that);
+        if (!this.enabled) {
+            this.list.splice(other);
+        } else {
+            long start = this.start(Operation.SPLICE);
+            try {
+                this.list.splice(other);
+            } finally {
+                this.record(Operation.SPLICE, start);
+            }
+        }
+        if (that instanceof InstrumentedTravList) ((InstrumentedTravList<E>) that).lengthsChanged();
+    }
+
+    @Override
+    public void reverse() {
+        if (!this.enabled) {
+            this.list.reverse();
+            return;
+        }
+        long start = this.start(Operation.REVERSE);
+        try {
+            this.list.reverse();
+        } finally {
+            this.record(Operation.REVERSE, start);
+        }
+    }
+
+    @Override
+    public void reverseRange(int from, int to) throws IllegalArgumentException {
+        if (!this.enabled) {
+            this.list.reverseRange(from, to);
+            return;
+        }
+        long start = this.start(Operation.REVERSE_RANGE);
+        try {
+            this.list.reverseRange(from, to);
+        } finally {
+            this.record(Operation.REVERSE_RANGE, start);
+        }
+    }
+
+
+    @Override
+    public void insertAll(Collection<? extends E> elements) throws IllegalArgumentException {
+        if (!this.enabled) {
+            this.list.insertAll(elements);
+            return;
+        }
+        long start = this.start(Operation.INSERT_ALL);
+        try {
+            this.list.insertAll(elements);
+        } finally {
+            this.record(Operation.INSERT_ALL, start);
+        }
+    }
+
+    @Override
+    public void insertAll(E[] elements) throws IllegalArgumentException {
+        if (!this.enabled) {
+            this.list.insertAll(elements);
+            return;
+        }
+        long start = this.start(Operation.INSERT_ALL);
+        try {
+            this.list.insertAll(elements);
+        } finally {
+            this.record(Operation.INSERT_ALL, start);
+        }
+    }
+
+    @Override
+    public void deleteRight(int n, Consumer<? super E> action) throws IllegalArgumentException {
+        if (!this.enabled) {
+            this.list.deleteRight(n, action);
+            return;
+        }
+        long start = this.start(Operation.DELETE_RIGHT);
+        try {
+            this.list.deleteRight(n, action);
+        } finally {
+            this.record(Operation.DELETE_RIGHT, start);
+        }
+    }
+
+    @Override
+    public List<E> deleteRight(int n) throws IllegalArgumentException {
+        if (!this.enabled) return this.list.deleteRight(n);
+        long start = this.start(Operation.DELETE_RIGHT);
+        try {
+            return this.list.deleteRight(n);
+        } finally {
+            this.record(Operation.DELETE_RIGHT, start);
+        }
+    }
+
+    @Override
+    public void advanceBy(int n) throws IllegalArgumentException {
+        if (!this.enabled) {
+            this.list.advanceBy(n);
+            return;
+        }
+        long start = this.start(Operation.ADVANCE_BY);
+        try {
+            this.list.advanceBy(n);
+        } finally {
+            this.record(Operation.ADVANCE_BY, start);
+        }
+    }
+
+    @Override
+    public void retreatBy(int n) throws IllegalArgumentException {
+        if (!this.enabled) {
+            this.list.retreatBy(n);
+            return;
+        }
+        long start = this.start(Operation.RETREAT_BY);
+        try {
+            this.list.retreatBy(n);
+        } finally {
+            this.record(Operation.RETREAT_BY, start);
+        }
+    }
+    @Override
+    public <A extends Appendable> A appendTo(A out) throws IOException {
+        if (!this.enabled) return this.list.appendTo(out);
+        long start = this.start(Operation.APPEND_TO);
+        try {
+            return this.list.appendTo(out);
+        } finally {
+            this.record(Operation.APPEND_TO, start);
+        }
+    }
+
+    @Override
+    public void writeTo(WritableByteChannel out, RecordCodec<? super E> codec) throws IOException {
+        if (!this.enabled) {
+            this.list.writeTo(out, codec);
+            return;
+        }
+        long start = this.start(Operation.WRITE_TO);
+        try {
+            this.list.writeTo(out, codec);
+        } finally {
+            this.record(Operation.WRITE_TO, start);
+        }
+    }
+
+    @Override
+    public void writeTo(WritableByteChannel out, VariableCodec<? super E> codec) throws IOException {
+        if (!this.enabled) {
+            this.list.writeTo(out, codec);
+            return;
+        }
+        long start = this.start(Operation.WRITE_TO);
+        try {
+            this.list.writeTo(out, codec);
+        } finally {
+            this.record(Operation.WRITE_TO, start);
+        }
+    }
+
+    @Override
+    public void readFrom(ReadableByteChannel in, RecordCodec<? extends E> codec) throws IOException {
+        if (!this.enabled) {
+            this.list.readFrom(in, codec);
+            return;
+        }
+        long start = this.start(Operation.READ_FROM);
+        try {
+            this.list.readFrom(in, codec);
+        } finally {
+            this.record(Operation.READ_FROM, start);
+        }
+    }
+
+    @Override
+    public void readFrom(ReadableByteChannel in, VariableCodec<? extends E> codec) throws IOException {
+        if (!this.enabled) {
+            this.list.readFrom(in, codec);
+            return;
+        }
+        long start = this.start(Operation.READ_FROM);
+        try {
+            this.list.readFrom(in, codec);
+        } finally {
+            this.record(Operation.READ_FROM, start);
+        }
+    }
+
+    /**
+     * An instrumented list is equal to the traversable lists
+     * that its wrapped list is equal to.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        Object other = o instanceof InstrumentedTravList ? ((InstrumentedTravList<?>) o).list : o;
+        if (!this.enabled) return this.list.equals(other);
+        long start = this.start(Operation.EQUALS);
+        try {
+            return this.list.equals(other);
+        } finally {
+            this.record(Operation.EQUALS, start);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        if (!this.enabled) return this.list.hashCode();
+        long start = this.start(Operation.HASH_CODE);
+        try {
+            return this.list.hashCode();
+        } finally {
+            this.record(Operation.HASH_CODE, start);
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (!this.enabled) return this.list.toString();
+        long start = this.start(Operation.TO_STRING);
+        try {
+            return this.list.toString();
+        } finally {
+            this.record(Operation.TO_STRING, start);
+        }
+    }
+
+    // ==========================================================
+    // Statistics
+    // ==========================================================
+
+    /*
+     * Counts a call and reads the clock if the call is sampled.
+     */
+    private long start(Operation operation) {
+        return (this.calls[operation.ordinal()]++ & this.sampleMask) == 0 ? System.nanoTime() : NOT_TIMED;
+    }
+
+    private void record(Operation operation, long start) {
+        if (start != NOT_TIMED) {
+            long nanos = System.nanoTime() - start;
+            LatencyHistogram histogram = this.latencies[operation.ordinal()];
+            if (histogram == null) {
+                histogram = new LatencyHistogram();
+                this.latencies[operation.ordinal()] = histogram;
+            }
+            histogram.record(nanos);
+        }
+        if (operation.moves) this.updatePeaks();
+    }
+
+    /*
+     * Called when the wrapped list was changed by another decorator.
+     */
+    private void lengthsChanged() {
+        if (this.enabled) this.updatePeaks();
+    }
+
+    private void updatePeaks() {
+        int left = this.list.leftLength();
+        int right = this.list.rightLength();
+        if (left > this.peakLeft) this.peakLeft = left;
+        if (right > this.peakRight) this.peakRight = right;
+        if (left + right > this.peakSize) this.peakSize = left + right;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> TravList<E> unwrap(TravList<E> that) {
+        return that instanceof InstrumentedTravList ? ((InstrumentedTravList<E>) that).list : that;
+    }
+
+    /**
+     * Returns the number of calls of a method since the last reset.
+     *
+     * @param operation name of the {@link TravList} method, such as {@code "insert"}.
+     * @return the number of calls.
+     * @throws IllegalArgumentException if the operation is unknown
+     */
+    public long callCount(String operation) throws IllegalArgumentException {
+        return this.calls[operationNamed(operation).ordinal()];
+    }
+
+    @Override
+    public long latencyNanos(String operation, double percentile) throws IllegalArgumentException {
+        if (!(percentile >= 0 && percentile <= 100)) throw new IllegalArgumentException();
+        LatencyHistogram histogram = this.latencies[operationNamed(operation).ordinal()];
+        return histogram == null ? 0 : histogram.valueAtPercentile(percentile);
+    }
+
+    private static Operation operationNamed(String name) throws IllegalArgumentException {
+        for (Operation operation : OPERATIONS) {
+            if (operation.method.equals(name)) return operation;
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        // lengths were not followed while disabled
+        if (enabled && !this.enabled) this.updatePeaks();
+        this.enabled = enabled;
+    }
+
+    @Override
+    public int getSampleInterval() {
+        return (int) this.sampleMask + 1;
+    }
+
+    @Override
+    public void setSampleInterval(int interval) throws IllegalArgumentException {
+        if (interval <= 0 || Integer.bitCount(interval) != 1) throw new IllegalArgumentException();
+        this.sampleMask = interval - 1;
+    }
+
+    @Override
+    public String getImplementation() {
+        return this.list.getClass().getName();
+    }
+
+    @Override
+    public int getCapacity() {
+        return this.list.capacity();
+    }
+
+    @Override
+    public int getLeftLength() {
+        return this.list.leftLength();
+    }
+
+    @Override
+    public int getRightLength() {
+        return this.list.rightLength();
+    }
+
+    @Override
+    public int getPeakLeftLength() {
+        return this.peakLeft;
+    }
+
+    @Override
+    public int getPeakRightLength() {
+        return this.peakRight;
+    }
+
+    @Override
+    public int getPeakSize() {
+        return this.peakSize;
+    }
+
+    @Override
+    public double getUtilization() {
+        return (double) (this.list.leftLength() + this.list.rightLength()) / this.list.capacity();
+    }
+
+    @Override
+    public double getPeakUtilization() {
+        return (double) this.peakSize / this.list.capacity();
+    }
+
+    @Override
+    public Map<String, Long> getCallCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Operation operation : OPERATIONS) {
+            if (this.calls[operation.ordinal()] != 0) counts.put(operation.method, this.calls[operation.ordinal()]);
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getTimedCallCounts() {
+        return this.summary(LatencyHistogram::count);
+    }
+
+    @Override
+    public Map<String, Double> getMeanLatencyNanos() {
+        return this.summary(LatencyHistogram::mean);
+    }
+
+    @Override
+    public Map<String, Long> getMedianLatencyNanos() {
+        return this.summary(h -> h.valueAtPercentile(50));
+    }
+
+    @Override
+    public Map<String, Long> get99thPercentileLatencyNanos() {
+        return this.summary(h -> h.valueAtPercentile(99));
+    }
+
+    @Override
+    public Map<String, Long> getMaxLatencyNanos() {
+        return this.summary(LatencyHistogram::max);
+    }
+
+    /*
+     * One entry per operation timed since the last reset, in declaration order.
+     */
+    private <T> Map<String, T> summary(Function<LatencyHistogram, T> statistic) {
+        Map<String, T> summary = new LinkedHashMap<>();
+        for (Operation operation : OPERATIONS) {
+            LatencyHistogram histogram = this.latencies[operation.ordinal()];
+            if (histogram == null || histogram.count() == 0) continue;
+            summary.put(operation.method, statistic.apply(histogram));
+        }
+        return summary;
+    }
+
+    @Override
+    public void resetStatistics() {
+        Arrays.fill(this.calls, 0);
+        for (LatencyHistogram histogram : this.latencies) {
+            if (histogram != null) histogram.clear();
+        }
+        this.peakLeft = 0;
+        this.peakRight = 0;
+        this.peakSize = 0;
+        this.updatePeaks();
+    }
+
+    // ==========================================================
+    // JMX
+    // ==========================================================
+
+    /**
+     * Registers this list in the platform MBean server
+     * as {@code boundedtravlist:type=TravList,name=<name>}.
+     *
+     * @param name name of this list in the MBean server.
+     * @return the name under which this list is registered.
+     * @throws IllegalStateException if this list is already registered
+     * @throws JMException           if the name is invalid or already taken
+     */
+    public ObjectName register(String name) throws JMException {
+        if (this.objectName != null) throw new IllegalStateException();
+        ObjectName objectName = new ObjectName("boundedtravlist:type=TravList,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        this.objectName = objectName;
+        return objectName;
+    }
+
+    /**
+     * Removes this list from the platform MBean server; does nothing if it is not registered.
+     *
+     * @throws JMException if the MBean server refuses
+     */
+    public void unregister() throws JMException {
+        if (this.objectName == null) return;
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+        this.objectName = null;
+    }
+}
@@ -0,0 +1,103 @@
+package boundedtravlist;
+
+import java.util.Map;
+
+/**
+ * <p>Management interface of an {@link InstrumentedTravList}.</p>
+ *
+ * <p>Operations are named after the {@link TravList} methods; the maps
+ * only hold the operations that were called, or timed for the latencies,
+ * at least once since the last reset. Latencies are in nanoseconds and
+ * are the upper bound of a histogram bucket, within 12.5% of the
+ * recorded value.</p>
+ *
+ * @author Joyce
+ */
+public interface InstrumentedTravListMXBean {
+
+    /**
+     * @return true when calls are counted and timed.
+     */
+    public boolean isEnabled();
+
+    /**
+     * Turns counting and timing on or off; the numbers already collected are kept.
+     *
+     * @param enabled true to count and time the calls.
+     */
+    public void setEnabled(boolean enabled);
+
+    /**
+     * @return the number of calls of each operation per timed call.
+     */
+    public int getSampleInterval();
+
+    /**
+     * Times one call in {@code interval} of each operation from now on.
+     *
+     * @param interval a power of two, 1 to time every call.
+     * @throws IllegalArgumentException if the interval is not a positive power of two
+     */
+    public void setSampleInterval(int interval) throws IllegalArgumentException;
+
+    /**
+     * @return the class name of the wrapped list.
+     */
+    public String getImplementation();
+
+    public int getCapacity();
+
+    public int getLeftLength();
+
+    public int getRightLength();
+
+    public int getPeakLeftLength();
+
+    public int getPeakRightLength();
+
+    public int getPeakSize();
+
+    /**
+     * @return the current number of elements divided by the capacity.
+     */
+    public double getUtilization();
+
+    /**
+     * @return the peak number of elements divided by the capacity.
+     */
+    public double getPeakUtilization();
+
+    /**
+     * @return the number of calls of each operation.
+     */
+    public Map<String, Long> getCallCounts();
+
+    /**
+     * @return the number of calls of each operation recorded in its latency histogram.
+     */
+    public Map<String, Long> getTimedCallCounts();
+
+    public Map<String, Double> getMeanLatencyNanos();
+
+    public Map<String, Long> getMedianLatencyNanos();
+
+    public Map<String, Long> get99thPercentileLatencyNanos();
+
+    public Map<String, Long> getMaxLatencyNanos();
+
+    /**
+     * Returns a percentile of the latency of one operation.
+     *
+     * @param operation  name of the {@link TravList} method, such as {@code "insert"}.
+     * @param percentile percentile between 0 and 100.
+     * @return the latency in nanoseconds, or 0 if the operation was not called.
+     * @throws IllegalArgumentException if the operation is unknown
+     *                                  or the percentile is not between 0 and 100
+     */
+    public long latencyNanos(String operation, double percentile) throws IllegalArgumentException;
+
+    /**
+     * Clears the counters and histograms; the peaks restart from the current lengths.
+     */
+    public void resetStatistics();
+}
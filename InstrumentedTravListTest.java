@@ -0,0 +1,232 @@
+package boundedtravlist;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.ListIterator;
+import java.util.Map;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+public class InstrumentedTravListTest {
+
+    InstrumentedTravList<Integer> list123_45;
+
+    @Before
+    public void setUp() {
+        list123_45 = new InstrumentedTravList<>(new GapBufferTravList<>(5));
+        list123_45.insert(5);
+        list123_45.insert(4);
+        list123_45.insert(3);
+        list123_45.insert(2);
+        list123_45.insert(1);
+        list123_45.advance();
+        list123_45.advance();
+        list123_45.advance();
+    }
+
+    // ==========================================================
+    // Forwarding
+    // ==========================================================
+
+    @Test
+    public void behavesLikeTheWrappedList() {
+        assertEquals("[1, 2, 3][5, 4]:5", list123_45.toString());
+        assertEquals(Integer.valueOf(4), list123_45.delete());
+        list123_45.reverseRange(0, 4);
+        assertEquals("[5, 3, 2][1]:5", list123_45.toString());
+        list123_45.restore(list123_45.mark());
+        assertEquals(3, list123_45.cursorIndex());
+    }
+
+    @Test
+    public void equalsTheWrappedList() {
+        TravList<Integer> plain = new SimpleTravList<>(5);
+        plain.insert(5);
+        plain.insert(4);
+        plain.insert(3);
+        plain.insert(2);
+        plain.insert(1);
+        plain.moveTo(3);
+        assertEquals(list123_45, plain);
+        assertEquals(plain, list123_45);
+        assertEquals(list123_45.unwrap().hashCode(), list123_45.hashCode());
+        assertEquals(list123_45, new InstrumentedTravList<>(plain));
+    }
+
+    @Test
+    public void newInstanceIsInstrumented() {
+        TravList<Integer> other = list123_45.newInstance();
+        assertTrue(other instanceof InstrumentedTravList);
+        assertTrue(((InstrumentedTravList<Integer>) other).unwrap() instanceof GapBufferTravList);
+        assertEquals(5, other.capacity());
+        assertEquals(0, other.rightLength());
+    }
+
+    @Test
+    public void swapRightsAndSpliceUnwrapTheOtherList() {
+        InstrumentedTravList<Integer> other = new InstrumentedTravList<>(new GapBufferTravList<>(5));
+        other.insert(20);
+        other.insert(10);
+        list123_45.swapRights(other);
+        assertEquals("[1, 2, 3][20, 10]:5", list123_45.toString());
+        assertEquals("[][5, 4]:5", other.toString());
+        // the block swap of the gap buffers ran, not the element by element default
+        assertEquals(0, other.callCount("delete"));
+        assertEquals(2, other.callCount("insert"));
+        assertEquals(2, other.getPeakRightLength());
+
+        list123_45.delete();
+        list123_45.delete();
+        list123_45.splice(other);
+        assertEquals("[1, 2, 3, 4, 5][]:5", list123_45.toString());
+        assertEquals(0, other.callCount("delete"));
+    }
+
+    @Test
+    public void iteratorsGoThroughTheDecorator() {
+        list123_45.reset();
+        ListIterator<Integer> iterator = list123_45.listIterator();
+        int sum = 0;
+        while (iterator.hasNext()) sum += iterator.next();
+        assertEquals(15, sum);
+        assertEquals(1, list123_45.callCount("listIterator"));
+        assertEquals(8, list123_45.callCount("advance"));
+    }
+
+    // ==========================================================
+    // Statistics
+    // ==========================================================
+
+    @Test
+    public void countsEveryCall() {
+        assertEquals(5, list123_45.callCount("insert"));
+        assertEquals(3, list123_45.callCount("advance"));
+        assertEquals(0, list123_45.callCount("retreat"));
+
+        Map<String, Long> counts = list123_45.getCallCounts();
+        assertEquals(Long.valueOf(5), counts.get("insert"));
+        assertFalse(counts.containsKey("retreat"));
+        assertTrue(list123_45.getMaxLatencyNanos().get("insert") >= list123_45.getMedianLatencyNanos().get("insert"));
+        assertTrue(list123_45.latencyNanos("insert", 100) >= list123_45.latencyNanos("insert", 0));
+    }
+
+    @Test
+    public void timesOneCallInTheSampleInterval() {
+        assertEquals(InstrumentedTravList.DEFAULT_SAMPLE_INTERVAL, list123_45.getSampleInterval());
+        list123_45.resetStatistics();
+        list123_45.setSampleInterval(4);
+        for (int i = 0; i < 8; i++) list123_45.getNext();
+        assertEquals(8, list123_45.callCount("getNext"));
+        assertEquals(Long.valueOf(2), list123_45.getTimedCallCounts().get("getNext"));
+
+        list123_45.setSampleInterval(1);
+        list123_45.getPrevious();
+        assertEquals(Long.valueOf(1), list123_45.getTimedCallCounts().get("getPrevious"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sampleIntervalIsAPowerOfTwo() {
+        list123_45.setSampleInterval(3);
+        fail();
+    }
+
+    @Test
+    public void countsFailedCalls() {
+        try {
+            list123_45.insert(6);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(6, list123_45.callCount("insert"));
+        }
+    }
+
+    @Test
+    public void disabledListDoesNotCount() {
+        list123_45.setEnabled(false);
+        list123_45.delete();
+        list123_45.retreat();
+        assertEquals(0, list123_45.callCount("retreat"));
+        assertEquals(0, list123_45.callCount("delete"));
+        assertEquals(2, list123_45.getRightLength());
+
+        list123_45.setEnabled(true);
+        list123_45.retreat();
+        assertEquals(1, list123_45.callCount("retreat"));
+    }
+
+    @Test
+    public void peaksAndUtilization() {
+        assertEquals(3, list123_45.getPeakLeftLength());
+        assertEquals(5, list123_45.getPeakRightLength());
+        assertEquals(5, list123_45.getPeakSize());
+        list123_45.delete();
+        list123_45.delete();
+        assertEquals(0.6, list123_45.getUtilization(), 1e-9);
+        assertEquals(1.0, list123_45.getPeakUtilization(), 1e-9);
+
+        list123_45.resetStatistics();
+        assertEquals(0, list123_45.callCount("insert"));
+        assertEquals(3, list123_45.getPeakSize());
+        assertTrue(list123_45.getCallCounts().isEmpty());
+    }
+
+    @Test
+    public void bulkMethodsAreCountedOnce() {
+        list123_45.resetStatistics();
+        list123_45.deleteRight(2);
+        list123_45.insertAll(new Integer[]{7, 8});
+        list123_45.retreatBy(3);
+        list123_45.advanceBy(1);
+        assertEquals(1, list123_45.callCount("deleteRight"));
+        assertEquals(1, list123_45.callCount("insertAll"));
+        assertEquals(0, list123_45.callCount("insert"));
+        assertEquals(1, list123_45.callCount("retreatBy"));
+        assertEquals("[1][8, 7, 3, 2]:5", list123_45.toString());
+    }
+
+    @Test
+    public void histogramBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100; value++) histogram.record(value);
+        assertEquals(100, histogram.count());
+        assertEquals(100, histogram.max());
+        assertEquals(50.5, histogram.mean(), 1e-9);
+        // 50 lies in the bucket [48, 51]
+        assertEquals(51, histogram.valueAtPercentile(50));
+        assertEquals(1, histogram.valueAtPercentile(0));
+        assertEquals(100, histogram.valueAtPercentile(100));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(Long.MAX_VALUE)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownOperation() {
+        list123_45.callCount("push");
+        fail();
+    }
+
+    // ==========================================================
+    // JMX
+    // ==========================================================
+
+    @Test
+    public void publishedAsAnMXBean() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = list123_45.register("list123_45");
+        try {
+            assertEquals(5, server.getAttribute(name, "PeakSize"));
+            assertEquals(true, server.getAttribute(name, "Enabled"));
+            TabularData counts = (TabularData) server.getAttribute(name, "CallCounts");
+            assertEquals(5L, counts.get(new Object[] {"insert"}).get("value"));
+            assertEquals(0L, server.invoke(name, "latencyNanos", new Object[] {"retreat", 99.0},
+                    new String[] {String.class.getName(), double.class.getName()}));
+        } finally {
+            list123_45.unregister();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+}
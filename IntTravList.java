@@ -0,0 +1,375 @@
+package boundedtravlist;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * <p>Traversable list of {@code int} values.</p>
+ *
+ * <p>The list is kept in two {@code int[]} stacks that meet at the cursor,
+ * so the values are never boxed. The top of the left stack is the element
+ * to the left of the cursor and the top of the right stack is the element
+ * to the right of the cursor. The stacks grow on demand up to the capacity.</p>
+ *
+ * <p>The {@code TravList<Integer>} methods are still available;
+ * they box and unbox around the primitive methods.</p>
+ *
+ * @author Joyce
+ */
+public class IntTravList extends AbstractTravList<Integer> {
+    // representation
+
+    private static final int INITIAL_SIZE = 16;
+
+    private int[] left;
+    private int leftSize;
+    private int[] right;
+    private int rightSize;
+
+    // left = [1, 2, 3], right = [5, 4] ==> TravList = [1, 2, 3][4, 5]:c
+
+    public IntTravList(int max) {
+        super(max);
+        if (max <= 0) throw new IllegalArgumentException();
+        this.left = new int[Math.min(max, INITIAL_SIZE)];
+        this.right = new int[Math.min(max, INITIAL_SIZE)];
+    }
+
+    // ----------------------------------------------------------
+    // Primitive methods
+    // ----------------------------------------------------------
+
+    /**
+     * Inserts a value to the right of the cursor.
+     *
+     * @param value value to be added to this traversable list
+     * @throws IllegalArgumentException if the list is full
+     */
+    public void insertInt(int value) throws IllegalArgumentException {
+        if (this.leftSize + this.rightSize >= this.capacity()) throw new IllegalArgumentException();
+
+        this.right = this.ensureSize(this.right, this.rightSize + 1);
+        this.right[this.rightSize++] = value;
+        if (this.hashTracked()) this.hashInsert(value);
+    }
+
+    /**
+     * Deletes and returns the value to the right of the cursor.
+     *
+     * @return the value to the right of the cursor.
+     * @throws IllegalStateException if there is no value to the right of the cursor
+     */
+    public int deleteInt() throws IllegalStateException {
+        if (this.rightSize == 0) throw new IllegalStateException();
+
+        int value = this.right[--this.rightSize];
+        if (this.hashTracked()) this.hashDelete(value);
+        return value;
+    }
+
+    /**
+     * Gets the value to the right of the cursor without removing it.
+     *
+     * @return the value to the right of the cursor.
+     * @throws IllegalStateException if there is no value to the right of the cursor
+     */
+    public int getNextInt() throws IllegalStateException {
+        if (this.rightSize == 0) throw new IllegalStateException();
+
+        return this.right[this.rightSize - 1];
+    }
+
+    /**
+     * Gets the value to the left of the cursor without removing it.
+     *
+     * @return the value to the left of the cursor.
+     * @throws IllegalStateException if there is no value to the left of the cursor
+     */
+    public int getPreviousInt() throws IllegalStateException {
+        if (this.leftSize == 0) throw new IllegalStateException();
+
+        return this.left[this.leftSize - 1];
+    }
+
+    /**
+     * Replaces the value to the right of the cursor and returns the original.
+     *
+     * @param value the new value to the right of the cursor.
+     * @return the original value that was replaced.
+     * @throws IllegalStateException if there is no value to the right of the cursor
+     */
+    public int replaceInt(int value) throws IllegalStateException {
+        if (this.rightSize == 0) throw new IllegalStateException();
+
+        int original = this.right[this.rightSize - 1];
+        this.right[this.rightSize - 1] = value;
+        if (this.hashTracked()) this.hashReplace(original, value);
+        return original;
+    }
+
+    /**
+     * Iterates over the values to the right of the cursor without boxing them.
+     * Unlike {@link #iterator()}, the cursor of the list does not move.
+     *
+     * @return an iterator over the right part of the list.
+     */
+    public PrimitiveIterator.OfInt intIterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int index = rightSize;
+
+            @Override
+            public boolean hasNext() {
+                return index > 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (index == 0) throw new NoSuchElementException();
+                return right[--index];
+            }
+        };
+    }
+
+    // ----------------------------------------------------------
+    // TravList methods
+    // ----------------------------------------------------------
+
+    @Override
+    public void insert(Integer elem) throws IllegalArgumentException {
+        if (elem == null) throw new IllegalArgumentException();
+        this.insertInt(elem);
+    }
+
+    @Override
+    public Integer delete() {
+        return this.deleteInt();
+    }
+
+    @Override
+    public void advance() throws IllegalStateException {
+        if (this.rightSize == 0) throw new IllegalStateException();
+
+        this.left = this.ensureSize(this.left, this.leftSize + 1);
+        this.left[this.leftSize++] = this.right[--this.rightSize];
+        if (this.hashTracked()) this.hashAdvance(this.left[this.leftSize - 1]);
+    }
+
+    @Override
+    public void retreat() throws IllegalStateException {
+        if (this.leftSize == 0) throw new IllegalStateException();
+
+        this.right = this.ensureSize(this.right, this.rightSize + 1);
+        this.right[this.rightSize++] = this.left[--this.leftSize];
+        if (this.hashTracked()) this.hashRetreat(this.right[this.rightSize - 1]);
+    }
+
+    @Override
+    public void reset() {
+        this.moveTo(0);
+    }
+
+    @Override
+    public void advanceToEnd() {
+        this.moveTo(this.leftSize + this.rightSize);
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Moves the cursor so that {@code index} elements are to its left.
+     * The stacks grow once, then the values are moved in one tight loop.
+     *
+     * @param index the new number of elements to the left of the cursor.
+     * @throws IllegalArgumentException if {@code index} is negative
+     *                                  or greater than the number of elements
+     */
+    @Override
+    public void moveTo(int index) throws IllegalArgumentException {
+        if (index < 0 || index > this.leftSize + this.rightSize) throw new IllegalArgumentException();
+        if (index != this.leftSize) this.hashInvalidate();
+
+        if (index < this.leftSize) {
+            this.right = this.ensureSize(this.right, this.rightSize + this.leftSize - index);
+            while (this.leftSize > index) this.right[this.rightSize++] = this.left[--this.leftSize];
+        } else {
+            this.left = this.ensureSize(this.left, index);
+            while (this.leftSize < index) this.left[this.leftSize++] = this.right[--this.rightSize];
+        }
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Moves all the values to the left of the cursor in reverse order.
+     * After a reset the right stack, read from the bottom, holds the list
+     * in reverse order, which is exactly the left stack wanted:
+     * the two arrays only swap their roles.
+     */
+    @Override
+    public void reverse() {
+        if (this.rightSize == 0) return;
+
+        this.reset();
+        int[] temp = this.left;
+        this.left = this.right;
+        this.right = temp;
+        this.leftSize = this.rightSize;
+        this.rightSize = 0;
+        this.hashInvalidate();
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Reverses the values at positions {@code [from, to)} in place,
+     * swapping pairs of values from both ends of the range.
+     *
+     * @param from first position of the range, inclusive.
+     * @param to   last position of the range, exclusive.
+     * @throws IllegalArgumentException if the range is not inside the list
+     */
+    @Override
+    public void reverseRange(int from, int to) throws IllegalArgumentException {
+        if (from < 0 || to > this.leftSize + this.rightSize || from > to) throw new IllegalArgumentException();
+
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            // positions right of the cursor are counted from the top of the right stack
+            int[] a = i < this.leftSize ? this.left : this.right;
+            int ai = i < this.leftSize ? i : this.rightSize - 1 - (i - this.leftSize);
+            int[] b = j < this.leftSize ? this.left : this.right;
+            int bi = j < this.leftSize ? j : this.rightSize - 1 - (j - this.leftSize);
+            int value = a[ai];
+            a[ai] = b[bi];
+            b[bi] = value;
+        }
+        this.hashInvalidate();
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Swaps the right part of {@code this} list with
+     * the right part of {@code that} list.
+     * When both lists are {@code IntTravList}s the right stacks
+     * are exchanged in constant time.
+     *
+     * @param that right part of the list passed in parameter.
+     * @throws IllegalArgumentException if one of the lists cannot hold the other right part
+     */
+    @Override
+    public void swapRights(TravList<Integer> that) {
+        if (!(that instanceof IntTravList)) {
+            super.swapRights(that);
+            return;
+        }
+
+        IntTravList other = (IntTravList) that;
+        if (this.leftSize + other.rightSize > this.capacity()
+                || other.leftSize + this.rightSize > other.capacity()) {
+            throw new IllegalArgumentException();
+        }
+
+        int[] stack = this.right;
+        int size = this.rightSize;
+        this.right = other.right;
+        this.rightSize = other.rightSize;
+        other.right = stack;
+        other.rightSize = size;
+        this.hashInvalidate();
+        other.hashInvalidate();
+    }
+
+    @Override
+    public Integer replace(Integer element) {
+        if (element == null) throw new IllegalArgumentException();
+        return this.replaceInt(element);
+    }
+
+    @Override
+    public int leftLength() {
+        return this.leftSize;
+    }
+
+    @Override
+    public int rightLength() {
+        return this.rightSize;
+    }
+
+    @Override
+    protected void insertBlock(Object[] block) {
+        // the stack grows once, then the block is unboxed onto its top, last value first
+        this.right = this.ensureSize(this.right, this.rightSize + block.length);
+        for (int i = block.length - 1; i >= 0; i--) this.right[this.rightSize++] = (Integer) block[i];
+        this.hashInsertBlock(block);
+    }
+
+    @Override
+    protected void deleteBlock(int n, Consumer<? super Integer> action) {
+        Object[] block = new Object[n];
+        for (int i = 0; i < n; i++) block[i] = this.right[this.rightSize - 1 - i];
+        this.rightSize -= n;
+        this.handOut(block, action);
+    }
+
+    @Override
+    protected void load(int leftCount, int rightCount, Iterator<? extends Integer> elements) {
+        this.left = this.ensureSize(this.left, leftCount);
+        for (int i = 0; i < leftCount; i++) this.left[i] = elements.next();
+        // the right stack is filled from its top, the value next to the cursor
+        this.right = this.ensureSize(this.right, rightCount);
+        for (int i = rightCount - 1; i >= 0; i--) this.right[i] = elements.next();
+        this.leftSize = leftCount;
+        this.rightSize = rightCount;
+        this.hashInvalidate();
+    }
+
+    @Override
+    protected Spliterator<Integer> spliterator(int from, int to) {
+        // the right stack is read from its top, which is next to the cursor
+        return new IndexedSpliterator<>(i -> i < this.leftSize ? this.left[i] : this.right[this.rightSize - 1 - (i - this.leftSize)], from, to);
+    }
+
+    @Override
+    public void forEachLeft(Consumer<? super Integer> action) {
+        for (int i = 0; i < this.leftSize; i++) action.accept(this.left[i]);
+    }
+
+    @Override
+    public void forEachRight(Consumer<? super Integer> action) {
+        for (int i = this.rightSize - 1; i >= 0; i--) action.accept(this.right[i]);
+    }
+
+    @Override
+    protected void forEachRightReversed(Consumer<? super Integer> action) {
+        for (int i = 0; i < this.rightSize; i++) action.accept(this.right[i]);
+    }
+
+    @Override
+    public TravList<Integer> newInstance() {
+        return new IntTravList(this.capacity());
+    }
+
+    @Override
+    public Integer getNext() {
+        return this.rightSize == 0 ? null : this.right[this.rightSize - 1];
+    }
+
+    @Override
+    public Integer getPrevious() {
+        return this.leftSize == 0 ? null : this.left[this.leftSize - 1];
+    }
+
+    /*
+     * Returns a stack that can hold at least the needed number of values,
+     * growing it by doubling but never past the capacity.
+     */
+    private int[] ensureSize(int[] stack, int needed) {
+        if (needed <= stack.length) return stack;
+        int size = (int) Math.min(this.capacity(), Math.max((long) needed, 2L * stack.length));
+        return Arrays.copyOf(stack, size);
+    }
+}
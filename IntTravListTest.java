@@ -0,0 +1,276 @@
+package boundedtravlist;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+
+public class IntTravListTest {
+
+    IntTravList empty;
+    IntTravList list12_3;
+
+    @Before
+    public void setUp() throws Exception {
+
+        empty = new IntTravList(5);
+        list12_3 = new IntTravList(5);
+        list12_3.insertInt(3);
+        list12_3.insertInt(2);
+        list12_3.insertInt(1);
+        list12_3.advance();
+        list12_3.advance();
+    }
+
+    // ==========================================================
+    // Setup Methods
+    // ==========================================================
+
+    @Test
+    public void initEmptySetup() {
+        assertEquals(0, empty.leftLength());
+        assertEquals(0, empty.rightLength());
+        assertNull(empty.getPrevious());
+        assertNull(empty.getNext());
+    }
+
+    @Test
+    public void initDefaultSetup() {
+        assertEquals(2, list12_3.leftLength());
+        assertEquals(1, list12_3.rightLength());
+        assertEquals(2, list12_3.getPreviousInt());
+        assertEquals(3, list12_3.getNextInt());
+        assertEquals(Integer.valueOf(2), list12_3.getPrevious());
+        assertEquals(Integer.valueOf(3), list12_3.getNext());
+    }
+
+    // ==========================================================
+    // Primitive Methods
+    // ==========================================================
+
+    @Test
+    public void deleteAndInsert() {
+        assertEquals(3, list12_3.deleteInt());
+        list12_3.insertInt(7);
+        assertEquals(2, list12_3.leftLength());
+        assertEquals(1, list12_3.rightLength());
+        assertEquals(7, list12_3.getNextInt());
+    }
+
+    @Test
+    public void retreatAndAdvance() {
+        list12_3.retreat();
+        assertEquals(1, list12_3.getPreviousInt());
+        assertEquals(2, list12_3.getNextInt());
+        list12_3.advance();
+        list12_3.advance();
+        assertEquals(3, list12_3.getPreviousInt());
+        assertNull(list12_3.getNext());
+    }
+
+    @Test
+    public void resetAndAdvanceToEnd() {
+        list12_3.reset();
+        assertEquals(0, list12_3.leftLength());
+        assertEquals(3, list12_3.rightLength());
+        assertEquals(1, list12_3.getNextInt());
+        list12_3.advanceToEnd();
+        assertEquals(3, list12_3.leftLength());
+        assertEquals(3, list12_3.getPreviousInt());
+    }
+
+    @Test
+    public void replaceInt() {
+        assertEquals(3, list12_3.replaceInt(9));
+        assertEquals(9, list12_3.getNextInt());
+    }
+
+    @Test
+    public void intIteratorDoesNotMoveTheCursor() {
+        list12_3.reset();
+        PrimitiveIterator.OfInt iterator = list12_3.intIterator();
+        assertEquals(1, iterator.nextInt());
+        assertEquals(2, iterator.nextInt());
+        assertEquals(3, iterator.nextInt());
+        assertFalse(iterator.hasNext());
+        assertEquals(0, list12_3.leftLength());
+        assertEquals(1, list12_3.getNextInt());
+    }
+
+    @Test
+    public void growsUpToCapacity() {
+        IntTravList big = new IntTravList(100);
+        for (int i = 0; i < 100; i++) {
+            big.insertInt(i);
+            big.advance();
+        }
+        assertEquals(100, big.leftLength());
+        big.reset();
+        assertEquals(0, big.getNextInt());
+        assertEquals(100, big.rightLength());
+    }
+
+    // ==========================================================
+    // Boxed Methods
+    // ==========================================================
+
+    @Test
+    public void swapRights() {
+        IntTravList other = new IntTravList(3);
+        other.insertInt(30);
+        other.insertInt(20);
+        other.insertInt(10);
+        other.advance();
+        list12_3.swapRights(other);
+        assertEquals(2, list12_3.leftLength());
+        assertEquals(2, list12_3.rightLength());
+        assertEquals(20, list12_3.getNextInt());
+        assertEquals(1, other.leftLength());
+        assertEquals(1, other.rightLength());
+        assertEquals(3, other.getNextInt());
+    }
+
+    @Test
+    public void swapRightsInheritForParent() {
+        TravList<Integer> other = new SimpleTravList<>(3);
+        other.insert(30);
+        other.insert(20);
+        list12_3.swapRights(other);
+        assertEquals(2, list12_3.rightLength());
+        assertEquals(20, list12_3.getNextInt());
+        assertEquals(Integer.valueOf(3), other.getNext());
+    }
+
+    @Test
+    public void splice() {
+        IntTravList other = new IntTravList(2);
+        other.insertInt(5);
+        other.insertInt(4);
+        list12_3.splice(other);
+        assertEquals(4, list12_3.leftLength());
+        assertEquals(1, list12_3.rightLength());
+        assertEquals(5, list12_3.getPreviousInt());
+        assertEquals(3, list12_3.getNextInt());
+        assertNull(other.getNext());
+    }
+
+    @Test
+    public void reverse() {
+        list12_3.reverse();
+        assertNull(list12_3.getNext());
+        assertEquals(1, list12_3.getPreviousInt());
+        assertEquals(3, list12_3.leftLength());
+    }
+
+    @Test
+    public void reverseRange() {
+        list12_3.reverseRange(0, 3);
+        assertEquals(2, list12_3.cursorIndex());
+        assertEquals(2, list12_3.getPreviousInt());
+        assertEquals(1, list12_3.getNextInt());
+        list12_3.reverseRange(1, 3);
+        assertEquals(1, list12_3.getPreviousInt());
+        assertEquals(2, list12_3.getNextInt());
+    }
+
+    @Test
+    public void iterator() {
+        Iterator<Integer> iterator = list12_3.iterator();
+        assertTrue(iterator.hasNext());
+        assertEquals(Integer.valueOf(3), iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+
+    // ==========================================================
+    // Simple Exceptions
+    // ==========================================================
+
+    @Test(expected = IllegalArgumentException.class)
+    public void insertNull() {
+        list12_3.insert(null);
+        fail();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void insertInFullList() {
+        list12_3.insertInt(4);
+        list12_3.insertInt(5);
+        list12_3.insertInt(6);
+        fail();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void deleteIntEmpty() {
+        empty.deleteInt();
+        fail();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getNextIntEmpty() {
+        empty.getNextInt();
+        fail();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void retreatEmpty() {
+        empty.retreat();
+        fail();
+    }
+
+    @Test
+    public void streamsDoNotMoveCursor() {
+        assertEquals(6, list12_3.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(3, list12_3.rightStream().mapToInt(Integer::intValue).sum());
+        assertEquals(3, list12_3.parallelStream().count());
+        assertEquals(2, list12_3.leftLength());
+    }
+
+    @Test
+    public void equalsAnyListWithTheSameElements() {
+        TravList<Integer> same = new SimpleTravList<>(10);
+        for (int i : new int[] {1, 2, 3}) {
+            same.insert(i);
+            same.advance();
+        }
+        same.moveTo(2);
+        assertEquals(list12_3.hashCode(), same.hashCode());
+        assertEquals(list12_3, same);
+
+        list12_3.retreat();
+        list12_3.replace(7);
+        same.retreat();
+        same.replace(7);
+        assertEquals(same.hashCode(), list12_3.hashCode());
+        assertEquals(same, list12_3);
+    }
+
+    @Test
+    public void bulkMethodsMoveTheValuesAsBlocks() {
+        list12_3.hashCode();
+        list12_3.insertAll(Arrays.asList(7, 8));
+        assertEquals("[1, 2][3, 8, 7]:5", list12_3.toString());
+        assertEquals(Arrays.asList(7, 8), list12_3.deleteRight(2));
+        list12_3.retreatBy(2);
+        list12_3.advanceBy(3);
+        assertEquals(3, list12_3.cursorIndex());
+
+        TravList<Integer> same = new SimpleTravList<>(5);
+        same.insertAll(new Integer[]{1, 2, 3});
+        same.advanceToEnd();
+        assertEquals(same.hashCode(), list12_3.hashCode());
+        assertEquals(same, list12_3);
+    }
+
+    // ==========================================================
+    // Inherit method
+    // ==========================================================
+
+    @Test
+    public void testToString() {
+        list12_3.insertInt(4);
+        assertEquals("[1, 2][3, 4]:5", list12_3.toString());
+    }
+}
@@ -0,0 +1,96 @@
+package boundedtravlist;
+
+import java.util.Arrays;
+
+/**
+ * <p>Histogram of latencies in nanoseconds, in the style of HdrHistogram.</p>
+ *
+ * <p>Values are counted in buckets whose width grows with the value:
+ * every power of two is split into {@code 2^SUB_BITS} equal buckets,
+ * so a recorded value is known within 12.5% whatever its magnitude.
+ * Recording is a few shifts and one array increment, and never allocates.</p>
+ *
+ * <p>The histogram is not thread-safe; readers on another thread may see
+ * counts that are slightly behind.</p>
+ *
+ * @author Joyce
+ */
+final class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /**
+     * Values below SUB_BUCKETS have a bucket each, then SUB_BUCKETS buckets
+     * per power of two up to 2^63.
+     */
+    private final long[] counts = new long[(Long.SIZE - SUB_BITS + 1) * SUB_BUCKETS];
+    private long count;
+    private long total;
+    private long max;
+
+    // record(5) ==> bucket 5 = [5, 5]
+    // record(100) ==> 2^6 <= 100 < 2^7, sub-bucket (100 >>> 3) & 7 = 4, bucket 36 = [96, 103]
+
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        this.counts[indexOf(value)]++;
+        this.count++;
+        this.total += value;
+        if (value > this.max) this.max = value;
+    }
+
+    long count() {
+        return this.count;
+    }
+
+    long max() {
+        return this.max;
+    }
+
+    double mean() {
+        return this.count == 0 ? 0 : (double) this.total / this.count;
+    }
+
+    /**
+     * Returns the highest value of the bucket that holds the given percentile,
+     * or 0 when nothing was recorded.
+     *
+     * @param percentile percentile between 0 and 100.
+     * @return an upper bound of the values at or below that percentile.
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100
+     */
+    long valueAtPercentile(double percentile) throws IllegalArgumentException {
+        if (!(percentile >= 0 && percentile <= 100)) throw new IllegalArgumentException();
+        if (this.count == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * this.count));
+        long seen = 0;
+        for (int i = 0; i < this.counts.length; i++) {
+            seen += this.counts[i];
+            if (seen >= rank) return Math.min(highestValueOf(i), this.max);
+        }
+        return this.max;
+    }
+
+    void clear() {
+        Arrays.fill(this.counts, 0);
+        this.count = 0;
+        this.total = 0;
+        this.max = 0;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        long width = 1L << (exponent - SUB_BITS);
+        long lowest = (SUB_BUCKETS + (long) (index % SUB_BUCKETS)) * width;
+        return lowest + width - 1;
+    }
+}
@@ -0,0 +1,321 @@
+package boundedtravlist;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * <p>Stack-based traversable list that only moves elements when an edit needs them.</p>
+ *
+ * <p>Like {@link StackTravList}, the list is a left stack and a right stack,
+ * but both live in one unsynchronized array: the left stack grows up from
+ * the beginning of the array and the right stack grows down from its end,
+ * with its top next to the free slots. The cursor is an offset of its own,
+ * which may run ahead of or behind the split between the two stacks:
+ * {@code advance}, {@code retreat}, {@code reset}, {@code advanceToEnd}
+ * and {@code moveTo} only change the offset, in constant time, and the
+ * elements between the split and the cursor are moved from one stack to
+ * the other by the next insert or delete, as one block.
+ * Sweeping the cursor back and forth therefore moves no element at all.</p>
+ *
+ * <p>The array grows by doubling up to the capacity, as the stacks do.</p>
+ *
+ * @author Joyce
+ * @param <E> the type of elements in this list.
+ */
+public class LazyStackTravList<E> extends AbstractTravList<E> {
+    private static final int INITIAL_SIZE = 16;
+
+    // representation
+
+    /**
+     * Left stack in [0, split), right stack in [top, elements.length),
+     * its top element at {@code top}.
+     */
+    private Object[] elements;
+    private int split;
+    private int top;
+
+    /**
+     * Number of elements to the left of the cursor.
+     */
+    private int cursor;
+
+    /**
+     * Number of elements moved from one stack to the other so far.
+     */
+    private long transferred;
+
+    // elements = [A, B, _, _, E, D, C], split = 2, top = 4, cursor = 2 ==> TravList = [A, B][C, D, E]
+    // elements = [A, B, _, _, E, D, C], split = 2, top = 4, cursor = 4 ==> TravList = [A, B, C, D][E]
+
+    public LazyStackTravList(int max) {
+        super(max);
+        if (max < 0) throw new IllegalArgumentException();
+        this.elements = new Object[Math.min(max, INITIAL_SIZE)];
+        this.top = this.elements.length;
+    }
+
+    @Override
+    public void insert(E elem) throws IllegalArgumentException {
+        if (elem == null || this.size() >= this.capacity()) throw new IllegalArgumentException();
+
+        this.settle();
+        this.makeRoom(1);
+        this.elements[--this.top] = elem;
+        this.hashInsert(elem);
+    }
+
+    @Override
+    public E delete() {
+        if (this.rightLength() == 0) throw new IllegalStateException();
+
+        this.settle();
+        E elem = this.elementAt(this.cursor);
+        this.elements[this.top++] = null;
+        this.hashDelete(elem);
+        return elem;
+    }
+
+    @Override
+    public void advance() throws IllegalStateException {
+        if (this.rightLength() == 0) throw new IllegalStateException();
+
+        this.cursor++;
+        this.hashAdvance(this.elementAt(this.cursor - 1));
+    }
+
+    @Override
+    public void retreat() throws IllegalStateException {
+        if (this.cursor == 0) throw new IllegalStateException();
+
+        this.cursor--;
+        this.hashRetreat(this.elementAt(this.cursor));
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Resets the cursor to the beginning of the list in constant time;
+     * the left stack is emptied by the next edit.
+     */
+    @Override
+    public void reset() {
+        this.moveTo(0);
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Advances the cursor to the end of the list in constant time;
+     * the right stack is emptied by the next edit.
+     */
+    @Override
+    public void advanceToEnd() {
+        this.moveTo(this.size());
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Moves the cursor so that {@code index} elements are to its left,
+     * in constant time: no element moves until the next insert or delete.
+     *
+     * @param index the new number of elements to the left of the cursor.
+     * @throws IllegalArgumentException if {@code index} is negative
+     *                                  or greater than the number of elements
+     */
+    @Override
+    public void moveTo(int index) throws IllegalArgumentException {
+        if (index < 0 || index > this.size()) throw new IllegalArgumentException();
+        if (index == this.cursor) return;
+
+        this.cursor = index;
+        this.hashInvalidate();
+    }
+
+    /*
+     * Moves the elements between the split and the cursor to the other
+     * stack as one block, so that the split is at the cursor again.
+     */
+    private void settle() {
+        int count = this.cursor - this.split;
+        if (count > 0) {
+            // the top of the right stack goes onto the left stack
+            System.arraycopy(this.elements, this.top, this.elements, this.split, count);
+            Arrays.fill(this.elements, Math.max(this.top, this.cursor), this.top + count, null);
+            this.top += count;
+        } else if (count < 0) {
+            count = -count;
+            System.arraycopy(this.elements, this.cursor, this.elements, this.top - count, count);
+            Arrays.fill(this.elements, this.cursor, Math.min(this.split, this.top - count), null);
+            this.top -= count;
+        }
+        this.transferred += count;
+        this.split = this.cursor;
+    }
+
+    /*
+     * Makes sure there are at least needed free slots between the two stacks.
+     */
+    private void makeRoom(int needed) {
+        if (this.top - this.split >= needed) return;
+
+        int right = this.elements.length - this.top;
+        int length = (int) Math.min(this.capacity(), Math.max((long) this.size() + needed, 2L * this.elements.length));
+        Object[] grown = new Object[length];
+        System.arraycopy(this.elements, 0, grown, 0, this.split);
+        System.arraycopy(this.elements, this.top, grown, length - right, right);
+        this.elements = grown;
+        this.top = length - right;
+    }
+
+    /**
+     * @return the number of elements moved from one stack to the other so far.
+     */
+    public long transferred() {
+        return this.transferred;
+    }
+
+    @Override
+    public E replace(E element) {
+        if (element == null) throw new IllegalArgumentException();
+        if (this.rightLength() == 0) throw new IllegalStateException();
+
+        int slot = this.slotOf(this.cursor);
+        @SuppressWarnings("unchecked")
+        E elem = (E) this.elements[slot];
+        this.elements[slot] = element;
+        this.hashReplace(elem, element);
+        return elem;
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Reverses the elements at positions {@code [from, to)} in place,
+     * swapping pairs of elements from both ends of the range
+     * without moving anything from one stack to the other.
+     *
+     * @param from first position of the range, inclusive.
+     * @param to   last position of the range, exclusive.
+     * @throws IllegalArgumentException if the range is not inside the list
+     */
+    @Override
+    public void reverseRange(int from, int to) throws IllegalArgumentException {
+        if (from < 0 || to > this.size() || from > to) throw new IllegalArgumentException();
+
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            int a = this.slotOf(i);
+            int b = this.slotOf(j);
+            Object elem = this.elements[a];
+            this.elements[a] = this.elements[b];
+            this.elements[b] = elem;
+        }
+        this.hashInvalidate();
+    }
+
+    @Override
+    protected void insertBlock(Object[] block) {
+        this.settle();
+        this.makeRoom(block.length);
+        this.top -= block.length;
+        System.arraycopy(block, 0, this.elements, this.top, block.length);
+        this.hashInsertBlock(block);
+    }
+
+    @Override
+    protected void deleteBlock(int n, Consumer<? super E> action) {
+        this.settle();
+        Object[] block = Arrays.copyOfRange(this.elements, this.top, this.top + n);
+        Arrays.fill(this.elements, this.top, this.top + n, null);
+        this.top += n;
+        this.handOut(block, action);
+    }
+
+    @Override
+    protected void load(int leftCount, int rightCount, Iterator<? extends E> elements) {
+        int length = Math.max(this.elements.length, leftCount + rightCount);
+        if (length > this.elements.length) this.elements = new Object[length];
+        for (int i = 0; i < leftCount; i++) this.elements[i] = elements.next();
+        this.top = length - rightCount;
+        for (int i = this.top; i < length; i++) this.elements[i] = elements.next();
+        this.split = leftCount;
+        this.cursor = leftCount;
+        this.hashInvalidate();
+    }
+
+    @Override
+    protected Spliterator<E> spliterator(int from, int to) {
+        return new IndexedSpliterator<>(this::elementAt, from, to);
+    }
+
+    @Override
+    public void forEachLeft(Consumer<? super E> action) {
+        for (int i = 0; i < this.cursor; i++) action.accept(this.elementAt(i));
+    }
+
+    @Override
+    public void forEachRight(Consumer<? super E> action) {
+        for (int i = this.cursor, size = this.size(); i < size; i++) action.accept(this.elementAt(i));
+    }
+
+    @Override
+    protected void forEachRightReversed(Consumer<? super E> action) {
+        for (int i = this.size() - 1; i >= this.cursor; i--) action.accept(this.elementAt(i));
+    }
+
+    /*
+     * Slot of a position of the list: the positions from the split on are
+     * in the right stack, after the free slots.
+     */
+    private int slotOf(int position) {
+        return position < this.split ? position : position + this.top - this.split;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int position) {
+        return (E) this.elements[this.slotOf(position)];
+    }
+
+    private int size() {
+        return this.split + this.elements.length - this.top;
+    }
+
+    @Override
+    public E getNext() {
+        return this.rightLength() == 0 ? null : this.elementAt(this.cursor);
+    }
+
+    @Override
+    public E getPrevious() {
+        return this.cursor == 0 ? null : this.elementAt(this.cursor - 1);
+    }
+
+    @Override
+    public int leftLength() {
+        return this.cursor;
+    }
+
+    @Override
+    public int rightLength() {
+        return this.size() - this.cursor;
+    }
+
+    @Override
+    public TravList<E> newInstance() {
+        return new LazyStackTravList<>(this.capacity());
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new RightIterator<>(this);
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return new TravListIterator<>(this);
+    }
+}
@@ -2,7 +2,11 @@ package boundedtravlist;
 
 import java.util.Iterator;
 import java.util.ListIterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 
 public class LinkedTravList<E> extends AbstractTravList<E> {
 
@@ -25,8 +29,34 @@ public class LinkedTravList<E> extends AbstractTravList<E> {
     Node guard;
     Node cursor;
 
+    // number of nodes on each side of the cursor, kept up to date by every operation
+    private int leftLength;
+    private int rightLength;
+
+    // bumped whenever a node is linked or unlinked, so stale bookmarks are detected
+    private int version;
+
+    // optional free-list of released nodes, chained through their next links
+    private final boolean pooled;
+    private Node free;
+    private long poolHits;
+    private long poolMisses;
+
     public LinkedTravList(int max) {
+        this(max, false);
+    }
+
+    /**
+     * Creates an empty list that can recycle the nodes of deleted elements.
+     * With {@code pooled} set, a deleted node goes to a per-list free-list
+     * and the next insert takes it back instead of allocating a new one.
+     *
+     * @param max    capacity of the list.
+     * @param pooled whether deleted nodes are kept for reuse.
+     */
+    public LinkedTravList(int max, boolean pooled) {
         super(max);
+        this.pooled = pooled;
         guard = new Node(null);
         guard.next = guard;
         guard.prev = guard;
@@ -35,19 +65,22 @@ public class LinkedTravList<E> extends AbstractTravList<E> {
 
     @Override
     public void insert(E elem) {
+        if (elem == null || leftLength + rightLength >= this.capacity()) {
+            throw new IllegalArgumentException();
+        }
+
         // Step 1: create a new node and make link the same as the cursor
-        Node newElement = new Node(elem, null, null);
-        newElement.prev = this.cursor.prev;
-        newElement.next = this.cursor.next;
+        Node newElement = this.obtainNode(elem, this.cursor.prev, this.cursor.next);
 
         // Step 2: Make adjacent links point to the new node.
-        if(this.cursor.prev == this.guard) this.guard.next = newElement;
-        if (this.guard.prev == this.guard) this.guard.prev = newElement.next;
-        // for old node
-        this.cursor.next.prev = newElement;
+        newElement.prev.next = newElement;
+        newElement.next.prev = newElement;
 
         // Modify the cursor links
         this.cursor.next = newElement;
+        rightLength++;
+        version++;
+        hashInsert(elem);
     }
 
     @Override
@@ -63,9 +96,14 @@ public class LinkedTravList<E> extends AbstractTravList<E> {
 
         // Step 3: Modify the cursor links appropriately
         this.cursor.next = elem.next;
+        rightLength--;
+        version++;
 
         // Step 4: Return the element inside the result-node
-        return elem.contents;
+        E contents = elem.contents;
+        hashDelete(contents);
+        this.releaseNode(elem);
+        return contents;
     }
 
     @Override
@@ -75,6 +113,9 @@ public class LinkedTravList<E> extends AbstractTravList<E> {
         }
         cursor.prev = cursor.prev.next;
         cursor.next = cursor.next.next;
+        leftLength++;
+        rightLength--;
+        hashAdvance(cursor.prev.contents);
     }
 
     @Override
@@ -84,19 +125,394 @@ public class LinkedTravList<E> extends AbstractTravList<E> {
         }
         cursor.prev = cursor.prev.prev;
         cursor.next = cursor.next.prev;
-
+        leftLength--;
+        rightLength++;
+        hashRetreat(cursor.next.contents);
     }
 
     @Override
     public void reset() {
+        if (leftLength != 0) hashInvalidate();
         cursor.prev = guard;
         cursor.next = guard.next;
+        rightLength += leftLength;
+        leftLength = 0;
     }
 
     @Override
     public void advanceToEnd() {
+        if (rightLength != 0) hashInvalidate();
         cursor.prev = guard.prev;
         cursor.next = guard;
+        leftLength += rightLength;
+        rightLength = 0;
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Swaps the right part of {@code this} list with
+     * the right part of {@code that} list.
+     * When both lists are linked-based, the two chains of nodes
+     * are re-linked in constant time.
+     *
+     * @param that right part of the list passed in parameter.
+     * @throws IllegalArgumentException if one of the lists cannot hold the other right part
+     */
+    @Override
+    public void swapRights(TravList<E> that) {
+        if (!(that instanceof LinkedTravList)) {
+            super.swapRights(that);
+            return;
+        }
+        if (that == this) return;
+
+        LinkedTravList<E> other = (LinkedTravList<E>) that;
+        if (leftLength + other.rightLength > this.capacity()
+                || other.leftLength + rightLength > other.capacity()) {
+            throw new IllegalArgumentException();
+        }
+
+        // remember both chains before touching any link
+        Node thisFirst = cursor.next;
+        Node thisLast = guard.prev;
+        int thisRight = rightLength;
+        Node thatFirst = other.cursor.next;
+        Node thatLast = other.guard.prev;
+        int thatRight = other.rightLength;
+
+        this.attachRight(thatFirst, thatLast, thatRight);
+        other.attachRight(thisFirst, thisLast, thisRight);
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Adds all the elements from {@code that} traversable list to the left of the cursor.
+     * When {@code that} is linked-based, its chain of nodes is
+     * linked in at the cursor in constant time.
+     *
+     * @param that list passed in parameter.
+     * @throws IllegalArgumentException if the cursor of {@code that} is not at the beginning
+     *                                  or if {@code this} list cannot hold the elements
+     */
+    @Override
+    public void splice(TravList<E> that) {
+        if (!(that instanceof LinkedTravList) || that == this) {
+            super.splice(that);
+            return;
+        }
+
+        LinkedTravList<E> other = (LinkedTravList<E>) that;
+        if (other.leftLength != 0 || leftLength + rightLength + other.rightLength > this.capacity()) {
+            throw new IllegalArgumentException();
+        }
+        if (other.rightLength == 0) return;
+
+        Node first = other.guard.next;
+        Node last = other.guard.prev;
+        int moved = other.rightLength;
+        other.attachRight(null, null, 0);
+
+        Node prev = cursor.prev;
+        Node next = cursor.next;
+        prev.next = first;
+        first.prev = prev;
+        last.next = next;
+        next.prev = last;
+        cursor.prev = last;
+        leftLength += moved;
+        version++;
+        hashInvalidate();
+    }
+
+    /*
+     * Replaces the chain to the right of the cursor by first..last
+     * (an empty chain when count is 0). The old chain is not touched.
+     */
+    private void attachRight(Node first, Node last, int count) {
+        Node prev = cursor.prev;
+        if (count == 0) {
+            prev.next = guard;
+            guard.prev = prev;
+            cursor.next = guard;
+        } else {
+            prev.next = first;
+            first.prev = prev;
+            last.next = guard;
+            guard.prev = last;
+            cursor.next = first;
+        }
+        rightLength = count;
+        version++;
+        hashInvalidate();
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Moves the cursor so that {@code index} elements are to its left.
+     * The walk starts from the beginning, the end or the current cursor,
+     * whichever is closest, so it visits at most min(index, size - index) nodes.
+     *
+     * @param index the new number of elements to the left of the cursor.
+     * @throws IllegalArgumentException if {@code index} is negative
+     *                                  or greater than the number of elements
+     */
+    @Override
+    public void moveTo(int index) throws IllegalArgumentException {
+        int size = leftLength + rightLength;
+        if (index < 0 || index > size) throw new IllegalArgumentException();
+
+        // prev is the node just before the new cursor position
+        Node prev = cursor.prev;
+        int current = leftLength;
+        if (index < Math.abs(current - index)) {
+            prev = guard;
+            current = 0;
+        } else if (size - index < Math.abs(current - index)) {
+            prev = guard.prev;
+            current = size;
+        }
+        for (; current < index; current++) prev = prev.next;
+        for (; current > index; current--) prev = prev.prev;
+
+        if (index != leftLength) hashInvalidate();
+        cursor.prev = prev;
+        cursor.next = prev.next;
+        leftLength = index;
+        rightLength = size - index;
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Bookmarks the current cursor position.
+     * The bookmark keeps the node to the left of the cursor,
+     * so restoring it does not walk the list.
+     *
+     * @return a bookmark that only {@code this} list can restore.
+     */
+    @Override
+    public Cursor mark() {
+        return new Cursor(this, leftLength, cursor.prev, version);
+    }
+
+    @Override
+    public void restore(Cursor mark) throws IllegalArgumentException {
+        if (mark.owner != this) throw new IllegalArgumentException();
+        if (mark.version != version) {
+            // the node may have been unlinked (or recycled), fall back to the index
+            moveTo(mark.index);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Node prev = (Node) mark.position;
+        int size = leftLength + rightLength;
+        if (mark.index != leftLength) hashInvalidate();
+        cursor.prev = prev;
+        cursor.next = prev.next;
+        leftLength = mark.index;
+        rightLength = size - mark.index;
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Moves all the elements to the left of the cursor in reverse order.
+     * The prev and next links of every node, the guard included,
+     * are exchanged, which reverses the ring without moving any element.
+     */
+    @Override
+    public void reverse() {
+        if (rightLength == 0) return;
+
+        Node node = guard;
+        do {
+            Node next = node.next;
+            node.next = node.prev;
+            node.prev = next;
+            node = next;
+        } while (node != guard);
+
+        advanceToEnd();
+        version++;
+        hashInvalidate();
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Reverses the elements at positions {@code [from, to)} by exchanging
+     * the links of the nodes in the range and re-attaching both ends.
+     *
+     * @param from first position of the range, inclusive.
+     * @param to   last position of the range, exclusive.
+     * @throws IllegalArgumentException if the range is not inside the list
+     */
+    @Override
+    public void reverseRange(int from, int to) throws IllegalArgumentException {
+        int size = leftLength + rightLength;
+        if (from < 0 || to > size || from > to) throw new IllegalArgumentException();
+        if (to - from < 2) return;
+
+        Node first = nodeAt(from);
+        Node before = first.prev;
+        Node last = first;
+        for (int i = from; i < to; i++) {
+            Node next = last.next;
+            last.next = last.prev;
+            last.prev = next;
+            if (i < to - 1) last = next;
+        }
+        Node after = last.prev;
+
+        before.next = last;
+        last.prev = before;
+        first.next = after;
+        after.prev = first;
+        version++;
+        hashInvalidate();
+
+        // the nodes around the cursor may have changed, find them again
+        int index = leftLength;
+        cursor.prev = before;
+        cursor.next = last;
+        leftLength = from;
+        rightLength = size - from;
+        moveTo(index);
+    }
+
+    /*
+     * Node at a position of the list (the guard for the end of the list),
+     * reached from the beginning, the end or the cursor, whichever is closest.
+     */
+    private Node nodeAt(int position) {
+        int size = leftLength + rightLength;
+        Node node;
+        if (position >= leftLength && position - leftLength <= size - position) {
+            node = cursor.next;
+            for (int i = leftLength; i < position; i++) node = node.next;
+        } else if (position >= leftLength) {
+            node = guard;
+            for (int i = size; i > position; i--) node = node.prev;
+        } else if (position < leftLength - position) {
+            node = guard.next;
+            for (int i = 0; i < position; i++) node = node.next;
+        } else {
+            node = cursor.prev;
+            for (int i = leftLength - 1; i > position; i--) node = node.prev;
+        }
+        return node;
+    }
+
+    @Override
+    protected void insertBlock(Object[] block) {
+        // link the block as one chain, then hook it in between the cursor links
+        Node before = this.cursor.prev;
+        Node after = this.cursor.next;
+        Node last = before;
+        for (Object elem : block) {
+            @SuppressWarnings("unchecked")
+            Node node = obtainNode((E) elem, last, after);
+            last.next = node;
+            last = node;
+        }
+        after.prev = last;
+        this.cursor.next = before.next;
+        rightLength += block.length;
+        version++;
+        hashInsertBlock(block);
+    }
+
+    @Override
+    protected void deleteBlock(int n, Consumer<? super E> action) {
+        // unlink the whole block at once, then hand out and release its nodes
+        Node before = this.cursor.prev;
+        Node node = this.cursor.next;
+        Node after = node;
+        for (int i = 0; i < n; i++) after = after.next;
+        before.next = after;
+        after.prev = before;
+        this.cursor.next = after;
+        rightLength -= n;
+        version++;
+        Object[] block = new Object[n];
+        for (int i = 0; i < n; i++) {
+            Node following = node.next;
+            block[i] = node.contents;
+            this.releaseNode(node);
+            node = following;
+        }
+        handOut(block, action);
+    }
+
+    @Override
+    protected void load(int leftCount, int rightCount, Iterator<? extends E> elements) {
+        // link the nodes in order behind the guard, remembering the one before the cursor
+        Node last = guard;
+        Node beforeCursor = guard;
+        for (int i = 0; i < leftCount + rightCount; i++) {
+            Node node = obtainNode(elements.next(), last, guard);
+            last.next = node;
+            last = node;
+            if (i == leftCount - 1) beforeCursor = node;
+        }
+        guard.prev = last;
+
+        cursor.prev = beforeCursor;
+        cursor.next = beforeCursor.next;
+        leftLength = leftCount;
+        rightLength = rightCount;
+        version++;
+        hashInvalidate();
+    }
+
+    /*
+     * Walks the nodes of [from, to) from the closest known node; the
+     * spliterator splits by copying batches of elements into arrays.
+     */
+    @Override
+    protected Spliterator<E> spliterator(int from, int to) {
+        int size = leftLength + rightLength;
+        if (from < 0 || to > size || from > to) throw new IllegalArgumentException();
+
+        Node start = nodeAt(from);
+        Iterator<E> nodes = new Iterator<E>() {
+            private Node node = start;
+            private int remaining = to - from;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public E next() {
+                if (remaining == 0) throw new NoSuchElementException();
+                E contents = node.contents;
+                node = node.next;
+                remaining--;
+                return contents;
+            }
+        };
+        return Spliterators.spliterator(nodes, to - from, IndexedSpliterator.CHARACTERISTICS);
+    }
+
+    @Override
+    public void forEachLeft(Consumer<? super E> action) {
+        for (Node node = guard.next; node != cursor.next; node = node.next) action.accept(node.contents);
+    }
+
+    @Override
+    public void forEachRight(Consumer<? super E> action) {
+        for (Node node = cursor.next; node != guard; node = node.next) action.accept(node.contents);
+    }
+
+    @Override
+    protected void forEachRightReversed(Consumer<? super E> action) {
+        for (Node node = guard.prev; node != cursor.prev; node = node.prev) action.accept(node.contents);
     }
 
     @Override
@@ -120,29 +536,58 @@ public class LinkedTravList<E> extends AbstractTravList<E> {
 
     @Override
     public int leftLength() {
-        int result = 0;
-        Node temp = cursor;
-        while (temp.prev != guard) {
-            result++;
-            temp = temp.prev;
-        }
-        return result;
+        return leftLength;
     }
 
     @Override
     public int rightLength() {
-        int result = 0;
-        Node temp = cursor;
-        while (temp.next != guard) {
-            result++;
-            temp = temp.next;
-        }
-        return result;
+        return rightLength;
     }
 
     @Override
     public TravList<E> newInstance() {
-        return new LinkedTravList<>(this.capacity());
+        return new LinkedTravList<>(this.capacity(), this.pooled);
+    }
+
+    /**
+     * Number of inserts that reused a node from the free-list.
+     *
+     * @return the pool hit count, always zero when the list is not pooled.
+     */
+    public long poolHits() {
+        return poolHits;
+    }
+
+    /**
+     * Number of inserts that had to allocate a node while pooling was on.
+     *
+     * @return the pool miss count, always zero when the list is not pooled.
+     */
+    public long poolMisses() {
+        return poolMisses;
+    }
+
+    private Node obtainNode(E contents, Node prev, Node next) {
+        if (!pooled) return new Node(contents, prev, next);
+        if (free == null) {
+            poolMisses++;
+            return new Node(contents, prev, next);
+        }
+        poolHits++;
+        Node node = free;
+        free = node.next;
+        node.contents = contents;
+        node.prev = prev;
+        node.next = next;
+        return node;
+    }
+
+    private void releaseNode(Node node) {
+        // drop every reference so a pooled node does not keep garbage alive
+        node.contents = null;
+        node.prev = null;
+        node.next = pooled ? free : null;
+        if (pooled) free = node;
     }
 
     @Override
@@ -0,0 +1,375 @@
+package boundedtravlist;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * <p>Traversable list of {@code long} values.</p>
+ *
+ * <p>The list is kept in two {@code long[]} stacks that meet at the cursor,
+ * so the values are never boxed. The top of the left stack is the element
+ * to the left of the cursor and the top of the right stack is the element
+ * to the right of the cursor. The stacks grow on demand up to the capacity.</p>
+ *
+ * <p>The {@code TravList<Long>} methods are still available;
+ * they box and unbox around the primitive methods.</p>
+ *
+ * @author Joyce
+ */
+public class LongTravList extends AbstractTravList<Long> {
+    // representation
+
+    private static final int INITIAL_SIZE = 16;
+
+    private long[] left;
+    private int leftSize;
+    private long[] right;
+    private int rightSize;
+
+    // left = [1, 2, 3], right = [5, 4] ==> TravList = [1, 2, 3][4, 5]:c
+
+    public LongTravList(int max) {
+        super(max);
+        if (max <= 0) throw new IllegalArgumentException();
+        this.left = new long[Math.min(max, INITIAL_SIZE)];
+        this.right = new long[Math.min(max, INITIAL_SIZE)];
+    }
+
+    // ----------------------------------------------------------
+    // Primitive methods
+    // ----------------------------------------------------------
+
+    /**
+     * Inserts a value to the right of the cursor.
+     *
+     * @param value value to be added to this traversable list
+     * @throws IllegalArgumentException if the list is full
+     */
+    public void insertLong(long value) throws IllegalArgumentException {
+        if (this.leftSize + this.rightSize >= this.capacity()) throw new IllegalArgumentException();
+
+        this.right = this.ensureSize(this.right, this.rightSize + 1);
+        this.right[this.rightSize++] = value;
+        if (this.hashTracked()) this.hashInsert(value);
+    }
+
+    /**
+     * Deletes and returns the value to the right of the cursor.
+     *
+     * @return the value to the right of the cursor.
+     * @throws IllegalStateException if there is no value to the right of the cursor
+     */
+    public long deleteLong() throws IllegalStateException {
+        if (this.rightSize == 0) throw new IllegalStateException();
+
+        long value = this.right[--this.rightSize];
+        if (this.hashTracked()) this.hashDelete(value);
+        return value;
+    }
+
+    /**
+     * Gets the value to the right of the cursor without removing it.
+     *
+     * @return the value to the right of the cursor.
+     * @throws IllegalStateException if there is no value to the right of the cursor
+     */
+    public long getNextLong() throws IllegalStateException {
+        if (this.rightSize == 0) throw new IllegalStateException();
+
+        return this.right[this.rightSize - 1];
+    }
+
+    /**
+     * Gets the value to the left of the cursor without removing it.
+     *
+     * @return the value to the left of the cursor.
+     * @throws IllegalStateException if there is no value to the left of the cursor
+     */
+    public long getPreviousLong() throws IllegalStateException {
+        if (this.leftSize == 0) throw new IllegalStateException();
+
+        return this.left[this.leftSize - 1];
+    }
+
+    /**
+     * Replaces the value to the right of the cursor and returns the original.
+     *
+     * @param value the new value to the right of the cursor.
+     * @return the original value that was replaced.
+     * @throws IllegalStateException if there is no value to the right of the cursor
+     */
+    public long replaceLong(long value) throws IllegalStateException {
+        if (this.rightSize == 0) throw new IllegalStateException();
+
+        long original = this.right[this.rightSize - 1];
+        this.right[this.rightSize - 1] = value;
+        if (this.hashTracked()) this.hashReplace(original, value);
+        return original;
+    }
+
+    /**
+     * Iterates over the values to the right of the cursor without boxing them.
+     * Unlike {@link #iterator()}, the cursor of the list does not move.
+     *
+     * @return an iterator over the right part of the list.
+     */
+    public PrimitiveIterator.OfLong longIterator() {
+        return new PrimitiveIterator.OfLong() {
+            private int index = rightSize;
+
+            @Override
+            public boolean hasNext() {
+                return index > 0;
+            }
+
+            @Override
+            public long nextLong() {
+                if (index == 0) throw new NoSuchElementException();
+                return right[--index];
+            }
+        };
+    }
+
+    // ----------------------------------------------------------
+    // TravList methods
+    // ----------------------------------------------------------
+
+    @Override
+    public void insert(Long elem) throws IllegalArgumentException {
+        if (elem == null) throw new IllegalArgumentException();
+        this.insertLong(elem);
+    }
+
+    @Override
+    public Long delete() {
+        return this.deleteLong();
+    }
+
+    @Override
+    public void advance() throws IllegalStateException {
+        if (this.rightSize == 0) throw new IllegalStateException();
+
+        this.left = this.ensureSize(this.left, this.leftSize + 1);
+        this.left[this.leftSize++] = this.right[--this.rightSize];
+        if (this.hashTracked()) this.hashAdvance(this.left[this.leftSize - 1]);
+    }
+
+    @Override
+    public void retreat() throws IllegalStateException {
+        if (this.leftSize == 0) throw new IllegalStateException();
+
+        this.right = this.ensureSize(this.right, this.rightSize + 1);
+        this.right[this.rightSize++] = this.left[--this.leftSize];
+        if (this.hashTracked()) this.hashRetreat(this.right[this.rightSize - 1]);
+    }
+
+    @Override
+    public void reset() {
+        this.moveTo(0);
+    }
+
+    @Override
+    public void advanceToEnd() {
+        this.moveTo(this.leftSize + this.rightSize);
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Moves the cursor so that {@code index} elements are to its left.
+     * The stacks grow once, then the values are moved in one tight loop.
+     *
+     * @param index the new number of elements to the left of the cursor.
+     * @throws IllegalArgumentException if {@code index} is negative
+     *                                  or greater than the number of elements
+     */
+    @Override
+    public void moveTo(int index) throws IllegalArgumentException {
+        if (index < 0 || index > this.leftSize + this.rightSize) throw new IllegalArgumentException();
+        if (index != this.leftSize) this.hashInvalidate();
+
+        if (index < this.leftSize) {
+            this.right = this.ensureSize(this.right, this.rightSize + this.leftSize - index);
+            while (this.leftSize > index) this.right[this.rightSize++] = this.left[--this.leftSize];
+        } else {
+            this.left = this.ensureSize(this.left, index);
+            while (this.leftSize < index) this.left[this.leftSize++] = this.right[--this.rightSize];
+        }
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Moves all the values to the left of the cursor in reverse order.
+     * After a reset the right stack, read from the bottom, holds the list
+     * in reverse order, which is exactly the left stack wanted:
+     * the two arrays only swap their roles.
+     */
+    @Override
+    public void reverse() {
+        if (this.rightSize == 0) return;
+
+        this.reset();
+        long[] temp = this.left;
+        this.left = this.right;
+        this.right = temp;
+        this.leftSize = this.rightSize;
+        this.rightSize = 0;
+        this.hashInvalidate();
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Reverses the values at positions {@code [from, to)} in place,
+     * swapping pairs of values from both ends of the range.
+     *
+     * @param from first position of the range, inclusive.
+     * @param to   last position of the range, exclusive.
+     * @throws IllegalArgumentException if the range is not inside the list
+     */
+    @Override
+    public void reverseRange(int from, int to) throws IllegalArgumentException {
+        if (from < 0 || to > this.leftSize + this.rightSize || from > to) throw new IllegalArgumentException();
+
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            // positions right of the cursor are counted from the top of the right stack
+            long[] a = i < this.leftSize ? this.left : this.right;
+            int ai = i < this.leftSize ? i : this.rightSize - 1 - (i - this.leftSize);
+            long[] b = j < this.leftSize ? this.left : this.right;
+            int bi = j < this.leftSize ? j : this.rightSize - 1 - (j - this.leftSize);
+            long value = a[ai];
+            a[ai] = b[bi];
+            b[bi] = value;
+        }
+        this.hashInvalidate();
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Swaps the right part of {@code this} list with
+     * the right part of {@code that} list.
+     * When both lists are {@code LongTravList}s the right stacks
+     * are exchanged in constant time.
+     *
+     * @param that right part of the list passed in parameter.
+     * @throws IllegalArgumentException if one of the lists cannot hold the other right part
+     */
+    @Override
+    public void swapRights(TravList<Long> that) {
+        if (!(that instanceof LongTravList)) {
+            super.swapRights(that);
+            return;
+        }
+
+        LongTravList other = (LongTravList) that;
+        if (this.leftSize + other.rightSize > this.capacity()
+                || other.leftSize + this.rightSize > other.capacity()) {
+            throw new IllegalArgumentException();
+        }
+
+        long[] stack = this.right;
+        int size = this.rightSize;
+        this.right = other.right;
+        this.rightSize = other.rightSize;
+        other.right = stack;
+        other.rightSize = size;
+        this.hashInvalidate();
+        other.hashInvalidate();
+    }
+
+    @Override
+    public Long replace(Long element) {
+        if (element == null) throw new IllegalArgumentException();
+        return this.replaceLong(element);
+    }
+
+    @Override
+    public int leftLength() {
+        return this.leftSize;
+    }
+
+    @Override
+    public int rightLength() {
+        return this.rightSize;
+    }
+
+    @Override
+    protected void insertBlock(Object[] block) {
+        // the stack grows once, then the block is unboxed onto its top, last value first
+        this.right = this.ensureSize(this.right, this.rightSize + block.length);
+        for (int i = block.length - 1; i >= 0; i--) this.right[this.rightSize++] = (Long) block[i];
+        this.hashInsertBlock(block);
+    }
+
+    @Override
+    protected void deleteBlock(int n, Consumer<? super Long> action) {
+        Object[] block = new Object[n];
+        for (int i = 0; i < n; i++) block[i] = this.right[this.rightSize - 1 - i];
+        this.rightSize -= n;
+        this.handOut(block, action);
+    }
+
+    @Override
+    protected void load(int leftCount, int rightCount, Iterator<? extends Long> elements) {
+        this.left = this.ensureSize(this.left, leftCount);
+        for (int i = 0; i < leftCount; i++) this.left[i] = elements.next();
+        // the right stack is filled from its top, the value next to the cursor
+        this.right = this.ensureSize(this.right, rightCount);
+        for (int i = rightCount - 1; i >= 0; i--) this.right[i] = elements.next();
+        this.leftSize = leftCount;
+        this.rightSize = rightCount;
+        this.hashInvalidate();
+    }
+
+    @Override
+    protected Spliterator<Long> spliterator(int from, int to) {
+        // the right stack is read from its top, which is next to the cursor
+        return new IndexedSpliterator<>(i -> i < this.leftSize ? this.left[i] : this.right[this.rightSize - 1 - (i - this.leftSize)], from, to);
+    }
+
+    @Override
+    public void forEachLeft(Consumer<? super Long> action) {
+        for (int i = 0; i < this.leftSize; i++) action.accept(this.left[i]);
+    }
+
+    @Override
+    public void forEachRight(Consumer<? super Long> action) {
+        for (int i = this.rightSize - 1; i >= 0; i--) action.accept(this.right[i]);
+    }
+
+    @Override
+    protected void forEachRightReversed(Consumer<? super Long> action) {
+        for (int i = 0; i < this.rightSize; i++) action.accept(this.right[i]);
+    }
+
+    @Override
+    public TravList<Long> newInstance() {
+        return new LongTravList(this.capacity());
+    }
+
+    @Override
+    public Long getNext() {
+        return this.rightSize == 0 ? null : this.right[this.rightSize - 1];
+    }
+
+    @Override
+    public Long getPrevious() {
+        return this.leftSize == 0 ? null : this.left[this.leftSize - 1];
+    }
+
+    /*
+     * Returns a stack that can hold at least the needed number of values,
+     * growing it by doubling but never past the capacity.
+     */
+    private long[] ensureSize(long[] stack, int needed) {
+        if (needed <= stack.length) return stack;
+        int size = (int) Math.min(this.capacity(), Math.max((long) needed, 2L * stack.length));
+        return Arrays.copyOf(stack, size);
+    }
+}
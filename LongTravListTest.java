@@ -0,0 +1,80 @@
+package boundedtravlist;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.PrimitiveIterator;
+
+public class LongTravListTest {
+
+    LongTravList empty;
+    LongTravList list12_3;
+
+    @Before
+    public void setUp() throws Exception {
+
+        empty = new LongTravList(5);
+        list12_3 = new LongTravList(5);
+        list12_3.insertLong(3L);
+        list12_3.insertLong(2L);
+        list12_3.insertLong(1L);
+        list12_3.advance();
+        list12_3.advance();
+    }
+
+    @Test
+    public void initDefaultSetup() {
+        assertEquals(2, list12_3.leftLength());
+        assertEquals(1, list12_3.rightLength());
+        assertEquals(Long.valueOf(2L), list12_3.getPrevious());
+        assertEquals(Long.valueOf(3L), list12_3.getNext());
+        assertNull(empty.getNext());
+    }
+
+    @Test
+    public void primitiveMethods() {
+        assertEquals(Long.valueOf(3L), Long.valueOf(list12_3.deleteLong()));
+        list12_3.insertLong(7L);
+        assertEquals(Long.valueOf(7L), Long.valueOf(list12_3.replaceLong(8L)));
+        assertEquals(Long.valueOf(8L), Long.valueOf(list12_3.getNextLong()));
+        assertEquals(Long.valueOf(2L), Long.valueOf(list12_3.getPreviousLong()));
+    }
+
+    @Test
+    public void longIteratorDoesNotMoveTheCursor() {
+        list12_3.reset();
+        PrimitiveIterator.OfLong iterator = list12_3.longIterator();
+        assertEquals(Long.valueOf(1L), Long.valueOf(iterator.nextLong()));
+        assertEquals(Long.valueOf(2L), Long.valueOf(iterator.nextLong()));
+        assertEquals(Long.valueOf(3L), Long.valueOf(iterator.nextLong()));
+        assertFalse(iterator.hasNext());
+        assertEquals(0, list12_3.leftLength());
+    }
+
+    @Test
+    public void swapRights() {
+        LongTravList other = new LongTravList(3);
+        other.insertLong(20L);
+        list12_3.swapRights(other);
+        assertEquals(Long.valueOf(20L), list12_3.getNext());
+        assertEquals(Long.valueOf(3L), other.getNext());
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("[1, 2][3]:5", list12_3.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void insertNull() {
+        list12_3.insert(null);
+        fail();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void deleteLongEmpty() {
+        empty.deleteLong();
+        fail();
+    }
+}
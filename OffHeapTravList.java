@@ -0,0 +1,457 @@
+package boundedtravlist;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * <p>Traversable list whose elements are stored outside the Java heap.</p>
+ *
+ * <p>Every element is encoded by a {@link RecordCodec} into a fixed-width record.
+ * The records live in one direct buffer sized to the capacity: the left part
+ * fills the front of the buffer, the right part fills the back of the buffer,
+ * and the free records sit in between, at the cursor position.
+ * Moving the cursor copies record bytes inside the buffer and does not
+ * allocate any object.</p>
+ *
+ * <p>{@link #close()} frees the native memory of the buffer at once, through
+ * {@code sun.misc.Unsafe.invokeCleaner} from the {@code jdk.unsupported} module,
+ * and the list cannot be used after it is closed. On a runtime without that
+ * method, and for a list that is never closed, the memory is given back only
+ * when the buffer is garbage collected. A list that wraps a buffer it did
+ * not allocate never frees it.</p>
+ *
+ * @author Joyce
+ * @param <E> the type of elements in this list.
+ */
+public class OffHeapTravList<E> extends AbstractTravList<E> implements AutoCloseable {
+    // representation
+
+    private final RecordCodec<E> codec;
+
+    /**
+     * Record width in bytes.
+     */
+    private final int width;
+
+    /**
+     * Records of the list, the free records are {@code [gapStart, gapEnd)}.
+     */
+    private ByteBuffer storage;
+
+    /**
+     * Whether the buffer was allocated by this list, which then frees it on close.
+     */
+    private final boolean owned;
+
+    private int gapStart;
+    private int gapEnd;
+
+    // storage = |A|B|C|_|_|D|E|, gapStart = 3, gapEnd = 5 ==> TravList = [A, B, C][D, E]:7
+
+    public OffHeapTravList(int max, RecordCodec<E> codec) {
+        super(max);
+        if (max <= 0 || codec == null || codec.width() <= 0) throw new IllegalArgumentException();
+        if ((long) max * codec.width() > Integer.MAX_VALUE) throw new IllegalArgumentException();
+
+        this.codec = codec;
+        this.width = codec.width();
+        this.storage = ByteBuffer.allocateDirect(max * this.width);
+        this.owned = true;
+        this.gapStart = 0;
+        this.gapEnd = max;
+    }
+
+    /*
+     * Wraps records that are already laid out in a buffer,
+     * the left part at the front and the right part at the back.
+     */
+    OffHeapTravList(int max, RecordCodec<E> codec, ByteBuffer storage, int leftLength, int rightLength) {
+        super(max);
+        if (storage.capacity() != max * codec.width() || leftLength < 0 || rightLength < 0
+                || leftLength + rightLength > max) {
+            throw new IllegalArgumentException();
+        }
+
+        this.codec = codec;
+        this.width = codec.width();
+        this.storage = storage;
+        this.owned = false;
+        this.gapStart = leftLength;
+        this.gapEnd = max - rightLength;
+    }
+
+    @Override
+    public void insert(E elem) throws IllegalArgumentException {
+        this.ensureOpen();
+        if (elem == null || this.gapStart == this.gapEnd) throw new IllegalArgumentException();
+
+        this.codec.encode(elem, this.storage, (this.gapEnd - 1) * this.width);
+        this.gapEnd--;
+        this.hashInsert(elem);
+    }
+
+    @Override
+    public E delete() {
+        this.ensureOpen();
+        if (this.rightLength() == 0) throw new IllegalStateException();
+
+        E elem = this.codec.decode(this.storage, this.gapEnd++ * this.width);
+        this.hashDelete(elem);
+        return elem;
+    }
+
+    @Override
+    public void advance() throws IllegalStateException {
+        this.ensureOpen();
+        if (this.rightLength() == 0) throw new IllegalStateException();
+
+        this.moveRecords(this.gapEnd++, this.gapStart++, 1);
+        // only decode the record when somebody has asked for the hash
+        if (this.hashTracked()) this.hashAdvance(this.codec.decode(this.storage, (this.gapStart - 1) * this.width));
+    }
+
+    @Override
+    public void retreat() throws IllegalStateException {
+        this.ensureOpen();
+        if (this.leftLength() == 0) throw new IllegalStateException();
+
+        this.moveRecords(--this.gapStart, --this.gapEnd, 1);
+        if (this.hashTracked()) this.hashRetreat(this.codec.decode(this.storage, this.gapEnd * this.width));
+    }
+
+    @Override
+    public void reset() {
+        this.moveTo(0);
+    }
+
+    @Override
+    public void advanceToEnd() {
+        this.moveTo(this.gapStart + this.rightLength());
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Moves the cursor so that {@code index} elements are to its left.
+     * The records between the old and the new cursor position
+     * are copied across the free records as one block.
+     *
+     * @param index the new number of elements to the left of the cursor.
+     * @throws IllegalArgumentException if {@code index} is negative
+     *                                  or greater than the number of elements
+     */
+    @Override
+    public void moveTo(int index) throws IllegalArgumentException {
+        this.ensureOpen();
+        if (index < 0 || index > this.gapStart + this.rightLength()) throw new IllegalArgumentException();
+        if (index != this.gapStart) this.hashInvalidate();
+
+        if (index < this.gapStart) {
+            int moved = this.gapStart - index;
+            this.moveRecords(index, this.gapEnd - moved, moved);
+            this.gapStart = index;
+            this.gapEnd -= moved;
+        } else if (index > this.gapStart) {
+            int moved = index - this.gapStart;
+            this.moveRecords(this.gapEnd, this.gapStart, moved);
+            this.gapStart = index;
+            this.gapEnd += moved;
+        }
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Swaps the right part of {@code this} list with
+     * the right part of {@code that} list.
+     * When both lists are off-heap lists with the same codec,
+     * the right parts are exchanged as blocks of bytes.
+     *
+     * @param that right part of the list passed in parameter.
+     * @throws IllegalArgumentException if one of the lists cannot hold the other right part
+     */
+    @Override
+    public void swapRights(TravList<E> that) {
+        if (!this.sharesRecordsWith(that)) {
+            super.swapRights(that);
+            return;
+        }
+        if (that == this) return;
+
+        OffHeapTravList<E> other = (OffHeapTravList<E>) that;
+        this.ensureOpen();
+        other.ensureOpen();
+        int thisRight = this.rightLength();
+        int thatRight = other.rightLength();
+        if (this.gapStart + thatRight > this.capacity()
+                || other.gapStart + thisRight > other.capacity()) {
+            throw new IllegalArgumentException();
+        }
+
+        byte[] temp = new byte[thisRight * this.width];
+        this.storage.get(this.gapEnd * this.width, temp);
+        this.gapEnd = this.capacity() - thatRight;
+        this.storage.put(this.gapEnd * this.width, other.storage, other.gapEnd * this.width, thatRight * this.width);
+        other.gapEnd = other.capacity() - thisRight;
+        other.storage.put(other.gapEnd * this.width, temp);
+        this.hashInvalidate();
+        other.hashInvalidate();
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Adds all the elements from {@code that} traversable list to the left of the cursor.
+     * When {@code that} is an off-heap list with the same codec,
+     * its right part is copied into {@code this} list as one block of bytes.
+     *
+     * @param that list passed in parameter.
+     * @throws IllegalArgumentException if the cursor of {@code that} is not at the beginning
+     *                                  or if {@code this} list cannot hold the elements
+     */
+    @Override
+    public void splice(TravList<E> that) {
+        if (that == this || !this.sharesRecordsWith(that)) {
+            super.splice(that);
+            return;
+        }
+
+        OffHeapTravList<E> other = (OffHeapTravList<E>) that;
+        this.ensureOpen();
+        other.ensureOpen();
+        int moved = other.rightLength();
+        if (other.leftLength() != 0 || this.gapEnd - this.gapStart < moved) {
+            throw new IllegalArgumentException();
+        }
+
+        this.storage.put(this.gapStart * this.width, other.storage, other.gapEnd * this.width, moved * this.width);
+        this.gapStart += moved;
+        other.gapEnd = other.capacity();
+        this.hashInvalidate();
+        other.hashInvalidate();
+    }
+
+    /*
+     * Records can only be copied as bytes between lists that encode them
+     * the same way; two codecs of the same width may not.
+     */
+    private boolean sharesRecordsWith(TravList<E> that) {
+        return that instanceof OffHeapTravList && ((OffHeapTravList<E>) that).codec.equals(this.codec);
+    }
+
+    @Override
+    public E replace(E element) {
+        this.ensureOpen();
+        if (element == null) throw new IllegalArgumentException();
+        if (this.rightLength() == 0) throw new IllegalStateException();
+
+        E elem = this.codec.decode(this.storage, this.gapEnd * this.width);
+        this.codec.encode(element, this.storage, this.gapEnd * this.width);
+        this.hashReplace(elem, element);
+        return elem;
+    }
+
+    @Override
+    public int leftLength() {
+        return this.gapStart;
+    }
+
+    @Override
+    public int rightLength() {
+        return this.capacity() - this.gapEnd;
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Reverses the records at positions {@code [from, to)} in place,
+     * swapping pairs of records from both ends of the range.
+     * The free records do not move.
+     *
+     * @param from first position of the range, inclusive.
+     * @param to   last position of the range, exclusive.
+     * @throws IllegalArgumentException if the range is not inside the list
+     */
+    @Override
+    public void reverseRange(int from, int to) throws IllegalArgumentException {
+        this.ensureOpen();
+        if (from < 0 || to > this.gapStart + this.rightLength() || from > to) throw new IllegalArgumentException();
+
+        int gap = this.gapEnd - this.gapStart;
+        byte[] a = new byte[this.width];
+        byte[] b = new byte[this.width];
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            int first = (i < this.gapStart ? i : i + gap) * this.width;
+            int last = (j < this.gapStart ? j : j + gap) * this.width;
+            this.storage.get(first, a).get(last, b);
+            this.storage.put(first, b).put(last, a);
+        }
+        this.hashInvalidate();
+    }
+
+    @Override
+    protected void insertBlock(Object[] block) {
+        this.ensureOpen();
+        // encode the block straight into the end of the gap
+        int start = this.gapEnd - block.length;
+        for (int i = 0; i < block.length; i++) {
+            @SuppressWarnings("unchecked")
+            E elem = (E) block[i];
+            this.codec.encode(elem, this.storage, (start + i) * this.width);
+        }
+        this.gapEnd = start;
+        this.hashInsertBlock(block);
+    }
+
+    @Override
+    protected void deleteBlock(int n, Consumer<? super E> action) {
+        this.ensureOpen();
+        Object[] block = new Object[n];
+        for (int i = 0; i < n; i++) block[i] = this.codec.decode(this.storage, (this.gapEnd + i) * this.width);
+        this.gapEnd += n;
+        this.handOut(block, action);
+    }
+
+    @Override
+    protected void load(int leftCount, int rightCount, Iterator<? extends E> elements) {
+        this.ensureOpen();
+        for (int i = 0; i < leftCount; i++) this.codec.encode(elements.next(), this.storage, i * this.width);
+        this.gapStart = leftCount;
+        this.gapEnd = this.capacity() - rightCount;
+        for (int i = this.gapEnd; i < this.capacity(); i++) this.codec.encode(elements.next(), this.storage, i * this.width);
+        this.hashInvalidate();
+    }
+
+    @Override
+    protected Spliterator<E> spliterator(int from, int to) {
+        this.ensureOpen();
+        ByteBuffer records = this.storage;
+        int gap = this.gapEnd - this.gapStart;
+        int left = this.gapStart;
+        return new IndexedSpliterator<>(i -> {
+            // the buffer may have been freed by close since the spliterator was made
+            if (this.storage != records) throw new IllegalStateException();
+            return this.codec.decode(records, (i < left ? i : i + gap) * this.width);
+        }, from, to);
+    }
+
+    @Override
+    public void forEachLeft(Consumer<? super E> action) {
+        this.ensureOpen();
+        for (int i = 0; i < this.gapStart; i++) action.accept(this.codec.decode(this.storage, i * this.width));
+    }
+
+    @Override
+    public void forEachRight(Consumer<? super E> action) {
+        this.ensureOpen();
+        for (int i = this.gapEnd; i < this.capacity(); i++) action.accept(this.codec.decode(this.storage, i * this.width));
+    }
+
+    @Override
+    protected void forEachRightReversed(Consumer<? super E> action) {
+        this.ensureOpen();
+        for (int i = this.capacity() - 1; i >= this.gapEnd; i--) action.accept(this.codec.decode(this.storage, i * this.width));
+    }
+
+    @Override
+    public TravList<E> newInstance() {
+        return new OffHeapTravList<>(this.capacity(), this.codec);
+    }
+
+    @Override
+    public E getNext() {
+        this.ensureOpen();
+        return this.rightLength() == 0 ? null : this.codec.decode(this.storage, this.gapEnd * this.width);
+    }
+
+    @Override
+    public E getPrevious() {
+        this.ensureOpen();
+        return this.leftLength() == 0 ? null : this.codec.decode(this.storage, (this.gapStart - 1) * this.width);
+    }
+
+    /**
+     * Frees the native memory of this list now, without waiting for the
+     * garbage collector, when the runtime allows it (see the class comment).
+     * Every later call except {@code close}, {@code capacity},
+     * {@code leftLength} and {@code rightLength} throws an {@code IllegalStateException},
+     * and so do the streams and iterators made before.
+     * The list must not be closed while another thread reads it.
+     */
+    @Override
+    public void close() {
+        ByteBuffer released = this.storage;
+        this.storage = null;
+        if (released != null && this.owned) Release.free(released);
+    }
+
+    /**
+     * Tells whether {@link #close()} frees the native memory at once on this runtime.
+     *
+     * @return {@code false} if the memory is only given back by the garbage collector.
+     */
+    public static boolean releasesOnClose() {
+        return Release.INVOKE_CLEANER != null;
+    }
+
+    /**
+     * Tells whether {@link #close()} has been called.
+     *
+     * @return {@code true} if the native memory was released.
+     */
+    public boolean isClosed() {
+        return this.storage == null;
+    }
+
+    /*
+     * Copies a run of records inside the buffer; overlapping runs are allowed.
+     */
+    private void moveRecords(int from, int to, int count) {
+        if (count == 0 || from == to) return;
+        this.storage.put(to * this.width, this.storage, from * this.width, count * this.width);
+    }
+
+    private void ensureOpen() {
+        if (this.storage == null) throw new IllegalStateException();
+    }
+
+    /*
+     * Looked up on first use, not when the list class loads, so that a runtime without
+     * jdk.unsupported only loses the eager release.
+     */
+    private static final class Release {
+        static final MethodHandle INVOKE_CLEANER = lookup();
+
+        private static MethodHandle lookup() {
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Field field = unsafeClass.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                return MethodHandles.lookup()
+                        .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                        .bindTo(field.get(null));
+            } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+                return null;
+            }
+        }
+
+        static void free(ByteBuffer buffer) {
+            if (INVOKE_CLEANER == null) return;
+            try {
+                INVOKE_CLEANER.invokeExact(buffer);
+            } catch (RuntimeException e) {
+                // the garbage collector still frees the buffer
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // invokeCleaner declares no checked exception
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package boundedtravlist;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.ListIterator;
+
+public class OffHeapTravListTest {
+
+    OffHeapTravList<Integer> empty;
+    OffHeapTravList<Integer> list123_45;
+
+    @Before
+    public void setUp() throws Exception {
+
+        empty = new OffHeapTravList<>(5, RecordCodec.INT);
+        list123_45 = new OffHeapTravList<>(5, RecordCodec.INT);
+        list123_45.insert(5);
+        list123_45.insert(4);
+        list123_45.insert(3);
+        list123_45.insert(2);
+        list123_45.insert(1);
+        list123_45.advance();
+        list123_45.advance();
+        list123_45.advance();
+    }
+
+    // ==========================================================
+    // Setup Methods
+    // ==========================================================
+
+    @Test
+    public void initEmptySetup() {
+        assertEquals(0, empty.leftLength());
+        assertEquals(0, empty.rightLength());
+        assertNull(empty.getPrevious());
+        assertNull(empty.getNext());
+    }
+
+    @Test
+    public void initDefaultSetup() {
+        assertEquals(3, list123_45.leftLength());
+        assertEquals(2, list123_45.rightLength());
+        assertEquals(Integer.valueOf(3), list123_45.getPrevious());
+        assertEquals(Integer.valueOf(4), list123_45.getNext());
+    }
+
+    // ==========================================================
+    // Primary Methods
+    // ==========================================================
+
+    @Test
+    public void deleteAndInsert() {
+        assertEquals(Integer.valueOf(4), list123_45.delete());
+        list123_45.insert(9);
+        assertEquals(3, list123_45.leftLength());
+        assertEquals(2, list123_45.rightLength());
+        assertEquals(Integer.valueOf(9), list123_45.getNext());
+    }
+
+    @Test
+    public void retreatInFullList() {
+        list123_45.retreat();
+        assertEquals(Integer.valueOf(2), list123_45.getPrevious());
+        assertEquals(Integer.valueOf(3), list123_45.getNext());
+    }
+
+    @Test
+    public void resetAndAdvanceToEnd() {
+        list123_45.delete();
+        list123_45.reset();
+        assertEquals(0, list123_45.leftLength());
+        assertEquals(4, list123_45.rightLength());
+        assertEquals(Integer.valueOf(1), list123_45.getNext());
+        list123_45.advanceToEnd();
+        assertEquals(4, list123_45.leftLength());
+        assertEquals(Integer.valueOf(5), list123_45.getPrevious());
+        list123_45.retreat();
+        list123_45.retreat();
+        assertEquals(Integer.valueOf(3), list123_45.getNext());
+    }
+
+    @Test
+    public void replace() {
+        assertEquals(Integer.valueOf(4), list123_45.replace(7));
+        assertEquals(Integer.valueOf(7), list123_45.getNext());
+    }
+
+    @Test
+    public void swapRights() {
+        OffHeapTravList<Integer> other = new OffHeapTravList<>(3, RecordCodec.INT);
+        other.insert(30);
+        other.insert(20);
+        other.insert(10);
+        other.advance();
+        list123_45.swapRights(other);
+        assertEquals(3, list123_45.leftLength());
+        assertEquals(2, list123_45.rightLength());
+        assertEquals(Integer.valueOf(20), list123_45.getNext());
+        assertEquals(1, other.leftLength());
+        assertEquals(2, other.rightLength());
+        assertEquals(Integer.valueOf(4), other.getNext());
+        other.advance();
+        assertEquals(Integer.valueOf(5), other.getNext());
+    }
+
+    @Test
+    public void splice() {
+        OffHeapTravList<Integer> ab_c = new OffHeapTravList<>(6, RecordCodec.INT);
+        OffHeapTravList<Integer> xy = new OffHeapTravList<>(2, RecordCodec.INT);
+        ab_c.insert(3);
+        ab_c.insert(2);
+        ab_c.insert(1);
+        ab_c.advance();
+        xy.insert(20);
+        xy.insert(10);
+        ab_c.splice(xy);
+        assertEquals(3, ab_c.leftLength());
+        assertEquals(2, ab_c.rightLength());
+        assertEquals(Integer.valueOf(2), ab_c.getNext());
+        assertEquals(Integer.valueOf(20), ab_c.getPrevious());
+        assertNull(xy.getNext());
+    }
+
+    @Test
+    public void swapRightsAndSpliceWithAnotherCodecOfTheSameWidth() {
+        RecordCodec<Integer> littleEndian = new RecordCodec<>() {
+            @Override
+            public int width() {
+                return Integer.BYTES;
+            }
+
+            @Override
+            public void encode(Integer elem, ByteBuffer buffer, int offset) {
+                buffer.putInt(offset, Integer.reverseBytes(elem));
+            }
+
+            @Override
+            public Integer decode(ByteBuffer buffer, int offset) {
+                return Integer.reverseBytes(buffer.getInt(offset));
+            }
+        };
+        OffHeapTravList<Integer> other = new OffHeapTravList<>(8, littleEndian);
+        other.insert(20);
+        other.insert(10);
+        list123_45.swapRights(other);
+        assertEquals("[1, 2, 3][20, 10]:5", list123_45.toString());
+        assertEquals("[][5, 4]:8", other.toString());
+
+        list123_45.reset();
+        other.splice(list123_45);
+        assertEquals("[1, 2, 3, 10, 20][5, 4]:8", other.toString());
+    }
+
+    @Test
+    public void reverse() {
+        list123_45.reverse();
+        assertNull(list123_45.getNext());
+        assertEquals(Integer.valueOf(1), list123_45.getPrevious());
+        assertEquals(5, list123_45.leftLength());
+    }
+
+    @Test
+    public void reverseRange() {
+        list123_45.reverseRange(1, 5);
+        assertEquals(3, list123_45.cursorIndex());
+        assertEquals(Integer.valueOf(4), list123_45.getPrevious());
+        assertEquals(Integer.valueOf(3), list123_45.getNext());
+        list123_45.reset();
+        assertEquals(Integer.valueOf(1), list123_45.getNext());
+    }
+
+    @Test
+    public void listIterator() {
+        ListIterator<Integer> iterator = list123_45.listIterator();
+        assertEquals(Integer.valueOf(4), iterator.next());
+        assertEquals(4, list123_45.leftLength());
+        assertEquals(Integer.valueOf(4), iterator.previous());
+        assertEquals(3, list123_45.leftLength());
+    }
+
+    @Test
+    public void bulkMethodsEncodeAndDecodeBlocks() {
+        list123_45.retreat();
+        assertEquals(Arrays.asList(3, 4, 5), list123_45.deleteRight(3));
+        list123_45.insertAll(new Integer[]{7, 8, 9});
+        assertEquals("[1, 2][9, 8, 7]:5", list123_45.toString());
+        list123_45.advanceBy(3);
+        list123_45.retreatBy(1);
+        assertEquals(Integer.valueOf(9), list123_45.getNext());
+    }
+
+    // ==========================================================
+    // Simple Exceptions
+    // ==========================================================
+
+    @Test(expected = IllegalArgumentException.class)
+    public void insertInFullListAndElementIsNull() {
+        list123_45.insert(6);
+        fail();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void deleteEmpty() {
+        empty.delete();
+        fail();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void useAfterClose() {
+        list123_45.close();
+        assertTrue(list123_45.isClosed());
+        list123_45.getNext();
+        fail();
+    }
+
+    @Test
+    public void closeFreesTheBufferOnce() {
+        assertTrue(OffHeapTravList.releasesOnClose());
+        list123_45.close();
+        list123_45.close();
+        assertTrue(list123_45.isClosed());
+        assertEquals(3, list123_45.leftLength());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void streamAfterClose() {
+        Iterator<Integer> iterator = list123_45.stream().iterator();
+        list123_45.close();
+        iterator.next();
+        fail();
+    }
+
+    @Test
+    public void streamsDoNotMoveCursor() {
+        assertEquals(15, list123_45.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(9, list123_45.rightStream().mapToInt(Integer::intValue).sum());
+        assertEquals(5, list123_45.parallelStream().count());
+        assertEquals(3, list123_45.leftLength());
+    }
+
+    @Test
+    public void equalsAnyListWithTheSameElements() {
+        TravList<Integer> same = new SimpleTravList<>(10);
+        for (int i : new int[] {1, 2, 3, 4, 5}) {
+            same.insert(i);
+            same.advance();
+        }
+        same.moveTo(3);
+        assertEquals(list123_45.hashCode(), same.hashCode());
+        assertEquals(list123_45, same);
+
+        list123_45.retreat();
+        list123_45.replace(7);
+        same.retreat();
+        same.replace(7);
+        assertEquals(same.hashCode(), list123_45.hashCode());
+        assertEquals(same, list123_45);
+    }
+
+    // ==========================================================
+    // Inherit method
+    // ==========================================================
+
+    @Test
+    public void testToString() {
+        assertEquals("[1, 2, 3][5, 4]:5", list123_45.toString());
+    }
+}
@@ -0,0 +1,204 @@
+package boundedtravlist;
+
+/**
+ * <p>Immutable version of a traversable list.</p>
+ *
+ * <p>A zipper is two persistent singly linked lists that meet at the cursor:
+ * the left one holds the elements to the left of the cursor, nearest
+ * first, and the right one the elements to the right, nearest first.
+ * Nothing is ever changed in place. Every operation returns a new zipper
+ * that shares all the unchanged nodes with the old one, so keeping an old
+ * version costs nothing, and a version only allocates nodes for the
+ * elements that it inserted or moved across the cursor.</p>
+ *
+ * <p>{@code insert}, {@code delete}, {@code advance}, {@code retreat},
+ * {@code replace}, {@code getNext} and {@code getPrevious} run in
+ * constant time; {@code moveTo} runs in time proportional to the distance
+ * moved. A zipper can be shared freely between threads. It is used
+ * as a mutable {@link TravList} through {@link ZipperTravList}.</p>
+ *
+ * @author Joyce
+ * @param <E> the type of elements in this zipper.
+ */
+public final class PersistentZipper<E> {
+
+    static final class Node<E> {
+        final E value;
+        final Node<E> tail;
+
+        Node(E value, Node<E> tail) {
+            this.value = value;
+            this.tail = tail;
+        }
+    }
+
+    // representation
+
+    /**
+     * Elements to the left of the cursor, the one next to the cursor first.
+     */
+    final Node<E> left;
+
+    /**
+     * Elements to the right of the cursor, the one next to the cursor first.
+     */
+    final Node<E> right;
+
+    final int leftLength;
+    final int rightLength;
+    final int capacity;
+
+    // left = B -> A, right = C -> D -> E ==> TravList = [A, B][C, D, E]
+
+    PersistentZipper(Node<E> left, int leftLength, Node<E> right, int rightLength, int capacity) {
+        this.left = left;
+        this.leftLength = leftLength;
+        this.right = right;
+        this.rightLength = rightLength;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @param capacity largest number of elements of the zipper and of its later versions.
+     * @param <E>      the type of elements in the zipper.
+     * @return a zipper without elements.
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public static <E> PersistentZipper<E> empty(int capacity) throws IllegalArgumentException {
+        if (capacity < 0) throw new IllegalArgumentException();
+        return new PersistentZipper<>(null, 0, null, 0, capacity);
+    }
+
+    /**
+     * @param elem the element to insert to the right of the cursor.
+     * @return the zipper with the element inserted.
+     * @throws IllegalArgumentException if the element is null or the zipper is full
+     */
+    public PersistentZipper<E> insert(E elem) throws IllegalArgumentException {
+        if (elem == null || this.leftLength + this.rightLength >= this.capacity) throw new IllegalArgumentException();
+        return new PersistentZipper<>(this.left, this.leftLength, new Node<>(elem, this.right), this.rightLength + 1, this.capacity);
+    }
+
+    /**
+     * @return the zipper without the element to the right of the cursor.
+     * @throws IllegalStateException if there is no element to the right of the cursor
+     */
+    public PersistentZipper<E> delete() throws IllegalStateException {
+        if (this.right == null) throw new IllegalStateException();
+        return new PersistentZipper<>(this.left, this.leftLength, this.right.tail, this.rightLength - 1, this.capacity);
+    }
+
+    /**
+     * @return the zipper with its cursor one element further.
+     * @throws IllegalStateException if there is no element to the right of the cursor
+     */
+    public PersistentZipper<E> advance() throws IllegalStateException {
+        if (this.right == null) throw new IllegalStateException();
+        return new PersistentZipper<>(new Node<>(this.right.value, this.left), this.leftLength + 1,
+                this.right.tail, this.rightLength - 1, this.capacity);
+    }
+
+    /**
+     * @return the zipper with its cursor one element back.
+     * @throws IllegalStateException if there is no element to the left of the cursor
+     */
+    public PersistentZipper<E> retreat() throws IllegalStateException {
+        if (this.left == null) throw new IllegalStateException();
+        return new PersistentZipper<>(this.left.tail, this.leftLength - 1,
+                new Node<>(this.left.value, this.right), this.rightLength + 1, this.capacity);
+    }
+
+    /**
+     * Moves the cursor so that {@code index} elements are to its left,
+     * allocating one node per element moved across the cursor.
+     *
+     * @param index the new number of elements to the left of the cursor.
+     * @return the zipper with its cursor moved.
+     * @throws IllegalArgumentException if {@code index} is negative
+     *                                  or greater than the number of elements
+     */
+    public PersistentZipper<E> moveTo(int index) throws IllegalArgumentException {
+        if (index < 0 || index > this.leftLength + this.rightLength) throw new IllegalArgumentException();
+
+        Node<E> left = this.left;
+        Node<E> right = this.right;
+        for (int i = this.leftLength; i < index; i++) {
+            left = new Node<>(right.value, left);
+            right = right.tail;
+        }
+        for (int i = this.leftLength; i > index; i--) {
+            right = new Node<>(left.value, right);
+            left = left.tail;
+        }
+        return left == this.left ? this
+                : new PersistentZipper<>(left, index, right, this.leftLength + this.rightLength - index, this.capacity);
+    }
+
+    public PersistentZipper<E> reset() {
+        return this.moveTo(0);
+    }
+
+    public PersistentZipper<E> advanceToEnd() {
+        return this.moveTo(this.leftLength + this.rightLength);
+    }
+
+    /**
+     * @param elem the element to put to the right of the cursor.
+     * @return the zipper with the element to the right of the cursor replaced.
+     * @throws IllegalArgumentException if the element is null
+     * @throws IllegalStateException    if there is no element to the right of the cursor
+     */
+    public PersistentZipper<E> replace(E elem) throws IllegalArgumentException, IllegalStateException {
+        if (elem == null) throw new IllegalArgumentException();
+        if (this.right == null) throw new IllegalStateException();
+        return new PersistentZipper<>(this.left, this.leftLength, new Node<>(elem, this.right.tail), this.rightLength, this.capacity);
+    }
+
+    /**
+     * @return the element to the right of the cursor, or null.
+     */
+    public E getNext() {
+        return this.right == null ? null : this.right.value;
+    }
+
+    /**
+     * @return the element to the left of the cursor, or null.
+     */
+    public E getPrevious() {
+        return this.left == null ? null : this.left.value;
+    }
+
+    public int leftLength() {
+        return this.leftLength;
+    }
+
+    public int rightLength() {
+        return this.rightLength;
+    }
+
+    public int capacity() {
+        return this.capacity;
+    }
+
+    /*
+     * The zipper with another right part; the caller checks the capacity.
+     */
+    PersistentZipper<E> withRight(Node<E> right, int rightLength) {
+        return new PersistentZipper<>(this.left, this.leftLength, right, rightLength, this.capacity);
+    }
+
+    /*
+     * The zipper with another left part; the caller checks the capacity.
+     */
+    PersistentZipper<E> withLeft(Node<E> left, int leftLength) {
+        return new PersistentZipper<>(left, leftLength, this.right, this.rightLength, this.capacity);
+    }
+
+    /**
+     * @return the elements in the same form as {@link TravList#toString()}.
+     */
+    @Override
+    public String toString() {
+        return new ZipperTravList<>(this).toString();
+    }
+}
@@ -0,0 +1,101 @@
+package boundedtravlist;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>Converts an element to and from a fixed-width binary record.</p>
+ *
+ * <p>Implementations must read and write with the absolute
+ * {@code get}/{@code put} methods of the buffer, so the position
+ * and the limit of the buffer are never changed, and must always
+ * use exactly {@link #width()} bytes starting at the given offset.</p>
+ *
+ * @author Joyce
+ * @param <E> the type of elements encoded by this codec.
+ */
+public interface RecordCodec<E> {
+    /**
+     * Codec for {@code Integer} elements, 4 bytes per record.
+     */
+    RecordCodec<Integer> INT = new RecordCodec<>() {
+        @Override
+        public int width() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Integer elem, ByteBuffer buffer, int offset) {
+            buffer.putInt(offset, elem);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    /**
+     * Codec for {@code Long} elements, 8 bytes per record.
+     */
+    RecordCodec<Long> LONG = new RecordCodec<>() {
+        @Override
+        public int width() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(Long elem, ByteBuffer buffer, int offset) {
+            buffer.putLong(offset, elem);
+        }
+
+        @Override
+        public Long decode(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    /**
+     * Codec for {@code Double} elements, 8 bytes per record.
+     */
+    RecordCodec<Double> DOUBLE = new RecordCodec<>() {
+        @Override
+        public int width() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void encode(Double elem, ByteBuffer buffer, int offset) {
+            buffer.putDouble(offset, elem);
+        }
+
+        @Override
+        public Double decode(ByteBuffer buffer, int offset) {
+            return buffer.getDouble(offset);
+        }
+    };
+
+    /**
+     * Returns the number of bytes used by one record.
+     *
+     * @return the record width, strictly greater than zero.
+     */
+    int width();
+
+    /**
+     * Writes an element as one record.
+     *
+     * @param elem   the element to encode, never null.
+     * @param buffer the buffer that receives the record.
+     * @param offset absolute index of the first byte of the record.
+     */
+    void encode(E elem, ByteBuffer buffer, int offset);
+
+    /**
+     * Reads one record back into an element.
+     *
+     * @param buffer the buffer that holds the record.
+     * @param offset absolute index of the first byte of the record.
+     * @return the decoded element.
+     */
+    E decode(ByteBuffer buffer, int offset);
+}
@@ -18,13 +18,13 @@ to reset the scroll before calling it.
 class RightIterator<E> implements Iterator<E> {
 
     private final TravList<E> travList;
-    private final int pos;
+    private final Cursor pos;
     private final int length;
     private int count;
 
     public RightIterator(TravList<E> travList) {
         this.travList = travList;
-        pos = travList.leftLength();
+        pos = travList.mark();
         length = travList.rightLength();
         count = 0;
     }
@@ -43,10 +43,7 @@ class RightIterator<E> implements Iterator<E> {
         // If result is the last element in the scroll,
         // then restore the cursor position.
         if (count == length) {
-            travList.reset();
-            for (int i = 0; i < pos; i++) {
-                travList.advance();
-            }
+            travList.restore(pos);
         }
         return result;
     }
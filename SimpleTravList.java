@@ -1,6 +1,7 @@
 package boundedtravlist;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * <p>Java List-based traversable list.</p>
@@ -46,6 +47,7 @@ public class SimpleTravList<E> extends AbstractTravList<E> {
         // add element in the list
         // before, look for the cursor position to determine where to insert the element
         this.list.add(this.pos, elem);
+        this.hashInsert(elem);
     }
 
     private boolean isFull() {
@@ -64,7 +66,9 @@ public class SimpleTravList<E> extends AbstractTravList<E> {
         // throw exception if the list is empty
         if (this.isEmpty()) throw new IllegalStateException();
 
-        return this.list.remove(this.pos);
+        E elem = this.list.remove(this.pos);
+        this.hashDelete(elem);
+        return elem;
     }
 
     private boolean isEmpty() { return this.list.isEmpty(); }
@@ -80,6 +84,7 @@ public class SimpleTravList<E> extends AbstractTravList<E> {
         if (this.rightLength() == 0) throw new IllegalStateException();
 
         // else increment the cursor
+        this.hashAdvance(this.list.get(this.pos));
         this.pos = this.pos + 1;
     }
 
@@ -95,6 +100,7 @@ public class SimpleTravList<E> extends AbstractTravList<E> {
 
         // else decrement the cursor
         this.pos = this.pos - 1;
+        this.hashRetreat(this.list.get(this.pos));
     }
 
     /**
@@ -105,7 +111,7 @@ public class SimpleTravList<E> extends AbstractTravList<E> {
      */
     @Override
     public void reset() {
-        while(this.pos > 0) this.retreat();
+        this.moveTo(0);
     }
 
     /**
@@ -116,9 +122,25 @@ public class SimpleTravList<E> extends AbstractTravList<E> {
      */
     @Override
     public void advanceToEnd() {
-        while(this.getNext() != null) {
-            this.advance();
-        }
+        this.moveTo(this.list.size());
+    }
+
+    /**
+     * "Secondary Method"
+     *
+     * Moves the cursor so that {@code index} elements are to its left.
+     * The cursor is an index in the list, so this runs in constant time.
+     *
+     * @param index the new number of elements to the left of the cursor.
+     * @throws IllegalArgumentException if {@code index} is negative
+     *                                  or greater than the number of elements
+     */
+    @Override
+    public void moveTo(int index) throws IllegalArgumentException {
+        if (index < 0 || index > this.list.size()) throw new IllegalArgumentException();
+
+        if (index != this.pos) this.hashInvalidate();
+        this.pos = index;
     }
 
     /**
@@ -134,15 +156,8 @@ public class SimpleTravList<E> extends AbstractTravList<E> {
      */
     @Override
     public int leftLength() {
-        // we initialize an element counter to 0
-        int numberOfElement = 0;
-
-        for(int p = this.pos; p > 0; p--) {
-            numberOfElement++;
-        }
-
-        // then we return this number
-        return numberOfElement;
+        // the cursor position is the number of elements before it
+        return this.pos;
     }
 
     /**
@@ -156,15 +171,60 @@ public class SimpleTravList<E> extends AbstractTravList<E> {
      */
     @Override
     public int rightLength() {
-        // we initialize an element counter to 0
-        int numberOfElement = 0;
+        return this.list.size() - this.pos;
+    }
 
-        for(int p = this.pos; p < this.list.size(); p++) {
-            numberOfElement++;
-        }
+    @Override
+    public void reverseRange(int from, int to) throws IllegalArgumentException {
+        if (from < 0 || to > this.list.size() || from > to) throw new IllegalArgumentException();
+
+        Collections.reverse(this.list.subList(from, to));
+        this.hashInvalidate();
+    }
+
+    @Override
+    protected void insertBlock(Object[] block) {
+        // one shift of the elements after the cursor for the whole block
+        @SuppressWarnings("unchecked")
+        List<E> elements = (List<E>) Arrays.asList(block);
+        this.list.addAll(this.pos, elements);
+        this.hashInsertBlock(block);
+    }
+
+    @Override
+    protected void deleteBlock(int n, Consumer<? super E> action) {
+        // cut the block out with one shift, then hand it out
+        List<E> range = this.list.subList(this.pos, this.pos + n);
+        Object[] block = range.toArray();
+        range.clear();
+        this.handOut(block, action);
+    }
+
+    @Override
+    protected void load(int leftCount, int rightCount, Iterator<? extends E> elements) {
+        for (int i = 0; i < leftCount + rightCount; i++) this.list.add(elements.next());
+        this.pos = leftCount;
+        this.hashInvalidate();
+    }
+
+    @Override
+    protected Spliterator<E> spliterator(int from, int to) {
+        return new IndexedSpliterator<>(this.list::get, from, to);
+    }
+
+    @Override
+    public void forEachLeft(Consumer<? super E> action) {
+        for (int i = 0; i < this.pos; i++) action.accept(this.list.get(i));
+    }
 
-        // then we return this number
-        return numberOfElement;
+    @Override
+    public void forEachRight(Consumer<? super E> action) {
+        for (int i = this.pos; i < this.list.size(); i++) action.accept(this.list.get(i));
+    }
+
+    @Override
+    protected void forEachRightReversed(Consumer<? super E> action) {
+        for (int i = this.list.size() - 1; i >= this.pos; i--) action.accept(this.list.get(i));
     }
 
     /**
@@ -0,0 +1,55 @@
+package boundedtravlist;
+
+/*
+ * Polynomial hash of a stack of element hash codes, updated in constant time
+ * when an element is pushed on or popped off the top.
+ * The element at depth k from the bottom is weighted by BASE^k, so
+ * hash = h(bottom) + h(next) * BASE + ... + h(top) * BASE^(size - 1),
+ * all modulo 2^32.
+ */
+final class StackHash {
+    static final int BASE = 0x01000193;
+
+    // BASE is odd, so it has an inverse modulo 2^32; Newton's iteration doubles the correct bits
+    private static final int INVERSE;
+
+    static {
+        int inverse = BASE;
+        for (int i = 0; i < 5; i++) inverse *= 2 - BASE * inverse;
+        INVERSE = inverse;
+    }
+
+    private int hash;
+
+    /*
+     * BASE^size, the weight of the next pushed element.
+     */
+    private int power = 1;
+
+    void push(int elementHash) {
+        this.hash += elementHash * this.power;
+        this.power *= BASE;
+    }
+
+    void pop(int elementHash) {
+        this.power *= INVERSE;
+        this.hash -= elementHash * this.power;
+    }
+
+    /*
+     * Slides a new element under the bottom of the stack.
+     */
+    void pushUnder(int elementHash) {
+        this.hash = this.hash * BASE + elementHash;
+        this.power *= BASE;
+    }
+
+    void clear() {
+        this.hash = 0;
+        this.power = 1;
+    }
+
+    int hash() {
+        return this.hash;
+    }
+}
@@ -1,9 +1,14 @@
 package boundedtravlist;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.ListIterator;
+import java.util.Spliterator;
 import java.util.Objects;
 import java.util.Stack;
+import java.util.function.Consumer;
 
 public class StackTravList<E> extends AbstractTravList<E> {
     private Stack<E> left, right;
@@ -27,10 +32,11 @@ public class StackTravList<E> extends AbstractTravList<E> {
         if(elem == null || this.isFull()) throw new IllegalArgumentException();
 
         this.right.push(elem);
+        this.hashInsert(elem);
     }
 
     private boolean isFull() {
-        return this.right.size() == this.capacity();
+        return this.left.size() + this.right.size() >= this.capacity();
     }
 
     /**
@@ -43,7 +49,9 @@ public class StackTravList<E> extends AbstractTravList<E> {
     @Override
     public E delete() {
         if(this.right.isEmpty()) throw new IllegalStateException();
-        return this.right.pop();
+        E elem = this.right.pop();
+        this.hashDelete(elem);
+        return elem;
     }
 
     /**
@@ -55,7 +63,8 @@ public class StackTravList<E> extends AbstractTravList<E> {
     public void advance() throws IllegalStateException {
         if(this.right.isEmpty() || this.rightLength() == 0) throw new IllegalStateException();
 
-        this.left.push(right.pop());
+        E elem = this.left.push(right.pop());
+        this.hashAdvance(elem);
     }
 
     /**
@@ -67,7 +76,8 @@ public class StackTravList<E> extends AbstractTravList<E> {
     public void retreat() {
         if(this.left.isEmpty()) throw new IllegalStateException();
 
-        this.right.push(left.pop());
+        E elem = this.right.push(left.pop());
+        this.hashRetreat(elem);
     }
 
     /**
@@ -79,7 +89,7 @@ public class StackTravList<E> extends AbstractTravList<E> {
      */
     @Override
     public void reset() {
-        while(!this.left.isEmpty()) this.retreat();
+        this.transfer(this.left, this.right, this.left.size());
     }
 
     /**
@@ -91,7 +101,94 @@ public class StackTravList<E> extends AbstractTravList<E> {
      */
     @Override
     public void advanceToEnd() {
-        while(!this.right.isEmpty()) this.advance();
+        this.transfer(this.right, this.left, this.right.size());
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Moves the cursor so that {@code index} elements are to its left.
+     * The elements crossing the cursor are moved from one stack
+     * to the other as one block instead of one pop and push each.
+     *
+     * @param index the new number of elements to the left of the cursor.
+     * @throws IllegalArgumentException if {@code index} is negative
+     *                                  or greater than the number of elements
+     */
+    @Override
+    public void moveTo(int index) throws IllegalArgumentException {
+        if (index < 0 || index > this.left.size() + this.right.size()) throw new IllegalArgumentException();
+
+        if (index < this.left.size()) this.transfer(this.left, this.right, this.left.size() - index);
+        else this.transfer(this.right, this.left, index - this.left.size());
+    }
+
+    /*
+     * Pops count elements from one stack and pushes them on the other,
+     * the same result as a loop of pop/push done with bulk vector operations.
+     */
+    private void transfer(Stack<E> from, Stack<E> to, int count) {
+        if (count == 0) return;
+        this.hashInvalidate();
+        List<E> top = from.subList(from.size() - count, from.size());
+        List<E> block = new ArrayList<>(top);
+        Collections.reverse(block);
+        to.addAll(block);
+        top.clear();
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Moves all the elements to the left of the cursor in reverse order.
+     * After a reset the right stack, read from the bottom, holds the list
+     * in reverse order, which is exactly the left stack wanted:
+     * the two stacks only swap their roles.
+     */
+    @Override
+    public void reverse() {
+        if (this.right.isEmpty()) return;
+
+        this.reset();
+        Stack<E> temp = this.left;
+        this.left = this.right;
+        this.right = temp;
+        this.hashInvalidate();
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Reverses the elements at positions {@code [from, to)} in place,
+     * swapping pairs of elements from both ends of the range
+     * without moving anything from one stack to the other.
+     *
+     * @param from first position of the range, inclusive.
+     * @param to   last position of the range, exclusive.
+     * @throws IllegalArgumentException if the range is not inside the list
+     */
+    @Override
+    public void reverseRange(int from, int to) throws IllegalArgumentException {
+        if (from < 0 || to > this.left.size() + this.right.size() || from > to) throw new IllegalArgumentException();
+
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            E elem = this.set(i, this.elementAt(j));
+            this.set(j, elem);
+        }
+        this.hashInvalidate();
+    }
+
+    /*
+     * Element at a position of the list; the right stack is read from its top.
+     */
+    private E elementAt(int position) {
+        int leftSize = this.left.size();
+        return position < leftSize ? this.left.get(position) : this.right.get(this.right.size() - 1 - (position - leftSize));
+    }
+
+    private E set(int position, E elem) {
+        int leftSize = this.left.size();
+        return position < leftSize ? this.left.set(position, elem) : this.right.set(this.right.size() - 1 - (position - leftSize), elem);
     }
 
     /**
@@ -107,26 +204,54 @@ public class StackTravList<E> extends AbstractTravList<E> {
      * from the abstract traversable list.
      *
      * @param that right part of the list passed in parameter.
+     * @throws IllegalArgumentException if one of the lists cannot hold the other right part
      */
     @Override
     public void swapRights(TravList<E> that) {
         if (!(that instanceof StackTravList)) super.swapRights(that);
         else {
             StackTravList<E> thatStackTravList = (StackTravList<E>) that;
-            StackTravList<E> revThis = (StackTravList<E>) this.newInstance();
-
-            while (!this.right.isEmpty()) {
-                revThis.right.push(this.right.pop());
-            }
-            while (!thatStackTravList.right.isEmpty()) {
-                this.right.push(thatStackTravList.right.pop());
-            }
-            while (!revThis.right.isEmpty()) {
-                thatStackTravList.right.push(revThis.right.pop());
+            if (this.left.size() + thatStackTravList.right.size() > this.capacity()
+                    || thatStackTravList.left.size() + this.right.size() > thatStackTravList.capacity()) {
+                throw new IllegalArgumentException();
             }
+
+            // the right stacks change owner, no element moves
+            Stack<E> temp = this.right;
+            this.right = thatStackTravList.right;
+            thatStackTravList.right = temp;
+            this.hashInvalidate();
+            thatStackTravList.hashInvalidate();
         }
     }
 
+    /**
+     * "Secondary Method"
+     * <p>
+     * Adds all the elements from {@code that} traversable list to the left of the cursor.
+     * When {@code that} is stack-based, its right stack is pushed
+     * on the left stack as one block.
+     *
+     * @param that list passed in parameter.
+     * @throws IllegalArgumentException if the cursor of {@code that} is not at the beginning
+     *                                  or if {@code this} list cannot hold the elements
+     */
+    @Override
+    public void splice(TravList<E> that) {
+        if (!(that instanceof StackTravList) || that == this) {
+            super.splice(that);
+            return;
+        }
+
+        StackTravList<E> thatStackTravList = (StackTravList<E>) that;
+        if (!thatStackTravList.left.isEmpty()
+                || this.left.size() + this.right.size() + thatStackTravList.right.size() > this.capacity()) {
+            throw new IllegalArgumentException();
+        }
+        this.transfer(thatStackTravList.right, this.left, thatStackTravList.right.size());
+        thatStackTravList.hashInvalidate();
+    }
+
     /**
      * "Primary Method"
      * <p>
@@ -158,6 +283,63 @@ public class StackTravList<E> extends AbstractTravList<E> {
         return right.size();
     }
 
+    @Override
+    protected void insertBlock(Object[] block) {
+        // the stack grows once, then the block is written from its top down
+        int size = this.right.size();
+        this.right.setSize(size + block.length);
+        for (int i = 0; i < block.length; i++) {
+            @SuppressWarnings("unchecked")
+            E elem = (E) block[i];
+            this.right.set(size + block.length - 1 - i, elem);
+        }
+        this.hashInsertBlock(block);
+    }
+
+    @Override
+    protected void deleteBlock(int n, Consumer<? super E> action) {
+        // the top of the stack is the element next to the cursor
+        int size = this.right.size();
+        Object[] block = new Object[n];
+        for (int i = 0; i < n; i++) block[i] = this.right.get(size - 1 - i);
+        this.right.setSize(size - n);
+        this.handOut(block, action);
+    }
+
+    @Override
+    protected void load(int leftCount, int rightCount, Iterator<? extends E> elements) {
+        this.left.ensureCapacity(leftCount);
+        for (int i = 0; i < leftCount; i++) this.left.add(elements.next());
+        // the right stack is filled from its top, the element next to the cursor
+        this.right.setSize(rightCount);
+        for (int i = rightCount - 1; i >= 0; i--) this.right.set(i, elements.next());
+        this.hashInvalidate();
+    }
+
+    @Override
+    protected Spliterator<E> spliterator(int from, int to) {
+        // the right stack is read from its top, which is next to the cursor
+        return new IndexedSpliterator<>(this::elementAt, from, to);
+    }
+
+    @Override
+    public void forEachLeft(Consumer<? super E> action) {
+        // the bottom of the left stack is the beginning of the list
+        for (int i = 0; i < this.left.size(); i++) action.accept(this.left.get(i));
+    }
+
+    @Override
+    public void forEachRight(Consumer<? super E> action) {
+        // the top of the right stack is next to the cursor
+        for (int i = this.right.size() - 1; i >= 0; i--) action.accept(this.right.get(i));
+    }
+
+    @Override
+    protected void forEachRightReversed(Consumer<? super E> action) {
+        // the bottom of the right stack is the end of the list
+        for (int i = 0; i < this.right.size(); i++) action.accept(this.right.get(i));
+    }
+
     /**
      * "Primary Method"
      * <p>
@@ -4,8 +4,14 @@ import static org.junit.Assert.*;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.ListIterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 public class StackTravListTest {
 
@@ -108,7 +114,7 @@ public class StackTravListTest {
         abc_de.swapRights(x_yz);
         assertEquals(3, abc_de.leftLength());
         assertEquals(2, abc_de.rightLength());
-        assertEquals("Z", abc_de.getNext());
+        assertEquals("Y", abc_de.getNext());
         assertEquals("C", abc_de.getPrevious());
         assertEquals(1, x_yz.leftLength());
         assertEquals(2, x_yz.rightLength());
@@ -143,6 +149,72 @@ public class StackTravListTest {
         assertEquals(5, abc_de.leftLength());
     }
 
+    @Test
+    public void reverseFromTheBeginning() {
+        abc_de.reset();
+        abc_de.reverse();
+        assertEquals("EDCBA", abc_de.stream().collect(Collectors.joining()));
+        assertEquals(5, abc_de.cursorIndex());
+        abc_de.reverse();
+        assertEquals("EDCBA", abc_de.stream().collect(Collectors.joining()));
+    }
+
+    @Test
+    public void reverseLargeList() {
+        TravList<Integer> list = new StackTravList<>(100_000);
+        for (int i = 0; i < 100_000; i++) list.insert(i);
+        list.reverse();
+        assertEquals(100_000, list.leftLength());
+        assertEquals(Integer.valueOf(99_999), list.getPrevious());
+        assertEquals(Integer.valueOf(0), list.stream().findFirst().get());
+    }
+
+    @Test
+    public void reverseRange() {
+        abc_de.reverseRange(1, 5);
+        assertEquals("AEDCB", abc_de.stream().collect(Collectors.joining()));
+        assertEquals(3, abc_de.cursorIndex());
+        assertEquals("D", abc_de.getPrevious());
+        assertEquals("C", abc_de.getNext());
+        abc_de.reverseRange(0, 3);
+        assertEquals("DEACB", abc_de.stream().collect(Collectors.joining()));
+        abc_de.reverseRange(3, 5);
+        assertEquals("DEABC", abc_de.stream().collect(Collectors.joining()));
+        abc_de.reverseRange(2, 2);
+        assertEquals("DEABC", abc_de.stream().collect(Collectors.joining()));
+        assertEquals("A", abc_de.getPrevious());
+        assertEquals("B", abc_de.getNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void reverseRangeOutOfList() {
+        abc_de.reverseRange(2, 6);
+        fail();
+    }
+
+    @Test
+    public void moveTo() {
+        abc_de.moveTo(1);
+        assertEquals(1, abc_de.cursorIndex());
+        assertEquals(4, abc_de.rightLength());
+        assertEquals("A", abc_de.getPrevious());
+        assertEquals("B", abc_de.getNext());
+        abc_de.moveTo(4);
+        assertEquals(4, abc_de.leftLength());
+        assertEquals("D", abc_de.getPrevious());
+        assertEquals("E", abc_de.getNext());
+        abc_de.moveTo(5);
+        assertNull(abc_de.getNext());
+        abc_de.moveTo(0);
+        assertEquals("A", abc_de.getNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void moveToPastTheEnd() {
+        abc_de.moveTo(6);
+        fail();
+    }
+
     @Test
     public void replace() {
         abc_de.replace("F");
@@ -162,11 +234,50 @@ public class StackTravListTest {
         ab_c.splice(xy);
         assertEquals(3, ab_c.leftLength());
         assertEquals(2, ab_c.rightLength());
-        assertEquals("C", ab_c.getNext());
-        assertEquals("X", ab_c.getPrevious());
+        assertEquals("B", ab_c.getNext());
+        assertEquals("Y", ab_c.getPrevious());
         assertNull(xy.getNext());
     }
 
+    @Test
+    public void swapRightsWithEmptyRight() {
+        TravList<String> x = new StackTravList<>(5);
+        x.insert("X");
+        x.advance();
+        abc_de.swapRights(x);
+        assertEquals(0, abc_de.rightLength());
+        assertEquals("C", abc_de.getPrevious());
+        assertEquals(2, x.rightLength());
+        assertEquals("D", x.getNext());
+        abc_de.insert("Y");
+        abc_de.reset();
+        abc_de.advanceToEnd();
+        assertEquals("Y", abc_de.getPrevious());
+        assertEquals(4, abc_de.leftLength());
+        x.advanceToEnd();
+        assertEquals("E", x.getPrevious());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void swapRightsOverCapacity() {
+        TravList<String> x_yz = new StackTravList<>(3);
+        x_yz.insert("Z");
+        x_yz.insert("Y");
+        x_yz.insert("X");
+        x_yz.advance();
+        abc_de.reset();
+        x_yz.swapRights(abc_de);
+        fail();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void spliceOverCapacity() {
+        TravList<String> xy = new StackTravList<>(2);
+        xy.insert("Y");
+        abc_de.splice(xy);
+        fail();
+    }
+
     // ==========================================================
     // Simple Exceptions
     // ==========================================================
@@ -271,6 +382,127 @@ public class StackTravListTest {
         assertEquals("Y", abc_de.getNext());
     }
 
+    // ==========================================================
+    // Bookmarks and Traversals
+    // ==========================================================
+
+    @Test
+    public void markAndRestore() {
+        Cursor mark = abc_de.mark();
+        abc_de.reset();
+        abc_de.advance();
+        abc_de.restore(mark);
+        assertEquals(3, abc_de.leftLength());
+        assertEquals(2, abc_de.rightLength());
+        assertEquals("C", abc_de.getPrevious());
+        assertEquals("D", abc_de.getNext());
+    }
+
+    @Test
+    public void restoreAfterDelete() {
+        Cursor mark = abc_de.mark();
+        abc_de.reset();
+        abc_de.delete();
+        abc_de.restore(mark);
+        assertEquals(3, abc_de.leftLength());
+        assertEquals("D", abc_de.getPrevious());
+        assertEquals("E", abc_de.getNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void restoreForeignBookmark() {
+        abc_de.restore(empty.mark());
+        fail();
+    }
+
+    @Test
+    public void forEachLeftAndRight() {
+        StringBuilder left = new StringBuilder();
+        StringBuilder right = new StringBuilder();
+        abc_de.forEachLeft(left::append);
+        abc_de.forEachRight(right::append);
+        assertEquals("ABC", left.toString());
+        assertEquals("DE", right.toString());
+        assertEquals(3, abc_de.leftLength());
+        assertEquals("D", abc_de.getNext());
+    }
+
+    @Test
+    public void streamsDoNotMoveCursor() {
+        assertEquals("ABCDE", abc_de.stream().collect(Collectors.joining()));
+        assertEquals("ABC", abc_de.leftStream().collect(Collectors.joining()));
+        assertEquals("DE", abc_de.rightStream().collect(Collectors.joining()));
+        assertEquals("DE", StreamSupport.stream(abc_de.spliterator(), false).collect(Collectors.joining()));
+        assertEquals(0, empty.stream().count());
+        assertEquals(3, abc_de.leftLength());
+        assertEquals("D", abc_de.getNext());
+    }
+
+    @Test
+    public void parallelStream() {
+        TravList<Integer> list = new StackTravList<>(10_000);
+        for (int i = 0; i < 10_000; i++) list.insert(i);
+        list.moveTo(4_000);
+        assertEquals(10_000L * 9_999 / 2, list.parallelStream().mapToLong(Integer::longValue).sum());
+        assertEquals(6_000, list.rightStream().parallel().count());
+        assertEquals(4_000, list.cursorIndex());
+        assertEquals(Integer.valueOf(5_999), list.getNext());
+    }
+
+    // ==========================================================
+    // Equals and hashCode
+    // ==========================================================
+
+    @Test
+    public void equalsComparesElementsAndCursor() {
+        TravList<String> same = copyOf(abc_de, 10);
+        assertEquals(abc_de, same);
+        assertEquals(same, abc_de);
+        assertEquals(abc_de.hashCode(), same.hashCode());
+
+        same.retreat();
+        assertNotEquals(abc_de, same);
+        same.advance();
+        same.replace("X");
+        assertNotEquals(abc_de, same);
+        assertNotEquals(abc_de, empty);
+        assertNotEquals(abc_de, "[A, B, C][E, D]:5");
+    }
+
+    @Test
+    public void hashCodeFollowsChanges() {
+        abc_de.hashCode();
+        abc_de.delete();
+        abc_de.insert("X");
+        abc_de.advance();
+        abc_de.retreat();
+        abc_de.retreat();
+        abc_de.replace("Y");
+        assertEquals(copyOf(abc_de, 5).hashCode(), abc_de.hashCode());
+
+        abc_de.reset();
+        abc_de.advance();
+        assertEquals(copyOf(abc_de, 5).hashCode(), abc_de.hashCode());
+
+        abc_de.reverseRange(0, 4);
+        abc_de.delete();
+        assertEquals(copyOf(abc_de, 5).hashCode(), abc_de.hashCode());
+        assertEquals(copyOf(abc_de, 5), abc_de);
+    }
+
+    /*
+     * A simple list with the same elements and cursor, hashed from scratch.
+     */
+    private static TravList<String> copyOf(TravList<String> list, int capacity) {
+        TravList<String> copy = new SimpleTravList<>(capacity);
+        list.stream().forEach(e -> {
+            copy.insert(e);
+            copy.advance();
+        });
+        copy.moveTo(list.cursorIndex());
+        return copy;
+    }
+
     // ==========================================================
     // Inherit method
     // ==========================================================
@@ -279,4 +511,140 @@ public class StackTravListTest {
     public void testToString() {
         assertEquals("[A, B, C][E, D]:5", abc_de.toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void toStringDoesNotMoveCursor() {
+        abc_de.toString();
+        assertEquals(3, abc_de.cursorIndex());
+        assertEquals("D", abc_de.getNext());
+        assertEquals("[][]:5", empty.toString());
+        abc_de.reset();
+        assertEquals("[][E, D, C, B, A]:5", abc_de.toString());
+    }
+
+    @Test
+    public void appendTo() throws IOException {
+        StringWriter out = new StringWriter();
+        assertSame(out, abc_de.appendTo(out));
+        assertEquals("[A, B, C][E, D]:5", out.toString());
+    }
+
+    @Test(expected = IOException.class)
+    public void appendToFailingAppendable() throws IOException {
+        abc_de.appendTo(new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException();
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        fail();
+    }
+
+    @Test
+    public void toStringLargeList() {
+        TravList<Integer> list = new StackTravList<>(1_000_000);
+        for (int i = 0; i < 1_000_000; i++) {
+            list.insert(i % 10);
+            list.advance();
+        }
+        list.moveTo(500_000);
+        String text = list.toString();
+        assertTrue(text.startsWith("[0, 1, 2"));
+        assertTrue(text.endsWith("1, 0, 9, 8, 7, 6, 5, 4, 3, 2, 1, 0]:1000000"));
+        // each side is "[" + digits joined by ", " + "]", three characters per element
+        assertEquals(3 * 1_000_000 + ":1000000".length(), text.length());
+        assertEquals(500_000, list.cursorIndex());
+    }
+
+    // ==========================================================
+    // Bulk Methods
+    // ==========================================================
+
+    @Test
+    public void insertAllKeepsTheOrderOfTheBlock() {
+        abc_de.delete();
+        abc_de.delete();
+        abc_de.insertAll(Arrays.asList("X", "Y"));
+        assertEquals("[A, B, C][Y, X]:5", abc_de.toString());
+        assertEquals(3, abc_de.cursorIndex());
+        empty.insertAll(new String[]{"A", "B", "C", "D", "E"});
+        assertEquals("[][E, D, C, B, A]:5", empty.toString());
+    }
+
+    @Test
+    public void insertAllThatDoesNotFitChangesNothing() {
+        abc_de.delete();
+        try {
+            abc_de.insertAll(Arrays.asList("X", "Y"));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("[A, B, C][E]:5", abc_de.toString());
+        }
+        try {
+            abc_de.insertAll(new String[]{"X", null});
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("[A, B, C][E]:5", abc_de.toString());
+        }
+    }
+
+    @Test
+    public void deleteRightReturnsTheBlockInOrder() {
+        abc_de.retreat();
+        assertEquals(Arrays.asList("C", "D"), abc_de.deleteRight(2));
+        assertEquals("[A, B][E]:5", abc_de.toString());
+        StringBuilder drained = new StringBuilder();
+        abc_de.deleteRight(1, drained::append);
+        assertEquals("E", drained.toString());
+        assertEquals("[A, B][]:5", abc_de.toString());
+        assertTrue(abc_de.deleteRight(0).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void deleteRightPastTheEnd() {
+        abc_de.deleteRight(3);
+        fail();
+    }
+
+    @Test
+    public void advanceByAndRetreatBy() {
+        abc_de.retreatBy(3);
+        assertEquals("A", abc_de.getNext());
+        abc_de.advanceBy(5);
+        assertEquals(5, abc_de.cursorIndex());
+        abc_de.retreatBy(0);
+        assertEquals("E", abc_de.getPrevious());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void retreatByPastTheBeginning() {
+        abc_de.retreatBy(4);
+        fail();
+    }
+
+    @Test
+    public void bulkMethodsKeepTheHashCode() {
+        abc_de.hashCode();
+        abc_de.retreat();
+        abc_de.deleteRight(3);
+        abc_de.insertAll(Arrays.asList("X", "Y", "Z"));
+        TravList<String> expected = new GapBufferTravList<>(5);
+        expected.insert("Z");
+        expected.insert("Y");
+        expected.insert("X");
+        expected.insert("B");
+        expected.insert("A");
+        expected.advance();
+        expected.advance();
+        assertEquals(expected.hashCode(), abc_de.hashCode());
+        assertEquals(expected, abc_de);
+    }
+}
@@ -1,6 +1,13 @@
 package boundedtravlist;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.ListIterator;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 // TODO Add exceptions to signatures
 
 /**
@@ -125,6 +132,119 @@ public interface TravList<E> extends Iterable<E> {
      */
     public int rightLength();
 
+    /**
+     * "Secondary Method"
+     *
+     * Moves the cursor so that {@code index} elements are to its left.
+     * The array-based implementations run in constant time,
+     * the linked-based implementation walks from whichever end
+     * of the list is closer, and the stack-based implementation
+     * moves the elements between its stacks as one block.
+     *
+     * @param index the new number of elements to the left of the cursor.
+     * @throws IllegalArgumentException if {@code index} is negative
+     *                                  or greater than the number of elements
+     */
+    public void moveTo(int index) throws IllegalArgumentException;
+
+    /**
+     * "Secondary Method"
+     *
+     * The position of the cursor, counted from the beginning of the list.
+     * This is the same value as {@link #leftLength()}.
+     *
+     * @return the number of elements to the left of the cursor.
+     */
+    public int cursorIndex();
+
+    /**
+     * "Secondary Method"
+     *
+     * Bookmarks the current cursor position.
+     * Marking does not move the cursor and does not copy any element.
+     *
+     * @return a bookmark that only {@code this} list can restore.
+     */
+    public Cursor mark();
+
+    /**
+     * "Secondary Method"
+     *
+     * Moves the cursor back to a bookmarked position.
+     * If the list was not changed since the bookmark was made,
+     * the cursor comes back exactly where it was; otherwise
+     * it comes back to the same index.
+     *
+     * @param cursor a bookmark made by {@link #mark()} on {@code this} list.
+     * @throws IllegalArgumentException if the bookmark belongs to another list
+     *                                  or its index is past the end of the list
+     */
+    public void restore(Cursor cursor) throws IllegalArgumentException;
+
+    /**
+     * "Secondary Method"
+     *
+     * Performs the action for each element to the left of the cursor,
+     * from the beginning of the list to the cursor.
+     * The cursor does not move, not even temporarily.
+     *
+     * @param action the action to be performed for each element.
+     */
+    public void forEachLeft(Consumer<? super E> action);
+
+    /**
+     * "Secondary Method"
+     *
+     * Performs the action for each element to the right of the cursor,
+     * from the cursor to the end of the list.
+     * The cursor does not move, not even temporarily.
+     *
+     * @param action the action to be performed for each element.
+     */
+    public void forEachRight(Consumer<? super E> action);
+
+    /**
+     * "Secondary Method"
+     *
+     * A sequential stream over all the elements of the list,
+     * from the beginning to the end.
+     * The stream reads the storage directly and does not move the cursor,
+     * so several threads may stream the same list as long as nobody changes it.
+     *
+     * @return a stream over the elements of the list.
+     */
+    public Stream<E> stream();
+
+    /**
+     * "Secondary Method"
+     *
+     * A parallel stream over all the elements of the list,
+     * from the beginning to the end. The cursor does not move.
+     *
+     * @return a parallel stream over the elements of the list.
+     */
+    public Stream<E> parallelStream();
+
+    /**
+     * "Secondary Method"
+     *
+     * A sequential stream over the elements to the left of the cursor.
+     * The cursor does not move.
+     *
+     * @return a stream over the left part of the list.
+     */
+    public Stream<E> leftStream();
+
+    /**
+     * "Secondary Method"
+     *
+     * A sequential stream over the elements to the right of the cursor.
+     * The cursor does not move.
+     *
+     * @return a stream over the right part of the list.
+     */
+    public Stream<E> rightStream();
+
     /**
      * "Primary Method"
      *
@@ -223,10 +343,176 @@ public interface TravList<E> extends Iterable<E> {
      * to the left of the cursor in reverse order.
      * The cursor must be at the beginning of the list when the method is called.
      * The cursor must be at the end of the list when the call is complete.
-     * This method should be implemented using recursion.
+     * If the cursor is elsewhere, the whole list is reversed all the same;
+     * if there is nothing to the right of the cursor, nothing changes.
+     * The implementations reverse their storage in place, without recursion.
      */
     public void reverse();
 
+    /**
+     * "Secondary Method"
+     *
+     * Reverses the order of the elements at positions {@code [from, to)},
+     * position 0 being the beginning of the list.
+     * The cursor keeps its index, so the elements around it may change.
+     * For example:
+     * <code>PRE: this = [A, B, C][D, E, F]
+     * STMT: this.reverseRange(1, 5);
+     * POST: this = [A, E, D][C, B, F]</code>
+     *
+     * @param from first position of the range, inclusive.
+     * @param to   last position of the range, exclusive.
+     * @throws IllegalArgumentException if the range is not inside the list
+     */
+    public void reverseRange(int from, int to) throws IllegalArgumentException;
+
+    /**
+     * "Secondary Method"
+     *
+     * Inserts all the elements of a collection to the right of the cursor,
+     * in the order of the collection; the cursor does not move.
+     * The elements and the capacity are checked once for the whole batch,
+     * so the list does not change when the check fails.
+     * For example:
+     * <code>PRE: this = [A, B][C] and elements = [X, Y]
+     * STMT: this.insertAll(elements);
+     * POST: this = [A, B][X, Y, C]</code>
+     *
+     * @param elements the elements to insert.
+     * @throws IllegalArgumentException if an element is null or the elements do not fit
+     */
+    public void insertAll(Collection<? extends E> elements) throws IllegalArgumentException;
+
+    /**
+     * "Secondary Method"
+     *
+     * Inserts all the elements of an array to the right of the cursor,
+     * in the same way as {@link #insertAll(Collection)}.
+     *
+     * @param elements the elements to insert.
+     * @throws IllegalArgumentException if an element is null or the elements do not fit
+     */
+    public void insertAll(E[] elements) throws IllegalArgumentException;
+
+    /**
+     * "Secondary Method"
+     *
+     * Deletes the {@code n} elements to the right of the cursor and
+     * gives them to {@code action}, the one next to the cursor first.
+     * The implementations remove them from their storage as one block.
+     *
+     * @param n      the number of elements to delete.
+     * @param action the action performed on each deleted element.
+     * @throws IllegalArgumentException if {@code n} is negative or
+     *                                  greater than the number of elements to the right of the cursor
+     */
+    public void deleteRight(int n, Consumer<? super E> action) throws IllegalArgumentException;
+
+    /**
+     * "Secondary Method"
+     *
+     * Deletes the {@code n} elements to the right of the cursor and
+     * returns them, the one next to the cursor first.
+     *
+     * @param n the number of elements to delete.
+     * @return the deleted elements, in order.
+     * @throws IllegalArgumentException if {@code n} is negative or
+     *                                  greater than the number of elements to the right of the cursor
+     */
+    public List<E> deleteRight(int n) throws IllegalArgumentException;
+
+    /**
+     * "Secondary Method"
+     *
+     * Moves the cursor {@code n} elements further, as one block move.
+     *
+     * @param n the number of elements to move over.
+     * @throws IllegalArgumentException if {@code n} is negative or
+     *                                  greater than the number of elements to the right of the cursor
+     */
+    public void advanceBy(int n) throws IllegalArgumentException;
+
+    /**
+     * "Secondary Method"
+     *
+     * Moves the cursor {@code n} elements back, as one block move.
+     *
+     * @param n the number of elements to move over.
+     * @throws IllegalArgumentException if {@code n} is negative or
+     *                                  greater than the number of elements to the left of the cursor
+     */
+    public void retreatBy(int n) throws IllegalArgumentException;
+
+    /**
+     * "Secondary Method"
+     *
+     * Writes the same text as {@link #toString()} to {@code out}:
+     * the left part, the right part read from the end of the list back
+     * to the cursor, and the capacity, e.g. {@code [A, B, C][E, D]:5}.
+     * The elements are read in place in one pass; the cursor does not move
+     * and no intermediate list is built.
+     *
+     * @param out where the text is written.
+     * @param <A> the type of the appendable.
+     * @return {@code out}.
+     * @throws IOException if {@code out} fails.
+     */
+    public <A extends Appendable> A appendTo(A out) throws IOException;
+
+    /**
+     * "Secondary Method"
+     *
+     * Writes the list in the binary format of {@link TravListFormat},
+     * with one fixed-width record per element. The cursor does not move.
+     *
+     * @param out   the channel that receives the list.
+     * @param codec converts the elements to records.
+     * @throws IOException if the channel fails.
+     */
+    public void writeTo(WritableByteChannel out, RecordCodec<? super E> codec) throws IOException;
+
+    /**
+     * "Secondary Method"
+     *
+     * Writes the list in the binary format of {@link TravListFormat},
+     * with one length-prefixed record per element. The cursor does not move.
+     *
+     * @param out   the channel that receives the list.
+     * @param codec converts the elements to records.
+     * @throws IOException if the channel fails.
+     */
+    public void writeTo(WritableByteChannel out, VariableCodec<? super E> codec) throws IOException;
+
+    /**
+     * "Secondary Method"
+     *
+     * Fills this empty list with a list written with fixed-width records,
+     * and puts the cursor where it was. The elements go straight into
+     * the storage of the list instead of being inserted one by one.
+     *
+     * @param in    the channel that holds the list.
+     * @param codec converts the records to elements.
+     * @throws IOException              if the channel fails or does not hold a list
+     * @throws IllegalArgumentException if this list cannot hold the elements or the records do not fit the codec
+     * @throws IllegalStateException    if this list is not empty
+     */
+    public void readFrom(ReadableByteChannel in, RecordCodec<? extends E> codec) throws IOException;
+
+    /**
+     * "Secondary Method"
+     *
+     * Fills this empty list with a list written with length-prefixed records,
+     * and puts the cursor where it was. The elements go straight into
+     * the storage of the list instead of being inserted one by one.
+     *
+     * @param in    the channel that holds the list.
+     * @param codec converts the records to elements.
+     * @throws IOException              if the channel fails or does not hold a list
+     * @throws IllegalArgumentException if this list cannot hold the elements or the records do not fit the codec
+     * @throws IllegalStateException    if this list is not empty
+     */
+    public void readFrom(ReadableByteChannel in, VariableCodec<? extends E> codec) throws IOException;
+
     /**
      * "Object methods (also secondary)"
      *
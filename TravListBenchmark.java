@@ -0,0 +1,283 @@
+package boundedtravlist;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * <p>Timing harness for the traversable lists.</p>
+ *
+ * <p>Run with {@code java boundedtravlist.TravListBenchmark [maxSize]}.
+ * Each measurement is preceded by a warm-up run of the same code,
+ * and the time is reported in nanoseconds per operation.</p>
+ *
+ * @author Joyce
+ */
+public class TravListBenchmark {
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int SPLICED = 16;
+    private static final int SPLICES = 20_000;
+    private static final int REVERSED = 1_000_000;
+    private static final int REVERSALS = 10;
+    private static final int MEASURED = 1_000_000;
+    private static final int SWEPT = 1_000_000;
+    private static final int SWEEPS = 10;
+    private static final int BLOCK = 256;
+    private static final int BLOCK_LIST = 100_000;
+    private static final int BLOCK_ROUNDS = 500;
+
+    public static void main(String[] args) {
+        int maxSize = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+
+        System.out.println("splice of " + SPLICED + " elements into a list of n elements (ns/splice)");
+        System.out.printf("%-20s%12s%12s%12s%12s%12s%n", "", "10", "10^3", "10^5", "10^6", "10^7");
+        spliceRow("LinkedTravList", LinkedTravList::new, maxSize);
+        spliceRow("StackTravList", StackTravList::new, maxSize);
+        spliceRow("LazyStackTravList", LazyStackTravList::new, maxSize);
+        spliceRow("GapBufferTravList", GapBufferTravList::new, maxSize);
+        spliceRow("UnrolledTravList", UnrolledTravList::new, maxSize);
+        spliceRow("TreapTravList", TreapTravList::new, maxSize);
+        spliceRow("ZipperTravList", ZipperTravList::new, maxSize);
+        // the default splice moves the whole right part one element at a time, keep it small
+        spliceRow("SimpleTravList", SimpleTravList::new, Math.min(maxSize, 1_000));
+
+        System.out.println();
+        System.out.println("reversal of " + REVERSED + " elements (ms/reversal)");
+        System.out.printf("%-20s%12s%12s%n", "", "reverse", "range");
+        reverseRow("LinkedTravList", LinkedTravList::new);
+        reverseRow("StackTravList", StackTravList::new);
+        reverseRow("LazyStackTravList", LazyStackTravList::new);
+        reverseRow("GapBufferTravList", GapBufferTravList::new);
+        reverseRow("UnrolledTravList", UnrolledTravList::new);
+        reverseRow("TreapTravList", TreapTravList::new);
+        reverseRow("ZipperTravList", ZipperTravList::new);
+        reverseRow("SimpleTravList", SimpleTravList::new);
+        reverseRow("IntTravList", IntTravList::new);
+        reverseRow("OffHeapTravList", max -> new OffHeapTravList<>(max, RecordCodec.INT));
+
+        System.out.println();
+        System.out.println("sweep of the cursor over " + SWEPT + " elements and back (ms/sweep)");
+        System.out.printf("%-20s%12s%12s%n", "", "by element", "by moveTo");
+        sweepRow("StackTravList", StackTravList::new);
+        sweepRow("LazyStackTravList", LazyStackTravList::new);
+        sweepRow("GapBufferTravList", GapBufferTravList::new);
+        sweepRow("LinkedTravList", LinkedTravList::new);
+
+        System.out.println();
+        System.out.println("block of " + BLOCK + " elements in the middle of " + BLOCK_LIST + " elements (ns/element)");
+        System.out.printf("%-20s%12s%12s%12s%12s%n", "", "insert", "insertAll", "delete", "deleteRight");
+        blockRow("LinkedTravList", LinkedTravList::new);
+        blockRow("StackTravList", StackTravList::new);
+        blockRow("LazyStackTravList", LazyStackTravList::new);
+        blockRow("GapBufferTravList", GapBufferTravList::new);
+        blockRow("UnrolledTravList", UnrolledTravList::new);
+        blockRow("TreapTravList", TreapTravList::new);
+        blockRow("ZipperTravList", ZipperTravList::new);
+        blockRow("SimpleTravList", SimpleTravList::new);
+        blockRow("IntTravList", IntTravList::new);
+        blockRow("OffHeapTravList", max -> new OffHeapTravList<>(max, RecordCodec.INT));
+
+        System.out.println();
+        System.out.println("heap used by a list of " + MEASURED + " elements, elements excluded (bytes/element)");
+        Integer[] elements = new Integer[MEASURED];
+        for (int i = 0; i < MEASURED; i++) elements[i] = i;
+        memoryRow("SimpleTravList", SimpleTravList::new, elements);
+        memoryRow("StackTravList", StackTravList::new, elements);
+        memoryRow("LazyStackTravList", LazyStackTravList::new, elements);
+        memoryRow("LinkedTravList", LinkedTravList::new, elements);
+        memoryRow("GapBufferTravList", GapBufferTravList::new, elements);
+        memoryRow("UnrolledTravList", UnrolledTravList::new, elements);
+        memoryRow("UnrolledTravList/16", max -> new UnrolledTravList<>(max, 16), elements);
+        memoryRow("TreapTravList", TreapTravList::new, elements);
+        memoryRow("ZipperTravList", ZipperTravList::new, elements);
+
+        System.out.println();
+        System.out.println("undo journal of " + MEASURED + " changes, elements excluded (bytes/change)");
+        System.out.printf("%-20s%12s%12s%n", "", "measured", "estimated");
+        journalRow("GapBufferTravList", GapBufferTravList::new, elements);
+        journalRow("ZipperTravList", ZipperTravList::new, elements);
+    }
+
+    /*
+     * Journals insert, advance, retreat and delete in turn, one step each,
+     * on a list that stays small, so the journal is most of what is allocated.
+     */
+    private static void journalRow(String name, IntFunction<TravList<Integer>> factory, Integer[] elements) {
+        UndoableTravList<Integer> list = new UndoableTravList<>(factory.apply(1_000));
+        long before = usedHeap();
+        for (int i = 0; i < elements.length; i += 4) {
+            list.insert(elements[i]);
+            list.advance();
+            list.retreat();
+            list.delete();
+        }
+        long after = usedHeap();
+        System.out.printf("%-20s%12.1f%12.1f%n", name, (after - before) / (double) list.journalLength(),
+                list.journalBytesPerEntry());
+    }
+
+    /*
+     * Fills a list with elements that already exist, so only the
+     * structure of the list shows in the heap, with the cursor in the middle.
+     */
+    private static void memoryRow(String name, IntFunction<TravList<Integer>> factory, Integer[] elements) {
+        long before = usedHeap();
+        TravList<Integer> list = factory.apply(elements.length);
+        for (Integer elem : elements) {
+            list.insert(elem);
+            list.advance();
+        }
+        list.moveTo(elements.length / 2);
+        long after = usedHeap();
+        System.out.printf("%-20s%12.1f%n", name, (after - before) / (double) elements.length);
+        if (list.leftLength() < 0) System.out.println(list);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /*
+     * Reverses the whole list, then the middle half of it with the cursor
+     * in the middle of the range.
+     */
+    private static void reverseRow(String name, IntFunction<TravList<Integer>> factory) {
+        TravList<Integer> list = filled(factory.apply(REVERSED), REVERSED);
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            reverse(list);
+            reverseRange(list);
+        }
+        System.out.printf("%-20s%12.2f%12.2f%n", name, reverse(list), reverseRange(list));
+    }
+
+    private static double reverse(TravList<Integer> list) {
+        long start = System.nanoTime();
+        for (int i = 0; i < REVERSALS; i++) {
+            list.reset();
+            list.reverse();
+        }
+        return (System.nanoTime() - start) / 1e6 / REVERSALS;
+    }
+
+    private static double reverseRange(TravList<Integer> list) {
+        list.moveTo(REVERSED / 2);
+        long start = System.nanoTime();
+        for (int i = 0; i < REVERSALS; i++) list.reverseRange(REVERSED / 4, 3 * REVERSED / 4);
+        return (System.nanoTime() - start) / 1e6 / REVERSALS;
+    }
+
+    /*
+     * Walks the cursor to the end and back to the beginning, one element at
+     * a time, then with moveTo to every tenth of the list; an insert and a
+     * delete in the middle end each sweep, so lazy lists pay for their moves.
+     */
+    private static void sweepRow(String name, IntFunction<TravList<Integer>> factory) {
+        TravList<Integer> list = filled(factory.apply(SWEPT + 1), SWEPT);
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sweep(list);
+            jump(list);
+        }
+        System.out.printf("%-20s%12.2f%12.2f%n", name, sweep(list), jump(list));
+    }
+
+    private static double sweep(TravList<Integer> list) {
+        long start = System.nanoTime();
+        for (int i = 0; i < SWEEPS; i++) {
+            while (list.rightLength() > 0) list.advance();
+            while (list.leftLength() > 0) list.retreat();
+            list.moveTo(SWEPT / 2);
+            list.insert(i);
+            list.delete();
+        }
+        return (System.nanoTime() - start) / 1e6 / SWEEPS;
+    }
+
+    private static double jump(TravList<Integer> list) {
+        long start = System.nanoTime();
+        for (int i = 0; i < SWEEPS; i++) {
+            for (int tenth = 0; tenth <= 10; tenth++) list.moveTo(SWEPT / 10 * tenth);
+            list.reset();
+            list.moveTo(SWEPT / 2);
+            list.insert(i);
+            list.delete();
+        }
+        return (System.nanoTime() - start) / 1e6 / SWEEPS;
+    }
+
+    /*
+     * Inserts and deletes a block at the cursor, one element at a time,
+     * then with insertAll and deleteRight.
+     */
+    private static void blockRow(String name, IntFunction<TravList<Integer>> factory) {
+        TravList<Integer> list = filled(factory.apply(BLOCK_LIST + BLOCK), BLOCK_LIST);
+        Integer[] block = new Integer[BLOCK];
+        for (int i = 0; i < BLOCK; i++) block[i] = i;
+        double[] times = new double[4];
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < BLOCK_ROUNDS; i++) {
+                for (int j = BLOCK - 1; j >= 0; j--) list.insert(block[j]);
+                long inserted = System.nanoTime();
+                for (int j = 0; j < BLOCK; j++) list.delete();
+                long deleted = System.nanoTime();
+                list.insertAll(block);
+                long blockInserted = System.nanoTime();
+                list.deleteRight(BLOCK, e -> { });
+                long blockDeleted = System.nanoTime();
+                times[0] += inserted - start;
+                times[1] += blockInserted - deleted;
+                times[2] += deleted - inserted;
+                times[3] += blockDeleted - blockInserted;
+                start = System.nanoTime();
+            }
+            if (round < WARMUP_ROUNDS) Arrays.fill(times, 0);
+        }
+        System.out.printf("%-20s", name);
+        for (double time : times) System.out.printf("%12.1f", time / BLOCK_ROUNDS / BLOCK);
+        System.out.println();
+    }
+
+    private static void spliceRow(String name, IntFunction<TravList<Integer>> factory, int maxSize) {
+        System.out.printf("%-20s", name);
+        for (int size : new int[] {10, 1_000, 100_000, 1_000_000, 10_000_000}) {
+            if (size > maxSize) {
+                System.out.printf("%12s", "-");
+                continue;
+            }
+            TravList<Integer> list = filled(factory.apply(size + SPLICED), size);
+            TravList<Integer> that = factory.apply(SPLICED);
+            for (int round = 0; round < WARMUP_ROUNDS; round++) splice(list, that);
+            System.out.printf("%12.1f", splice(list, that));
+        }
+        System.out.println();
+    }
+
+    /*
+     * Splices a small list at the cursor, then deletes the spliced elements
+     * so the list keeps its size; returns the average time of one round.
+     */
+    private static double splice(TravList<Integer> list, TravList<Integer> that) {
+        long start = System.nanoTime();
+        for (int i = 0; i < SPLICES; i++) {
+            for (int j = 0; j < SPLICED; j++) that.insert(j);
+            list.splice(that);
+            for (int j = 0; j < SPLICED; j++) list.retreat();
+            for (int j = 0; j < SPLICED; j++) list.delete();
+        }
+        return (System.nanoTime() - start) / (double) SPLICES;
+    }
+
+    /*
+     * Fills the list with size elements and leaves the cursor in the middle.
+     */
+    private static TravList<Integer> filled(TravList<Integer> list, int size) {
+        // appending keeps the fill linear for every implementation
+        for (int i = 0; i < size; i++) {
+            list.insert(i);
+            list.advance();
+        }
+        list.moveTo(size / 2);
+        return list;
+    }
+}
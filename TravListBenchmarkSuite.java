@@ -0,0 +1,387 @@
+package boundedtravlist;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * <p>Throughput and allocation suite for every traversable list and operation.</p>
+ *
+ * <p>Run with {@code java boundedtravlist.TravListBenchmarkSuite [options]}:</p>
+ * <ul>
+ *     <li>{@code --sizes=10,1000} list sizes, 10 to 10^7 by default;</li>
+ *     <li>{@code --impls=Linked,Stack} implementations, all in-memory ones by default;</li>
+ *     <li>{@code --ops=edit,walk} operations, all by default;</li>
+ *     <li>{@code --warmup=3 --iterations=5 --time=100} iterations and milliseconds per iteration;</li>
+ *     <li>{@code --json=results.json} also writes the results as JSON ({@code -} for the console).</li>
+ * </ul>
+ *
+ * <p>Operations that are quadratic on an implementation are skipped above 10^5 elements.
+ * Every benchmark gets a new list filled to its size with the cursor in the middle,
+ * then runs warm-up iterations followed by measured iterations of a fixed duration.
+ * Each operation leaves the list with the same size, so iterations are comparable.
+ * The score is the mean throughput in operations per second, with its standard deviation;
+ * the allocation is measured per thread, as bytes per operation and MB per second,
+ * along with the number and time of garbage collections during the measured iterations.
+ * Direct buffers are not part of the allocation figures.</p>
+ *
+ * @author Joyce
+ */
+public class TravListBenchmarkSuite {
+    private static final int[] SIZES = {10, 1_000, 100_000, 1_000_000, 10_000_000};
+    private static final int SPLICED = 16;
+    private static final int WALK = 1_024;
+    // the default swapRights and splice move one element at a time, and so does
+    // the cursor of a simple list, which makes these operations quadratic on it
+    private static final int QUADRATIC_LIMIT = 100_000;
+
+    /**
+     * A benchmarked operation, with the number of list operations done by one call.
+     */
+    enum Operation {
+        /** Insert, advance, retreat, replace and delete at the cursor. */
+        EDIT(1) {
+            @Override
+            long run(Fixture f) {
+                f.list.insert(1);
+                f.list.advance();
+                f.list.retreat();
+                f.list.replace(2);
+                return f.list.delete();
+            }
+        },
+        /** Reset, then visit every element through listIterator(). */
+        ITERATE(1) {
+            @Override
+            long run(Fixture f) {
+                f.list.reset();
+                long sum = 0;
+                ListIterator<Integer> iterator = f.list.listIterator();
+                while (iterator.hasNext()) sum += iterator.next();
+                return sum;
+            }
+        },
+        /** Exchange the right parts with a list of the same size. */
+        SWAP_RIGHTS(1) {
+            @Override
+            long run(Fixture f) {
+                f.list.swapRights(f.other);
+                return f.list.rightLength();
+            }
+        },
+        /** Splice a small list at the cursor, then delete the spliced elements. */
+        SPLICE(1) {
+            @Override
+            long run(Fixture f) {
+                for (int j = 0; j < SPLICED; j++) f.spliced.insert(j);
+                f.list.splice(f.spliced);
+                for (int j = 0; j < SPLICED; j++) f.list.retreat();
+                for (int j = 0; j < SPLICED; j++) f.list.delete();
+                return f.list.leftLength();
+            }
+        },
+        /** Reset, then reverse the whole list. */
+        REVERSE(1) {
+            @Override
+            long run(Fixture f) {
+                f.list.reset();
+                f.list.reverse();
+                return f.list.leftLength();
+            }
+        },
+        /** Build the string of the whole list. */
+        TO_STRING(1) {
+            @Override
+            long run(Fixture f) {
+                return f.list.toString().length();
+            }
+        },
+        /** A random walk of single advance and retreat steps. */
+        WALK(TravListBenchmarkSuite.WALK) {
+            @Override
+            long run(Fixture f) {
+                for (boolean forward : f.steps) {
+                    if (forward ? f.list.rightLength() > 0 : f.list.leftLength() == 0) f.list.advance();
+                    else f.list.retreat();
+                }
+                return f.list.leftLength();
+            }
+        };
+
+        final int batch;
+
+        Operation(int batch) {
+            this.batch = batch;
+        }
+
+        abstract long run(Fixture f);
+    }
+
+    /*
+     * A benchmarked implementation, with the operations that are quadratic on it.
+     */
+    static final class Implementation {
+        final String name;
+        final IntFunction<TravList<Integer>> factory;
+        final Set<Operation> quadratic;
+
+        Implementation(String name, IntFunction<TravList<Integer>> factory, Set<Operation> quadratic) {
+            this.name = name;
+            this.factory = factory;
+            this.quadratic = quadratic;
+        }
+
+        boolean runs(Operation operation, int size) {
+            return size <= QUADRATIC_LIMIT || !this.quadratic.contains(operation);
+        }
+    }
+
+    /*
+     * The lists used by one benchmark.
+     */
+    static final class Fixture {
+        final TravList<Integer> list;
+        final TravList<Integer> other;
+        final TravList<Integer> spliced;
+        final boolean[] steps = new boolean[WALK];
+
+        Fixture(IntFunction<TravList<Integer>> factory, int size, Operation operation) {
+            this.list = filled(factory.apply(size + SPLICED), size);
+            this.other = operation == Operation.SWAP_RIGHTS ? filled(factory.apply(size + SPLICED), size) : null;
+            this.spliced = factory.apply(SPLICED);
+            Random random = new Random(size);
+            for (int i = 0; i < WALK; i++) this.steps[i] = random.nextBoolean();
+        }
+    }
+
+    /*
+     * The outcome of one benchmark.
+     */
+    static final class Result {
+        final String implementation;
+        final Operation operation;
+        final int size;
+        final double[] throughput;
+        final double bytesPerOp;
+        final double allocationRate;
+        final long gcCount;
+        final long gcMillis;
+
+        Result(String implementation, Operation operation, int size, double[] throughput,
+               double bytesPerOp, double allocationRate, long gcCount, long gcMillis) {
+            this.implementation = implementation;
+            this.operation = operation;
+            this.size = size;
+            this.throughput = throughput;
+            this.bytesPerOp = bytesPerOp;
+            this.allocationRate = allocationRate;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+
+        double score() {
+            return Arrays.stream(this.throughput).average().orElse(0);
+        }
+
+        double error() {
+            double mean = this.score();
+            double squares = Arrays.stream(this.throughput).map(t -> (t - mean) * (t - mean)).sum();
+            return this.throughput.length < 2 ? 0 : Math.sqrt(squares / (this.throughput.length - 1));
+        }
+    }
+
+    private static long sink;
+
+    public static void main(String[] args) throws IOException {
+        Set<Operation> linear = EnumSet.noneOf(Operation.class);
+        List<Implementation> implementations = new ArrayList<>(Arrays.asList(
+                new Implementation("Simple", SimpleTravList::new,
+                        EnumSet.of(Operation.ITERATE, Operation.SWAP_RIGHTS, Operation.SPLICE)),
+                new Implementation("Stack", StackTravList::new, linear),
+                new Implementation("LazyStack", LazyStackTravList::new, linear),
+                new Implementation("Linked", LinkedTravList::new, linear),
+                new Implementation("GapBuffer", GapBufferTravList::new, linear),
+                new Implementation("Unrolled", UnrolledTravList::new, linear),
+                new Implementation("Treap", TreapTravList::new, linear),
+                // reindexes every swapped element
+                new Implementation("Indexed", IndexedTravList::new, EnumSet.of(Operation.SWAP_RIGHTS)),
+                new Implementation("Zipper", ZipperTravList::new, linear),
+                // may start as a simple list on the largest sizes
+                new Implementation("Adaptive", AdaptiveTravList::new, EnumSet.of(Operation.SWAP_RIGHTS, Operation.SPLICE)),
+                new Implementation("Int", IntTravList::new, linear),
+                new Implementation("OffHeap", max -> new OffHeapTravList<>(max, RecordCodec.INT), linear),
+                // the cost of the decorator, switched off then on, over the gap buffer row
+                new Implementation("GapBufferOff", max -> new InstrumentedTravList<>(new GapBufferTravList<>(max), false), linear),
+                new Implementation("GapBufferOn", max -> new InstrumentedTravList<>(new GapBufferTravList<>(max), true), linear)));
+
+        int[] sizes = SIZES;
+        List<Operation> operations = Arrays.asList(Operation.values());
+        int warmup = 3;
+        int iterations = 5;
+        long millis = 100;
+        String json = null;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--sizes=")) {
+                sizes = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+            } else if (arg.startsWith("--impls=")) {
+                List<String> names = Arrays.asList(value.split(","));
+                implementations.removeIf(implementation -> !names.contains(implementation.name));
+            } else if (arg.startsWith("--ops=")) {
+                List<Operation> selected = new ArrayList<>();
+                for (String name : value.split(",")) selected.add(Operation.valueOf(name.toUpperCase(Locale.ROOT)));
+                operations = selected;
+            } else if (arg.startsWith("--warmup=")) {
+                warmup = Integer.parseInt(value);
+            } else if (arg.startsWith("--iterations=")) {
+                iterations = Integer.parseInt(value);
+            } else if (arg.startsWith("--time=")) {
+                millis = Long.parseLong(value);
+            } else if (arg.startsWith("--json=")) {
+                json = value;
+            } else {
+                throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+
+        List<Result> results = new ArrayList<>();
+        System.out.printf("%-12s%-12s%10s%16s%14s%14s%10s%n",
+                "operation", "list", "size", "ops/s", "+- stddev", "B/op", "gc");
+        for (Operation operation : operations) {
+            for (Implementation implementation : implementations) {
+                for (int size : sizes) {
+                    if (!implementation.runs(operation, size)) {
+                        System.out.printf("%-12s%-12s%10d%16s%n", operation, implementation.name, size, "-");
+                        continue;
+                    }
+                    Result result = measure(implementation.name, implementation.factory, operation, size,
+                            warmup, iterations, millis * 1_000_000);
+                    results.add(result);
+                    System.out.printf("%-12s%-12s%10d%16.1f%14.1f%14.1f%10d%n", operation, result.implementation,
+                            size, result.score(), result.error(), result.bytesPerOp, result.gcCount);
+                }
+            }
+        }
+
+        if (json != null) {
+            String text = toJson(results);
+            if (json.equals("-")) System.out.println(text);
+            else Files.write(Paths.get(json), text.getBytes(StandardCharsets.UTF_8));
+        }
+        if (sink == 42) System.out.println();
+    }
+
+    private static Result measure(String name, IntFunction<TravList<Integer>> factory, Operation operation, int size,
+                                  int warmup, int iterations, long nanos) {
+        Fixture fixture = new Fixture(factory, size, operation);
+        for (int i = 0; i < warmup; i++) iteration(fixture, operation, nanos);
+
+        double[] throughput = new double[iterations];
+        long operations = 0;
+        long elapsed = 0;
+        long allocated = allocatedBytes();
+        long gcCount = gcCount();
+        long gcMillis = gcMillis();
+        for (int i = 0; i < iterations; i++) {
+            long[] run = iteration(fixture, operation, nanos);
+            throughput[i] = run[0] * 1e9 / run[1];
+            operations += run[0];
+            elapsed += run[1];
+        }
+        allocated = allocatedBytes() - allocated;
+        return new Result(name, operation, size, throughput,
+                (double) allocated / operations, allocated / 1e6 / (elapsed / 1e9),
+                gcCount() - gcCount, gcMillis() - gcMillis);
+    }
+
+    /*
+     * Runs the operation for about the given time and returns the number of
+     * list operations and the nanoseconds they took. The clock is read after
+     * batches of calls that grow until a batch lasts a millisecond.
+     */
+    private static long[] iteration(Fixture fixture, Operation operation, long nanos) {
+        long calls = 1;
+        long done = 0;
+        long elapsed = 0;
+        while (elapsed < nanos) {
+            long start = System.nanoTime();
+            for (long i = 0; i < calls; i++) sink += operation.run(fixture);
+            long time = System.nanoTime() - start;
+            elapsed += time;
+            done += calls;
+            if (time < 1_000_000) calls *= 2;
+        }
+        return new long[] {done * operation.batch, elapsed};
+    }
+
+    private static TravList<Integer> filled(TravList<Integer> list, int size) {
+        for (int i = 0; i < size; i++) {
+            list.insert(i);
+            list.advance();
+        }
+        list.moveTo(size / 2);
+        return list;
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) count += Math.max(0, gc.getCollectionCount());
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) millis += Math.max(0, gc.getCollectionTime());
+        return millis;
+    }
+
+    /*
+     * One object per benchmark, with the field names used by JMH where they exist.
+     */
+    private static String toJson(List<Result> results) {
+        StringBuilder sb = new StringBuilder("[\n");
+        for (int i = 0; i < results.size(); i++) {
+            Result r = results.get(i);
+            sb.append("  {\"benchmark\": \"").append(r.operation.name().toLowerCase(Locale.ROOT))
+                    .append("\", \"params\": {\"implementation\": \"").append(r.implementation)
+                    .append("\", \"size\": ").append(r.size)
+                    .append("}, \"mode\": \"thrpt\", \"primaryMetric\": {\"score\": ").append(number(r.score()))
+                    .append(", \"scoreError\": ").append(number(r.error()))
+                    .append(", \"scoreUnit\": \"ops/s\", \"rawData\": [");
+            for (int j = 0; j < r.throughput.length; j++) {
+                if (j > 0) sb.append(", ");
+                sb.append(number(r.throughput[j]));
+            }
+            sb.append("]}, \"secondaryMetrics\": {\"gc.alloc.rate.norm\": ").append(number(r.bytesPerOp))
+                    .append(", \"gc.alloc.rate\": ").append(number(r.allocationRate))
+                    .append(", \"gc.count\": ").append(r.gcCount)
+                    .append(", \"gc.time\": ").append(r.gcMillis)
+                    .append("}}").append(i + 1 < results.size() ? ",\n" : "\n");
+        }
+        return sb.append("]\n").toString();
+    }
+
+    private static String number(double value) {
+        return Double.isFinite(value) ? String.format(Locale.ROOT, "%.3f", value) : "null";
+    }
+}
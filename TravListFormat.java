@@ -0,0 +1,349 @@
+package boundedtravlist;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * <p>Binary format of a traversable list.</p>
+ *
+ * <p>A stream starts with a 32-byte header, all numbers big-endian:
+ * magic {@code "TRLS"} (int), format version (short), implementation tag (byte),
+ * record layout (byte, 0 for fixed-width records, 1 for length-prefixed records),
+ * record width (int, 0 for length-prefixed records), capacity (int),
+ * left length (int), right length (int) and number of bytes of records (long).
+ * The records follow, from the beginning to the end of the list: either the
+ * fixed-width records of a {@link RecordCodec}, or for each element an int length
+ * followed by the record of a {@link VariableCodec}.</p>
+ *
+ * <p>Both directions go through one buffer of bounded size, so a list of any size
+ * is moved with a constant amount of memory besides the list itself. The reader
+ * never reads past the last record, so a stream may carry other data after a list.
+ * The channels are expected to be blocking.</p>
+ *
+ * @author Joyce
+ */
+public final class TravListFormat {
+    static final int MAGIC = 0x54524C53; // "TRLS"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    private static final int CHUNK = 1 << 16;
+
+    // record layouts
+    private static final byte FIXED = 0;
+    private static final byte PREFIXED = 1;
+
+    // implementation tags
+    static final byte OTHER = 0;
+    static final byte SIMPLE = 1;
+    static final byte STACK = 2;
+    static final byte LINKED = 3;
+    static final byte GAP_BUFFER = 4;
+    static final byte INT = 5;
+    static final byte LONG = 6;
+    static final byte DOUBLE = 7;
+    static final byte OFF_HEAP = 8;
+    static final byte FILE_BACKED = 9;
+    static final byte UNROLLED = 10;
+    static final byte TREAP = 11;
+    static final byte ZIPPER = 12;
+    static final byte LAZY_STACK = 13;
+
+    private TravListFormat() {
+    }
+
+    /**
+     * Writes a list with fixed-width records. The cursor does not move.
+     *
+     * @param list  the list to write.
+     * @param out   the channel that receives the list.
+     * @param codec converts the elements to records.
+     * @param <E>   the type of elements in the list.
+     * @throws IOException if the channel fails.
+     */
+    public static <E> void write(TravList<E> list, WritableByteChannel out, RecordCodec<? super E> codec) throws IOException {
+        long bytes = (long) (list.leftLength() + list.rightLength()) * codec.width();
+        new Writer<E>(out, codec, null).write(list, FIXED, codec.width(), bytes);
+    }
+
+    /**
+     * Writes a list with length-prefixed records. The cursor does not move.
+     *
+     * @param list  the list to write.
+     * @param out   the channel that receives the list.
+     * @param codec converts the elements to records.
+     * @param <E>   the type of elements in the list.
+     * @throws IOException if the channel fails.
+     */
+    public static <E> void write(TravList<E> list, WritableByteChannel out, VariableCodec<? super E> codec) throws IOException {
+        long[] bytes = {0};
+        Consumer<E> measure = e -> bytes[0] += Integer.BYTES + codec.size(e);
+        list.forEachLeft(measure);
+        list.forEachRight(measure);
+        new Writer<E>(out, null, codec).write(list, PREFIXED, 0, bytes[0]);
+    }
+
+    /**
+     * Reads a list written with fixed-width records into a new list of the
+     * implementation named in the header, with the same capacity and cursor.
+     * Lists that can only live in memory of another kind come back as a {@link GapBufferTravList}.
+     *
+     * @param in    the channel that holds the list.
+     * @param codec converts the records to elements.
+     * @param <E>   the type of elements in the list.
+     * @return the list read.
+     * @throws IOException              if the channel fails or does not hold a list
+     * @throws IllegalArgumentException if the records do not fit the codec
+     */
+    public static <E> TravList<E> read(ReadableByteChannel in, RecordCodec<E> codec) throws IOException {
+        Reader<E> reader = new Reader<>(in, codec, null);
+        AbstractTravList<E> list = newList(reader.tag, reader.capacity, codec);
+        reader.loadInto(list);
+        return list;
+    }
+
+    /**
+     * Reads a list written with length-prefixed records into a new list of the
+     * implementation named in the header, with the same capacity and cursor.
+     * Lists that can only live in memory of another kind come back as a {@link GapBufferTravList}.
+     *
+     * @param in    the channel that holds the list.
+     * @param codec converts the records to elements.
+     * @param <E>   the type of elements in the list.
+     * @return the list read.
+     * @throws IOException              if the channel fails or does not hold a list
+     * @throws IllegalArgumentException if the records do not fit the codec
+     */
+    public static <E> TravList<E> read(ReadableByteChannel in, VariableCodec<E> codec) throws IOException {
+        Reader<E> reader = new Reader<>(in, null, codec);
+        AbstractTravList<E> list = newList(reader.tag, reader.capacity, null);
+        reader.loadInto(list);
+        return list;
+    }
+
+    static <E> void readInto(AbstractTravList<E> list, ReadableByteChannel in, RecordCodec<? extends E> codec) throws IOException {
+        new Reader<E>(in, codec, null).loadInto(list);
+    }
+
+    static <E> void readInto(AbstractTravList<E> list, ReadableByteChannel in, VariableCodec<? extends E> codec) throws IOException {
+        new Reader<E>(in, null, codec).loadInto(list);
+    }
+
+    static byte tagOf(TravList<?> list) {
+        if (list instanceof SimpleTravList) return SIMPLE;
+        if (list instanceof StackTravList) return STACK;
+        if (list instanceof LinkedTravList) return LINKED;
+        if (list instanceof GapBufferTravList) return GAP_BUFFER;
+        if (list instanceof IntTravList) return INT;
+        if (list instanceof LongTravList) return LONG;
+        if (list instanceof DoubleTravList) return DOUBLE;
+        if (list instanceof OffHeapTravList) return OFF_HEAP;
+        if (list instanceof FileBackedTravList) return FILE_BACKED;
+        if (list instanceof UnrolledTravList) return UNROLLED;
+        if (list instanceof TreapTravList) return TREAP;
+        if (list instanceof ZipperTravList) return ZIPPER;
+        if (list instanceof LazyStackTravList) return LAZY_STACK;
+        return OTHER;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> AbstractTravList<E> newList(byte tag, int capacity, RecordCodec<E> codec) {
+        switch (tag) {
+            case SIMPLE: return new SimpleTravList<>(capacity);
+            case STACK: return new StackTravList<>(capacity);
+            case LINKED: return new LinkedTravList<>(capacity);
+            case UNROLLED: return new UnrolledTravList<>(capacity);
+            case TREAP: return new TreapTravList<>(capacity);
+            case ZIPPER: return new ZipperTravList<>(capacity);
+            case LAZY_STACK: return new LazyStackTravList<>(capacity);
+            // the primitive lists only hold the elements of their own codec
+            case INT: if (codec == RecordCodec.INT) return (AbstractTravList<E>) new IntTravList(capacity); break;
+            case LONG: if (codec == RecordCodec.LONG) return (AbstractTravList<E>) new LongTravList(capacity); break;
+            case DOUBLE: if (codec == RecordCodec.DOUBLE) return (AbstractTravList<E>) new DoubleTravList(capacity); break;
+            case OFF_HEAP: if (codec != null) return new OffHeapTravList<>(capacity, codec); break;
+            default: break;
+        }
+        return new GapBufferTravList<>(capacity);
+    }
+
+    /*
+     * Encodes the elements into a chunk and writes the chunk whenever it is full.
+     */
+    private static final class Writer<E> {
+        private final WritableByteChannel out;
+        private final RecordCodec<? super E> fixed;
+        private final VariableCodec<? super E> variable;
+        private final ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK);
+
+        Writer(WritableByteChannel out, RecordCodec<? super E> fixed, VariableCodec<? super E> variable) {
+            this.out = out;
+            this.fixed = fixed;
+            this.variable = variable;
+        }
+
+        void write(TravList<E> list, byte layout, int width, long bytes) throws IOException {
+            this.chunk.putInt(MAGIC).putShort(VERSION).put(tagOf(list)).put(layout).putInt(width)
+                    .putInt(list.capacity()).putInt(list.leftLength()).putInt(list.rightLength()).putLong(bytes);
+            Consumer<E> record = this::record;
+            try {
+                list.forEachLeft(record);
+                list.forEachRight(record);
+            } catch (UncheckedIOException e) {
+                // thrown by record, the traversals cannot pass a checked exception
+                throw e.getCause();
+            }
+            this.flush();
+        }
+
+        private void record(E elem) {
+            if (elem == null) throw new IllegalArgumentException();
+            try {
+                int length = this.fixed != null ? this.fixed.width() : this.variable.size(elem);
+                int size = this.fixed != null ? length : Integer.BYTES + length;
+                if (this.chunk.remaining() < size) this.flush();
+
+                // a record larger than the chunk goes through a buffer of its own
+                ByteBuffer target = size <= this.chunk.capacity() ? this.chunk : ByteBuffer.allocate(size);
+                int offset = target.position();
+                if (this.fixed != null) {
+                    this.fixed.encode(elem, target, offset);
+                } else {
+                    target.putInt(offset, length);
+                    this.variable.encode(elem, target, offset + Integer.BYTES);
+                }
+                target.position(offset + size);
+                if (target != this.chunk) this.drain(target);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void flush() throws IOException {
+            this.drain(this.chunk);
+        }
+
+        private void drain(ByteBuffer buffer) throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) this.out.write(buffer);
+            buffer.clear();
+        }
+    }
+
+    /*
+     * Reads the header, then hands out the elements one by one, refilling the
+     * chunk from the channel without ever reading past the last record.
+     */
+    private static final class Reader<E> implements Iterator<E> {
+        private final ReadableByteChannel in;
+        private final RecordCodec<? extends E> fixed;
+        private final VariableCodec<? extends E> variable;
+        private ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK).flip();
+
+        // bytes of the stream not read from the channel yet
+        private long unread = HEADER_SIZE;
+
+        final byte tag;
+        final int capacity;
+        final int leftLength;
+        final int rightLength;
+        private int remaining;
+
+        Reader(ReadableByteChannel in, RecordCodec<? extends E> fixed, VariableCodec<? extends E> variable) throws IOException {
+            this.in = in;
+            this.fixed = fixed;
+            this.variable = variable;
+
+            this.ensure(HEADER_SIZE);
+            ByteBuffer header = this.chunk;
+            if (header.getInt() != MAGIC || header.getShort() != VERSION) throw new IOException("Not a TravList stream");
+            this.tag = header.get();
+            byte layout = header.get();
+            int width = header.getInt();
+            this.capacity = header.getInt();
+            this.leftLength = header.getInt();
+            this.rightLength = header.getInt();
+            this.unread = header.getLong();
+            if (this.capacity <= 0 || this.leftLength < 0 || this.rightLength < 0
+                    || (long) this.leftLength + this.rightLength > this.capacity || this.unread < 0) {
+                throw new IOException("Corrupt TravList header");
+            }
+            if (layout != (fixed != null ? FIXED : PREFIXED) || (fixed != null && width != fixed.width())) {
+                throw new IllegalArgumentException();
+            }
+            this.remaining = this.leftLength + this.rightLength;
+        }
+
+        void loadInto(AbstractTravList<E> list) throws IOException {
+            if (list.leftLength() + list.rightLength() != 0) throw new IllegalStateException();
+            if (this.leftLength + this.rightLength > list.capacity()) throw new IllegalArgumentException();
+
+            try {
+                list.load(this.leftLength, this.rightLength, this);
+            } catch (UncheckedIOException e) {
+                // thrown by next, the list cannot pass a checked exception
+                throw e.getCause();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.remaining > 0;
+        }
+
+        @Override
+        public E next() {
+            if (this.remaining == 0) throw new NoSuchElementException();
+            try {
+                E elem;
+                if (this.fixed != null) {
+                    int width = this.fixed.width();
+                    this.ensure(width);
+                    elem = this.fixed.decode(this.chunk, this.chunk.position());
+                    this.chunk.position(this.chunk.position() + width);
+                } else {
+                    this.ensure(Integer.BYTES);
+                    int length = this.chunk.getInt();
+                    if (length < 0) throw new IOException("Corrupt TravList record");
+                    this.ensure(length);
+                    elem = this.variable.decode(this.chunk, this.chunk.position(), length);
+                    this.chunk.position(this.chunk.position() + length);
+                }
+                if (elem == null) throw new IllegalArgumentException();
+                this.remaining--;
+                return elem;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /*
+         * Makes sure the next count bytes are in the chunk.
+         */
+        private void ensure(int count) throws IOException {
+            if (this.chunk.remaining() >= count) return;
+            if (count - this.chunk.remaining() > this.unread) throw new EOFException();
+
+            if (count > this.chunk.capacity()) {
+                // a record larger than the chunk, grow it for good
+                ByteBuffer larger = ByteBuffer.allocateDirect(count);
+                larger.put(this.chunk);
+                this.chunk = larger;
+            } else {
+                this.chunk.compact();
+            }
+            while (this.chunk.position() < count) {
+                this.chunk.limit((int) Math.min(this.chunk.capacity(), this.chunk.position() + this.unread));
+                int read = this.in.read(this.chunk);
+                if (read < 0) throw new EOFException();
+                this.unread -= read;
+            }
+            this.chunk.flip();
+        }
+    }
+}
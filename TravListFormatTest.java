@@ -0,0 +1,154 @@
+package boundedtravlist;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+public class TravListFormatTest {
+
+    ByteArrayOutputStream bytes;
+    WritableByteChannel out;
+
+    @Before
+    public void setUp() {
+        bytes = new ByteArrayOutputStream();
+        out = Channels.newChannel(bytes);
+    }
+
+    private ReadableByteChannel in() {
+        return Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    private static <E> TravList<E> filled(TravList<E> list, List<E> elements, int cursor) {
+        for (E e : elements) {
+            list.insert(e);
+            list.advance();
+        }
+        list.moveTo(cursor);
+        return list;
+    }
+
+    // ==========================================================
+    // Round trips
+    // ==========================================================
+
+    @Test
+    public void roundTripKeepsImplementationElementsAndCursor() throws IOException {
+        List<IntFunction<TravList<Integer>>> factories = Arrays.asList(
+                SimpleTravList::new, StackTravList::new, LazyStackTravList::new, LinkedTravList::new, GapBufferTravList::new,
+                IntTravList::new, max -> new OffHeapTravList<>(max, RecordCodec.INT));
+        for (IntFunction<TravList<Integer>> factory : factories) {
+            setUp();
+            TravList<Integer> list = filled(factory.apply(8), Arrays.asList(1, 2, 3, 4, 5), 3);
+            list.writeTo(out, RecordCodec.INT);
+            assertEquals(3, list.cursorIndex());
+            assertEquals(TravListFormat.HEADER_SIZE + 5 * Integer.BYTES, bytes.size());
+
+            TravList<Integer> copy = TravListFormat.read(in(), RecordCodec.INT);
+            assertSame(list.getClass(), copy.getClass());
+            assertEquals(list, copy);
+            assertEquals(8, copy.capacity());
+            assertEquals("[1, 2, 3][5, 4]:8", copy.toString());
+        }
+    }
+
+    @Test
+    public void readFromFillsAnotherImplementation() throws IOException {
+        filled(new LinkedTravList<Integer>(5), Arrays.asList(1, 2, 3, 4, 5), 2).writeTo(out, RecordCodec.INT);
+
+        TravList<Integer> copy = new StackTravList<>(10);
+        copy.readFrom(in(), RecordCodec.INT);
+        assertEquals("[1, 2][5, 4, 3]:10", copy.toString());
+        copy.insert(9);
+        assertEquals(Integer.valueOf(9), copy.getNext());
+    }
+
+    @Test
+    public void lengthPrefixedStrings() throws IOException {
+        char[] large = new char[100_000];
+        Arrays.fill(large, 'x');
+        List<String> elements = Arrays.asList("", "é", "😀", new String(large), "end");
+        filled(new GapBufferTravList<String>(5), elements, 1).writeTo(out, VariableCodec.UTF8);
+
+        TravList<String> copy = TravListFormat.read(in(), VariableCodec.UTF8);
+        assertTrue(copy instanceof GapBufferTravList);
+        assertEquals(1, copy.cursorIndex());
+        assertArrayEquals(elements.toArray(), copy.stream().toArray());
+    }
+
+    @Test
+    public void largeListSpansManyChunks() throws IOException {
+        TravList<Integer> list = new GapBufferTravList<>(100_000);
+        for (int i = 0; i < 100_000; i++) {
+            list.insert(i);
+            list.advance();
+        }
+        list.moveTo(40_000);
+        list.writeTo(out, RecordCodec.INT);
+
+        TravList<Integer> copy = new LinkedTravList<>(100_000);
+        copy.readFrom(in(), RecordCodec.INT);
+        assertEquals(list, copy);
+    }
+
+    @Test
+    public void readerStopsAtTheEndOfTheList() throws IOException {
+        filled(new SimpleTravList<String>(3), Arrays.asList("A", "B"), 1).writeTo(out, VariableCodec.UTF8);
+        filled(new SimpleTravList<String>(3), Arrays.asList("C"), 0).writeTo(out, VariableCodec.UTF8);
+
+        ReadableByteChannel in = in();
+        assertEquals("[A][B]:3", TravListFormat.read(in, VariableCodec.UTF8).toString());
+        assertEquals("[][C]:3", TravListFormat.read(in, VariableCodec.UTF8).toString());
+    }
+
+    // ==========================================================
+    // Errors
+    // ==========================================================
+
+    @Test(expected = IOException.class)
+    public void notATravListStream() throws IOException {
+        bytes.write(new byte[TravListFormat.HEADER_SIZE]);
+        TravListFormat.read(in(), RecordCodec.INT);
+        fail();
+    }
+
+    @Test(expected = EOFException.class)
+    public void truncatedStream() throws IOException {
+        filled(new SimpleTravList<Integer>(3), Arrays.asList(1, 2, 3), 1).writeTo(out, RecordCodec.INT);
+        byte[] cut = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 1);
+        TravListFormat.read(Channels.newChannel(new ByteArrayInputStream(cut)), RecordCodec.INT);
+        fail();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void readFromNonEmptyList() throws IOException {
+        filled(new SimpleTravList<Integer>(3), Arrays.asList(1), 1).writeTo(out, RecordCodec.INT);
+        filled(new SimpleTravList<Integer>(3), Arrays.asList(1), 1).readFrom(in(), RecordCodec.INT);
+        fail();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void readFromTooSmallList() throws IOException {
+        filled(new SimpleTravList<Integer>(3), Arrays.asList(1, 2, 3), 1).writeTo(out, RecordCodec.INT);
+        new SimpleTravList<Integer>(2).readFrom(in(), RecordCodec.INT);
+        fail();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void readWithAnotherRecordWidth() throws IOException {
+        filled(new SimpleTravList<Integer>(3), Arrays.asList(1, 2), 1).writeTo(out, RecordCodec.INT);
+        TravListFormat.read(in(), RecordCodec.LONG);
+        fail();
+    }
+}
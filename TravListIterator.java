@@ -6,6 +6,7 @@ import java.util.NoSuchElementException;
 public class TravListIterator<E> implements ListIterator<E> {
 
     private final TravList<E> travList;
+    private final Cursor mark;
     private final int pos;
     private final int length;
     private int countRight;
@@ -14,6 +15,7 @@ public class TravListIterator<E> implements ListIterator<E> {
 
     public TravListIterator(TravList<E> travList) {
         this.travList = travList;
+        mark = travList.mark();
         pos = travList.leftLength();
         length = travList.leftLength() + travList.rightLength();
         countRight = pos;
@@ -53,10 +55,7 @@ public class TravListIterator<E> implements ListIterator<E> {
         // If result is the last element in the scroll,
         // then restore the cursor position.
         if (countRight == length) {
-            travList.reset();
-            for (int i = 0; i < pos; i++) {
-                travList.advance();
-            }
+            travList.restore(mark);
         }
         return result;
     }
@@ -97,10 +96,7 @@ public class TravListIterator<E> implements ListIterator<E> {
         // If result is the last element in the scroll,
         // then restore the cursor position.
         if (countLeft == 0) {
-            travList.reset();
-            for (int i = 0; i < pos; i++) {
-                travList.advance();
-            }
+            travList.restore(mark);
         }
         return result;
     }
@@ -0,0 +1,683 @@
+package boundedtravlist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * <p>Order-statistic tree traversable list.</p>
+ *
+ * <p>The elements are the in-order sequence of an implicit treap: a binary
+ * tree that is a heap on random priorities, so its depth is logarithmic
+ * with high probability. Every node knows the size of its subtree and its
+ * parent, so the node at any position is found in O(log n), and an element
+ * can be inserted or deleted anywhere in O(log n). The list keeps the nodes
+ * on both sides of the cursor; {@code getNext} and {@code getPrevious} run
+ * in constant time and a traversal steps to the next node in amortized
+ * constant time.</p>
+ *
+ * <p>Whole parts of lists move by splitting and joining trees:
+ * {@code moveTo}, {@code swapRights}, {@code splice} and {@code splitRight}
+ * run in O(log n) whatever the number of elements they move.</p>
+ *
+ * @author Joyce
+ * @param <E> the type of elements in this list.
+ */
+public class TreapTravList<E> extends AbstractTravList<E> {
+
+    static final class Node<E> {
+        E value;
+        final int priority;
+        int size = 1;
+        Node<E> left;
+        Node<E> right;
+        Node<E> parent;
+
+        Node(E value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+
+    // representation
+
+    private Node<E> root;
+
+    /**
+     * Nodes of the elements to the left and to the right of the cursor, or null.
+     */
+    private Node<E> prev;
+    private Node<E> next;
+
+    private int leftLength;
+
+    /**
+     * Whether the nodes joining and leaving the tree are reported to
+     * {@code attached} and {@code detached}.
+     */
+    private final boolean tracksNodes;
+
+    /**
+     * Results of the last split, lower positions first.
+     */
+    private Node<E> splitLow;
+    private Node<E> splitHigh;
+
+    // tree = B(A, D(C, E)), prev = B, next = C ==> TravList = [A, B][C, D, E]
+
+    public TreapTravList(int max) {
+        this(max, false);
+    }
+
+    TreapTravList(int max, boolean tracksNodes) {
+        super(max);
+        if (max < 0) throw new IllegalArgumentException();
+        this.tracksNodes = tracksNodes;
+    }
+
+    @Override
+    public void insert(E elem) throws IllegalArgumentException {
+        if (elem == null || size(this.root) >= this.capacity()) throw new IllegalArgumentException();
+
+        Node<E> node = new Node<>(elem, ThreadLocalRandom.current().nextInt());
+        this.root = this.insertAt(this.root, this.leftLength, node);
+        this.root.parent = null;
+        this.next = node;
+        if (this.tracksNodes) this.attached(node);
+        this.hashInsert(elem);
+    }
+
+    /*
+     * Inserts a node at a position of a subtree: it goes down until its
+     * priority is the highest, then takes the split subtree as children.
+     */
+    private Node<E> insertAt(Node<E> n, int position, Node<E> node) {
+        if (n == null) return node;
+        if (node.priority > n.priority) {
+            this.split(n, position);
+            setLeft(node, this.splitLow);
+            setRight(node, this.splitHigh);
+            update(node);
+            return node;
+        }
+        if (position <= size(n.left)) {
+            setLeft(n, this.insertAt(n.left, position, node));
+        } else {
+            setRight(n, this.insertAt(n.right, position - size(n.left) - 1, node));
+        }
+        n.size++;
+        return n;
+    }
+
+    @Override
+    public E delete() {
+        if (this.next == null) throw new IllegalStateException();
+
+        Node<E> node = this.next;
+        E elem = node.value;
+        if (this.tracksNodes) this.detached(node);
+        this.next = successor(node);
+        this.remove(node);
+        this.hashDelete(elem);
+        return elem;
+    }
+
+    /*
+     * Replaces a node by the join of its children and shrinks its ancestors.
+     */
+    private void remove(Node<E> node) {
+        Node<E> replacement = merge(node.left, node.right);
+        Node<E> parent = node.parent;
+        if (replacement != null) replacement.parent = parent;
+        if (parent == null) {
+            this.root = replacement;
+        } else if (parent.left == node) {
+            parent.left = replacement;
+        } else {
+            parent.right = replacement;
+        }
+        for (Node<E> p = parent; p != null; p = p.parent) p.size--;
+        node.value = null;
+        node.left = null;
+        node.right = null;
+        node.parent = null;
+    }
+
+    @Override
+    public void advance() throws IllegalStateException {
+        if (this.next == null) throw new IllegalStateException();
+
+        this.prev = this.next;
+        this.next = successor(this.next);
+        this.leftLength++;
+        this.hashAdvance(this.prev.value);
+    }
+
+    @Override
+    public void retreat() throws IllegalStateException {
+        if (this.prev == null) throw new IllegalStateException();
+
+        this.next = this.prev;
+        this.prev = predecessor(this.prev);
+        this.leftLength--;
+        this.hashRetreat(this.next.value);
+    }
+
+    @Override
+    public void reset() {
+        this.moveTo(0);
+    }
+
+    @Override
+    public void advanceToEnd() {
+        this.moveTo(size(this.root));
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Moves the cursor so that {@code index} elements are to its left,
+     * going down the tree from the root in O(log n).
+     *
+     * @param index the new number of elements to the left of the cursor.
+     * @throws IllegalArgumentException if {@code index} is negative
+     *                                  or greater than the number of elements
+     */
+    @Override
+    public void moveTo(int index) throws IllegalArgumentException {
+        int size = size(this.root);
+        if (index < 0 || index > size) throw new IllegalArgumentException();
+        if (index == this.leftLength) return;
+
+        this.placeCursor(index);
+        this.hashInvalidate();
+    }
+
+    private void placeCursor(int index) {
+        this.next = index < size(this.root) ? this.nodeAt(index) : null;
+        this.prev = index == 0 ? null : this.next != null ? predecessor(this.next) : rightmost(this.root);
+        this.leftLength = index;
+    }
+
+    /**
+     * Gets a handle to (does not remove) the element at a position of the list,
+     * position 0 being the beginning of the list. The cursor does not move.
+     * This runs in O(log n).
+     *
+     * @param index position of the element.
+     * @return the element at that position.
+     * @throws IllegalArgumentException if {@code index} is negative
+     *                                  or not less than the number of elements
+     */
+    public E get(int index) throws IllegalArgumentException {
+        if (index < 0 || index >= size(this.root)) throw new IllegalArgumentException();
+        return this.nodeAt(index).value;
+    }
+
+    private Node<E> nodeAt(int index) {
+        Node<E> n = this.root;
+        while (true) {
+            int left = size(n.left);
+            if (index < left) {
+                n = n.left;
+            } else if (index > left) {
+                index -= left + 1;
+                n = n.right;
+            } else {
+                return n;
+            }
+        }
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Swaps the right part of {@code this} list with
+     * the right part of {@code that} list.
+     * When both lists are treaps, both trees are split at their cursors
+     * and joined crosswise in O(log n).
+     *
+     * @param that right part of the list passed in parameter.
+     * @throws IllegalArgumentException if one of the lists cannot hold the other right part
+     */
+    @Override
+    public void swapRights(TravList<E> that) {
+        if (!(that instanceof TreapTravList)) {
+            super.swapRights(that);
+            return;
+        }
+        if (that == this) return;
+
+        TreapTravList<E> other = (TreapTravList<E>) that;
+        if (this.leftLength + other.rightLength() > this.capacity()
+                || other.leftLength + this.rightLength() > other.capacity()) {
+            throw new IllegalArgumentException();
+        }
+
+        if (this.tracksNodes) this.detachAll(this.next, this.rightLength());
+        if (other.tracksNodes) other.detachAll(other.next, other.rightLength());
+        this.split(this.root, this.leftLength);
+        Node<E> thisLeft = this.splitLow;
+        Node<E> thisRight = this.splitHigh;
+        other.split(other.root, other.leftLength);
+        Node<E> thatLeft = other.splitLow;
+        Node<E> thatRight = other.splitHigh;
+        this.root = join(thisLeft, thatRight);
+        other.root = join(thatLeft, thisRight);
+
+        Node<E> thisNext = this.next;
+        this.next = other.next;
+        other.next = thisNext;
+        if (this.tracksNodes) this.attachAll(this.next, this.rightLength());
+        if (other.tracksNodes) other.attachAll(other.next, other.rightLength());
+        this.hashInvalidate();
+        other.hashInvalidate();
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Adds all the elements from {@code that} traversable list to the left of the cursor.
+     * When {@code that} is a treap, its tree is joined in between the two
+     * parts of {@code this} tree in O(log n).
+     *
+     * @param that list passed in parameter.
+     * @throws IllegalArgumentException if the cursor of {@code that} is not at the beginning
+     *                                  or if {@code this} list cannot hold the elements
+     */
+    @Override
+    public void splice(TravList<E> that) {
+        if (!(that instanceof TreapTravList) || that == this) {
+            super.splice(that);
+            return;
+        }
+
+        TreapTravList<E> other = (TreapTravList<E>) that;
+        int moved = size(other.root);
+        if (other.leftLength != 0 || size(this.root) + moved > this.capacity()) {
+            throw new IllegalArgumentException();
+        }
+        if (moved == 0) return;
+
+        Node<E> first = leftmost(other.root);
+        Node<E> last = rightmost(other.root);
+        if (other.tracksNodes) other.detachAll(first, moved);
+        this.split(this.root, this.leftLength);
+        Node<E> right = this.splitHigh;
+        this.root = join(join(this.splitLow, other.root), right);
+        if (this.tracksNodes) this.attachAll(first, moved);
+        this.prev = last;
+        this.leftLength += moved;
+
+        other.root = null;
+        other.next = null;
+        this.hashInvalidate();
+        other.hashInvalidate();
+    }
+
+    /**
+     * Moves the right part of this list into a new list made by
+     * {@code newInstance}, with its cursor at the beginning, in O(log n).
+     * The cursor of {@code this} list ends at the end of the list.
+     *
+     * @return a new list holding the elements that were to the right of the cursor.
+     */
+    public TreapTravList<E> splitRight() {
+        TreapTravList<E> right = (TreapTravList<E>) this.newInstance();
+        if (this.tracksNodes) this.detachAll(this.next, this.rightLength());
+        this.split(this.root, this.leftLength);
+        this.root = this.splitLow;
+        right.root = this.splitHigh;
+        right.next = this.next;
+        this.next = null;
+        if (right.tracksNodes) right.attachAll(right.next, right.rightLength());
+        this.hashInvalidate();
+        return right;
+    }
+
+    @Override
+    public E replace(E element) {
+        if (element == null) throw new IllegalArgumentException();
+        if (this.next == null) throw new IllegalStateException();
+
+        E elem = this.next.value;
+        if (this.tracksNodes) this.detached(this.next);
+        this.next.value = element;
+        if (this.tracksNodes) this.attached(this.next);
+        this.hashReplace(elem, element);
+        return elem;
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Reverses the elements at positions {@code [from, to)} by exchanging
+     * the elements of pairs of nodes from both ends of the range.
+     * The tree and the cursor do not move.
+     *
+     * @param from first position of the range, inclusive.
+     * @param to   last position of the range, exclusive.
+     * @throws IllegalArgumentException if the range is not inside the list
+     */
+    @Override
+    public void reverseRange(int from, int to) throws IllegalArgumentException {
+        if (from < 0 || to > size(this.root) || from > to) throw new IllegalArgumentException();
+        if (to - from < 2) return;
+
+        Node<E> low = this.nodeAt(from);
+        Node<E> high = this.nodeAt(to - 1);
+        for (int swaps = (to - from) / 2; swaps > 0; swaps--) {
+            if (this.tracksNodes) {
+                this.detached(low);
+                this.detached(high);
+            }
+            E elem = low.value;
+            low.value = high.value;
+            high.value = elem;
+            if (this.tracksNodes) {
+                this.attached(low);
+                this.attached(high);
+            }
+            low = successor(low);
+            high = predecessor(high);
+        }
+        this.hashInvalidate();
+    }
+
+    @Override
+    protected void load(int leftCount, int rightCount, Iterator<? extends E> elements) {
+        this.root = build(elements, leftCount + rightCount);
+        if (this.tracksNodes) this.attachAll(leftmost(this.root), leftCount + rightCount);
+        this.placeCursor(leftCount);
+        this.hashInvalidate();
+    }
+
+    /*
+     * The block is built into a tree in linear time, then joined in between
+     * the two parts of this tree in O(log n).
+     */
+    @Override
+    protected void insertBlock(Object[] block) {
+        if (block.length == 0) return;
+
+        @SuppressWarnings("unchecked")
+        Iterator<E> elements = (Iterator<E>) Arrays.asList(block).iterator();
+        Node<E> tree = build(elements, block.length);
+        Node<E> first = leftmost(tree);
+        this.split(this.root, this.leftLength);
+        Node<E> right = this.splitHigh;
+        this.root = join(join(this.splitLow, tree), right);
+        this.next = first;
+        if (this.tracksNodes) this.attachAll(first, block.length);
+        this.hashInsertBlock(block);
+    }
+
+    /*
+     * The tree is split around the block and its two other parts are joined
+     * in O(log n); the elements of the block are then read in order.
+     */
+    @Override
+    protected void deleteBlock(int n, Consumer<? super E> action) {
+        if (n == 0) return;
+
+        if (this.tracksNodes) this.detachAll(this.next, n);
+        this.split(this.root, this.leftLength);
+        Node<E> left = this.splitLow;
+        this.split(this.splitHigh, n);
+        Node<E> cut = this.splitLow;
+        Node<E> rest = this.splitHigh;
+        this.next = leftmost(rest);
+        this.root = join(left, rest);
+
+        Object[] block = new Object[n];
+        int i = 0;
+        for (Node<E> node = leftmost(cut); node != null; node = successor(node)) block[i++] = node.value;
+        this.handOut(block, action);
+    }
+
+    /*
+     * Builds a tree of count elements in one pass: the right spine is kept on
+     * a stack, and each new node takes the part of it with lower priorities
+     * as left child. The root has no parent.
+     */
+    private static <E> Node<E> build(Iterator<? extends E> elements, int count) {
+        List<Node<E>> spine = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Node<E> node = new Node<>(elements.next(), ThreadLocalRandom.current().nextInt());
+            Node<E> last = null;
+            while (!spine.isEmpty() && spine.get(spine.size() - 1).priority < node.priority) {
+                last = spine.remove(spine.size() - 1);
+            }
+            setLeft(node, last);
+            if (!spine.isEmpty()) setRight(spine.get(spine.size() - 1), node);
+            spine.add(node);
+        }
+        Node<E> root = spine.isEmpty() ? null : spine.get(0);
+        updateSizes(root);
+        return root;
+    }
+
+    private static <E> int updateSizes(Node<E> n) {
+        if (n == null) return 0;
+        n.size = 1 + updateSizes(n.left) + updateSizes(n.right);
+        return n.size;
+    }
+
+    /*
+     * Walks the nodes of [from, to) in order from the node at from;
+     * the spliterator splits by copying batches of elements into arrays.
+     */
+    @Override
+    protected Spliterator<E> spliterator(int from, int to) {
+        if (from < 0 || to > size(this.root) || from > to) throw new IllegalArgumentException();
+        if (from == to) return Spliterators.emptySpliterator();
+
+        Node<E> start = this.nodeAt(from);
+        Iterator<E> nodes = new Iterator<E>() {
+            private Node<E> node = start;
+            private int remaining = to - from;
+
+            @Override
+            public boolean hasNext() {
+                return this.remaining > 0;
+            }
+
+            @Override
+            public E next() {
+                if (this.remaining == 0) throw new NoSuchElementException();
+                E value = this.node.value;
+                this.remaining--;
+                if (this.remaining > 0) this.node = successor(this.node);
+                return value;
+            }
+        };
+        return Spliterators.spliterator(nodes, to - from, IndexedSpliterator.CHARACTERISTICS);
+    }
+
+    @Override
+    public void forEachLeft(Consumer<? super E> action) {
+        for (Node<E> n = leftmost(this.root); n != this.next; n = successor(n)) action.accept(n.value);
+    }
+
+    @Override
+    public void forEachRight(Consumer<? super E> action) {
+        for (Node<E> n = this.next; n != null; n = successor(n)) action.accept(n.value);
+    }
+
+    @Override
+    protected void forEachRightReversed(Consumer<? super E> action) {
+        for (Node<E> n = rightmost(this.root); n != this.prev; n = predecessor(n)) action.accept(n.value);
+    }
+
+    @Override
+    public E getNext() {
+        return this.next == null ? null : this.next.value;
+    }
+
+    @Override
+    public E getPrevious() {
+        return this.prev == null ? null : this.prev.value;
+    }
+
+    @Override
+    public int leftLength() {
+        return this.leftLength;
+    }
+
+    @Override
+    public int rightLength() {
+        return size(this.root) - this.leftLength;
+    }
+
+    @Override
+    public TravList<E> newInstance() {
+        return new TreapTravList<>(this.capacity());
+    }
+
+    // ==========================================================
+    // Node tracking
+    // ==========================================================
+
+    /**
+     * Called, on a list made to track its nodes, when a node joins the tree
+     * or takes a new element; the node is in the tree and holds its element.
+     * This default does nothing.
+     *
+     * @param node the node that joined the tree.
+     */
+    void attached(Node<E> node) {
+    }
+
+    /**
+     * Called, on a list made to track its nodes, when a node is about to
+     * leave the tree or to lose its element; the node is still in the tree
+     * and still holds its element. This default does nothing.
+     *
+     * @param node the node that leaves the tree.
+     */
+    void detached(Node<E> node) {
+    }
+
+    private void attachAll(Node<E> first, int count) {
+        for (Node<E> n = first; count > 0; n = successor(n), count--) this.attached(n);
+    }
+
+    private void detachAll(Node<E> first, int count) {
+        for (Node<E> n = first; count > 0; n = successor(n), count--) this.detached(n);
+    }
+
+    /**
+     * Gives the position of a node in its tree, going up to the root in O(log n).
+     *
+     * @param node a node of the tree.
+     * @return the number of nodes before it.
+     */
+    static int positionOf(Node<?> node) {
+        int position = size(node.left);
+        for (Node<?> n = node; n.parent != null; n = n.parent) {
+            if (n.parent.right == n) position += size(n.parent.left) + 1;
+        }
+        return position;
+    }
+
+    // ==========================================================
+    // Tree operations
+    // ==========================================================
+
+    /*
+     * Splits a subtree into its first k nodes (splitLow) and the others (splitHigh),
+     * both without a parent.
+     */
+    private void split(Node<E> n, int k) {
+        this.splitTree(n, k);
+        if (this.splitLow != null) this.splitLow.parent = null;
+        if (this.splitHigh != null) this.splitHigh.parent = null;
+    }
+
+    private void splitTree(Node<E> n, int k) {
+        if (n == null) {
+            this.splitLow = null;
+            this.splitHigh = null;
+        } else if (size(n.left) < k) {
+            this.splitTree(n.right, k - size(n.left) - 1);
+            setRight(n, this.splitLow);
+            update(n);
+            this.splitLow = n;
+        } else {
+            this.splitTree(n.left, k);
+            setLeft(n, this.splitHigh);
+            update(n);
+            this.splitHigh = n;
+        }
+    }
+
+    /*
+     * Joins two trees, all the nodes of a before those of b; the root has no parent.
+     */
+    private static <E> Node<E> join(Node<E> a, Node<E> b) {
+        Node<E> joined = merge(a, b);
+        if (joined != null) joined.parent = null;
+        return joined;
+    }
+
+    private static <E> Node<E> merge(Node<E> a, Node<E> b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            setRight(a, merge(a.right, b));
+            update(a);
+            return a;
+        }
+        setLeft(b, merge(a, b.left));
+        update(b);
+        return b;
+    }
+
+    private static <E> Node<E> successor(Node<E> n) {
+        if (n.right != null) return leftmost(n.right);
+        while (n.parent != null && n.parent.right == n) n = n.parent;
+        return n.parent;
+    }
+
+    private static <E> Node<E> predecessor(Node<E> n) {
+        if (n.left != null) return rightmost(n.left);
+        while (n.parent != null && n.parent.left == n) n = n.parent;
+        return n.parent;
+    }
+
+    private static <E> Node<E> leftmost(Node<E> n) {
+        if (n == null) return null;
+        while (n.left != null) n = n.left;
+        return n;
+    }
+
+    private static <E> Node<E> rightmost(Node<E> n) {
+        if (n == null) return null;
+        while (n.right != null) n = n.right;
+        return n;
+    }
+
+    private static <E> void setLeft(Node<E> n, Node<E> child) {
+        n.left = child;
+        if (child != null) child.parent = n;
+    }
+
+    private static <E> void setRight(Node<E> n, Node<E> child) {
+        n.right = child;
+        if (child != null) child.parent = n;
+    }
+
+    private static <E> void update(Node<E> n) {
+        n.size = 1 + size(n.left) + size(n.right);
+    }
+
+    private static int size(Node<?> n) {
+        return n == null ? 0 : n.size;
+    }
+}
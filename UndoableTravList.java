@@ -0,0 +1,817 @@
+package boundedtravlist;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * <p>Traversable list that journals its changes for unlimited undo and redo.</p>
+ *
+ * <p>Every method of {@link TravList} is forwarded to a wrapped list, and each
+ * change is appended to a journal of three parallel arrays: a one-byte opcode,
+ * an int argument and an element reference, about nine bytes per entry with
+ * compressed references. {@code insert}, {@code delete}, {@code advance} and
+ * {@code retreat} take one entry, and so do {@code insertAll} and
+ * {@code deleteRight}, whose entry holds the block of elements;
+ * {@code replace}, the moves of the cursor and
+ * {@code reverseRange} take two, one for each direction. Changes that involve
+ * another list or a stream ({@code swapRights}, {@code splice} and
+ * {@code readFrom}) record the whole content of this list before and after,
+ * in time proportional to its size.</p>
+ *
+ * <p>The changes are grouped into steps. Outside a transaction every change is
+ * a step of its own; between {@link #beginTransaction()} and
+ * {@link #commit()} all the changes make one step. {@link #undo()} and
+ * {@link #redo()} take back or make again one step in time proportional to
+ * the number of its changes; a change after an undo drops the steps that
+ * could have been redone. Every {@link #getCheckpointInterval()} changes or
+ * so, at the end of a step, the content of the list is saved as a
+ * checkpoint, and {@link #jumpTo(int)} starts from the nearest checkpoint
+ * when it is closer than the current step. A checkpoint of a
+ * {@link ZipperTravList} is a snapshot taken in constant time; any other
+ * list is copied, so its checkpoints are at least as many changes apart as
+ * it has elements, which keeps their cost to a constant per change.</p>
+ *
+ * <p>Traversals and the other reads are not journaled: {@code iterator()} and
+ * the streams read the wrapped list without moving the cursor. The other
+ * list of {@code swapRights} and {@code splice} journals its own change when
+ * it is undoable too. Like the wrapped lists, the journal is not thread-safe.</p>
+ *
+ * @author Joyce
+ * @param <E> the type of elements in this list.
+ */
+public class UndoableTravList<E> implements TravList<E> {
+
+    /**
+     * Changes between two checkpoints, for lists that take snapshots in constant time.
+     */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 1_024;
+
+    // opcodes; a continuation entry holds the second half of the change before it
+    private static final byte INSERT = 0;
+    private static final byte DELETE = 1;
+    private static final byte ADVANCE = 2;
+    private static final byte RETREAT = 3;
+    private static final byte REPLACE = 4;
+    private static final byte MOVE = 5;
+    private static final byte REVERSE_RANGE = 6;
+    private static final byte STATE = 7;
+    private static final byte CONTINUATION = 8;
+    private static final byte INSERT_ALL = 9;
+    private static final byte DELETE_RIGHT = 10;
+
+    private static final int INITIAL_LENGTH = 16;
+
+    /**
+     * Size of a reference in the journal arrays, as counted by the byte
+     * estimates: 4, the size of a compressed reference, which 64-bit JVMs
+     * use by default for heaps under 32 GB. The estimates are low by up
+     * to half of the reference bytes on larger heaps.
+     */
+    static final int REFERENCE_BYTES = 4;
+
+    /**
+     * Content of the list at a step: a snapshot for a zipper list,
+     * a copy of the elements for the others.
+     */
+    private static final class State {
+        final PersistentZipper<?> snapshot;
+        final Object[] elements;
+        final int leftLength;
+
+        State(PersistentZipper<?> snapshot, Object[] elements, int leftLength) {
+            this.snapshot = snapshot;
+            this.elements = elements;
+            this.leftLength = leftLength;
+        }
+
+        long bytes() {
+            return this.elements == null ? 0 : 16 + (long) REFERENCE_BYTES * this.elements.length;
+        }
+    }
+
+    private static final class Checkpoint {
+        final int step;
+        final State state;
+
+        Checkpoint(int step, State state) {
+            this.step = step;
+            this.state = state;
+        }
+    }
+
+    // representation
+
+    private final TravList<E> list;
+
+    private final int checkpointInterval;
+
+    /**
+     * The journal; entries [0, position) are applied, [position, length) can be redone.
+     */
+    private byte[] codes = new byte[INITIAL_LENGTH];
+    private int[] args = new int[INITIAL_LENGTH];
+    private Object[] refs = new Object[INITIAL_LENGTH];
+    private int length;
+    private int position;
+
+    /**
+     * Journal position at the end of each step; steps [0, step) are applied.
+     */
+    private int[] ends = new int[INITIAL_LENGTH];
+    private int steps;
+    private int step;
+
+    /**
+     * Nesting depth of the open transactions, and the journal position where the outermost began.
+     */
+    private int depth;
+    private int transactionStart;
+
+    /**
+     * Checkpoints in increasing order of step, the first one at step 0.
+     */
+    private final List<Checkpoint> checkpoints = new ArrayList<>();
+
+    public UndoableTravList(TravList<E> list) {
+        this(list, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * @param list               the list to journal.
+     * @param checkpointInterval the smallest number of changes between two checkpoints.
+     * @throws IllegalArgumentException if the list is null or the interval is not positive
+     */
+    public UndoableTravList(TravList<E> list, int checkpointInterval) throws IllegalArgumentException {
+        if (list == null || checkpointInterval <= 0) throw new IllegalArgumentException();
+        this.list = list;
+        this.checkpointInterval = checkpointInterval;
+        this.checkpoints.add(new Checkpoint(0, this.capture()));
+    }
+
+    /**
+     * @return the list that this decorator forwards to.
+     */
+    public TravList<E> unwrap() {
+        return this.list;
+    }
+
+    public int getCheckpointInterval() {
+        return this.checkpointInterval;
+    }
+
+    // ==========================================================
+    // Undo and redo
+    // ==========================================================
+
+    /**
+     * Starts a transaction: the changes until the matching {@link #commit()}
+     * are undone and redone as one step. Transactions nest; only the
+     * outermost one makes a step.
+     */
+    public void beginTransaction() {
+        if (this.depth++ == 0) {
+            this.truncate();
+            this.transactionStart = this.position;
+        }
+    }
+
+    /**
+     * Ends a transaction; when it is the outermost one, its changes become a step.
+     *
+     * @throws IllegalStateException if no transaction is open
+     */
+    public void commit() throws IllegalStateException {
+        if (this.depth == 0) throw new IllegalStateException();
+        if (--this.depth == 0) this.endStep();
+    }
+
+    /**
+     * Takes back all the changes of the open transactions and closes them.
+     *
+     * @throws IllegalStateException if no transaction is open
+     */
+    public void rollback() throws IllegalStateException {
+        if (this.depth == 0) throw new IllegalStateException();
+        while (this.position > this.transactionStart) this.undoEntry();
+        this.length = this.position;
+        this.clearRefs(this.length);
+        this.depth = 0;
+    }
+
+    /**
+     * @return true if a step can be undone.
+     */
+    public boolean canUndo() {
+        return this.depth == 0 && this.step > 0;
+    }
+
+    /**
+     * @return true if a step can be redone.
+     */
+    public boolean canRedo() {
+        return this.depth == 0 && this.step < this.steps;
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Takes back the changes of the last step, in time proportional to their number.
+     *
+     * @throws IllegalStateException if there is no step to undo or a transaction is open
+     */
+    public void undo() throws IllegalStateException {
+        if (!this.canUndo()) throw new IllegalStateException();
+        int start = this.endOf(this.step - 1);
+        while (this.position > start) this.undoEntry();
+        this.step--;
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Makes again the changes of the step after the current one.
+     *
+     * @throws IllegalStateException if there is no step to redo or a transaction is open
+     */
+    public void redo() throws IllegalStateException {
+        if (!this.canRedo()) throw new IllegalStateException();
+        int end = this.endOf(this.step + 1);
+        while (this.position < end) this.redoEntry();
+        this.step++;
+    }
+
+    /**
+     * Undoes or redoes steps until {@code target} steps are applied. When a
+     * checkpoint is nearer to the target than the current step, counting
+     * the copy of the elements of a list that is not a zipper list, the
+     * list is put back as it was at the checkpoint and the remaining
+     * steps are undone or redone from there.
+     *
+     * @param target number of steps to keep applied.
+     * @throws IllegalArgumentException if the target is negative or greater than {@link #steps()}
+     * @throws IllegalStateException    if a transaction is open
+     */
+    public void jumpTo(int target) throws IllegalArgumentException, IllegalStateException {
+        if (target < 0 || target > this.steps) throw new IllegalArgumentException();
+        if (this.depth != 0) throw new IllegalStateException();
+
+        int to = this.endOf(target);
+        Checkpoint nearest = this.nearestCheckpoint(to);
+        int restoreCost = nearest.state.elements == null ? 0 : nearest.state.elements.length;
+        if (restoreCost + Math.abs(this.endOf(nearest.step) - to) < Math.abs(this.position - to)) {
+            this.reinstate(nearest.state);
+            this.position = this.endOf(nearest.step);
+            this.step = nearest.step;
+        }
+        while (this.position > to) this.undoEntry();
+        while (this.position < to) this.redoEntry();
+        this.step = target;
+    }
+
+    /**
+     * @return the number of steps applied.
+     */
+    public int step() {
+        return this.step;
+    }
+
+    /**
+     * @return the number of steps in the journal, applied or not.
+     */
+    public int steps() {
+        return this.steps;
+    }
+
+    /**
+     * @return the number of journal entries, applied or not.
+     */
+    public int journalLength() {
+        return this.length;
+    }
+
+    /**
+     * Estimates the heap taken by the journal: its arrays, with their spare
+     * room, and the checkpoints that copy elements. The elements themselves
+     * are not counted.
+     *
+     * @return the size of the journal in bytes.
+     */
+    public long journalBytes() {
+        long bytes = 3 * 16 + this.codes.length + 4L * this.args.length
+                + (long) REFERENCE_BYTES * this.refs.length + 16 + 4L * this.ends.length;
+        for (Checkpoint checkpoint : this.checkpoints) bytes += 24 + checkpoint.state.bytes();
+        return bytes;
+    }
+
+    /**
+     * @return the journal bytes per journal entry, or 0 if the journal is empty.
+     */
+    public double journalBytesPerEntry() {
+        return this.length == 0 ? 0 : this.journalBytes() / (double) this.length;
+    }
+
+    // ==========================================================
+    // Journal
+    // ==========================================================
+
+    private int endOf(int step) {
+        return step == 0 ? 0 : this.ends[step - 1];
+    }
+
+    /*
+     * Drops the entries and steps that could be redone, before a new change.
+     */
+    private void truncate() {
+        if (this.length == this.position) return;
+        this.clearRefs(this.position);
+        this.length = this.position;
+        this.steps = this.step;
+        int last = this.checkpoints.size() - 1;
+        while (this.checkpoints.get(last).step > this.step) this.checkpoints.remove(last--);
+    }
+
+    private void clearRefs(int from) {
+        Arrays.fill(this.refs, from, this.refs.length, null);
+    }
+
+    private void record(byte code, int arg, Object ref) {
+        if (this.depth == 0) this.truncate();
+        if (this.length == this.codes.length) {
+            int newLength = 2 * this.codes.length;
+            this.codes = Arrays.copyOf(this.codes, newLength);
+            this.args = Arrays.copyOf(this.args, newLength);
+            this.refs = Arrays.copyOf(this.refs, newLength);
+        }
+        this.codes[this.length] = code;
+        this.args[this.length] = arg;
+        this.refs[this.length] = ref;
+        this.position = ++this.length;
+    }
+
+    private void record(byte code, int arg, Object ref, int nextArg, Object nextRef) {
+        // both halves go in before the step can end
+        if (this.depth == 0) this.truncate();
+        this.depth++;
+        this.record(code, arg, ref);
+        this.record(CONTINUATION, nextArg, nextRef);
+        this.depth--;
+        if (this.depth == 0) this.endStep();
+    }
+
+    private void recordStep(byte code, Object ref) {
+        this.record(code, 0, ref);
+        if (this.depth == 0) this.endStep();
+    }
+
+    private void endStep() {
+        if (this.position == this.endOf(this.step)) return;
+        if (this.steps == this.ends.length) this.ends = Arrays.copyOf(this.ends, 2 * this.ends.length);
+        this.ends[this.steps++] = this.position;
+        this.step = this.steps;
+
+        Checkpoint last = this.checkpoints.get(this.checkpoints.size() - 1);
+        int interval = this.list instanceof ZipperTravList ? this.checkpointInterval
+                : Math.max(this.checkpointInterval, this.list.leftLength() + this.list.rightLength());
+        if (this.position - this.endOf(last.step) >= interval) {
+            this.checkpoints.add(new Checkpoint(this.step, this.capture()));
+        }
+    }
+
+    private Checkpoint nearestCheckpoint(int position) {
+        Checkpoint nearest = this.checkpoints.get(0);
+        int low = 0;
+        int high = this.checkpoints.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Checkpoint checkpoint = this.checkpoints.get(middle);
+            int at = this.endOf(checkpoint.step);
+            if (Math.abs(at - position) < Math.abs(this.endOf(nearest.step) - position)) nearest = checkpoint;
+            if (at < position) {
+                low = middle + 1;
+            } else if (at > position) {
+                high = middle - 1;
+            } else {
+                return checkpoint;
+            }
+        }
+        return nearest;
+    }
+
+    /*
+     * Takes back the change that ends at the current position.
+     */
+    @SuppressWarnings("unchecked")
+    private void undoEntry() {
+        int i = this.position - 1;
+        if (this.codes[i] == CONTINUATION) i--;
+        switch (this.codes[i]) {
+            case INSERT: this.list.delete(); break;
+            case DELETE: this.list.insert((E) this.refs[i]); break;
+            case ADVANCE: this.list.retreat(); break;
+            case RETREAT: this.list.advance(); break;
+            case REPLACE: this.list.replace((E) this.refs[i]); break;
+            case MOVE: this.list.moveTo(this.args[i]); break;
+            case REVERSE_RANGE: this.list.reverseRange(this.args[i], this.args[i + 1]); break;
+            case STATE: this.reinstate((State) this.refs[i]); break;
+            case INSERT_ALL: this.list.deleteRight(((Object[]) this.refs[i]).length, e -> { }); break;
+            case DELETE_RIGHT: this.list.insertAll((E[]) this.refs[i]); break;
+            default: throw new IllegalStateException();
+        }
+        this.position = i;
+    }
+
+    /*
+     * Makes again the change that starts at the current position.
+     */
+    @SuppressWarnings("unchecked")
+    private void redoEntry() {
+        int i = this.position;
+        switch (this.codes[i]) {
+            case INSERT: this.list.insert((E) this.refs[i]); break;
+            case DELETE: this.list.delete(); break;
+            case ADVANCE: this.list.advance(); break;
+            case RETREAT: this.list.retreat(); break;
+            case REPLACE: this.list.replace((E) this.refs[i + 1]); break;
+            case MOVE: this.list.moveTo(this.args[i + 1]); break;
+            case REVERSE_RANGE: this.list.reverseRange(this.args[i], this.args[i + 1]); break;
+            case STATE: this.reinstate((State) this.refs[i + 1]); break;
+            case INSERT_ALL: this.list.insertAll((E[]) this.refs[i]); break;
+            case DELETE_RIGHT: this.list.deleteRight(((Object[]) this.refs[i]).length, e -> { }); break;
+            default: throw new IllegalStateException();
+        }
+        this.position = i + 1;
+        if (this.position < this.length && this.codes[this.position] == CONTINUATION) this.position++;
+    }
+
+    private State capture() {
+        if (this.list instanceof ZipperTravList) {
+            return new State(((ZipperTravList<E>) this.list).snapshot(), null, this.list.leftLength());
+        }
+        Object[] elements = new Object[this.list.leftLength() + this.list.rightLength()];
+        int[] size = {0};
+        this.list.forEachLeft(e -> elements[size[0]++] = e);
+        this.list.forEachRight(e -> elements[size[0]++] = e);
+        return new State(null, elements, this.list.leftLength());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void reinstate(State state) {
+        if (state.snapshot != null) {
+            ((ZipperTravList<E>) this.list).restoreSnapshot((PersistentZipper<E>) state.snapshot);
+            return;
+        }
+        this.list.reset();
+        while (this.list.rightLength() > 0) this.list.delete();
+        Iterator<E> elements = (Iterator<E>) Arrays.asList(state.elements).iterator();
+        if (this.list instanceof AbstractTravList) {
+            ((AbstractTravList<E>) this.list).load(state.leftLength, state.elements.length - state.leftLength, elements);
+            return;
+        }
+        while (elements.hasNext()) {
+            this.list.insert(elements.next());
+            this.list.advance();
+        }
+        this.list.moveTo(state.leftLength);
+    }
+
+    // ==========================================================
+    // Journaled methods
+    // ==========================================================
+
+    @Override
+    public void insert(E elem) throws IllegalArgumentException {
+        this.list.insert(elem);
+        this.recordStep(INSERT, elem);
+    }
+
+    @Override
+    public E delete() {
+        E elem = this.list.delete();
+        this.recordStep(DELETE, elem);
+        return elem;
+    }
+
+    @Override
+    public void advance() {
+        this.list.advance();
+        this.recordStep(ADVANCE, null);
+    }
+
+    @Override
+    public void retreat() {
+        this.list.retreat();
+        this.recordStep(RETREAT, null);
+    }
+
+    @Override
+    public E replace(E element) {
+        E elem = this.list.replace(element);
+        this.record(REPLACE, 0, elem, 0, element);
+        return elem;
+    }
+
+    @Override
+    public void reset() {
+        int from = this.list.cursorIndex();
+        this.list.reset();
+        this.recordMove(from);
+    }
+
+    @Override
+    public void advanceToEnd() {
+        int from = this.list.cursorIndex();
+        this.list.advanceToEnd();
+        this.recordMove(from);
+    }
+
+    @Override
+    public void moveTo(int index) throws IllegalArgumentException {
+        int from = this.list.cursorIndex();
+        this.list.moveTo(index);
+        this.recordMove(from);
+    }
+
+    @Override
+    public void restore(Cursor cursor) throws IllegalArgumentException {
+        int from = this.list.cursorIndex();
+        this.list.restore(cursor);
+        this.recordMove(from);
+    }
+
+    @Override
+    public void advanceBy(int n) throws IllegalArgumentException {
+        int from = this.list.cursorIndex();
+        this.list.advanceBy(n);
+        this.recordMove(from);
+    }
+
+    @Override
+    public void retreatBy(int n) throws IllegalArgumentException {
+        int from = this.list.cursorIndex();
+        this.list.retreatBy(n);
+        this.recordMove(from);
+    }
+
+    private void recordMove(int from) {
+        int to = this.list.cursorIndex();
+        if (to != from) this.record(MOVE, from, null, to, null);
+    }
+
+    @Override
+    public void insertAll(Collection<? extends E> elements) throws IllegalArgumentException {
+        this.insertBlock(elements.toArray());
+    }
+
+    @Override
+    public void insertAll(E[] elements) throws IllegalArgumentException {
+        // the journal keeps its own copy, the caller may reuse the array
+        this.insertBlock(Arrays.copyOf(elements, elements.length, Object[].class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void insertBlock(Object[] block) {
+        this.list.insertAll((E[]) block);
+        if (block.length > 0) this.recordStep(INSERT_ALL, block);
+    }
+
+    @Override
+    public void deleteRight(int n, Consumer<? super E> action) throws IllegalArgumentException {
+        this.deleteRight(n).forEach(action);
+    }
+
+    @Override
+    public List<E> deleteRight(int n) throws IllegalArgumentException {
+        List<E> deleted = this.list.deleteRight(n);
+        if (n > 0) this.recordStep(DELETE_RIGHT, deleted.toArray());
+        return deleted;
+    }
+
+    @Override
+    public void reverse() {
+        if (this.list.rightLength() == 0) return;
+        int from = this.list.cursorIndex();
+        int size = this.list.leftLength() + this.list.rightLength();
+        this.list.reverse();
+        this.beginTransaction();
+        this.record(REVERSE_RANGE, 0, null, size, null);
+        this.recordMove(from);
+        this.commit();
+    }
+
+    @Override
+    public void reverseRange(int from, int to) throws IllegalArgumentException {
+        this.list.reverseRange(from, to);
+        if (to - from > 1) this.record(REVERSE_RANGE, from, null, to, null);
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Swaps the right parts of the wrapped list and of {@code that} list, and
+     * journals the content of the list before and after. An undoable
+     * {@code that} is unwrapped first and journals its own change.
+     *
+     * @param that right part of the list passed in parameter.
+     */
+    @Override
+    public void swapRights(TravList<E> that) {
+        this.withOther(that, this.list::swapRights);
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Adds all the elements from {@code that} traversable list to the left
+     * of the cursor, journaling the content of the list before and after.
+     *
+     * @param that list passed in parameter.
+     */
+    @Override
+    public void splice(TravList<E> that) {
+        this.withOther(that, this.list::splice);
+    }
+
+    private void withOther(TravList<E> that, Consumer<TravList<E>> operation) {
+        if (that instanceof UndoableTravList && that != this) {
+            UndoableTravList<E> other = (UndoableTravList<E>) that;
+            State before = this.capture();
+            State otherBefore = other.capture();
+            operation.accept(other.list);
+            this.record(STATE, 0, before, 0, this.capture());
+            other.record(STATE, 0, otherBefore, 0, other.capture());
+        } else {
+            State before = this.capture();
+            operation.accept(that == this ? this.list : that);
+            this.record(STATE, 0, before, 0, this.capture());
+        }
+    }
+
+    @Override
+    public void readFrom(ReadableByteChannel in, RecordCodec<? extends E> codec) throws IOException {
+        State before = this.capture();
+        try {
+            this.list.readFrom(in, codec);
+        } finally {
+            this.record(STATE, 0, before, 0, this.capture());
+        }
+    }
+
+    @Override
+    public void readFrom(ReadableByteChannel in, VariableCodec<? extends E> codec) throws IOException {
+        State before = this.capture();
+        try {
+            this.list.readFrom(in, codec);
+        } finally {
+            this.record(STATE, 0, before, 0, this.capture());
+        }
+    }
+
+    // ==========================================================
+    // Forwarded methods
+    // ==========================================================
+
+    @Override
+    public int leftLength() {
+        return this.list.leftLength();
+    }
+
+    @Override
+    public int rightLength() {
+        return this.list.rightLength();
+    }
+
+    @Override
+    public int cursorIndex() {
+        return this.list.cursorIndex();
+    }
+
+    @Override
+    public Cursor mark() {
+        return this.list.mark();
+    }
+
+    @Override
+    public void forEachLeft(Consumer<? super E> action) {
+        this.list.forEachLeft(action);
+    }
+
+    @Override
+    public void forEachRight(Consumer<? super E> action) {
+        this.list.forEachRight(action);
+    }
+
+    @Override
+    public Stream<E> stream() {
+        return this.list.stream();
+    }
+
+    @Override
+    public Stream<E> parallelStream() {
+        return this.list.parallelStream();
+    }
+
+    @Override
+    public Stream<E> leftStream() {
+        return this.list.leftStream();
+    }
+
+    @Override
+    public Stream<E> rightStream() {
+        return this.list.rightStream();
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return this.list.spliterator();
+    }
+
+    /**
+     * An iterator over the right part of the list that does not move the
+     * cursor, so that a traversal leaves nothing in the journal.
+     *
+     * @return an iterator over the right part of the list.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return Spliterators.iterator(this.list.spliterator());
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return new TravListIterator<>(this);
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Wraps a new empty list of the same implementation and capacity
+     * in a new journal with the same checkpoint interval.
+     *
+     * @return a new undoable empty list.
+     */
+    @Override
+    public TravList<E> newInstance() {
+        return new UndoableTravList<>(this.list.newInstance(), this.checkpointInterval);
+    }
+
+    @Override
+    public int capacity() {
+        return this.list.capacity();
+    }
+
+    @Override
+    public E getNext() {
+        return this.list.getNext();
+    }
+
+    @Override
+    public E getPrevious() {
+        return this.list.getPrevious();
+    }
+
+    @Override
+    public <A extends Appendable> A appendTo(A out) throws IOException {
+        return this.list.appendTo(out);
+    }
+
+    @Override
+    public void writeTo(WritableByteChannel out, RecordCodec<? super E> codec) throws IOException {
+        this.list.writeTo(out, codec);
+    }
+
+    @Override
+    public void writeTo(WritableByteChannel out, VariableCodec<? super E> codec) throws IOException {
+        this.list.writeTo(out, codec);
+    }
+
+    /**
+     * An undoable list is equal to the traversable lists
+     * that its wrapped list is equal to.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        return this.list.equals(o instanceof UndoableTravList ? ((UndoableTravList<?>) o).list : o);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.list.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.list.toString();
+    }
+}
@@ -0,0 +1,252 @@
+package boundedtravlist;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+public class UndoableTravListTest {
+
+    UndoableTravList<Integer> list123_45;
+
+    @Before
+    public void setUp() {
+        list123_45 = new UndoableTravList<>(new GapBufferTravList<>(5));
+        list123_45.beginTransaction();
+        list123_45.insert(5);
+        list123_45.insert(4);
+        list123_45.insert(3);
+        list123_45.insert(2);
+        list123_45.insert(1);
+        list123_45.advance();
+        list123_45.advance();
+        list123_45.advance();
+        list123_45.commit();
+    }
+
+    // ==========================================================
+    // Undo and redo
+    // ==========================================================
+
+    @Test
+    public void undoAndRedoPrimaryOperations() {
+        assertEquals(1, list123_45.steps());
+        assertEquals(Integer.valueOf(4), list123_45.delete());
+        list123_45.retreat();
+        assertEquals(Integer.valueOf(3), list123_45.replace(9));
+        assertEquals("[1, 2][5, 9]:5", list123_45.toString());
+
+        list123_45.undo();
+        assertEquals("[1, 2][5, 3]:5", list123_45.toString());
+        list123_45.undo();
+        assertEquals("[1, 2, 3][5]:5", list123_45.toString());
+        list123_45.undo();
+        assertEquals("[1, 2, 3][5, 4]:5", list123_45.toString());
+        list123_45.undo();
+        assertEquals("[][]:5", list123_45.toString());
+        assertFalse(list123_45.canUndo());
+
+        list123_45.redo();
+        list123_45.redo();
+        list123_45.redo();
+        list123_45.redo();
+        assertEquals("[1, 2][5, 9]:5", list123_45.toString());
+        assertFalse(list123_45.canRedo());
+    }
+
+    @Test
+    public void undoMovesAndReversals() {
+        list123_45.reset();
+        list123_45.moveTo(4);
+        list123_45.reverseRange(0, 3);
+        list123_45.reverse();
+        assertEquals("[5, 4, 1, 2, 3][]:5", list123_45.toString());
+        list123_45.undo();
+        assertEquals("[3, 2, 1, 4][5]:5", list123_45.toString());
+        list123_45.undo();
+        assertEquals("[1, 2, 3, 4][5]:5", list123_45.toString());
+        list123_45.undo();
+        list123_45.undo();
+        assertEquals("[1, 2, 3][5, 4]:5", list123_45.toString());
+        list123_45.jumpTo(5);
+        assertEquals("[5, 4, 1, 2, 3][]:5", list123_45.toString());
+    }
+
+    @Test
+    public void aChangeAfterAnUndoDropsTheRedoSteps() {
+        list123_45.delete();
+        list123_45.delete();
+        list123_45.undo();
+        list123_45.replace(7);
+        assertEquals(3, list123_45.steps());
+        assertFalse(list123_45.canRedo());
+        assertEquals("[1, 2, 3][7]:5", list123_45.toString());
+        list123_45.undo();
+        list123_45.undo();
+        assertEquals("[1, 2, 3][5, 4]:5", list123_45.toString());
+    }
+
+    @Test
+    public void transactionIsOneStep() {
+        list123_45.beginTransaction();
+        list123_45.delete();
+        list123_45.beginTransaction();
+        list123_45.delete();
+        list123_45.commit();
+        list123_45.retreat();
+        list123_45.commit();
+        assertEquals(2, list123_45.steps());
+        list123_45.undo();
+        assertEquals("[1, 2, 3][5, 4]:5", list123_45.toString());
+    }
+
+    @Test
+    public void rollbackTakesBackTheOpenTransaction() {
+        list123_45.beginTransaction();
+        list123_45.delete();
+        list123_45.reset();
+        list123_45.rollback();
+        assertEquals("[1, 2, 3][5, 4]:5", list123_45.toString());
+        assertEquals(1, list123_45.steps());
+        assertEquals(8, list123_45.journalLength());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void undoInATransaction() {
+        list123_45.beginTransaction();
+        list123_45.undo();
+        fail();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void commitWithoutTransaction() {
+        list123_45.commit();
+        fail();
+    }
+
+    @Test
+    public void swapRightsJournalsBothLists() {
+        UndoableTravList<Integer> other = new UndoableTravList<>(new GapBufferTravList<>(5));
+        other.insert(20);
+        other.insert(10);
+        list123_45.swapRights(other);
+        assertEquals("[1, 2, 3][20, 10]:5", list123_45.toString());
+        assertEquals("[][5, 4]:5", other.toString());
+        other.undo();
+        assertEquals("[][20, 10]:5", other.toString());
+        list123_45.undo();
+        assertEquals("[1, 2, 3][5, 4]:5", list123_45.toString());
+        list123_45.redo();
+        assertEquals("[1, 2, 3][20, 10]:5", list123_45.toString());
+    }
+
+    @Test
+    public void traversalsAreNotJournaled() {
+        int length = list123_45.journalLength();
+        Iterator<Integer> iterator = list123_45.iterator();
+        assertEquals(Integer.valueOf(4), iterator.next());
+        assertEquals(Integer.valueOf(5), iterator.next());
+        list123_45.stream().count();
+        list123_45.forEachLeft(e -> { });
+        assertEquals(length, list123_45.journalLength());
+        assertEquals(3, list123_45.cursorIndex());
+    }
+
+    @Test
+    public void bulkMethodsAreUndoneAsOneStepEach() {
+        int length = list123_45.journalLength();
+        assertEquals(Arrays.asList(4, 5), list123_45.deleteRight(2));
+        list123_45.insertAll(Arrays.asList(7, 8));
+        list123_45.retreatBy(2);
+        assertEquals("[1][8, 7, 3, 2]:5", list123_45.toString());
+        assertEquals(length + 4, list123_45.journalLength());
+        assertEquals(4, list123_45.steps());
+
+        list123_45.undo();
+        list123_45.undo();
+        assertEquals("[1, 2, 3][]:5", list123_45.toString());
+        list123_45.undo();
+        assertEquals("[1, 2, 3][5, 4]:5", list123_45.toString());
+        list123_45.jumpTo(4);
+        assertEquals("[1][8, 7, 3, 2]:5", list123_45.toString());
+    }
+
+    @Test
+    public void equalsTheWrappedList() {
+        assertEquals(list123_45, list123_45.unwrap());
+        assertEquals(list123_45.unwrap(), list123_45);
+        assertEquals(list123_45.unwrap().hashCode(), list123_45.hashCode());
+    }
+
+    // ==========================================================
+    // Checkpoints and journal size
+    // ==========================================================
+
+    @Test
+    public void jumpToMatchesEveryStepOfACopiedList() {
+        randomJumps(GapBufferTravList::new);
+    }
+
+    @Test
+    public void jumpToMatchesEveryStepOfAZipperList() {
+        randomJumps(ZipperTravList::new);
+    }
+
+    private static void randomJumps(IntFunction<TravList<Integer>> factory) {
+        Random random = new Random(11);
+        UndoableTravList<Integer> list = new UndoableTravList<>(factory.apply(100), 16);
+        List<String> states = new ArrayList<>();
+        states.add(list.toString());
+        for (int i = 0; i < 3_000; i++) {
+            int size = list.leftLength() + list.rightLength();
+            int op = random.nextInt(8);
+            if (op < 3 && size < 100) {
+                list.insert(i);
+            } else if (op == 3 && list.rightLength() > 0) {
+                list.delete();
+            } else if (op == 4 && list.rightLength() > 0) {
+                list.advance();
+            } else if (op == 5 && list.leftLength() > 0) {
+                list.retreat();
+            } else if (op == 6 && list.rightLength() > 0) {
+                list.replace(-i);
+            } else if (op == 7) {
+                int from = random.nextInt(size + 1);
+                list.reverseRange(from, from + random.nextInt(size - from + 1));
+            } else {
+                list.moveTo(random.nextInt(size + 1));
+            }
+            if (list.steps() == states.size()) states.add(list.toString());
+        }
+        assertEquals(states.size() - 1, list.steps());
+        for (int i = 0; i < 300; i++) {
+            int target = random.nextInt(states.size());
+            list.jumpTo(target);
+            assertEquals(states.get(target), list.toString());
+            if (target > 0 && random.nextBoolean()) {
+                list.undo();
+                assertEquals(states.get(target - 1), list.toString());
+            }
+        }
+    }
+
+    @Test
+    public void primaryOperationsTakeAboutNineBytes() {
+        UndoableTravList<Integer> list = new UndoableTravList<>(new ZipperTravList<>(1_000));
+        Integer elem = 1;
+        list.beginTransaction();
+        for (int i = 0; i < 100_000; i++) {
+            list.insert(elem);
+            list.delete();
+        }
+        list.commit();
+        double perEntry = list.journalBytesPerEntry();
+        assertTrue(perEntry >= 5 && perEntry <= 2 * (5 + UndoableTravList.REFERENCE_BYTES));
+    }
+}
@@ -0,0 +1,692 @@
+package boundedtravlist;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * <p>Unrolled linked traversable list.</p>
+ *
+ * <p>The elements live in small arrays (the "chunks") linked into a ring
+ * behind a guard chunk, like the nodes of {@link LinkedTravList}.
+ * The cursor is a (chunk, offset) pair: {@code offset} elements of its chunk
+ * are to the left of the cursor. Inserting and deleting shift the elements of
+ * one chunk only; a full chunk splits in two, and a chunk that falls under a
+ * quarter full merges with a neighbour. Cursor-local operations therefore run
+ * in constant time, while traversals read consecutive array slots and the
+ * links cost a few bytes per chunk instead of two references per element.</p>
+ *
+ * @author Joyce
+ * @param <E> the type of elements in this list.
+ */
+public class UnrolledTravList<E> extends AbstractTravList<E> {
+    /**
+     * Default number of elements in a chunk.
+     */
+    public static final int DEFAULT_CHUNK_CAPACITY = 64;
+
+    static final class Chunk {
+        final Object[] elements;
+        int size;
+        Chunk prev;
+        Chunk next;
+
+        Chunk(int capacity) {
+            this.elements = new Object[capacity];
+        }
+    }
+
+    /*
+     * A chunk and an index in it.
+     */
+    private static final class Position {
+        Chunk chunk;
+        int index;
+
+        Position(Chunk chunk, int index) {
+            this.chunk = chunk;
+            this.index = index;
+        }
+    }
+
+    // representation
+
+    private final int chunkCapacity;
+
+    /**
+     * Chunk of capacity 0 that closes the ring, guard.next is the first chunk.
+     */
+    private final Chunk guard = new Chunk(0);
+
+    /**
+     * Chunk of the cursor, never the guard. Only the single chunk
+     * of an empty list is empty.
+     */
+    private Chunk chunk;
+
+    /**
+     * Number of elements of the cursor chunk to the left of the cursor.
+     * When it equals the size of the chunk, the next element is the first
+     * one of the next chunk.
+     */
+    private int offset;
+
+    private int leftLength;
+    private int rightLength;
+
+    // chunks = [A, B, C] <-> [D, E], chunk = first, offset = 2 ==> TravList = [A, B][C, D, E]
+    // chunks = [A, B, C] <-> [D, E], chunk = first, offset = 3 ==> TravList = [A, B, C][D, E]
+    // chunks = [A, B, C] <-> [D, E], chunk = second, offset = 0 ==> TravList = [A, B, C][D, E]
+    // chunks = [], offset = 0 ==> TravList = [][]
+
+    public UnrolledTravList(int max) {
+        this(max, DEFAULT_CHUNK_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list whose chunks hold {@code chunkCapacity} elements.
+     * Larger chunks cost less memory per element and traverse faster,
+     * smaller chunks shift fewer elements on insert and delete.
+     *
+     * @param max           capacity of the list.
+     * @param chunkCapacity number of elements in a chunk.
+     * @throws IllegalArgumentException if the capacity is negative or chunkCapacity is less than 2
+     */
+    public UnrolledTravList(int max, int chunkCapacity) {
+        super(max);
+        if (max < 0 || chunkCapacity < 2) throw new IllegalArgumentException();
+        this.chunkCapacity = chunkCapacity;
+        this.guard.next = this.guard;
+        this.guard.prev = this.guard;
+        this.chunk = this.linkAfter(new Chunk(chunkCapacity), this.guard);
+    }
+
+    @Override
+    public void insert(E elem) throws IllegalArgumentException {
+        if (elem == null || this.leftLength + this.rightLength >= this.capacity()) {
+            throw new IllegalArgumentException();
+        }
+
+        if (this.chunk.size == this.chunkCapacity) this.makeRoom();
+        Chunk c = this.chunk;
+        System.arraycopy(c.elements, this.offset, c.elements, this.offset + 1, c.size - this.offset);
+        c.elements[this.offset] = elem;
+        c.size++;
+        this.rightLength++;
+        this.hashInsert(elem);
+    }
+
+    /*
+     * Moves the cursor to a chunk with a free slot, without moving it in the list.
+     * At either end of the full chunk the neighbour is used if it has room,
+     * or a new chunk is started, so that filling the list in order leaves
+     * full chunks; in the middle the chunk splits in two halves.
+     */
+    private void makeRoom() {
+        Chunk c = this.chunk;
+        if (this.offset == c.size) {
+            if (c.next == this.guard || c.next.size == this.chunkCapacity) this.linkAfter(new Chunk(this.chunkCapacity), c);
+            this.chunk = c.next;
+            this.offset = 0;
+        } else if (this.offset == 0) {
+            if (c.prev == this.guard || c.prev.size == this.chunkCapacity) this.linkAfter(new Chunk(this.chunkCapacity), c.prev);
+            this.chunk = c.prev;
+            this.offset = this.chunk.size;
+        } else {
+            int half = c.size / 2;
+            Chunk upper = this.linkAfter(new Chunk(this.chunkCapacity), c);
+            upper.size = c.size - half;
+            System.arraycopy(c.elements, half, upper.elements, 0, upper.size);
+            Arrays.fill(c.elements, half, c.size, null);
+            c.size = half;
+            if (this.offset > half) {
+                this.chunk = upper;
+                this.offset -= half;
+            }
+        }
+    }
+
+    @Override
+    public E delete() {
+        if (this.rightLength == 0) throw new IllegalStateException();
+
+        this.toElementAfter();
+        Chunk c = this.chunk;
+        E elem = elementOf(c, this.offset);
+        System.arraycopy(c.elements, this.offset + 1, c.elements, this.offset, c.size - this.offset - 1);
+        c.elements[--c.size] = null;
+        this.rightLength--;
+        this.hashDelete(elem);
+        if (c.size < Math.max(1, this.chunkCapacity / 4)) this.merge(c);
+        return elem;
+    }
+
+    /*
+     * Removes the cursor chunk once it is empty, otherwise merges it with
+     * a neighbour when both fit in three quarters of a chunk; a chunk that
+     * stays small has large neighbours, so chunks are a quarter full on average.
+     */
+    private void merge(Chunk c) {
+        int limit = this.chunkCapacity - this.chunkCapacity / 4;
+        if (c.size == 0) {
+            if (c.prev == this.guard && c.next == this.guard) return;
+            this.unlink(c);
+            if (c.next != this.guard) {
+                this.chunk = c.next;
+                this.offset = 0;
+            } else {
+                this.chunk = c.prev;
+                this.offset = c.prev.size;
+            }
+        } else if (c.next != this.guard && c.size + c.next.size <= limit) {
+            Chunk next = c.next;
+            System.arraycopy(next.elements, 0, c.elements, c.size, next.size);
+            c.size += next.size;
+            this.unlink(next);
+        } else if (c.prev != this.guard && c.prev.size + c.size <= limit) {
+            Chunk prev = c.prev;
+            System.arraycopy(c.elements, 0, prev.elements, prev.size, c.size);
+            this.offset += prev.size;
+            prev.size += c.size;
+            this.chunk = prev;
+            this.unlink(c);
+        }
+    }
+
+    @Override
+    public void advance() throws IllegalStateException {
+        if (this.rightLength == 0) throw new IllegalStateException();
+
+        this.toElementAfter();
+        Object elem = this.chunk.elements[this.offset++];
+        this.leftLength++;
+        this.rightLength--;
+        this.hashAdvance(elem);
+    }
+
+    @Override
+    public void retreat() throws IllegalStateException {
+        if (this.leftLength == 0) throw new IllegalStateException();
+
+        if (this.offset == 0) {
+            this.chunk = this.chunk.prev;
+            this.offset = this.chunk.size;
+        }
+        Object elem = this.chunk.elements[--this.offset];
+        this.leftLength--;
+        this.rightLength++;
+        this.hashRetreat(elem);
+    }
+
+    /*
+     * Puts the cursor in the chunk of the next element when it is at the end
+     * of its chunk; there must be a next element.
+     */
+    private void toElementAfter() {
+        if (this.offset == this.chunk.size) {
+            this.chunk = this.chunk.next;
+            this.offset = 0;
+        }
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Resets the cursor to the beginning of the first chunk, in constant time.
+     */
+    @Override
+    public void reset() {
+        if (this.leftLength != 0) this.hashInvalidate();
+        this.chunk = this.guard.next;
+        this.offset = 0;
+        this.rightLength += this.leftLength;
+        this.leftLength = 0;
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Advances the cursor to the end of the last chunk, in constant time.
+     */
+    @Override
+    public void advanceToEnd() {
+        if (this.rightLength != 0) this.hashInvalidate();
+        this.chunk = this.guard.prev;
+        this.offset = this.chunk.size;
+        this.leftLength += this.rightLength;
+        this.rightLength = 0;
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Moves the cursor so that {@code index} elements are to its left.
+     * The walk starts from the beginning, the end or the cursor chunk,
+     * whichever is closest, and skips a whole chunk at each step.
+     *
+     * @param index the new number of elements to the left of the cursor.
+     * @throws IllegalArgumentException if {@code index} is negative
+     *                                  or greater than the number of elements
+     */
+    @Override
+    public void moveTo(int index) throws IllegalArgumentException {
+        int size = this.leftLength + this.rightLength;
+        if (index < 0 || index > size) throw new IllegalArgumentException();
+        if (index != this.leftLength) this.hashInvalidate();
+
+        if (index == size) {
+            this.chunk = this.guard.prev;
+            this.offset = this.chunk.size;
+        } else {
+            Position position = this.locate(index);
+            this.chunk = position.chunk;
+            this.offset = position.index;
+        }
+        this.leftLength = index;
+        this.rightLength = size - index;
+    }
+
+    /*
+     * Chunk and index of the element at a position of the list, reached from
+     * the beginning, the end or the cursor chunk, whichever is closest.
+     */
+    private Position locate(int position) {
+        int size = this.leftLength + this.rightLength;
+        Chunk c = this.chunk;
+        int start = this.leftLength - this.offset;
+        if (position <= Math.abs(position - start) && position <= size - position) {
+            c = this.guard.next;
+            start = 0;
+        } else if (size - position < Math.abs(position - start)) {
+            c = this.guard.prev;
+            start = size - c.size;
+        }
+        while (position < start) {
+            c = c.prev;
+            start -= c.size;
+        }
+        while (position >= start + c.size) {
+            start += c.size;
+            c = c.next;
+        }
+        return new Position(c, position - start);
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Swaps the right part of {@code this} list with
+     * the right part of {@code that} list.
+     * When both lists are unrolled with chunks of the same capacity,
+     * each list is cut at its cursor
+     * (splitting at most one chunk) and the two chains of chunks
+     * are exchanged in constant time.
+     *
+     * @param that right part of the list passed in parameter.
+     * @throws IllegalArgumentException if one of the lists cannot hold the other right part
+     */
+    @Override
+    public void swapRights(TravList<E> that) {
+        if (!this.sameChunks(that)) {
+            super.swapRights(that);
+            return;
+        }
+        if (that == this) return;
+
+        UnrolledTravList<E> other = (UnrolledTravList<E>) that;
+        if (this.leftLength + other.rightLength > this.capacity()
+                || other.leftLength + this.rightLength > other.capacity()) {
+            throw new IllegalArgumentException();
+        }
+
+        int thisRight = this.rightLength;
+        int thatRight = other.rightLength;
+        Chunk[] thisChain = this.cutRight();
+        Chunk[] thatChain = other.cutRight();
+        this.attachRight(thatChain, thatRight);
+        other.attachRight(thisChain, thisRight);
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Adds all the elements from {@code that} traversable list to the left of the cursor.
+     * When {@code that} is unrolled with chunks of the same capacity,
+     * its chain of chunks is linked in at the cursor in constant time.
+     *
+     * @param that list passed in parameter.
+     * @throws IllegalArgumentException if the cursor of {@code that} is not at the beginning
+     *                                  or if {@code this} list cannot hold the elements
+     */
+    @Override
+    public void splice(TravList<E> that) {
+        if (!this.sameChunks(that) || that == this) {
+            super.splice(that);
+            return;
+        }
+
+        UnrolledTravList<E> other = (UnrolledTravList<E>) that;
+        int moved = other.rightLength;
+        if (other.leftLength != 0 || this.leftLength + this.rightLength + moved > this.capacity()) {
+            throw new IllegalArgumentException();
+        }
+        if (moved == 0) return;
+
+        int right = this.rightLength;
+        Chunk[] spliced = other.cutRight();
+        Chunk[] rightChain = this.cutRight();
+        this.attachRight(spliced, moved);
+        this.advanceToEnd();
+        this.attachRight(rightChain, right);
+    }
+
+    /*
+     * Chunks can only move between lists that agree on their capacity.
+     */
+    private boolean sameChunks(TravList<E> that) {
+        return that instanceof UnrolledTravList && ((UnrolledTravList<E>) that).chunkCapacity == this.chunkCapacity;
+    }
+
+    /*
+     * Cuts the list at the cursor and returns the first and last chunks of the
+     * right part, or null when it is empty. The cursor stays at the end of the
+     * remaining left part, in a new empty chunk if nothing is left.
+     */
+    private Chunk[] cutRight() {
+        if (this.rightLength == 0) return null;
+
+        Chunk c = this.chunk;
+        if (this.offset > 0 && this.offset < c.size) {
+            Chunk tail = this.linkAfter(new Chunk(this.chunkCapacity), c);
+            tail.size = c.size - this.offset;
+            System.arraycopy(c.elements, this.offset, tail.elements, 0, tail.size);
+            Arrays.fill(c.elements, this.offset, c.size, null);
+            c.size = this.offset;
+        }
+        Chunk first = this.offset == 0 ? c : c.next;
+        Chunk last = this.guard.prev;
+        Chunk lastLeft = first.prev;
+        lastLeft.next = this.guard;
+        this.guard.prev = lastLeft;
+        if (lastLeft == this.guard) lastLeft = this.linkAfter(new Chunk(this.chunkCapacity), this.guard);
+
+        this.chunk = lastLeft;
+        this.offset = lastLeft.size;
+        this.rightLength = 0;
+        this.hashInvalidate();
+        return new Chunk[] {first, last};
+    }
+
+    /*
+     * Links a chain made by cutRight to the right of the cursor, which must be
+     * at the end of the list. The chunks on both sides of the seam are merged
+     * when they fit in one, so repeated cuts do not leave many small chunks.
+     */
+    private void attachRight(Chunk[] chain, int count) {
+        if (chain == null) return;
+
+        Chunk first = chain[0];
+        Chunk last = chain[1];
+        Chunk c = this.chunk;
+        if (c.size == 0) {
+            // the single chunk of an empty list makes way for the chain
+            this.unlink(c);
+            this.chunk = first;
+            this.offset = 0;
+        }
+        Chunk prev = this.guard.prev;
+        prev.next = first;
+        first.prev = prev;
+        last.next = this.guard;
+        this.guard.prev = last;
+        if (prev != this.guard && prev.size + first.size <= this.chunkCapacity) {
+            System.arraycopy(first.elements, 0, prev.elements, prev.size, first.size);
+            prev.size += first.size;
+            this.unlink(first);
+        }
+        this.rightLength = count;
+        this.hashInvalidate();
+    }
+
+    private Chunk linkAfter(Chunk c, Chunk prev) {
+        c.prev = prev;
+        c.next = prev.next;
+        prev.next.prev = c;
+        prev.next = c;
+        return c;
+    }
+
+    private void unlink(Chunk c) {
+        c.prev.next = c.next;
+        c.next.prev = c.prev;
+    }
+
+    @Override
+    public E replace(E element) {
+        if (element == null) throw new IllegalArgumentException();
+        if (this.rightLength == 0) throw new IllegalStateException();
+
+        this.toElementAfter();
+        E elem = elementOf(this.chunk, this.offset);
+        this.chunk.elements[this.offset] = element;
+        this.hashReplace(elem, element);
+        return elem;
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Reverses the elements at positions {@code [from, to)} in place,
+     * swapping pairs of slots from both ends of the range.
+     * The chunks and the cursor do not move.
+     *
+     * @param from first position of the range, inclusive.
+     * @param to   last position of the range, exclusive.
+     * @throws IllegalArgumentException if the range is not inside the list
+     */
+    @Override
+    public void reverseRange(int from, int to) throws IllegalArgumentException {
+        if (from < 0 || to > this.leftLength + this.rightLength || from > to) throw new IllegalArgumentException();
+        if (to - from < 2) return;
+
+        Position low = this.locate(from);
+        Position high = this.locate(to - 1);
+        for (int swaps = (to - from) / 2; swaps > 0; swaps--) {
+            Object elem = low.chunk.elements[low.index];
+            low.chunk.elements[low.index] = high.chunk.elements[high.index];
+            high.chunk.elements[high.index] = elem;
+            if (++low.index == low.chunk.size) {
+                low.chunk = low.chunk.next;
+                low.index = 0;
+            }
+            if (--high.index < 0) {
+                high.chunk = high.chunk.prev;
+                high.index = high.chunk.size - 1;
+            }
+        }
+        this.hashInvalidate();
+    }
+
+    @Override
+    protected void insertBlock(Object[] block) {
+        Chunk c = this.chunk;
+        int n = block.length;
+        if (c.size + n <= this.chunkCapacity) {
+            System.arraycopy(c.elements, this.offset, c.elements, this.offset + n, c.size - this.offset);
+            System.arraycopy(block, 0, c.elements, this.offset, n);
+            c.size += n;
+        } else {
+            // cut the chunk at the cursor, top it up and link full chunks of the block after it
+            int tail = c.size - this.offset;
+            if (tail > 0) {
+                Chunk upper = this.linkAfter(new Chunk(this.chunkCapacity), c);
+                System.arraycopy(c.elements, this.offset, upper.elements, 0, tail);
+                upper.size = tail;
+                Arrays.fill(c.elements, this.offset, c.size, null);
+                c.size = this.offset;
+            }
+            int copied = Math.min(n, this.chunkCapacity - c.size);
+            System.arraycopy(block, 0, c.elements, c.size, copied);
+            c.size += copied;
+            for (Chunk last = c; copied < n; copied += last.size) {
+                last = this.linkAfter(new Chunk(this.chunkCapacity), last);
+                last.size = Math.min(this.chunkCapacity, n - copied);
+                System.arraycopy(block, copied, last.elements, 0, last.size);
+            }
+        }
+        this.rightLength += n;
+        this.hashInsertBlock(block);
+    }
+
+    @Override
+    protected void deleteBlock(int n, Consumer<? super E> action) {
+        // cut the block out chunk by chunk, one shift per chunk
+        Object[] block = new Object[n];
+        for (int done = 0; done < n; ) {
+            this.toElementAfter();
+            Chunk c = this.chunk;
+            int count = Math.min(n - done, c.size - this.offset);
+            System.arraycopy(c.elements, this.offset, block, done, count);
+            System.arraycopy(c.elements, this.offset + count, c.elements, this.offset, c.size - this.offset - count);
+            Arrays.fill(c.elements, c.size - count, c.size, null);
+            c.size -= count;
+            this.rightLength -= count;
+            done += count;
+            if (c.size < Math.max(1, this.chunkCapacity / 4)) this.merge(c);
+        }
+        this.handOut(block, action);
+    }
+
+    @Override
+    protected void load(int leftCount, int rightCount, Iterator<? extends E> elements) {
+        // fill whole chunks in order, starting with the empty chunk of the empty list
+        Chunk c = this.guard.next;
+        for (int i = 0; i < leftCount + rightCount; i++) {
+            if (c.size == this.chunkCapacity) c = this.linkAfter(new Chunk(this.chunkCapacity), c);
+            c.elements[c.size++] = elements.next();
+        }
+        this.chunk = this.guard.next;
+        this.offset = 0;
+        this.leftLength = 0;
+        this.rightLength = leftCount + rightCount;
+        this.moveTo(leftCount);
+        this.hashInvalidate();
+    }
+
+    /*
+     * Reads the chunks of [from, to) in order; the spliterator splits by
+     * copying batches of elements into arrays.
+     */
+    @Override
+    protected Spliterator<E> spliterator(int from, int to) {
+        if (from < 0 || to > this.leftLength + this.rightLength || from > to) throw new IllegalArgumentException();
+        if (from == to) return Spliterators.emptySpliterator();
+
+        Position start = this.locate(from);
+        Iterator<E> elements = new Iterator<E>() {
+            private Chunk c = start.chunk;
+            private int index = start.index;
+            private int remaining = to - from;
+
+            @Override
+            public boolean hasNext() {
+                return this.remaining > 0;
+            }
+
+            @Override
+            public E next() {
+                if (this.remaining == 0) throw new NoSuchElementException();
+                if (this.index == this.c.size) {
+                    this.c = this.c.next;
+                    this.index = 0;
+                }
+                this.remaining--;
+                return elementOf(this.c, this.index++);
+            }
+
+            @Override
+            public void forEachRemaining(Consumer<? super E> action) {
+                while (this.remaining > 0) {
+                    if (this.index == this.c.size) {
+                        this.c = this.c.next;
+                        this.index = 0;
+                    }
+                    int end = Math.min(this.c.size, this.index + this.remaining);
+                    this.remaining -= end - this.index;
+                    for (; this.index < end; this.index++) action.accept(elementOf(this.c, this.index));
+                }
+            }
+        };
+        return Spliterators.spliterator(elements, to - from, IndexedSpliterator.CHARACTERISTICS);
+    }
+
+    @Override
+    public void forEachLeft(Consumer<? super E> action) {
+        for (Chunk c = this.guard.next; c != this.chunk; c = c.next) {
+            for (int i = 0; i < c.size; i++) action.accept(elementOf(c, i));
+        }
+        for (int i = 0; i < this.offset; i++) action.accept(elementOf(this.chunk, i));
+    }
+
+    @Override
+    public void forEachRight(Consumer<? super E> action) {
+        for (int i = this.offset; i < this.chunk.size; i++) action.accept(elementOf(this.chunk, i));
+        for (Chunk c = this.chunk.next; c != this.guard; c = c.next) {
+            for (int i = 0; i < c.size; i++) action.accept(elementOf(c, i));
+        }
+    }
+
+    @Override
+    protected void forEachRightReversed(Consumer<? super E> action) {
+        for (Chunk c = this.guard.prev; c != this.chunk; c = c.prev) {
+            for (int i = c.size - 1; i >= 0; i--) action.accept(elementOf(c, i));
+        }
+        for (int i = this.chunk.size - 1; i >= this.offset; i--) action.accept(elementOf(this.chunk, i));
+    }
+
+    @Override
+    public E getNext() {
+        if (this.rightLength == 0) return null;
+        return this.offset < this.chunk.size ? elementOf(this.chunk, this.offset) : elementOf(this.chunk.next, 0);
+    }
+
+    @Override
+    public E getPrevious() {
+        if (this.leftLength == 0) return null;
+        return this.offset > 0 ? elementOf(this.chunk, this.offset - 1) : elementOf(this.chunk.prev, this.chunk.prev.size - 1);
+    }
+
+    @Override
+    public int leftLength() {
+        return this.leftLength;
+    }
+
+    @Override
+    public int rightLength() {
+        return this.rightLength;
+    }
+
+    @Override
+    public TravList<E> newInstance() {
+        return new UnrolledTravList<>(this.capacity(), this.chunkCapacity);
+    }
+
+    /**
+     * Number of chunks holding the elements, one for an empty list.
+     *
+     * @return the number of chunks.
+     */
+    public int chunkCount() {
+        int count = 0;
+        for (Chunk c = this.guard.next; c != this.guard; c = c.next) count++;
+        return count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> E elementOf(Chunk c, int index) {
+        return (E) c.elements[index];
+    }
+}
@@ -0,0 +1,77 @@
+package boundedtravlist;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>Converts an element to and from a record of variable length.</p>
+ *
+ * <p>Like a {@link RecordCodec}, implementations must read and write with the
+ * absolute {@code get}/{@code put} methods of the buffer. The length of each
+ * record is stored by the caller, so a record is only its own bytes.</p>
+ *
+ * @author Joyce
+ * @param <E> the type of elements encoded by this codec.
+ */
+public interface VariableCodec<E> {
+    /**
+     * Codec for {@code String} elements, encoded in UTF-8.
+     */
+    VariableCodec<String> UTF8 = new VariableCodec<>() {
+        @Override
+        public int size(String elem) {
+            // same count as getBytes(UTF_8), which writes '?' for a lone surrogate
+            int size = 0;
+            for (int i = 0; i < elem.length(); i++) {
+                char c = elem.charAt(i);
+                if (c < 0x80) size += 1;
+                else if (c < 0x800) size += 2;
+                else if (Character.isHighSurrogate(c) && i + 1 < elem.length() && Character.isLowSurrogate(elem.charAt(i + 1))) {
+                    size += 4;
+                    i++;
+                } else if (Character.isSurrogate(c)) size += 1;
+                else size += 3;
+            }
+            return size;
+        }
+
+        @Override
+        public void encode(String elem, ByteBuffer buffer, int offset) {
+            buffer.put(offset, elem.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String decode(ByteBuffer buffer, int offset, int length) {
+            byte[] bytes = new byte[length];
+            buffer.get(offset, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * Returns the number of bytes of the record of an element.
+     *
+     * @param elem the element to measure, never null.
+     * @return the record length, zero or more.
+     */
+    int size(E elem);
+
+    /**
+     * Writes an element as one record of exactly {@link #size} bytes.
+     *
+     * @param elem   the element to encode, never null.
+     * @param buffer the buffer that receives the record.
+     * @param offset absolute index of the first byte of the record.
+     */
+    void encode(E elem, ByteBuffer buffer, int offset);
+
+    /**
+     * Reads one record back into an element.
+     *
+     * @param buffer the buffer that holds the record.
+     * @param offset absolute index of the first byte of the record.
+     * @param length number of bytes of the record.
+     * @return the decoded element.
+     */
+    E decode(ByteBuffer buffer, int offset, int length);
+}
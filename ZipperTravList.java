@@ -0,0 +1,355 @@
+package boundedtravlist;
+
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * <p>Traversable list kept as a sequence of immutable versions.</p>
+ *
+ * <p>The list holds a pointer to its current {@link PersistentZipper} and
+ * every operation replaces it with the next version, so the list is used
+ * like any other {@link TravList}. {@link #snapshot()} hands out the
+ * current version in constant time, without copying anything, and
+ * {@link #restoreSnapshot(PersistentZipper)} makes an old version current
+ * again, also in constant time. The versions share their nodes: keeping
+ * many snapshots only costs the nodes that the edits made between them
+ * allocated.</p>
+ *
+ * <p>{@code swapRights} with another zipper list exchanges the right parts
+ * in constant time; {@code splice} allocates one node per element spliced.</p>
+ *
+ * @author Joyce
+ * @param <E> the type of elements in this list.
+ */
+public class ZipperTravList<E> extends AbstractTravList<E> {
+
+    // representation
+
+    private PersistentZipper<E> version;
+
+    public ZipperTravList(int max) {
+        this(PersistentZipper.empty(max));
+    }
+
+    /**
+     * Creates a list whose current version is {@code version}.
+     *
+     * @param version the first version of the list.
+     */
+    public ZipperTravList(PersistentZipper<E> version) {
+        super(version.capacity());
+        this.version = version;
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Returns the current version of the list in constant time.
+     * Later changes to the list make new versions and leave this one as it is.
+     *
+     * @return the current version.
+     */
+    public PersistentZipper<E> snapshot() {
+        return this.version;
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Makes a version, from this list or from any other one with
+     * the same capacity, the current version of this list in constant time.
+     *
+     * @param snapshot the version to come back to.
+     * @throws IllegalArgumentException if the capacity of the version is not the capacity of this list
+     */
+    public void restoreSnapshot(PersistentZipper<E> snapshot) throws IllegalArgumentException {
+        if (snapshot.capacity() != this.capacity()) throw new IllegalArgumentException();
+        this.version = snapshot;
+        this.hashInvalidate();
+    }
+
+    @Override
+    public void insert(E elem) throws IllegalArgumentException {
+        this.version = this.version.insert(elem);
+        this.hashInsert(elem);
+    }
+
+    @Override
+    public E delete() {
+        E elem = this.version.getNext();
+        this.version = this.version.delete();
+        this.hashDelete(elem);
+        return elem;
+    }
+
+    @Override
+    public void advance() throws IllegalStateException {
+        E elem = this.version.getNext();
+        this.version = this.version.advance();
+        this.hashAdvance(elem);
+    }
+
+    @Override
+    public void retreat() throws IllegalStateException {
+        E elem = this.version.getPrevious();
+        this.version = this.version.retreat();
+        this.hashRetreat(elem);
+    }
+
+    @Override
+    public void reset() {
+        this.moveTo(0);
+    }
+
+    @Override
+    public void advanceToEnd() {
+        this.moveTo(this.version.leftLength + this.version.rightLength);
+    }
+
+    @Override
+    public void moveTo(int index) throws IllegalArgumentException {
+        PersistentZipper<E> moved = this.version.moveTo(index);
+        if (moved == this.version) return;
+        this.version = moved;
+        this.hashInvalidate();
+    }
+
+    @Override
+    public E replace(E element) {
+        E elem = this.version.getNext();
+        this.version = this.version.replace(element);
+        this.hashReplace(elem, element);
+        return elem;
+    }
+
+    /**
+     * "Primary Method"
+     * <p>
+     * Swaps the right part of {@code this} list with
+     * the right part of {@code that} list.
+     * Two zipper lists exchange their right chains of nodes in constant time.
+     *
+     * @param that right part of the list passed in parameter.
+     */
+    @Override
+    public void swapRights(TravList<E> that) {
+        if (!(that instanceof ZipperTravList)) {
+            super.swapRights(that);
+            return;
+        }
+
+        ZipperTravList<E> other = (ZipperTravList<E>) that;
+        PersistentZipper<E> mine = this.version;
+        PersistentZipper<E> theirs = other.version;
+        if (mine.leftLength + theirs.rightLength > this.capacity()
+                || theirs.leftLength + mine.rightLength > other.capacity()) {
+            throw new IllegalArgumentException();
+        }
+
+        this.version = mine.withRight(theirs.right, theirs.rightLength);
+        other.version = theirs.withRight(mine.right, mine.rightLength);
+        this.hashInvalidate();
+        other.hashInvalidate();
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Adds all the elements from {@code that} traversable list to the left
+     * of the cursor. The elements of a zipper list are pushed on the left
+     * chain of {@code this} one, so the right part is shared as it is.
+     *
+     * @param that list passed in parameter.
+     */
+    @Override
+    public void splice(TravList<E> that) {
+        if (!(that instanceof ZipperTravList)) {
+            super.splice(that);
+            return;
+        }
+
+        ZipperTravList<E> other = (ZipperTravList<E>) that;
+        PersistentZipper<E> mine = this.version;
+        PersistentZipper<E> theirs = other.version;
+        if (theirs.leftLength != 0 || mine.leftLength + mine.rightLength + theirs.rightLength > this.capacity()) {
+            throw new IllegalArgumentException();
+        }
+
+        PersistentZipper.Node<E> left = mine.left;
+        for (PersistentZipper.Node<E> n = theirs.right; n != null; n = n.tail) {
+            left = new PersistentZipper.Node<>(n.value, left);
+        }
+        this.version = mine.withLeft(left, mine.leftLength + theirs.rightLength);
+        other.version = theirs.withRight(null, 0);
+        this.hashInvalidate();
+        other.hashInvalidate();
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Moves all the elements to the left of the cursor in reverse order.
+     * The left chain of the reversed list, nearest first, is the list in
+     * its original order, so the right chain is reused as it is and only
+     * the elements to the left of the cursor get new nodes: from the
+     * beginning of the list, no node is allocated.
+     */
+    @Override
+    public void reverse() {
+        PersistentZipper<E> version = this.version;
+        if (version.rightLength == 0) return;
+
+        PersistentZipper.Node<E> left = version.right;
+        for (PersistentZipper.Node<E> n = version.left; n != null; n = n.tail) left = new PersistentZipper.Node<>(n.value, left);
+        this.version = new PersistentZipper<>(left, version.leftLength + version.rightLength, null, 0, this.capacity());
+        this.hashInvalidate();
+    }
+
+    /**
+     * "Secondary Method"
+     * <p>
+     * Reverses the elements at positions {@code [from, to)}: the cursor
+     * goes to {@code from}, the range is pushed in reverse onto the chain
+     * that follows it, and the cursor comes back to its index.
+     *
+     * @param from first position of the range, inclusive.
+     * @param to   last position of the range, exclusive.
+     * @throws IllegalArgumentException if the range is not within the list
+     */
+    @Override
+    public void reverseRange(int from, int to) throws IllegalArgumentException {
+        PersistentZipper<E> version = this.version;
+        if (from < 0 || to > version.leftLength + version.rightLength || from > to) {
+            throw new IllegalArgumentException();
+        }
+        if (to - from < 2) return;
+
+        int index = version.leftLength;
+        PersistentZipper<E> atFrom = version.moveTo(from);
+        PersistentZipper.Node<E> range = atFrom.right;
+        PersistentZipper.Node<E> rest = range;
+        for (int i = from; i < to; i++) rest = rest.tail;
+        PersistentZipper.Node<E> reversed = rest;
+        for (PersistentZipper.Node<E> n = range; n != rest; n = n.tail) reversed = new PersistentZipper.Node<>(n.value, reversed);
+        this.version = atFrom.withRight(reversed, atFrom.rightLength).moveTo(index);
+        this.hashInvalidate();
+    }
+
+    /*
+     * The block is pushed onto the right chain, last element first, and
+     * the new version is made once for the whole block.
+     */
+    @Override
+    protected void insertBlock(Object[] block) {
+        PersistentZipper<E> version = this.version;
+        PersistentZipper.Node<E> right = version.right;
+        for (int i = block.length - 1; i >= 0; i--) {
+            @SuppressWarnings("unchecked")
+            E elem = (E) block[i];
+            right = new PersistentZipper.Node<>(elem, right);
+        }
+        this.version = version.withRight(right, version.rightLength + block.length);
+        this.hashInsertBlock(block);
+    }
+
+    @Override
+    protected void deleteBlock(int n, Consumer<? super E> action) {
+        PersistentZipper<E> version = this.version;
+        Object[] block = new Object[n];
+        PersistentZipper.Node<E> right = version.right;
+        for (int i = 0; i < n; i++, right = right.tail) block[i] = right.value;
+        this.version = version.withRight(right, version.rightLength - n);
+        this.handOut(block, action);
+    }
+
+    @Override
+    protected void load(int leftCount, int rightCount, Iterator<? extends E> elements) {
+        PersistentZipper.Node<E> left = null;
+        for (int i = 0; i < leftCount; i++) left = new PersistentZipper.Node<>(elements.next(), left);
+        Object[] right = new Object[rightCount];
+        for (int i = 0; i < rightCount; i++) right[i] = elements.next();
+        this.version = PersistentZipper.<E>empty(this.capacity()).withLeft(left, leftCount).withRight(chain(right), rightCount);
+        this.hashInvalidate();
+    }
+
+    /*
+     * Links the elements of an array, the first one at the head.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> PersistentZipper.Node<E> chain(Object[] elements) {
+        PersistentZipper.Node<E> head = null;
+        for (int i = elements.length - 1; i >= 0; i--) head = new PersistentZipper.Node<>((E) elements[i], head);
+        return head;
+    }
+
+    @Override
+    protected Spliterator<E> spliterator(int from, int to) {
+        // the left chain runs backwards, so both sides are copied in list order
+        Object[] elements = new Object[to - from];
+        int leftLength = this.version.leftLength;
+        int position = leftLength - 1;
+        for (PersistentZipper.Node<E> n = this.version.left; n != null && position >= from; n = n.tail, position--) {
+            if (position < to) elements[position - from] = n.value;
+        }
+        position = leftLength;
+        for (PersistentZipper.Node<E> n = this.version.right; n != null && position < to; n = n.tail, position++) {
+            if (position >= from) elements[position - from] = n.value;
+        }
+        return Spliterators.spliterator(elements, IndexedSpliterator.CHARACTERISTICS);
+    }
+
+    @Override
+    public void forEachLeft(Consumer<? super E> action) {
+        Object[] elements = new Object[this.version.leftLength];
+        int i = elements.length;
+        for (PersistentZipper.Node<E> n = this.version.left; n != null; n = n.tail) elements[--i] = n.value;
+        for (Object elem : elements) {
+            @SuppressWarnings("unchecked")
+            E e = (E) elem;
+            action.accept(e);
+        }
+    }
+
+    @Override
+    public void forEachRight(Consumer<? super E> action) {
+        for (PersistentZipper.Node<E> n = this.version.right; n != null; n = n.tail) action.accept(n.value);
+    }
+
+    @Override
+    public E getNext() {
+        return this.version.getNext();
+    }
+
+    @Override
+    public E getPrevious() {
+        return this.version.getPrevious();
+    }
+
+    @Override
+    public int leftLength() {
+        return this.version.leftLength;
+    }
+
+    @Override
+    public int rightLength() {
+        return this.version.rightLength;
+    }
+
+    @Override
+    public TravList<E> newInstance() {
+        return new ZipperTravList<>(this.capacity());
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new RightIterator<>(this);
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return new TravListIterator<>(this);
+    }
+}
@@ -0,0 +1,758 @@
+package boundedtravlist;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.Assert.*;
+
+public class ZipperTravListTest {
+
+    TravList<String> empty;
+    TravList<String> abc_de;
+
+    @Before
+    public void setUp() throws Exception {
+
+        empty = new ZipperTravList<>(5);
+        abc_de = new ZipperTravList<>(5);
+        abc_de.insert("E");
+        abc_de.insert("D");
+        abc_de.insert("C");
+        abc_de.insert("B");
+        abc_de.insert("A");
+        abc_de.advance();
+        abc_de.advance();
+        abc_de.advance();
+    }
+
+    // ==========================================================
+    // Setup Methods
+    // ==========================================================
+
+    @Test
+    public void initEmptySetup() {
+        assertEquals(0, empty.leftLength());
+        assertEquals(0, empty.rightLength());
+        assertNull(empty.getPrevious());
+        assertNull(empty.getNext());
+    }
+
+    @Test
+    public void initDefaultSetup() {
+        assertEquals(3, abc_de.leftLength());
+        assertEquals(2, abc_de.rightLength());
+        assertEquals("C", abc_de.getPrevious());
+        assertEquals("D", abc_de.getNext());
+    }
+
+    // ==========================================================
+    // Primary Methods
+    // ==========================================================
+
+    @Test
+    public void deleteAndInsert() {
+        abc_de.delete();
+        abc_de.insert("X");
+        assertEquals(3, abc_de.leftLength());
+        assertEquals(2, abc_de.rightLength());
+        assertEquals("C", abc_de.getPrevious());
+        assertEquals("X", abc_de.getNext());
+    }
+
+    @Test
+    public void advance() {
+        abc_de.advance();
+        assertEquals(4, abc_de.leftLength());
+        assertEquals(1, abc_de.rightLength());
+        assertEquals("D", abc_de.getPrevious());
+        assertEquals("E", abc_de.getNext());
+    }
+
+    @Test
+    public void retreat() {
+        abc_de.retreat();
+        assertEquals(2, abc_de.leftLength());
+        assertEquals(3, abc_de.rightLength());
+        assertEquals("B", abc_de.getPrevious());
+        assertEquals("C", abc_de.getNext());
+    }
+
+    @Test
+    public void reset() {
+        abc_de.reset();
+        assertEquals(0, abc_de.leftLength());
+        assertEquals(5, abc_de.rightLength());
+        assertNull(abc_de.getPrevious());
+        assertEquals("A", abc_de.getNext());
+    }
+
+    @Test
+    public void advanceToEnd() {
+        abc_de.advanceToEnd();
+        assertEquals(5, abc_de.leftLength());
+        assertEquals(0, abc_de.rightLength());
+        assertEquals("E", abc_de.getPrevious());
+        assertNull(abc_de.getNext());
+    }
+
+    @Test
+    public void swapRights() {
+        TravList<String> x_yz = new ZipperTravList<>(3);
+        x_yz.insert("Z");
+        x_yz.insert("Y");
+        x_yz.insert("X");
+        x_yz.reset();
+        x_yz.advance();
+        abc_de.swapRights(x_yz);
+        assertEquals(3, abc_de.leftLength());
+        assertEquals(2, abc_de.rightLength());
+        assertEquals("Y", abc_de.getNext());
+        assertEquals("C", abc_de.getPrevious());
+        assertEquals(1, x_yz.leftLength());
+        assertEquals(2, x_yz.rightLength());
+        assertEquals("X", x_yz.getPrevious());
+        assertEquals("D", x_yz.getNext());
+    }
+
+    @Test
+    public void reverse() {
+        abc_de.reverse();
+        assertNull(abc_de.getNext());
+        assertEquals("A", abc_de.getPrevious());
+        assertEquals(5, abc_de.leftLength());
+    }
+
+    @Test
+    public void reverseFromTheBeginning() {
+        abc_de.reset();
+        abc_de.reverse();
+        assertEquals("EDCBA", abc_de.stream().collect(Collectors.joining()));
+        assertEquals(5, abc_de.cursorIndex());
+        abc_de.reverse();
+        assertEquals("EDCBA", abc_de.stream().collect(Collectors.joining()));
+    }
+
+    @Test
+    public void reverseLargeList() {
+        TravList<Integer> list = new ZipperTravList<>(100_000);
+        for (int i = 0; i < 100_000; i++) list.insert(i);
+        list.reverse();
+        assertEquals(100_000, list.leftLength());
+        assertEquals(Integer.valueOf(99_999), list.getPrevious());
+        assertEquals(Integer.valueOf(0), list.stream().findFirst().get());
+    }
+
+    @Test
+    public void reverseRange() {
+        abc_de.reverseRange(1, 5);
+        assertEquals("AEDCB", abc_de.stream().collect(Collectors.joining()));
+        assertEquals(3, abc_de.cursorIndex());
+        assertEquals("D", abc_de.getPrevious());
+        assertEquals("C", abc_de.getNext());
+        abc_de.reverseRange(0, 3);
+        assertEquals("DEACB", abc_de.stream().collect(Collectors.joining()));
+        abc_de.reverseRange(3, 5);
+        assertEquals("DEABC", abc_de.stream().collect(Collectors.joining()));
+        abc_de.reverseRange(2, 2);
+        assertEquals("DEABC", abc_de.stream().collect(Collectors.joining()));
+        assertEquals("A", abc_de.getPrevious());
+        assertEquals("B", abc_de.getNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void reverseRangeOutOfList() {
+        abc_de.reverseRange(2, 6);
+        fail();
+    }
+
+    @Test
+    public void moveTo() {
+        abc_de.moveTo(1);
+        assertEquals(1, abc_de.cursorIndex());
+        assertEquals(4, abc_de.rightLength());
+        assertEquals("A", abc_de.getPrevious());
+        assertEquals("B", abc_de.getNext());
+        abc_de.moveTo(4);
+        assertEquals(4, abc_de.leftLength());
+        assertEquals("D", abc_de.getPrevious());
+        assertEquals("E", abc_de.getNext());
+        abc_de.moveTo(5);
+        assertNull(abc_de.getNext());
+        abc_de.moveTo(0);
+        assertEquals("A", abc_de.getNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void moveToPastTheEnd() {
+        abc_de.moveTo(6);
+        fail();
+    }
+
+    @Test
+    public void replace() {
+        abc_de.replace("F");
+        assertEquals("F", abc_de.getNext());
+    }
+
+    @Test
+    public void splice() {
+        TravList<String> ab_c = new ZipperTravList<>(6);
+        TravList<String> xy = new ZipperTravList<>(2);
+        ab_c.insert("C");
+        ab_c.insert("B");
+        ab_c.insert("A");
+        ab_c.advance();
+        ab_c.advance();
+        xy.insert("Y");
+        xy.insert("X");
+        ab_c.splice(xy);
+        assertEquals(4, ab_c.leftLength());
+        assertEquals(1, ab_c.rightLength());
+        assertEquals("C", ab_c.getNext());
+        assertEquals("Y", ab_c.getPrevious());
+        assertNull(xy.getNext());
+    }
+
+    @Test
+    public void swapRightsWithEmptyRight() {
+        TravList<String> x = new ZipperTravList<>(5);
+        x.insert("X");
+        x.advance();
+        abc_de.swapRights(x);
+        assertEquals(0, abc_de.rightLength());
+        assertEquals("C", abc_de.getPrevious());
+        assertEquals(2, x.rightLength());
+        assertEquals("D", x.getNext());
+        abc_de.insert("Y");
+        abc_de.reset();
+        abc_de.advanceToEnd();
+        assertEquals("Y", abc_de.getPrevious());
+        assertEquals(4, abc_de.leftLength());
+        x.advanceToEnd();
+        assertEquals("E", x.getPrevious());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void swapRightsOverCapacity() {
+        TravList<String> x_yz = new ZipperTravList<>(3);
+        x_yz.insert("Z");
+        x_yz.insert("Y");
+        x_yz.insert("X");
+        x_yz.advance();
+        abc_de.reset();
+        x_yz.swapRights(abc_de);
+        fail();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void spliceOverCapacity() {
+        TravList<String> xy = new ZipperTravList<>(2);
+        xy.insert("Y");
+        abc_de.splice(xy);
+        fail();
+    }
+
+    // ==========================================================
+    // Simple Exceptions
+    // ==========================================================
+
+    @Test(expected = IllegalStateException.class)
+    public void zipperScrollAdvanceEmpty() {
+        empty.advance();
+        fail();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void spliceLeftLengthIsNotNull() {
+        TravList<String> ab_c = new SimpleTravList<>(6);
+        TravList<String> xy = new SimpleTravList<>(2);
+        ab_c.insert("C");
+        ab_c.insert("B");
+        ab_c.insert("A");
+        ab_c.advance();
+        xy.insert("Y");
+        xy.insert("X");
+        xy.advance();
+        ab_c.splice(xy);
+        fail();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void replaceNullElement() {
+        abc_de.replace(null);
+        fail();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void zipperScrollRetreatEmpty() {
+        empty.retreat();
+        fail();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void zipperScrollRemoveEmpty() {
+        empty.delete();
+        fail();
+    }
+
+    // ==========================================================
+    // Iterator Methods
+    // ==========================================================
+
+    @Test
+    public void iterator() {
+        Iterator<String> iterator = abc_de.iterator();
+        assertTrue(iterator.hasNext());
+        iterator.next();
+        assertEquals(4, abc_de.leftLength());
+        assertEquals(1, abc_de.rightLength());
+        assertEquals("D", abc_de.getPrevious());
+        assertEquals("E", abc_de.getNext());
+    }
+
+    @Test
+    public void listIterator() {
+        ListIterator<String> iterator = abc_de.listIterator();
+        assertTrue(iterator.hasNext());
+        iterator.next();
+        assertEquals(4, abc_de.leftLength());
+        assertEquals(1, abc_de.rightLength());
+        assertEquals("D", abc_de.getPrevious());
+        assertEquals("E", abc_de.getNext());
+        assertTrue(iterator.hasPrevious());
+        iterator.previous();
+        assertEquals(3, abc_de.leftLength());
+        assertEquals(2, abc_de.rightLength());
+        assertEquals("C", abc_de.getPrevious());
+        assertEquals("D", abc_de.getNext());
+        assertEquals(2, iterator.previousIndex());
+        assertEquals(3, iterator.nextIndex());
+        iterator.remove();
+        assertEquals(3, abc_de.leftLength());
+        assertEquals(1, abc_de.rightLength());
+        assertEquals("C", abc_de.getPrevious());
+        assertEquals("E", abc_de.getNext());
+        iterator.set("X");
+        assertEquals("X", abc_de.getNext());
+        iterator.add("Y");
+        assertEquals(3, abc_de.leftLength());
+        assertEquals(2, abc_de.rightLength());
+        assertEquals("C", abc_de.getPrevious());
+        assertEquals("Y", abc_de.getNext());
+    }
+
+    // ==========================================================
+    // Lengths, Capacity and Positions
+    // ==========================================================
+
+    @Test
+    public void insertInTheMiddleKeepsTheChains() {
+        abc_de.delete();
+        abc_de.insert("X");
+        abc_de.advance();
+        assertEquals(4, abc_de.leftLength());
+        assertEquals(1, abc_de.rightLength());
+        assertEquals("X", abc_de.getPrevious());
+        assertEquals("E", abc_de.getNext());
+        abc_de.reset();
+        abc_de.advance();
+        abc_de.advance();
+        abc_de.advance();
+        assertEquals("X", abc_de.getNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void insertInFullList() {
+        abc_de.insert("F");
+        fail();
+    }
+
+    @Test
+    public void snapshotsKeepTheirVersion() {
+        ZipperTravList<String> list = (ZipperTravList<String>) abc_de;
+        PersistentZipper<String> before = list.snapshot();
+        list.delete();
+        list.insert("X");
+        list.reset();
+        assertEquals("[][E, X, C, B, A]:5", list.toString());
+        assertEquals("[A, B, C][E, D]:5", before.toString());
+
+        list.restoreSnapshot(before);
+        assertEquals("[A, B, C][E, D]:5", list.toString());
+        assertEquals("D", list.getNext());
+        assertEquals(abc_de.hashCode(), copyOf(before).hashCode());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void restoreSnapshotOfAnotherCapacity() {
+        ((ZipperTravList<String>) abc_de).restoreSnapshot(PersistentZipper.empty(4));
+        fail();
+    }
+
+    @Test
+    public void versionsShareTheirNodes() {
+        PersistentZipper<String> base = PersistentZipper.<String>empty(5).insert("C").insert("B").insert("A").advance();
+        PersistentZipper<String> edited = base.insert("X");
+        assertSame(base.right, edited.right.tail);
+        assertSame(base.left, edited.left);
+        assertEquals("[A][C, B]:5", base.toString());
+        assertEquals("[A][C, B, X]:5", edited.toString());
+        assertSame(base, base.moveTo(1));
+    }
+
+    @Test
+    public void zipperOperationsDoNotChangeTheVersion() {
+        PersistentZipper<String> empty = PersistentZipper.empty(2);
+        PersistentZipper<String> one = empty.insert("A");
+        assertEquals(0, empty.rightLength());
+        assertNull(empty.getNext());
+        assertEquals("A", one.getNext());
+        assertEquals("B", one.replace("B").getNext());
+        assertEquals("A", one.getNext());
+        assertEquals("A", one.advance().getPrevious());
+        assertEquals(1, one.rightLength());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void zipperAdvanceEmpty() {
+        PersistentZipper.empty(2).advance();
+        fail();
+    }
+
+    @Test
+    public void swapRightsSharesTheChains() {
+        ZipperTravList<Integer> list = new ZipperTravList<>(1_000_000);
+        for (int i = 0; i < 1_000_000; i++) list.insert(i);
+        list.moveTo(10);
+        ZipperTravList<Integer> other = new ZipperTravList<>(1_000_000);
+        for (int i = 0; i < 100_000; i++) list.swapRights(other);
+        assertEquals(Integer.valueOf(999_989), list.getNext());
+        assertEquals(999_990, list.rightLength());
+    }
+
+    private static ZipperTravList<String> copyOf(PersistentZipper<String> version) {
+        return new ZipperTravList<>(version);
+    }
+
+    @Test
+    public void randomOperationsMatchAGapBuffer() {
+        Random random = new Random(42);
+        ZipperTravList<Integer> list = new ZipperTravList<>(300);
+        ZipperTravList<Integer> other = new ZipperTravList<>(300);
+        TravList<Integer> expected = new GapBufferTravList<>(300);
+        TravList<Integer> expectedOther = new GapBufferTravList<>(300);
+        for (int step = 0; step < 20_000; step++) {
+            int size = list.leftLength() + list.rightLength();
+            int op = random.nextInt(11);
+            if (op < 3 && size < 150) {
+                list.insert(step);
+                expected.insert(step);
+            } else if (op < 5 && list.rightLength() > 0) {
+                assertEquals(expected.delete(), list.delete());
+            } else if (op == 5 && list.rightLength() > 0) {
+                list.advance();
+                expected.advance();
+            } else if (op == 6 && list.leftLength() > 0) {
+                list.retreat();
+                expected.retreat();
+            } else if (op == 7) {
+                int index = random.nextInt(size + 1);
+                list.moveTo(index);
+                expected.moveTo(index);
+            } else if (op == 8) {
+                int from = random.nextInt(size + 1);
+                int to = from + random.nextInt(size - from + 1);
+                list.reverseRange(from, to);
+                expected.reverseRange(from, to);
+            } else if (op == 9) {
+                list.swapRights(other);
+                expected.swapRights(expectedOther);
+            } else if (op == 10) {
+                other.reset();
+                expectedOther.reset();
+                list.splice(other);
+                expected.splice(expectedOther);
+            }
+            assertEquals(expected.toString(), list.toString());
+            assertEquals(expected.getNext(), list.getNext());
+            assertEquals(expected.getPrevious(), list.getPrevious());
+            assertEquals(expectedOther.toString(), other.toString());
+        }
+    }
+
+    // ==========================================================
+    // Bookmarks and Traversals
+    // ==========================================================
+
+    @Test
+    public void markAndRestore() {
+        Cursor mark = abc_de.mark();
+        abc_de.reset();
+        abc_de.advance();
+        abc_de.restore(mark);
+        assertEquals(3, abc_de.leftLength());
+        assertEquals(2, abc_de.rightLength());
+        assertEquals("C", abc_de.getPrevious());
+        assertEquals("D", abc_de.getNext());
+    }
+
+    @Test
+    public void restoreAfterDelete() {
+        Cursor mark = abc_de.mark();
+        abc_de.reset();
+        abc_de.delete();
+        abc_de.restore(mark);
+        assertEquals(3, abc_de.leftLength());
+        assertEquals("D", abc_de.getPrevious());
+        assertEquals("E", abc_de.getNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void restoreForeignBookmark() {
+        abc_de.restore(empty.mark());
+        fail();
+    }
+
+    @Test
+    public void forEachLeftAndRight() {
+        StringBuilder left = new StringBuilder();
+        StringBuilder right = new StringBuilder();
+        abc_de.forEachLeft(left::append);
+        abc_de.forEachRight(right::append);
+        assertEquals("ABC", left.toString());
+        assertEquals("DE", right.toString());
+        assertEquals(3, abc_de.leftLength());
+        assertEquals("D", abc_de.getNext());
+    }
+
+    @Test
+    public void streamsDoNotMoveCursor() {
+        assertEquals("ABCDE", abc_de.stream().collect(Collectors.joining()));
+        assertEquals("ABC", abc_de.leftStream().collect(Collectors.joining()));
+        assertEquals("DE", abc_de.rightStream().collect(Collectors.joining()));
+        assertEquals("DE", StreamSupport.stream(abc_de.spliterator(), false).collect(Collectors.joining()));
+        assertEquals(0, empty.stream().count());
+        assertEquals(3, abc_de.leftLength());
+        assertEquals("D", abc_de.getNext());
+    }
+
+    @Test
+    public void parallelStream() {
+        TravList<Integer> list = new ZipperTravList<>(10_000);
+        for (int i = 0; i < 10_000; i++) list.insert(i);
+        list.moveTo(4_000);
+        assertEquals(10_000L * 9_999 / 2, list.parallelStream().mapToLong(Integer::longValue).sum());
+        assertEquals(6_000, list.rightStream().parallel().count());
+        assertEquals(4_000, list.cursorIndex());
+        assertEquals(Integer.valueOf(5_999), list.getNext());
+    }
+
+    // ==========================================================
+    // Equals and hashCode
+    // ==========================================================
+
+    @Test
+    public void equalsComparesElementsAndCursor() {
+        TravList<String> same = copyOf(abc_de, 10);
+        assertEquals(abc_de, same);
+        assertEquals(same, abc_de);
+        assertEquals(abc_de.hashCode(), same.hashCode());
+
+        same.retreat();
+        assertNotEquals(abc_de, same);
+        same.advance();
+        same.replace("X");
+        assertNotEquals(abc_de, same);
+        assertNotEquals(abc_de, empty);
+        assertNotEquals(abc_de, "[A, B, C][E, D]:5");
+    }
+
+    @Test
+    public void hashCodeFollowsChanges() {
+        abc_de.hashCode();
+        abc_de.delete();
+        abc_de.insert("X");
+        abc_de.advance();
+        abc_de.retreat();
+        abc_de.retreat();
+        abc_de.replace("Y");
+        assertEquals(copyOf(abc_de, 5).hashCode(), abc_de.hashCode());
+
+        abc_de.reset();
+        abc_de.advance();
+        assertEquals(copyOf(abc_de, 5).hashCode(), abc_de.hashCode());
+
+        abc_de.reverseRange(0, 4);
+        abc_de.delete();
+        assertEquals(copyOf(abc_de, 5).hashCode(), abc_de.hashCode());
+        assertEquals(copyOf(abc_de, 5), abc_de);
+    }
+
+    /*
+     * A simple list with the same elements and cursor, hashed from scratch.
+     */
+    private static TravList<String> copyOf(TravList<String> list, int capacity) {
+        TravList<String> copy = new SimpleTravList<>(capacity);
+        list.stream().forEach(e -> {
+            copy.insert(e);
+            copy.advance();
+        });
+        copy.moveTo(list.cursorIndex());
+        return copy;
+    }
+
+    // ==========================================================
+    // Inherit method
+    // ==========================================================
+
+    @Test
+    public void testToString() {
+        assertEquals("[A, B, C][E, D]:5", abc_de.toString());
+    }
+
+    @Test
+    public void toStringDoesNotMoveCursor() {
+        abc_de.toString();
+        assertEquals(3, abc_de.cursorIndex());
+        assertEquals("D", abc_de.getNext());
+        assertEquals("[][]:5", empty.toString());
+        abc_de.reset();
+        assertEquals("[][E, D, C, B, A]:5", abc_de.toString());
+    }
+
+    @Test
+    public void appendTo() throws IOException {
+        StringWriter out = new StringWriter();
+        assertSame(out, abc_de.appendTo(out));
+        assertEquals("[A, B, C][E, D]:5", out.toString());
+    }
+
+    @Test(expected = IOException.class)
+    public void appendToFailingAppendable() throws IOException {
+        abc_de.appendTo(new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException();
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        fail();
+    }
+
+    @Test
+    public void toStringLargeList() {
+        TravList<Integer> list = new ZipperTravList<>(1_000_000);
+        for (int i = 0; i < 1_000_000; i++) {
+            list.insert(i % 10);
+            list.advance();
+        }
+        list.moveTo(500_000);
+        String text = list.toString();
+        assertTrue(text.startsWith("[0, 1, 2"));
+        assertTrue(text.endsWith("1, 0, 9, 8, 7, 6, 5, 4, 3, 2, 1, 0]:1000000"));
+        // each side is "[" + digits joined by ", " + "]", three characters per element
+        assertEquals(3 * 1_000_000 + ":1000000".length(), text.length());
+        assertEquals(500_000, list.cursorIndex());
+    }
+
+    // ==========================================================
+    // Bulk Methods
+    // ==========================================================
+
+    @Test
+    public void insertAllKeepsTheOrderOfTheBlock() {
+        abc_de.delete();
+        abc_de.delete();
+        abc_de.insertAll(Arrays.asList("X", "Y"));
+        assertEquals("[A, B, C][Y, X]:5", abc_de.toString());
+        assertEquals(3, abc_de.cursorIndex());
+        empty.insertAll(new String[]{"A", "B", "C", "D", "E"});
+        assertEquals("[][E, D, C, B, A]:5", empty.toString());
+    }
+
+    @Test
+    public void insertAllThatDoesNotFitChangesNothing() {
+        abc_de.delete();
+        try {
+            abc_de.insertAll(Arrays.asList("X", "Y"));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("[A, B, C][E]:5", abc_de.toString());
+        }
+        try {
+            abc_de.insertAll(new String[]{"X", null});
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("[A, B, C][E]:5", abc_de.toString());
+        }
+    }
+
+    @Test
+    public void deleteRightReturnsTheBlockInOrder() {
+        abc_de.retreat();
+        assertEquals(Arrays.asList("C", "D"), abc_de.deleteRight(2));
+        assertEquals("[A, B][E]:5", abc_de.toString());
+        StringBuilder drained = new StringBuilder();
+        abc_de.deleteRight(1, drained::append);
+        assertEquals("E", drained.toString());
+        assertEquals("[A, B][]:5", abc_de.toString());
+        assertTrue(abc_de.deleteRight(0).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void deleteRightPastTheEnd() {
+        abc_de.deleteRight(3);
+        fail();
+    }
+
+    @Test
+    public void advanceByAndRetreatBy() {
+        abc_de.retreatBy(3);
+        assertEquals("A", abc_de.getNext());
+        abc_de.advanceBy(5);
+        assertEquals(5, abc_de.cursorIndex());
+        abc_de.retreatBy(0);
+        assertEquals("E", abc_de.getPrevious());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void retreatByPastTheBeginning() {
+        abc_de.retreatBy(4);
+        fail();
+    }
+
+    @Test
+    public void bulkMethodsKeepTheHashCode() {
+        abc_de.hashCode();
+        abc_de.retreat();
+        abc_de.deleteRight(3);
+        abc_de.insertAll(Arrays.asList("X", "Y", "Z"));
+        TravList<String> expected = new GapBufferTravList<>(5);
+        expected.insert("Z");
+        expected.insert("Y");
+        expected.insert("X");
+        expected.insert("B");
+        expected.insert("A");
+        expected.advance();
+        expected.advance();
+        assertEquals(expected.hashCode(), abc_de.hashCode());
+        assertEquals(expected, abc_de);
+    }
+}